@@ -0,0 +1,67 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import io.xpdf.api.common.exception.XpdfException;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Represents the outcome of a single request within a batch run by a {@link XpdfBatchRunner}.
+ *
+ * <br><br> Exactly one of {@link #response} and {@link #exception} is assigned.
+ *
+ * @since 1.3.0
+ */
+@Builder
+@Getter
+@ToString
+public class XpdfBatchItem<RequestT extends XpdfRequest, ResponseT extends XpdfResponse> {
+
+    /**
+     * Request that was processed.
+     *
+     * @since 1.3.0
+     */
+    private final RequestT request;
+
+    /**
+     * Response to the request, if it succeeded.
+     *
+     * @since 1.3.0
+     */
+    private final ResponseT response;
+
+    /**
+     * Exception thrown by the request, if it failed.
+     *
+     * @since 1.3.0
+     */
+    private final XpdfException exception;
+
+    /**
+     * Checks whether the request succeeded.
+     *
+     * @return true if succeeded
+     * @since 1.3.0
+     */
+    public boolean isSucceeded() {
+        return exception == null;
+    }
+
+}
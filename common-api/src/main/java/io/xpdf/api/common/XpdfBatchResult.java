@@ -0,0 +1,112 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Represents the outcome of a batch of requests run by a {@link XpdfBatchRunner}.
+ *
+ * @since 1.3.0
+ */
+@Builder
+@Getter
+@ToString
+public class XpdfBatchResult<RequestT extends XpdfRequest, ResponseT extends XpdfResponse> {
+
+    /**
+     * Outcome of each request, in the order the requests were given.
+     *
+     * @since 1.3.0
+     */
+    @ToString.Exclude
+    private final List<XpdfBatchItem<RequestT, ResponseT>> items;
+
+    /**
+     * Number of requests that succeeded.
+     *
+     * @since 1.3.0
+     */
+    private final int succeededCount;
+
+    /**
+     * Number of requests that failed.
+     *
+     * @since 1.3.0
+     */
+    private final int failedCount;
+
+    /**
+     * Sum of the sizes of all requests, as measured by the {@link XpdfBatchRunner#getSizeFunction() size function} of the runner.
+     *
+     * @since 1.3.0
+     */
+    private final long totalSize;
+
+    /**
+     * Wall-clock time in milliseconds taken by the whole batch.
+     *
+     * @since 1.3.0
+     */
+    private final long elapsedMillis;
+
+    /**
+     * Gets the outcomes of the requests that succeeded.
+     *
+     * @return succeeded items
+     * @since 1.3.0
+     */
+    public List<XpdfBatchItem<RequestT, ResponseT>> getSucceededItems() {
+        return items.stream().filter(XpdfBatchItem::isSucceeded).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the outcomes of the requests that failed.
+     *
+     * @return failed items
+     * @since 1.3.0
+     */
+    public List<XpdfBatchItem<RequestT, ResponseT>> getFailedItems() {
+        return items.stream().filter(item -> !item.isSucceeded()).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the number of requests processed per second, whether they succeeded or failed.
+     *
+     * @return requests per second
+     * @since 1.3.0
+     */
+    public double getRequestsPerSecond() {
+        return items.size() * 1000d / Math.max(1, elapsedMillis);
+    }
+
+    /**
+     * Gets the size of requests processed per second, whether they succeeded or failed.
+     *
+     * @return size per second
+     * @since 1.3.0
+     */
+    public double getSizePerSecond() {
+        return totalSize * 1000d / Math.max(1, elapsedMillis);
+    }
+
+}
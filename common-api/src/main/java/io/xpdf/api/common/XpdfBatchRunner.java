@@ -0,0 +1,241 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import io.xpdf.api.common.exception.XpdfException;
+import io.xpdf.api.common.exception.XpdfProcessingException;
+import io.xpdf.api.common.exception.XpdfRuntimeException;
+import io.xpdf.api.common.util.XpdfUtils;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+/**
+ * Runs a batch of requests against a {@link XpdfTool} in parallel.
+ *
+ * <br><br> Requests are started largest first, as measured by the {@link #sizeFunction}, so that the longest conversions do not trail behind at the end of the batch.
+ * At most {@link #maxInFlightRequests} requests are handed to the tool at once, and the next request is started as soon as one finishes.
+ * A request that fails does not abort the batch; its exception is recorded in the {@link XpdfBatchResult} alongside the responses of every other request.
+ *
+ * <br><br> Example usage:
+ * <blockquote><pre>
+ *  XpdfBatchRunner.&lt;PdfTextRequest, PdfTextResponse&gt;builder()
+ *      .tool(pdfTextTool)
+ *      .maxInFlightRequests(16)
+ *      .build()
+ *      .run(requests);
+ * </pre></blockquote>
+ *
+ * @since 1.3.0
+ */
+@Builder
+@Getter
+@ToString
+@Slf4j
+public class XpdfBatchRunner<RequestT extends XpdfRequest, ResponseT extends XpdfResponse> {
+
+    /**
+     * Tool that processes each request.
+     *
+     * @since 1.3.0
+     */
+    private final XpdfTool<RequestT, ResponseT> tool;
+
+    /**
+     * Function that estimates how long a request will take to process, such as its file size or page count.
+     *
+     * @implNote If unassigned, this will default to the size in bytes of the {@link XpdfRequest#getPdfFile() PDF file} of the request, or of its {@link XpdfRequest#getPdfSource() PDF source} when known up front.
+     * @since 1.3.0
+     */
+    @ToString.Exclude
+    private final ToLongFunction<RequestT> sizeFunction;
+
+    /**
+     * Maximum number of requests handed to the tool at once.
+     *
+     * @implNote If unassigned, this will default to twice the number of available processors.
+     * @since 1.3.0
+     */
+    private final Integer maxInFlightRequests;
+
+    public static class XpdfBatchRunnerBuilder<RequestT extends XpdfRequest, ResponseT extends XpdfResponse> {
+
+        public XpdfBatchRunner<RequestT, ResponseT> build() {
+            val toolBuilder = configureTool();
+            val sizeFunctionBuilder = configureSizeFunction();
+            val maxInFlightRequestsBuilder = configureMaxInFlightRequests();
+
+            return new XpdfBatchRunner<>(toolBuilder, sizeFunctionBuilder, maxInFlightRequestsBuilder);
+        }
+
+        protected XpdfTool<RequestT, ResponseT> configureTool() {
+            if (tool == null) {
+                throw new XpdfRuntimeException("Tool cannot be null");
+            } else {
+                return tool;
+            }
+        }
+
+        protected ToLongFunction<RequestT> configureSizeFunction() {
+            if (sizeFunction == null) {
+                return request -> request.getPdfFile() != null ? request.getPdfFile().length() : Math.max(request.getPdfSource().getSize(), 0);
+            } else {
+                return sizeFunction;
+            }
+        }
+
+        protected int configureMaxInFlightRequests() {
+            if (maxInFlightRequests == null) {
+                return XpdfUtils.getXpdfMaxInFlightRequests();
+            } else if (maxInFlightRequests <= 0) {
+                throw new XpdfRuntimeException("MaxInFlightRequests must be greater than zero");
+            } else {
+                return maxInFlightRequests;
+            }
+        }
+    }
+
+    /**
+     * Processes every request in a batch, and waits for all of them to finish.
+     *
+     * @param requests requests to process
+     * @return {@link XpdfBatchResult} with the outcome of each request, in the order the requests were given
+     * @throws XpdfProcessingException if interrupted while waiting for the batch to finish
+     * @implNote This method processes many requests and may become blocking.
+     * @since 1.3.0
+     */
+    public XpdfBatchResult<RequestT, ResponseT> run(Collection<? extends RequestT> requests) throws XpdfException {
+        log.debug("Batch starting; request count: {}", requests.size());
+        val startNanos = System.nanoTime();
+        val batch = new Batch(new ArrayList<>(requests));
+
+        try {
+            batch.start();
+            batch.done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new XpdfProcessingException(e);
+        } catch (ExecutionException e) {
+            throw new XpdfProcessingException(e.getCause());
+        }
+
+        val result = XpdfBatchResult.<RequestT, ResponseT>builder()
+                .items(Arrays.asList(batch.items))
+                .succeededCount((int) Arrays.stream(batch.items).filter(XpdfBatchItem::isSucceeded).count())
+                .failedCount((int) Arrays.stream(batch.items).filter(item -> !item.isSucceeded()).count())
+                .totalSize(Arrays.stream(batch.sizes).sum())
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                .build();
+
+        log.debug("Batch finished; succeeded: {}, failed: {}, elapsed millis: {}, requests per second: {}, size per second: {}",
+                result.getSucceededCount(), result.getFailedCount(), result.getElapsedMillis(),
+                String.format("%.2f", result.getRequestsPerSecond()), String.format("%.2f", result.getSizePerSecond()));
+
+        return result;
+    }
+
+    private XpdfBatchItem<RequestT, ResponseT> toItem(RequestT request, ResponseT response, Throwable throwable) {
+        if (throwable == null) {
+            return XpdfBatchItem.<RequestT, ResponseT>builder().request(request).response(response).build();
+        }
+
+        val cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        return XpdfBatchItem.<RequestT, ResponseT>builder()
+                .request(request)
+                .exception(cause instanceof XpdfException ? (XpdfException) cause : new XpdfProcessingException(cause))
+                .build();
+    }
+
+    private class Batch {
+        private final List<RequestT> requests;
+        private final long[] sizes;
+        private final Integer[] order;
+        private final XpdfBatchItem<RequestT, ResponseT>[] items;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger finished = new AtomicInteger();
+        private final AtomicInteger filling = new AtomicInteger();
+        private int next;
+
+        @SuppressWarnings("unchecked")
+        private Batch(List<RequestT> requests) {
+            this.requests = requests;
+            this.sizes = requests.stream().mapToLong(sizeFunction).toArray();
+            this.order = new Integer[requests.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingLong((Integer i) -> sizes[i]).reversed());
+            this.items = new XpdfBatchItem[requests.size()];
+        }
+
+        private void start() {
+            if (requests.isEmpty()) {
+                done.complete(null);
+            } else {
+                fill();
+            }
+        }
+
+        private void fill() {
+            // only one thread fills at a time, and requests that finish synchronously loop here instead of recursing
+            if (filling.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (inFlight.get() < maxInFlightRequests && next < order.length) {
+                    inFlight.incrementAndGet();
+                    launch(order[next++]);
+                }
+            } while (filling.decrementAndGet() != 0);
+        }
+
+        private void launch(int index) {
+            val request = requests.get(index);
+            CompletableFuture<ResponseT> future;
+            try {
+                future = tool.processAsync(request);
+            } catch (Exception e) {
+                future = XpdfUtils.failedFuture(e);
+            }
+            future.whenComplete((response, throwable) -> {
+                items[index] = toItem(request, response, throwable);
+                inFlight.decrementAndGet();
+                if (finished.incrementAndGet() == items.length) {
+                    done.complete(null);
+                } else {
+                    fill();
+                }
+            });
+        }
+    }
+
+}
@@ -0,0 +1,382 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import io.xpdf.api.common.exception.XpdfException;
+import io.xpdf.api.common.exception.XpdfProcessingException;
+import io.xpdf.api.common.exception.XpdfRuntimeException;
+import io.xpdf.api.common.util.XpdfUtils;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A {@link XpdfTool} that coalesces identical concurrent requests into a single invocation of another tool.
+ *
+ * <br><br> While a request is in flight, any identical request waits on it and shares its response or exception, instead of invoking the executable again.
+ * Requests are identical if their {@link #keyFunction keys} are equal.
+ * By default, the key combines the {@link XpdfFileKey identity} of the PDF file with the request itself, so requests only coalesce if they also share the same options and output file.
+ * Once a request finishes, its key is forgotten, and the next identical request invokes the executable again.
+ *
+ * <br><br> Example usage:
+ * <blockquote><pre>
+ *  XpdfCoalescingTool.&lt;PdfTextRequest, PdfTextResponse&gt;builder()
+ *      .tool(pdfTextTool)
+ *      .build();
+ * </pre></blockquote>
+ *
+ * @implNote Every caller of coalesced requests gets a {@link XpdfResponse#share() handle} of its own of the shared response, to close once done with it.
+ * The temporary files of the response are only deleted once every caller has closed its handle.
+ * A caller that cancels its future before the response arrives never gets its handle, which is then closed on its behalf.
+ * A response that cannot be shared is not handed out to waiting callers, which then invoke the tool themselves.
+ * @since 1.3.0
+ */
+@Builder
+@Getter
+@ToString
+@Slf4j
+public class XpdfCoalescingTool<RequestT extends XpdfRequest, ResponseT extends XpdfResponse> implements XpdfTool<RequestT, ResponseT> {
+
+    /**
+     * Tool that processes each distinct request.
+     *
+     * @since 1.3.0
+     */
+    private final XpdfTool<RequestT, ResponseT> tool;
+
+    /**
+     * Function that gets the key which identical requests share.
+     *
+     * @implNote If unassigned, this will default to a key of the {@link XpdfFileKey} of the PDF file and the request itself, or the request alone when it has a {@link XpdfRequest#getPdfSource() PDF source}.
+     * @since 1.3.0
+     */
+    @ToString.Exclude
+    private final XpdfKeyFunction<RequestT> keyFunction;
+
+    @Getter(lombok.AccessLevel.NONE)
+    @ToString.Exclude
+    private final ConcurrentMap<Object, Flight<ResponseT>> inFlightRequests = new ConcurrentHashMap<>();
+
+    public static class XpdfCoalescingToolBuilder<RequestT extends XpdfRequest, ResponseT extends XpdfResponse> {
+
+        public XpdfCoalescingTool<RequestT, ResponseT> build() {
+            val toolBuilder = configureTool();
+            val keyFunctionBuilder = configureKeyFunction();
+
+            return new XpdfCoalescingTool<>(toolBuilder, keyFunctionBuilder);
+        }
+
+        protected XpdfTool<RequestT, ResponseT> configureTool() {
+            if (tool == null) {
+                throw new XpdfRuntimeException("Tool cannot be null");
+            } else {
+                return tool;
+            }
+        }
+
+        protected XpdfKeyFunction<RequestT> configureKeyFunction() {
+            if (keyFunction == null) {
+                // in-memory PDF content can only be read once, so only the very same request may share an execution
+                return request -> request.getPdfFile() == null ? request : Arrays.asList(XpdfFileKey.of(request.getPdfFile()), request);
+            } else {
+                return keyFunction;
+            }
+        }
+    }
+
+    /**
+     * A function that gets the key of a request.
+     *
+     * @since 1.3.0
+     */
+    @FunctionalInterface
+    public interface XpdfKeyFunction<RequestT> {
+
+        /**
+         * Gets the key of a request.
+         *
+         * @param request request
+         * @return key with value equality
+         * @throws Exception if unable to get key, in which case the request is not coalesced
+         * @since 1.3.0
+         */
+        Object apply(RequestT request) throws Exception;
+
+    }
+
+    /**
+     * Invokes an <em>Xpdf</em> executable against a PDF file, unless an identical request is already in flight.
+     *
+     * <br><br> If an identical request is in flight, then waits for it to finish, and returns a handle of its response or throws its exception.
+     *
+     * @param request {@link XpdfRequest}
+     * @return {@link XpdfResponse} result, which the caller should close once done with it
+     * @throws XpdfException if exception
+     * @since 1.3.0
+     */
+    @Override
+    public ResponseT process(RequestT request) throws XpdfException {
+        val key = getKey(request);
+        if (key == null) {
+            return tool.process(request);
+        }
+
+        val flight = new Flight<ResponseT>();
+        val inFlightRequest = inFlightRequests.putIfAbsent(key, flight);
+        if (inFlightRequest != null) {
+            if (inFlightRequest.join()) {
+                log.debug("Request coalesced with in-flight request; key: {}", key);
+                val handle = await(inFlightRequest);
+                if (handle != null) {
+                    return handle;
+                }
+                log.debug("Response of in-flight request cannot be shared; key: {}", key);
+            }
+            return tool.process(request);
+        }
+
+        try {
+            val response = tool.process(request);
+            flight.complete(response);
+            return response;
+        } catch (XpdfException | RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(key, flight);
+        }
+    }
+
+    /**
+     * Invokes an <em>Xpdf</em> executable against a PDF file without blocking the calling thread, unless an identical request is already in flight.
+     *
+     * <br><br> If an identical request is in flight, then the returned future completes along with it, with a handle of its response.
+     *
+     * @param request {@link XpdfRequest}
+     * @return {@code CompletableFuture} of the {@link XpdfResponse} result, which the caller should close once done with it,
+     * and which completes exceptionally with an {@link XpdfException} if exception
+     * @since 1.3.0
+     */
+    @Override
+    public CompletableFuture<ResponseT> processAsync(RequestT request) {
+        val key = getKey(request);
+        if (key == null) {
+            return tool.processAsync(request);
+        }
+
+        val flight = new Flight<ResponseT>();
+        val inFlightRequest = inFlightRequests.putIfAbsent(key, flight);
+        if (inFlightRequest != null) {
+            if (!inFlightRequest.join()) {
+                return tool.processAsync(request);
+            }
+
+            log.debug("Request coalesced with in-flight request; key: {}", key);
+            val follower = new CompletableFuture<ResponseT>();
+            inFlightRequest.promise.whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    follower.completeExceptionally(throwable);
+                    return;
+                }
+                val handle = inFlightRequest.takeHandle();
+                if (handle != null) {
+                    deliver(follower, handle);
+                } else if (!follower.isDone()) {
+                    log.debug("Response of in-flight request cannot be shared; key: {}", key);
+                    processAsync(request, follower);
+                }
+            });
+            return follower;
+        }
+
+        CompletableFuture<ResponseT> future;
+        try {
+            future = tool.processAsync(request);
+        } catch (Exception e) {
+            future = XpdfUtils.failedFuture(e);
+        }
+        future.whenComplete((response, throwable) -> {
+            inFlightRequests.remove(key, flight);
+            if (throwable == null) {
+                flight.complete(response);
+            } else {
+                flight.completeExceptionally(throwable);
+            }
+        });
+
+        // callers get their own view of the shared future, so that one caller cannot cancel it for everyone
+        val leader = new CompletableFuture<ResponseT>();
+        flight.promise.whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                leader.completeExceptionally(throwable);
+            } else {
+                deliver(leader, response);
+            }
+        });
+        return leader;
+    }
+
+    /**
+     * Gets the number of distinct requests currently in flight.
+     *
+     * @return in-flight requests
+     * @since 1.3.0
+     */
+    public int getInFlightRequestCount() {
+        return inFlightRequests.size();
+    }
+
+    private Object getKey(RequestT request) {
+        try {
+            return keyFunction.apply(request);
+        } catch (Exception e) {
+            log.debug("Unable to get request key; request will not be coalesced; exception message: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void processAsync(RequestT request, CompletableFuture<ResponseT> target) {
+        CompletableFuture<ResponseT> future;
+        try {
+            future = tool.processAsync(request);
+        } catch (Exception e) {
+            future = XpdfUtils.failedFuture(e);
+        }
+        future.whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                target.completeExceptionally(throwable);
+            } else {
+                deliver(target, response);
+            }
+        });
+    }
+
+    private static <ResponseT extends XpdfResponse> void deliver(CompletableFuture<ResponseT> target, ResponseT response) {
+        // a caller that cancelled its future, or completed it otherwise, never gets the response, so close it on their behalf
+        if (!target.complete(response)) {
+            log.debug("Response not delivered, since the future was already completed; closing response");
+            response.close();
+        }
+    }
+
+    private ResponseT await(Flight<ResponseT> inFlightRequest) throws XpdfException {
+        try {
+            inFlightRequest.promise.get();
+            return inFlightRequest.takeHandle();
+        } catch (InterruptedException e) {
+            inFlightRequest.leave();
+            Thread.currentThread().interrupt();
+            throw new XpdfProcessingException(e);
+        } catch (ExecutionException e) {
+            val cause = e.getCause();
+            if (cause instanceof XpdfException) {
+                throw (XpdfException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new XpdfProcessingException(cause);
+            }
+        }
+    }
+
+    /**
+     * A request in flight, which identical requests join until it finishes.
+     *
+     * <br><br> When the request finishes, one handle of its response is taken for each request that joined it, before its own caller can close the response.
+     */
+    private static class Flight<ResponseT extends XpdfResponse> {
+
+        private final CompletableFuture<ResponseT> promise = new CompletableFuture<>();
+
+        private final Queue<ResponseT> handles = new ConcurrentLinkedQueue<>();
+
+        private int followerCount;
+
+        private boolean finished;
+
+        /**
+         * Joins this request, unless it has already finished.
+         *
+         * @return true if joined
+         */
+        private synchronized boolean join() {
+            if (finished) {
+                return false;
+            }
+            followerCount++;
+            return true;
+        }
+
+        /**
+         * Leaves this request, and closes the handle that was taken for the caller, if any.
+         */
+        private void leave() {
+            synchronized (this) {
+                if (!finished) {
+                    followerCount--;
+                    return;
+                }
+            }
+            val handle = handles.poll();
+            if (handle != null) {
+                handle.close();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(ResponseT response) {
+            synchronized (this) {
+                finished = true;
+                for (int i = 0; i < followerCount; i++) {
+                    val handle = (ResponseT) response.share();
+                    if (handle != null) {
+                        handles.add(handle);
+                    }
+                }
+            }
+            promise.complete(response);
+        }
+
+        private void completeExceptionally(Throwable throwable) {
+            synchronized (this) {
+                finished = true;
+            }
+            promise.completeExceptionally(throwable);
+        }
+
+        /**
+         * Takes a handle of the response for a caller that joined this request.
+         *
+         * @return handle of the response, or null if the response cannot be shared
+         */
+        private ResponseT takeHandle() {
+            return handles.poll();
+        }
+
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import io.xpdf.api.common.exception.XpdfRuntimeException;
+import io.xpdf.api.common.util.XpdfUtils;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.io.IOUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Extracts the <em>Xpdf</em> executables bundled in the project resources to the local system.
+ *
+ * <br><br> Each executable is extracted into a directory named after the SHA-256 hash of its content, so that executables of different versions never overwrite each other.
+ * Extraction is guarded by a file lock, so that JVMs starting at the same time on one system never run a half-copied executable.
+ * The executable is written to a temporary file, moved into place, and only then verified against the hash of the resource.
+ * An executable that is already in place is verified in the same way, and extracted again if it is corrupt.
+ *
+ * <br><br> The resolved executable file is cached for the lifetime of the JVM, so that building further tools costs no more than checking that it still exists.
+ * An executable that was deleted since, e.g. by a cleaner of the temporary directory, is extracted again.
+ *
+ * @since 1.3.0
+ */
+@Slf4j
+public class XpdfExecutableManager {
+
+    private static final int HASH_DIRECTORY_LENGTH = 16;
+
+    private static final String LOCK_FILE_NAME = ".lock";
+
+    private static final String TEMP_FILE_PREFIX = ".tmp-";
+
+    private static final ConcurrentMap<String, File> EXECUTABLE_FILES = new ConcurrentHashMap<>();
+
+    private XpdfExecutableManager() {
+    }
+
+    /**
+     * Gets an executable bundled in the project resources, extracting it to the local system on first use.
+     *
+     * @param classLoader {@code ClassLoader} of the project resources
+     * @param resourceName resource name of the executable
+     * @param executablePath path that the executable would be extracted to, without a hash directory
+     * @return canonical executable file
+     * @throws XpdfRuntimeException if unable to extract or verify the executable
+     * @implNote The executable is extracted to the sibling directory of {@code executablePath} that is named after its hash, e.g. {@code bin/1a2b3c4d5e6f7a8b/pdftotext}.
+     * @since 1.3.0
+     */
+    public static File getExecutableFile(ClassLoader classLoader, String resourceName, Path executablePath) {
+        val key = resourceName + File.pathSeparator + executablePath;
+        val cachedExecutableFile = EXECUTABLE_FILES.get(key);
+        if (cachedExecutableFile != null && cachedExecutableFile.isFile() && cachedExecutableFile.canExecute()) {
+            return cachedExecutableFile;
+        }
+
+        // first use, or the executable was deleted since it was extracted
+        val executableFile = extract(classLoader, resourceName, executablePath);
+        EXECUTABLE_FILES.put(key, executableFile);
+        return executableFile;
+    }
+
+    /**
+     * Extracts an executable bundled in the project resources to the local system, unless an intact copy is already in place.
+     *
+     * @param classLoader {@code ClassLoader} of the project resources
+     * @param resourceName resource name of the executable
+     * @param executablePath path that the executable would be extracted to, without a hash directory
+     * @return canonical executable file
+     * @throws XpdfRuntimeException if unable to extract or verify the executable
+     */
+    protected static File extract(ClassLoader classLoader, String resourceName, Path executablePath) {
+        val executableBytes = readResource(classLoader, resourceName);
+        val hash = XpdfUtils.toHex(XpdfUtils.newSha256Digest().digest(executableBytes));
+        val executableDirectory = executablePath.resolveSibling(hash.substring(0, HASH_DIRECTORY_LENGTH));
+        val executableFile = executableDirectory.resolve(executablePath.getFileName()).toFile();
+
+        try {
+            if (!isIntact(executableFile, hash)) {
+                Files.createDirectories(executableDirectory);
+                try (FileChannel lockChannel = FileChannel.open(executableDirectory.resolve(LOCK_FILE_NAME), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                     FileLock ignored = lockChannel.lock()) {
+                    // another JVM may have extracted the executable while this one waited for the lock
+                    if (!isIntact(executableFile, hash)) {
+                        log.debug("Extracting executable; resource name: {}, executable file: {}", resourceName, executableFile);
+                        writeExecutable(executableBytes, executableFile.toPath());
+                        if (!isIntact(executableFile, hash)) {
+                            throw new XpdfRuntimeException("Checksum of extracted executable does not match project resources");
+                        }
+                    }
+                }
+            }
+
+            if (!executableFile.canExecute() && !executableFile.setExecutable(true)) {
+                throw new XpdfRuntimeException("Unable to set execute permissions on executable");
+            }
+            return executableFile.getCanonicalFile();
+        } catch (IOException e) {
+            throw new XpdfRuntimeException("Unable to copy executable from resources to local system");
+        }
+    }
+
+    private static byte[] readResource(ClassLoader classLoader, String resourceName) {
+        try (InputStream executableResourceStream = classLoader.getResourceAsStream(resourceName)) {
+            if (executableResourceStream == null) {
+                throw new XpdfRuntimeException("Unable to locate executable in project resources");
+            }
+            return IOUtils.toByteArray(executableResourceStream);
+        } catch (IOException e) {
+            throw new XpdfRuntimeException("Unable to copy executable from resources to local system");
+        }
+    }
+
+    private static void writeExecutable(byte[] executableBytes, Path executablePath) throws IOException {
+        val tempPath = Files.createTempFile(executablePath.getParent(), TEMP_FILE_PREFIX, null);
+        try {
+            Files.write(tempPath, executableBytes);
+            if (!tempPath.toFile().setExecutable(true)) {
+                throw new XpdfRuntimeException("Unable to set execute permissions on executable");
+            }
+            // a corrupt executable is replaced, which may not be possible in the same move on every file system
+            Files.deleteIfExists(executablePath);
+            Files.move(tempPath, executablePath, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    private static boolean isIntact(File executableFile, String hash) throws IOException {
+        return executableFile.isFile() && hash.equals(XpdfUtils.getSha256Hex(executableFile));
+    }
+
+}
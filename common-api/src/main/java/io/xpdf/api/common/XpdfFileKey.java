@@ -0,0 +1,78 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Identifies the contents of a file by its canonical path, size and last modified time.
+ *
+ * <br><br> Two keys are equal if they refer to the same file, and that file has not been modified in between.
+ * This is far cheaper than hashing the contents of the file, at the cost of not recognizing identical copies at different paths.
+ *
+ * @since 1.3.0
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class XpdfFileKey {
+
+    /**
+     * Canonical path of the file.
+     *
+     * @since 1.3.0
+     */
+    private final String canonicalPath;
+
+    /**
+     * Size of the file in bytes.
+     *
+     * @since 1.3.0
+     */
+    private final long length;
+
+    /**
+     * Last modified time of the file, in milliseconds since the epoch.
+     *
+     * @since 1.3.0
+     */
+    private final long lastModified;
+
+    private XpdfFileKey(String canonicalPath, long length, long lastModified) {
+        this.canonicalPath = canonicalPath;
+        this.length = length;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Gets the key of a file.
+     *
+     * @param file file
+     * @return {@link XpdfFileKey}
+     * @throws IOException if canonical path of file is invalid
+     * @since 1.3.0
+     */
+    public static XpdfFileKey of(File file) throws IOException {
+        return new XpdfFileKey(file.getCanonicalPath(), file.length(), file.lastModified());
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import lombok.Getter;
+import lombok.ToString;
+import lombok.val;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * A bounded buffer of bytes streamed from a shell process that invoked an <em>Xpdf</em> executable.
+ *
+ * <br><br> Bytes are kept until the buffer reaches its capacity, after which any further bytes are counted and discarded.
+ * This keeps memory bounded for processes that emit a very large amount of output, such as malformed PDF files that print thousands of syntax errors.
+ *
+ * @since 1.3.0
+ */
+@Getter
+@ToString(onlyExplicitlyIncluded = true)
+public class XpdfOutputBuffer {
+
+    /**
+     * Maximum number of bytes kept by this buffer.
+     *
+     * @since 1.3.0
+     */
+    @ToString.Include
+    private final int maxBytes;
+
+    /**
+     * Number of bytes kept by this buffer.
+     *
+     * @since 1.3.0
+     */
+    @ToString.Include
+    private int size;
+
+    /**
+     * Number of bytes discarded after this buffer reached its capacity.
+     *
+     * @since 1.3.0
+     */
+    @ToString.Include
+    private long discardedBytes;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private byte[] bytes = new byte[0];
+
+    public XpdfOutputBuffer(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Appends bytes to this buffer, discarding any bytes beyond its capacity.
+     *
+     * @param source source bytes
+     * @param offset offset in source bytes
+     * @param length number of bytes to append
+     * @since 1.3.0
+     */
+    public void write(byte[] source, int offset, int length) {
+        val kept = Math.min(length, maxBytes - size);
+        if (kept > 0) {
+            if (size + kept > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.min(maxBytes, Math.max(size + kept, bytes.length * 2)));
+            }
+            System.arraycopy(source, offset, bytes, size, kept);
+            size += kept;
+        }
+        discardedBytes += length - Math.max(kept, 0);
+    }
+
+    /**
+     * Checks whether any bytes were discarded after this buffer reached its capacity.
+     *
+     * @return true if truncated
+     * @since 1.3.0
+     */
+    public boolean isTruncated() {
+        return discardedBytes > 0;
+    }
+
+    /**
+     * Decodes the bytes kept by this buffer.
+     *
+     * @param charset {@code Charset} to decode with
+     * @return decoded text
+     * @since 1.3.0
+     */
+    public String toString(Charset charset) {
+        return new String(bytes, 0, size, charset);
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import io.xpdf.api.common.exception.XpdfRuntimeException;
+import io.xpdf.api.common.util.XpdfUtils;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The root directory where an {@link XpdfTool} writes the output files that are not given a path in the request.
+ *
+ * <br><br> Output is written to the on-disk {@link #directory}, unless a {@link #ramDiskDirectory} is in use.
+ * A RAM-backed directory spares write-heavy output, such as the uncompressed images of <em>pdfimages</em>, from ever reaching the disk.
+ * Since its space is shared with the memory of the system, output falls back to the on-disk directory whenever the RAM-backed directory has less than {@link #minFreeBytes} left.
+ *
+ * <br><br> Example usage:
+ * <blockquote><pre>
+ *  XpdfOutputDirectory.builder()
+ *      .directory(Paths.get("/data/xpdf"))
+ *      .ramDiskEnabled(true)
+ *      .build();
+ * </pre></blockquote>
+ *
+ * @implNote Both directories are registered with the {@link XpdfTempFileJanitor} of the tool, so they should only hold the output of this project.
+ * @since 1.3.0
+ */
+@Getter
+@ToString
+@Slf4j
+public class XpdfOutputDirectory {
+
+    /**
+     * On-disk directory where output is written.
+     *
+     * @implNote Required.
+     * @since 1.3.0
+     */
+    private final Path directory;
+
+    /**
+     * RAM-backed directory where output is preferably written.
+     *
+     * @implNote If unassigned, no RAM-backed directory is used, unless {@link XpdfOutputDirectoryBuilder#ramDiskEnabled(Boolean) enabled},
+     * in which case this will default to a mirror of {@link #directory} in {@code /dev/shm}, if available.
+     * @since 1.3.0
+     */
+    private final Path ramDiskDirectory;
+
+    /**
+     * Minimum free space in bytes that the RAM-backed directory must have left for output to be written to it.
+     *
+     * @implNote If unassigned, this will default to 256 MiB.
+     * @since 1.3.0
+     */
+    private final Long minFreeBytes;
+
+    @Builder
+    protected XpdfOutputDirectory(Path directory, Path ramDiskDirectory, Long minFreeBytes) {
+        this.directory = directory;
+        this.ramDiskDirectory = ramDiskDirectory;
+        this.minFreeBytes = minFreeBytes;
+    }
+
+    public static class XpdfOutputDirectoryBuilder {
+
+        private Boolean ramDiskEnabled;
+
+        /**
+         * Enables the automatic RAM disk mode, which defaults the {@link XpdfOutputDirectory#ramDiskDirectory} to a mirror of the on-disk directory in {@code /dev/shm}.
+         * This has no effect if the system has no RAM-backed directory, or if a RAM-backed directory is given.
+         *
+         * @param ramDiskEnabled whether output is preferably written to a RAM-backed directory
+         * @return this builder
+         * @since 1.3.0
+         */
+        public XpdfOutputDirectoryBuilder ramDiskEnabled(Boolean ramDiskEnabled) {
+            this.ramDiskEnabled = ramDiskEnabled;
+            return this;
+        }
+
+        public XpdfOutputDirectory build() {
+            val directoryBuilder = configureDirectory();
+            val ramDiskDirectoryBuilder = configureRamDiskDirectory();
+            val minFreeBytesBuilder = configureMinFreeBytes();
+
+            return new XpdfOutputDirectory(directoryBuilder, ramDiskDirectoryBuilder, minFreeBytesBuilder);
+        }
+
+        protected Path configureDirectory() {
+            if (directory == null) {
+                throw new XpdfRuntimeException("Directory cannot be null");
+            } else {
+                return directory;
+            }
+        }
+
+        protected Path configureRamDiskDirectory() {
+            if (ramDiskDirectory == null && Boolean.TRUE.equals(ramDiskEnabled)) {
+                val ramDiskTempPath = XpdfUtils.getXpdfRamDiskTempPath();
+                if (ramDiskTempPath == null) {
+                    log.debug("No RAM disk available; directory: {}", directory);
+                    return null;
+                }
+                // mirror the on-disk directory, so that every output directory has its own RAM-backed counterpart
+                val absoluteDirectory = directory.toAbsolutePath().normalize();
+                return ramDiskTempPath.resolve("out").resolve(absoluteDirectory.getRoot().relativize(absoluteDirectory).toString());
+            } else {
+                return ramDiskDirectory;
+            }
+        }
+
+        protected long configureMinFreeBytes() {
+            if (minFreeBytes == null) {
+                return XpdfUtils.getXpdfRamDiskMinFreeBytes();
+            } else if (minFreeBytes < 0) {
+                throw new XpdfRuntimeException("MinFreeBytes must be greater than or equal to zero");
+            } else {
+                return minFreeBytes;
+            }
+        }
+    }
+
+    /**
+     * Gets the directory where the next output should be written.
+     *
+     * <br><br> This is the {@link #ramDiskDirectory} while it has at least {@link #minFreeBytes} of usable space left, and the {@link #directory} otherwise.
+     *
+     * @return output directory
+     * @since 1.3.0
+     */
+    public Path getCurrentDirectory() {
+        return getCurrentDirectory(0);
+    }
+
+    /**
+     * Gets the directory where the next output of a known size should be written.
+     *
+     * <br><br> This is the {@link #ramDiskDirectory} while it has room for the output on top of {@link #minFreeBytes}, and the {@link #directory} otherwise.
+     *
+     * @param requiredBytes size of the output in bytes
+     * @return output directory
+     * @since 1.3.0
+     */
+    public Path getCurrentDirectory(long requiredBytes) {
+        if (ramDiskDirectory == null) {
+            return directory;
+        }
+
+        try {
+            Files.createDirectories(ramDiskDirectory);
+            val usableBytes = Files.getFileStore(ramDiskDirectory).getUsableSpace();
+            if (usableBytes - requiredBytes >= minFreeBytes) {
+                return ramDiskDirectory;
+            }
+            log.debug("RAM disk running low, falling back to disk; usable bytes: {}, directory: {}", usableBytes, directory);
+        } catch (IOException e) {
+            log.debug("RAM disk unavailable, falling back to disk; exception message: {}", e.getMessage());
+        }
+        return directory;
+    }
+
+    /**
+     * Gets every directory where output may be written.
+     *
+     * @return on-disk directory, followed by the RAM-backed directory if any
+     * @since 1.3.0
+     */
+    public List<Path> getDirectories() {
+        if (ramDiskDirectory == null) {
+            return Collections.singletonList(directory);
+        }
+
+        val directories = new ArrayList<Path>();
+        directories.add(directory);
+        directories.add(ramDiskDirectory);
+        return directories;
+    }
+
+}
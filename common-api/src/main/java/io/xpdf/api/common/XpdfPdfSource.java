@@ -0,0 +1,132 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * The content of a PDF file held in memory, or readable from a stream, rather than stored as a file.
+ *
+ * <br><br> <em>Xpdf</em> executables can only read PDF files, so the content is staged into a file by a {@link XpdfPdfStager} before the executable is invoked.
+ * Content held in a buffer is written straight to a {@code FileChannel}, and content read from a channel is pulled into it in chunks, so neither is ever read whole onto the heap.
+ * A stream can only be read into a byte array though, so content read from a stream is copied through a small one, chunk by chunk.
+ *
+ * <br><br> Example usage:
+ * <blockquote><pre>
+ *  XpdfPdfSource.of(ByteBuffer.wrap(bytes));
+ *  XpdfPdfSource.of(httpRequest.getInputStream());
+ * </pre></blockquote>
+ *
+ * @implNote A stream or channel is read once, and is not closed, so a source built from either should not be reused.
+ * A buffer is read from its current position to its limit, without changing its position, so a source built from a buffer may be reused.
+ * @since 1.3.0
+ */
+@ToString
+public class XpdfPdfSource {
+
+    private static final long TRANSFER_CHUNK_BYTES = 8L * 1024 * 1024;
+
+    private final ByteBuffer buffer;
+
+    private final ReadableByteChannel channel;
+
+    private XpdfPdfSource(ByteBuffer buffer, ReadableByteChannel channel) {
+        this.buffer = buffer;
+        this.channel = channel;
+    }
+
+    /**
+     * Gets the source of PDF content held in a buffer.
+     *
+     * @param buffer buffer of PDF content, which may be direct
+     * @return {@link XpdfPdfSource}
+     * @since 1.3.0
+     */
+    public static XpdfPdfSource of(@NonNull ByteBuffer buffer) {
+        return new XpdfPdfSource(buffer, null);
+    }
+
+    /**
+     * Gets the source of PDF content readable from a stream.
+     *
+     * @param stream stream of PDF content
+     * @return {@link XpdfPdfSource}
+     * @implNote The stream is read through a channel that copies each chunk through a small byte array.
+     * Prefer a {@link #of(ReadableByteChannel) channel}, such as a {@code FileChannel}, if the content is available as one.
+     * @since 1.3.0
+     */
+    public static XpdfPdfSource of(@NonNull InputStream stream) {
+        return new XpdfPdfSource(null, Channels.newChannel(stream));
+    }
+
+    /**
+     * Gets the source of PDF content readable from a channel.
+     *
+     * @param channel channel of PDF content
+     * @return {@link XpdfPdfSource}
+     * @since 1.3.0
+     */
+    public static XpdfPdfSource of(@NonNull ReadableByteChannel channel) {
+        return new XpdfPdfSource(null, channel);
+    }
+
+    /**
+     * Gets the size in bytes of the PDF content, if it is known up front.
+     *
+     * @return size in bytes, or -1 if the content is read from a stream or channel
+     * @since 1.3.0
+     */
+    public long getSize() {
+        return buffer != null ? buffer.remaining() : -1;
+    }
+
+    /**
+     * Writes the PDF content to a file channel, starting at its current position.
+     *
+     * @param target file channel to write to
+     * @return number of bytes written
+     * @throws IOException if unable to read the content or write to the file channel
+     * @since 1.3.0
+     */
+    public long transferTo(FileChannel target) throws IOException {
+        long count = 0;
+        if (buffer != null) {
+            // write a view of the buffer, so that the position of the given buffer is left untouched
+            val view = buffer.duplicate();
+            while (view.hasRemaining()) {
+                count += target.write(view);
+            }
+        } else {
+            // let the file channel pull from the source channel in chunks, which a channel over a stream still copies through a byte array
+            long transferred;
+            while ((transferred = target.transferFrom(channel, target.position() + count, TRANSFER_CHUNK_BYTES)) > 0) {
+                count += transferred;
+            }
+        }
+        return count;
+    }
+
+}
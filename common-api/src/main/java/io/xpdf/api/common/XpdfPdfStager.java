@@ -0,0 +1,273 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import io.xpdf.api.common.exception.XpdfException;
+import io.xpdf.api.common.exception.XpdfProcessingException;
+import io.xpdf.api.common.exception.XpdfRuntimeException;
+import io.xpdf.api.common.util.XpdfUtils;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A stager of in-memory PDF content into files that <em>Xpdf</em> executables can read.
+ *
+ * <br><br> Each {@link XpdfPdfSource} is written to its own file, which is deleted as soon as the request has been processed.
+ * Content is staged into the {@link #ramDiskDirectory} if there is one, so that it never touches the disk.
+ * Since its space is shared with the memory of the system, content falls back to the on-disk {@link #directory} whenever the RAM-backed directory would be left with less than {@link #minFreeBytes}.
+ * Every {@link XpdfTool} in this project stages with the same {@link #getDefaultInstance() default instance}, unless configured otherwise.
+ *
+ * <br><br> Example usage:
+ * <blockquote><pre>
+ *  XpdfPdfStager.builder()
+ *      .directory(Paths.get("/data/xpdf/staging"))
+ *      .ramDiskDirectory(Paths.get("/mnt/ramdisk/xpdf"))
+ *      .build();
+ * </pre></blockquote>
+ *
+ * @since 1.3.0
+ */
+@Getter
+@ToString
+@Slf4j
+public class XpdfPdfStager {
+
+    /**
+     * On-disk directory that PDF content is staged into.
+     *
+     * @implNote If unassigned, this will default to a directory in the temporary directory.
+     * Leftovers of a JVM that crashed in the default directory are swept by the {@link XpdfTempFileJanitor#getDefaultInstance() default janitor}.
+     * @since 1.3.0
+     */
+    private final Path directory;
+
+    /**
+     * RAM-backed directory that PDF content is preferably staged into.
+     *
+     * @implNote If unassigned, this will default to a directory in {@code /dev/shm} when it is available, unless a {@link #directory} is given.
+     * Leftovers of a JVM that crashed in the default directory are swept by the {@link XpdfTempFileJanitor#getDefaultInstance() default janitor}.
+     * @since 1.3.0
+     */
+    private final Path ramDiskDirectory;
+
+    /**
+     * Minimum free space in bytes that the RAM-backed directory must have left once PDF content is staged into it.
+     *
+     * @implNote If unassigned, this will default to 256 MiB.
+     * @since 1.3.0
+     */
+    private final Long minFreeBytes;
+
+    /**
+     * Directories that PDF content is staged into, which choose between the RAM-backed and the on-disk directory.
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final XpdfOutputDirectory stagingDirectory;
+
+    @Builder
+    protected XpdfPdfStager(Path directory, Path ramDiskDirectory, Long minFreeBytes) {
+        this.directory = directory;
+        this.ramDiskDirectory = ramDiskDirectory;
+        this.minFreeBytes = minFreeBytes;
+        this.stagingDirectory = XpdfOutputDirectory.builder()
+                .directory(directory)
+                .ramDiskDirectory(ramDiskDirectory)
+                .minFreeBytes(minFreeBytes)
+                .build();
+    }
+
+    public static class XpdfPdfStagerBuilder {
+
+        public XpdfPdfStager build() {
+            val directoryBuilder = configureDirectory();
+            val ramDiskDirectoryBuilder = configureRamDiskDirectory();
+            val minFreeBytesBuilder = configureMinFreeBytes();
+
+            return new XpdfPdfStager(directoryBuilder, ramDiskDirectoryBuilder, minFreeBytesBuilder);
+        }
+
+        protected Path configureDirectory() {
+            if (directory == null) {
+                val stagingPath = XpdfUtils.getXpdfStagingPath();
+                XpdfTempFileJanitor.getDefaultInstance().register(stagingPath);
+                return stagingPath;
+            } else {
+                return directory;
+            }
+        }
+
+        protected Path configureRamDiskDirectory() {
+            if (ramDiskDirectory == null && directory == null) {
+                val ramDiskStagingPath = XpdfUtils.getXpdfRamDiskStagingPath();
+                if (ramDiskStagingPath != null) {
+                    XpdfTempFileJanitor.getDefaultInstance().register(ramDiskStagingPath);
+                }
+                return ramDiskStagingPath;
+            } else {
+                return ramDiskDirectory;
+            }
+        }
+
+        protected long configureMinFreeBytes() {
+            if (minFreeBytes == null) {
+                return XpdfUtils.getXpdfRamDiskMinFreeBytes();
+            } else if (minFreeBytes < 0) {
+                throw new XpdfRuntimeException("MinFreeBytes must be greater than or equal to zero");
+            } else {
+                return minFreeBytes;
+            }
+        }
+    }
+
+    /**
+     * Gets the stager shared by every {@link XpdfTool} that has not been configured with its own stager.
+     *
+     * @return default {@link XpdfPdfStager}
+     * @since 1.3.0
+     */
+    public static XpdfPdfStager getDefaultInstance() {
+        return DefaultInstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Stages PDF content into a new file.
+     *
+     * <br><br> The file is created in the RAM-backed directory if it has room for the content on top of {@link #minFreeBytes}, and in the on-disk directory otherwise.
+     *
+     * @param source {@link XpdfPdfSource}
+     * @return staged PDF file, which should be {@link #unstage unstaged} once it is no longer needed
+     * @throws IOException if unable to read the content or write the file
+     * @implNote The size of content read from a stream or channel is unknown up front, so only {@link #minFreeBytes} is left as headroom for it.
+     * @since 1.3.0
+     */
+    public File stage(XpdfPdfSource source) throws IOException {
+        val currentDirectory = stagingDirectory.getCurrentDirectory(Math.max(source.getSize(), 0));
+        Files.createDirectories(currentDirectory);
+        val stagedPath = Files.createTempFile(currentDirectory, "pdf-", ".pdf");
+        try (val channel = FileChannel.open(stagedPath, StandardOpenOption.WRITE)) {
+            val size = source.transferTo(channel);
+            log.debug("Pdf source staged; file: {}, size: {}", stagedPath, size);
+            return stagedPath.toFile();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(stagedPath);
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes a staged PDF file.
+     *
+     * @param stagedFile staged PDF file
+     * @since 1.3.0
+     */
+    public void unstage(File stagedFile) {
+        if (FileUtils.deleteQuietly(stagedFile)) {
+            log.debug("Pdf source unstaged; file: {}", stagedFile);
+        }
+    }
+
+    /**
+     * Stages PDF content into a file for the duration of a function.
+     *
+     * @param source {@link XpdfPdfSource}
+     * @param function {@link XpdfStagedFunction} that processes the staged PDF file
+     * @param <ResponseT> type of response
+     * @return response of the function
+     * @throws XpdfException if thrown by the function
+     * @throws XpdfProcessingException if unable to stage the content
+     * @since 1.3.0
+     */
+    public <ResponseT> ResponseT process(XpdfPdfSource source, XpdfStagedFunction<ResponseT> function) throws XpdfException {
+        final File stagedFile;
+        try {
+            stagedFile = stage(source);
+        } catch (IOException e) {
+            throw new XpdfProcessingException(e);
+        }
+
+        try {
+            return function.apply(stagedFile);
+        } finally {
+            unstage(stagedFile);
+        }
+    }
+
+    /**
+     * Stages PDF content into a file until an asynchronous function completes.
+     *
+     * @param source {@link XpdfPdfSource}
+     * @param function function that processes the staged PDF file
+     * @param <ResponseT> type of response
+     * @return {@code CompletableFuture} of the response of the function, which completes exceptionally with {@link XpdfProcessingException} if unable to stage the content
+     * @since 1.3.0
+     */
+    public <ResponseT> CompletableFuture<ResponseT> processAsync(XpdfPdfSource source, Function<File, CompletableFuture<ResponseT>> function) {
+        final File stagedFile;
+        try {
+            stagedFile = stage(source);
+        } catch (IOException e) {
+            return XpdfUtils.failedFuture(new XpdfProcessingException(e));
+        }
+
+        try {
+            return function.apply(stagedFile).whenComplete((response, throwable) -> unstage(stagedFile));
+        } catch (RuntimeException e) {
+            unstage(stagedFile);
+            throw e;
+        }
+    }
+
+    /**
+     * A function that processes a staged PDF file.
+     *
+     * @since 1.3.0
+     */
+    @FunctionalInterface
+    public interface XpdfStagedFunction<ResponseT> {
+
+        /**
+         * Processes a staged PDF file.
+         *
+         * @param stagedFile staged PDF file, which is deleted once this function returns
+         * @return response
+         * @throws XpdfException if unable to process the staged PDF file
+         * @since 1.3.0
+         */
+        ResponseT apply(File stagedFile) throws XpdfException;
+
+    }
+
+    private static class DefaultInstanceHolder {
+        private static final XpdfPdfStager INSTANCE = XpdfPdfStager.builder().build();
+    }
+
+}
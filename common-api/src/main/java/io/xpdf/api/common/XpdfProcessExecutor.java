@@ -0,0 +1,800 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import io.xpdf.api.common.exception.*;
+import io.xpdf.api.common.util.XpdfUtils;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.ClosedInputStream;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded executor of shell processes that invoke <em>Xpdf</em> executables.
+ *
+ * <br><br> Limits the number of native processes that can run at the same time, and holds any further processes in a bounded wait queue until a slot frees up.
+ * Processes that arrive while the queue is full are rejected outright, so that throughput levels off under burst load instead of thrashing the CPU.
+ * Every {@link XpdfTool} in this project delegates to the same {@link #getDefaultInstance() default instance}, unless configured otherwise.
+ *
+ * <br><br> Processes can be executed either synchronously with {@link #execute}, or asynchronously with {@link #executeAsync}.
+ * A synchronous process may also hand its standard output to a {@link XpdfStreamConsumer} as it is produced, rather than buffering it.
+ * Asynchronous processes never park a thread while they run or wait in the queue.
+ * Instead, a single reaper thread shared by all executors polls running processes for completion, and advances a {@link XpdfTimerWheel} that enforces their timeouts.
+ * A process that has timed out is asked to terminate, and is destroyed forcibly if it is still alive after a short grace period.
+ *
+ * <br><br> The standard and error output streams of every process are drained while the process runs, into buffers bounded by {@link #maxOutputBytes}.
+ * A process can therefore never stall on a full OS pipe buffer, no matter how much diagnostic output it prints.
+ *
+ * <br><br> Example usage:
+ * <blockquote><pre>
+ *  XpdfProcessExecutor.builder()
+ *      .maxConcurrentProcesses(4)
+ *      .maxQueuedProcesses(100)
+ *      .maxOutputBytes(1048576)
+ *      .build();
+ * </pre></blockquote>
+ *
+ * @since 1.3.0
+ */
+@Getter
+@ToString
+@Slf4j
+public class XpdfProcessExecutor {
+
+    private static final long REAPER_INTERVAL_MILLIS = 10;
+
+    private static final long DRAIN_INTERVAL_MILLIS = 10;
+
+    private static final int TIMER_WHEEL_SIZE = 512;
+
+    private static final long DESTROY_GRACE_MILLIS = 1000;
+
+    /**
+     * Maximum number of processes that may run at the same time.
+     *
+     * @implNote If unassigned, this will default to the number of available processors.
+     * @since 1.3.0
+     */
+    private final Integer maxConcurrentProcesses;
+
+    /**
+     * Maximum number of processes that may wait for a free slot before being rejected.
+     *
+     * @implNote If unassigned, this will default to 1024 processes.
+     * @since 1.3.0
+     */
+    private final Integer maxQueuedProcesses;
+
+    /**
+     * Maximum number of bytes kept from each of the standard and error output streams of a process.
+     * Any further output is drained and discarded.
+     *
+     * @implNote If unassigned, this will default to 16 MiB.
+     * @since 1.3.0
+     */
+    private final Integer maxOutputBytes;
+
+    @Getter(lombok.AccessLevel.NONE)
+    @ToString.Exclude
+    private final Semaphore processPermits;
+
+    @Getter(lombok.AccessLevel.NONE)
+    @ToString.Exclude
+    private final AtomicInteger queuedProcesses = new AtomicInteger();
+
+    @Getter(lombok.AccessLevel.NONE)
+    @ToString.Exclude
+    private final Queue<AsyncProcess> pendingProcesses = new ConcurrentLinkedQueue<>();
+
+    @Getter(lombok.AccessLevel.NONE)
+    @ToString.Exclude
+    private final Queue<AsyncProcess> runningProcesses = new ConcurrentLinkedQueue<>();
+
+    @Getter(lombok.AccessLevel.NONE)
+    @ToString.Exclude
+    private final Queue<StreamingProcess> streamingProcesses = new ConcurrentLinkedQueue<>();
+
+    @Getter(lombok.AccessLevel.NONE)
+    @ToString.Exclude
+    private final XpdfTimerWheel timerWheel = new XpdfTimerWheel(TimeUnit.MILLISECONDS.toNanos(REAPER_INTERVAL_MILLIS), TIMER_WHEEL_SIZE);
+
+    @Getter(lombok.AccessLevel.NONE)
+    @ToString.Exclude
+    private ScheduledFuture<?> reaperTask;
+
+    @Builder
+    protected XpdfProcessExecutor(Integer maxConcurrentProcesses, Integer maxQueuedProcesses, Integer maxOutputBytes) {
+        this.maxConcurrentProcesses = maxConcurrentProcesses;
+        this.maxQueuedProcesses = maxQueuedProcesses;
+        this.maxOutputBytes = maxOutputBytes;
+        this.processPermits = new Semaphore(maxConcurrentProcesses, true);
+    }
+
+    public static class XpdfProcessExecutorBuilder {
+
+        public XpdfProcessExecutor build() {
+            val maxConcurrentProcessesBuilder = configureMaxConcurrentProcesses();
+            val maxQueuedProcessesBuilder = configureMaxQueuedProcesses();
+            val maxOutputBytesBuilder = configureMaxOutputBytes();
+
+            return new XpdfProcessExecutor(maxConcurrentProcessesBuilder, maxQueuedProcessesBuilder, maxOutputBytesBuilder);
+        }
+
+        protected int configureMaxConcurrentProcesses() {
+            if (maxConcurrentProcesses == null) {
+                return XpdfUtils.getXpdfMaxConcurrentProcesses();
+            } else if (maxConcurrentProcesses <= 0) {
+                throw new XpdfRuntimeException("MaxConcurrentProcesses must be greater than zero");
+            } else {
+                return maxConcurrentProcesses;
+            }
+        }
+
+        protected int configureMaxQueuedProcesses() {
+            if (maxQueuedProcesses == null) {
+                return XpdfUtils.getXpdfMaxQueuedProcesses();
+            } else if (maxQueuedProcesses < 0) {
+                throw new XpdfRuntimeException("MaxQueuedProcesses must be greater than or equal to zero");
+            } else {
+                return maxQueuedProcesses;
+            }
+        }
+
+        protected int configureMaxOutputBytes() {
+            if (maxOutputBytes == null) {
+                return XpdfUtils.getXpdfMaxOutputBytes();
+            } else if (maxOutputBytes < 0) {
+                throw new XpdfRuntimeException("MaxOutputBytes must be greater than or equal to zero");
+            } else {
+                return maxOutputBytes;
+            }
+        }
+    }
+
+    /**
+     * Gets the executor shared by every {@link XpdfTool} that has not been configured with its own executor.
+     *
+     * @return default {@link XpdfProcessExecutor}
+     * @since 1.3.0
+     */
+    public static XpdfProcessExecutor getDefaultInstance() {
+        return DefaultInstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Executes a shell command that invokes an <em>Xpdf</em> executable, and waits for it to finish.
+     *
+     * <br><br> If every slot is taken, then the calling thread waits in the queue until a slot frees up.
+     * Time spent waiting in the queue counts against the timeout, so a request never blocks for longer than its timeout allows.
+     *
+     * @param commandParts command parts as {@code List<String>}
+     * @param timeoutSeconds maximum amount of time in seconds allotted to the process
+     * @return {@link XpdfProcessResult} of a process that returned a zero exit code
+     * @throws XpdfRejectedException if the wait queue is full
+     * @throws XpdfExecutionException if process returns non-zero exit code
+     * @throws XpdfTimeoutException if process duration exceeds timeout length
+     * @throws XpdfProcessingException if any other exception occurs during processing
+     * @implNote This method executes a shell command and may become blocking.
+     * Outputs are decoded with the default charset of the JVM.
+     * @since 1.3.0
+     */
+    public XpdfProcessResult execute(List<String> commandParts, int timeoutSeconds) throws XpdfException {
+        return execute(commandParts, timeoutSeconds, Charset.defaultCharset());
+    }
+
+    /**
+     * Executes a shell command that invokes an <em>Xpdf</em> executable, and decodes its standard output with a charset.
+     *
+     * <br><br> Behaves like {@link #execute(List, int)}, except that the standard output is decoded with the charset of the encoding that the executable was asked to write in.
+     * The error output is still decoded with the default charset of the JVM, since the messages of the executable are never written in the requested encoding.
+     *
+     * @param commandParts command parts as {@code List<String>}
+     * @param timeoutSeconds maximum amount of time in seconds allotted to the process
+     * @param charset {@code Charset} that the standard output is decoded with
+     * @return {@link XpdfProcessResult} of a process that returned a zero exit code
+     * @throws XpdfRejectedException if the wait queue is full
+     * @throws XpdfExecutionException if process returns non-zero exit code
+     * @throws XpdfTimeoutException if process duration exceeds timeout length
+     * @throws XpdfProcessingException if any other exception occurs during processing
+     * @implNote This method executes a shell command and may become blocking.
+     * @since 1.3.0
+     */
+    public XpdfProcessResult execute(List<String> commandParts, int timeoutSeconds, Charset charset) throws XpdfException {
+        return execute(commandParts, timeoutSeconds, charset, null);
+    }
+
+    /**
+     * Executes a shell command that invokes an <em>Xpdf</em> executable, decodes its standard output with a charset, and copies it to a tee as it is drained.
+     *
+     * <br><br> Behaves like {@link #execute(List, int, Charset)}, except that every byte of the standard output is also written to the tee, even once the standard output of the result is truncated.
+     * This lets the standard output be parsed while the process runs, without being held in memory as a whole.
+     *
+     * @param commandParts command parts as {@code List<String>}
+     * @param timeoutSeconds maximum amount of time in seconds allotted to the process
+     * @param charset {@code Charset} that the standard output is decoded with
+     * @param standardOutputTee {@code OutputStream} that the standard output is copied to, or null
+     * @return {@link XpdfProcessResult} of a process that returned a zero exit code
+     * @throws XpdfRejectedException if the wait queue is full
+     * @throws XpdfExecutionException if process returns non-zero exit code
+     * @throws XpdfTimeoutException if process duration exceeds timeout length
+     * @throws XpdfProcessingException if any other exception occurs during processing, including any exception thrown by the tee
+     * @implNote This method executes a shell command and may become blocking.
+     * The tee is written to on the calling thread, and is left open.
+     * @since 1.3.0
+     */
+    public XpdfProcessResult execute(List<String> commandParts, int timeoutSeconds, Charset charset, OutputStream standardOutputTee) throws XpdfException {
+        val deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        acquirePermit(timeoutSeconds);
+        Process process = null;
+
+        try {
+            // process commands
+            log.debug("Invoking executable; command: {}", commandParts.toString());
+            val processBuilder = new ProcessBuilder(commandParts);
+            process = processBuilder.start();
+
+            // wait for process finish, draining outputs in the meantime
+            val drainer = new XpdfStreamDrainer(process, maxOutputBytes, charset, standardOutputTee);
+            while (!process.waitFor(drainer.drainAvailable() ? 0 : DRAIN_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (System.nanoTime() - deadlineNanos >= 0) {
+                    // handle process timeout
+                    log.debug("Invocation timed out");
+                    terminate(process);
+                    throw new XpdfTimeoutException("Timeout reached before process could finish");
+                }
+            }
+
+            return collectResult(process, drainer);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new XpdfProcessingException(e);
+        } catch (IOException e) {
+            throw new XpdfProcessingException(e);
+        } finally {
+            if (process != null) {
+                process.destroy();
+            }
+            releasePermit();
+        }
+    }
+
+    /**
+     * Executes a shell command that invokes an <em>Xpdf</em> executable, and streams its standard output to a consumer while it runs.
+     *
+     * <br><br> Behaves like {@link #execute(List, int)}, except that the standard output is handed to the consumer on the calling thread instead of being buffered.
+     * Meanwhile, the error output is drained and the timeout is enforced by the reaper thread, so a consumer blocked on reading never outlives the timeout.
+     * Any standard output left unread when the consumer returns is discarded, so that the process can run to completion.
+     *
+     * @param commandParts command parts as {@code List<String>}
+     * @param timeoutSeconds maximum amount of time in seconds allotted to the process
+     * @param standardOutputConsumer {@link XpdfStreamConsumer} of the standard output
+     * @return {@link XpdfProcessResult} of a process that returned a zero exit code, without standard output
+     * @throws XpdfRejectedException if the wait queue is full
+     * @throws XpdfExecutionException if process returns non-zero exit code
+     * @throws XpdfTimeoutException if process duration exceeds timeout length
+     * @throws XpdfProcessingException if any other exception occurs during processing, including any exception thrown by the consumer
+     * @implNote This method executes a shell command and may become blocking.
+     * @since 1.3.0
+     */
+    public XpdfProcessResult execute(List<String> commandParts, int timeoutSeconds, XpdfStreamConsumer standardOutputConsumer) throws XpdfException {
+        val deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        acquirePermit(timeoutSeconds);
+        StreamingProcess streamingProcess = null;
+
+        try {
+            // process commands
+            log.debug("Invoking executable; command: {}", commandParts.toString());
+            val processBuilder = new ProcessBuilder(commandParts);
+            val process = processBuilder.start();
+
+            // hand error output and timeout to reaper
+            streamingProcess = new StreamingProcess(process, new XpdfStreamDrainer(ClosedInputStream.CLOSED_INPUT_STREAM, process.getErrorStream(), maxOutputBytes));
+            streamingProcesses.add(streamingProcess);
+            val timedStreamingProcess = streamingProcess;
+            streamingProcess.timeout = timerWheel.schedule(deadlineNanos, () -> timeOut(timedStreamingProcess));
+            startReaper();
+
+            // stream standard output to consumer, and discard whatever it leaves unread
+            try (val standardOutputStream = process.getInputStream()) {
+                log.debug("Streaming standard output");
+                standardOutputConsumer.accept(standardOutputStream);
+                IOUtils.skip(standardOutputStream, Long.MAX_VALUE);
+            }
+
+            // wait for process finish
+            if (!process.waitFor(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS) || streamingProcess.timedOut) {
+                // handle process timeout
+                log.debug("Invocation timed out");
+                throw new XpdfTimeoutException("Timeout reached before process could finish");
+            }
+
+            synchronized (streamingProcess) {
+                streamingProcesses.remove(streamingProcess);
+                return collectResult(process, streamingProcess.drainer);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new XpdfProcessingException(e);
+        } catch (IOException e) {
+            if (streamingProcess != null && streamingProcess.timedOut) {
+                // standard output was closed by reaper
+                log.debug("Invocation timed out");
+                throw new XpdfTimeoutException("Timeout reached before process could finish");
+            }
+            throw new XpdfProcessingException(e);
+        } finally {
+            if (streamingProcess != null) {
+                streamingProcesses.remove(streamingProcess);
+                streamingProcess.timeout.cancel();
+                streamingProcess.process.destroy();
+            }
+            releasePermit();
+        }
+    }
+
+    /**
+     * Executes a shell command that invokes an <em>Xpdf</em> executable, without waiting for it to finish.
+     *
+     * <br><br> If every slot is taken, then the process waits in the queue until a slot frees up, without blocking the calling thread.
+     * Time spent waiting in the queue counts against the timeout.
+     * Cancelling the returned future destroys the process, or removes it from the queue.
+     *
+     * <br><br> The returned future completes exceptionally with:
+     * <ul>
+     *     <li>{@link XpdfRejectedException} if the wait queue is full</li>
+     *     <li>{@link XpdfExecutionException} if process returns non-zero exit code</li>
+     *     <li>{@link XpdfTimeoutException} if process duration exceeds timeout length</li>
+     *     <li>{@link XpdfProcessingException} if any other exception occurs during processing</li>
+     * </ul>
+     *
+     * @param commandParts command parts as {@code List<String>}
+     * @param timeoutSeconds maximum amount of time in seconds allotted to the process
+     * @return {@code CompletableFuture} of the {@link XpdfProcessResult}
+     * @implNote The returned future is completed on the {@link ForkJoinPool#commonPool() common pool}, so that slow callbacks cannot stall the reaper.
+     * Outputs are decoded with the default charset of the JVM.
+     * @since 1.3.0
+     */
+    public CompletableFuture<XpdfProcessResult> executeAsync(List<String> commandParts, int timeoutSeconds) {
+        return executeAsync(commandParts, timeoutSeconds, Charset.defaultCharset());
+    }
+
+    /**
+     * Executes a shell command that invokes an <em>Xpdf</em> executable, without waiting for it to finish, and decodes its standard output with a charset.
+     *
+     * <br><br> Behaves like {@link #executeAsync(List, int)}, except that the standard output is decoded with the charset of the encoding that the executable was asked to write in.
+     * The error output is still decoded with the default charset of the JVM, since the messages of the executable are never written in the requested encoding.
+     *
+     * @param commandParts command parts as {@code List<String>}
+     * @param timeoutSeconds maximum amount of time in seconds allotted to the process
+     * @param charset {@code Charset} that the standard output is decoded with
+     * @return {@code CompletableFuture} of the {@link XpdfProcessResult}
+     * @since 1.3.0
+     */
+    public CompletableFuture<XpdfProcessResult> executeAsync(List<String> commandParts, int timeoutSeconds, Charset charset) {
+        return executeAsync(commandParts, timeoutSeconds, charset, null);
+    }
+
+    /**
+     * Executes a shell command that invokes an <em>Xpdf</em> executable, without waiting for it to finish, decodes its standard output with a charset, and copies it to a tee as it is drained.
+     *
+     * <br><br> Behaves like {@link #executeAsync(List, int, Charset)}, except that every byte of the standard output is also written to the tee, even once the standard output of the result is truncated.
+     * This lets the standard output be parsed while the process runs, without being held in memory as a whole.
+     * If the tee throws an exception, then the returned future completes exceptionally with an {@link XpdfProcessingException} once the process has exited.
+     *
+     * @param commandParts command parts as {@code List<String>}
+     * @param timeoutSeconds maximum amount of time in seconds allotted to the process
+     * @param charset {@code Charset} that the standard output is decoded with
+     * @param standardOutputTee {@code OutputStream} that the standard output is copied to, or null
+     * @return {@code CompletableFuture} of the {@link XpdfProcessResult}
+     * @implNote The tee is written to on the reaper thread, so it should never block, and is left open.
+     * Every write to the tee happens before the returned future completes.
+     * @since 1.3.0
+     */
+    public CompletableFuture<XpdfProcessResult> executeAsync(List<String> commandParts, int timeoutSeconds, Charset charset, OutputStream standardOutputTee) {
+        val asyncProcess = new AsyncProcess(commandParts, charset, standardOutputTee);
+        asyncProcess.timeout = timerWheel.schedule(System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds), () -> timeOut(asyncProcess));
+        asyncProcess.future.whenComplete((result, throwable) -> {
+            if (asyncProcess.future.isCancelled()) {
+                cancel(asyncProcess);
+            }
+        });
+
+        if (tryAcquirePermit()) {
+            launch(asyncProcess);
+        } else if (queuedProcesses.incrementAndGet() > maxQueuedProcesses) {
+            queuedProcesses.decrementAndGet();
+            asyncProcess.timeout.cancel();
+            log.debug("Process rejected; queue is full");
+            asyncProcess.future.completeExceptionally(new XpdfRejectedException("Queue is full; process cannot be accepted"));
+        } else {
+            log.debug("Process queued; waiting for a free slot");
+            pendingProcesses.add(asyncProcess);
+            startReaper();
+            launchPendingProcesses();
+        }
+
+        return asyncProcess.future;
+    }
+
+    /**
+     * Gets the number of processes currently waiting for a free slot.
+     *
+     * @return queued processes
+     * @since 1.3.0
+     */
+    public int getQueuedProcessCount() {
+        return queuedProcesses.get();
+    }
+
+    /**
+     * Gets the number of processes currently running.
+     *
+     * @return running processes
+     * @since 1.3.0
+     */
+    public int getRunningProcessCount() {
+        return maxConcurrentProcesses - processPermits.availablePermits();
+    }
+
+    /**
+     * Waits for a free slot to run a process in.
+     *
+     * @param timeoutSeconds maximum amount of time in seconds to wait for a slot
+     * @throws XpdfRejectedException if the wait queue is full
+     * @throws XpdfTimeoutException if no slot frees up before timing out
+     * @throws XpdfProcessingException if interrupted while waiting
+     */
+    protected void acquirePermit(int timeoutSeconds) throws XpdfException {
+        if (tryAcquirePermit()) {
+            return;
+        }
+
+        if (queuedProcesses.incrementAndGet() > maxQueuedProcesses) {
+            queuedProcesses.decrementAndGet();
+            log.debug("Process rejected; queue is full");
+            throw new XpdfRejectedException("Queue is full; process cannot be accepted");
+        }
+
+        try {
+            log.debug("Process queued; waiting for a free slot");
+            if (!processPermits.tryAcquire(timeoutSeconds, TimeUnit.SECONDS)) {
+                log.debug("Process timed out in queue");
+                throw new XpdfTimeoutException("Timeout reached before process could start");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new XpdfProcessingException(e);
+        } finally {
+            queuedProcesses.decrementAndGet();
+        }
+    }
+
+    /**
+     * Takes a free slot without waiting, unless other processes are already waiting for one.
+     *
+     * @return true if a slot was taken
+     * @implNote Unlike the untimed {@code tryAcquire()}, a zero timeout respects the fairness of {@link #processPermits}, so a new process cannot take a slot ahead of queued ones.
+     */
+    protected boolean tryAcquirePermit() {
+        try {
+            return processPermits.tryAcquire(0, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Releases a slot, and hands it to the next queued asynchronous process, if any.
+     */
+    protected void releasePermit() {
+        processPermits.release();
+        launchPendingProcesses();
+    }
+
+    /**
+     * Collects the outputs of a finished process.
+     *
+     * @param process finished {@code Process}
+     * @param drainer {@link XpdfStreamDrainer} of process outputs
+     * @return {@link XpdfProcessResult} of a process that returned a zero exit code
+     * @throws XpdfExecutionException if process returned non-zero exit code
+     * @throws IOException if unable to read process outputs
+     */
+    protected XpdfProcessResult collectResult(Process process, XpdfStreamDrainer drainer) throws XpdfExecutionException, IOException {
+        drainer.drainRemaining();
+        if (drainer.getStandardOutputBuffer().isTruncated() || drainer.getErrorOutputBuffer().isTruncated()) {
+            log.debug("Invocation output truncated; standard output: {}, error output: {}", drainer.getStandardOutputBuffer(), drainer.getErrorOutputBuffer());
+        }
+
+        val standardOutput = StringUtils.trimToNull(drainer.getStandardOutput());
+        val errorOutput = StringUtils.trimToNull(drainer.getErrorOutput());
+        val exitCode = process.exitValue();
+        log.debug("Invocation completed; exit code: {}, standard output: {}", exitCode, standardOutput);
+
+        // handle process finished
+        if (exitCode == 0) {
+            log.debug("Invocation succeeded");
+            return XpdfProcessResult.builder()
+                    .exitCode(exitCode)
+                    .standardOutput(standardOutput)
+                    .standardOutputTruncated(drainer.getStandardOutputBuffer().isTruncated())
+                    .errorOutput(errorOutput)
+                    .build();
+        } else {
+            log.debug("Invocation failed; error output: {}", errorOutput);
+            throw new XpdfExecutionException(getExitCodeMessage(exitCode), standardOutput, errorOutput);
+        }
+    }
+
+    /**
+     * Advances the timer wheel, which times out any process that has exceeded its deadline.
+     * Then polls running asynchronous processes, as well as streaming processes, and completes any process that has finished.
+     */
+    protected void reap() {
+        timerWheel.advance(System.nanoTime());
+
+        // complete running processes
+        for (val asyncProcess : runningProcesses) {
+            if (asyncProcess.future.isCancelled()) {
+                // cancelled while being launched
+                if (runningProcesses.remove(asyncProcess)) {
+                    cancelRunning(asyncProcess);
+                }
+            } else if (asyncProcess.timedOut) {
+                // timed out while being launched
+                if (runningProcesses.remove(asyncProcess)) {
+                    timeOutRunning(asyncProcess);
+                }
+            } else if (!asyncProcess.process.isAlive()) {
+                if (!runningProcesses.remove(asyncProcess)) {
+                    continue;
+                }
+                asyncProcess.timeout.cancel();
+                XpdfProcessResult result = null;
+                Exception exception = null;
+                try {
+                    result = collectResult(asyncProcess.process, asyncProcess.drainer);
+                } catch (XpdfException e) {
+                    exception = e;
+                } catch (Exception e) {
+                    exception = new XpdfProcessingException(e);
+                } finally {
+                    asyncProcess.process.destroy();
+                    releasePermit();
+                }
+                complete(asyncProcess, result, exception);
+            } else {
+                try {
+                    asyncProcess.drainer.drainAvailable();
+                } catch (IOException e) {
+                    log.debug("Unable to drain process outputs; exception message: {}", e.getMessage());
+                }
+            }
+        }
+
+        // drain streaming processes, which are completed by their calling threads
+        for (val streamingProcess : streamingProcesses) {
+            synchronized (streamingProcess) {
+                if (!streamingProcesses.contains(streamingProcess)) {
+                    continue;
+                }
+                try {
+                    streamingProcess.drainer.drainAvailable();
+                } catch (IOException e) {
+                    log.debug("Unable to drain process outputs; exception message: {}", e.getMessage());
+                }
+            }
+        }
+
+        launchPendingProcesses();
+        stopReaperIfIdle();
+    }
+
+    /**
+     * Asks a process to terminate, and destroys it forcibly if it is still alive after a grace period.
+     *
+     * @param process {@code Process} to terminate
+     */
+    protected void terminate(Process process) {
+        process.destroy();
+        timerWheel.schedule(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DESTROY_GRACE_MILLIS), () -> {
+            if (process.isAlive()) {
+                log.debug("Process ignored termination; destroying forcibly");
+                process.destroyForcibly();
+            }
+        });
+        startReaper();
+    }
+
+    /**
+     * Gets the message describing a non-zero exit code returned by an <em>Xpdf</em> executable.
+     *
+     * @param exitCode exit code
+     * @return message
+     */
+    protected String getExitCodeMessage(int exitCode) {
+        switch (exitCode) {
+            case 1:
+                return "Error opening the PDF file";
+            case 2:
+                return "Error opening the output file";
+            case 3:
+                return "Error related to PDF permissions";
+            case 99:
+                return "Other Xpdf error";
+            default:
+                return "Unknown Xpdf error";
+        }
+    }
+
+    private void launchPendingProcesses() {
+        while (!pendingProcesses.isEmpty() && tryAcquirePermit()) {
+            val asyncProcess = pendingProcesses.poll();
+            if (asyncProcess == null) {
+                processPermits.release();
+                return;
+            }
+            queuedProcesses.decrementAndGet();
+            launch(asyncProcess);
+        }
+    }
+
+    private void launch(AsyncProcess asyncProcess) {
+        try {
+            log.debug("Invoking executable; command: {}", asyncProcess.commandParts.toString());
+            asyncProcess.process = new ProcessBuilder(asyncProcess.commandParts).start();
+            asyncProcess.drainer = new XpdfStreamDrainer(asyncProcess.process, maxOutputBytes, asyncProcess.charset, asyncProcess.standardOutputTee);
+            runningProcesses.add(asyncProcess);
+            startReaper();
+        } catch (Exception e) {
+            // permit is released without launching pending processes, which are picked up by the caller or the reaper
+            processPermits.release();
+            asyncProcess.timeout.cancel();
+            complete(asyncProcess, null, new XpdfProcessingException(e));
+        }
+    }
+
+    private void timeOut(AsyncProcess asyncProcess) {
+        asyncProcess.timedOut = true;
+        if (pendingProcesses.remove(asyncProcess)) {
+            queuedProcesses.decrementAndGet();
+            log.debug("Process timed out in queue");
+            complete(asyncProcess, null, new XpdfTimeoutException("Timeout reached before process could start"));
+        } else if (runningProcesses.remove(asyncProcess)) {
+            timeOutRunning(asyncProcess);
+        }
+        // otherwise the process is being launched, and is timed out by the reaper once it runs
+    }
+
+    private void timeOutRunning(AsyncProcess asyncProcess) {
+        log.debug("Invocation timed out");
+        terminate(asyncProcess.process);
+        releasePermit();
+        complete(asyncProcess, null, new XpdfTimeoutException("Timeout reached before process could finish"));
+    }
+
+    private void cancel(AsyncProcess asyncProcess) {
+        if (pendingProcesses.remove(asyncProcess)) {
+            queuedProcesses.decrementAndGet();
+            asyncProcess.timeout.cancel();
+            log.debug("Process cancelled in queue");
+        } else if (runningProcesses.remove(asyncProcess)) {
+            cancelRunning(asyncProcess);
+        }
+        // otherwise the process is being launched, and is cancelled by the reaper once it runs
+    }
+
+    private void cancelRunning(AsyncProcess asyncProcess) {
+        log.debug("Invocation cancelled");
+        asyncProcess.timeout.cancel();
+        terminate(asyncProcess.process);
+        releasePermit();
+    }
+
+    private void timeOut(StreamingProcess streamingProcess) {
+        synchronized (streamingProcess) {
+            if (streamingProcesses.remove(streamingProcess) && streamingProcess.process.isAlive()) {
+                streamingProcess.timedOut = true;
+                terminate(streamingProcess.process);
+            }
+        }
+    }
+
+    private void complete(AsyncProcess asyncProcess, XpdfProcessResult result, Exception exception) {
+        ForkJoinPool.commonPool().execute(() -> {
+            if (exception == null) {
+                asyncProcess.future.complete(result);
+            } else {
+                asyncProcess.future.completeExceptionally(exception);
+            }
+        });
+    }
+
+    private synchronized void startReaper() {
+        if (reaperTask == null || reaperTask.isDone()) {
+            reaperTask = ReaperHolder.REAPER.scheduleWithFixedDelay(() -> {
+                try {
+                    reap();
+                } catch (Exception e) {
+                    log.debug("Reaper failed; exception message: {}", e.getMessage());
+                }
+            }, REAPER_INTERVAL_MILLIS, REAPER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void stopReaperIfIdle() {
+        if (reaperTask != null && pendingProcesses.isEmpty() && runningProcesses.isEmpty() && streamingProcesses.isEmpty() && timerWheel.getPendingTimeoutCount() == 0) {
+            reaperTask.cancel(false);
+            reaperTask = null;
+        }
+    }
+
+    private static class AsyncProcess {
+        private final List<String> commandParts;
+        private final Charset charset;
+        private final OutputStream standardOutputTee;
+        private final CompletableFuture<XpdfProcessResult> future = new CompletableFuture<>();
+        private volatile XpdfTimerWheel.XpdfTimeout timeout;
+        private volatile boolean timedOut;
+        private Process process;
+        private XpdfStreamDrainer drainer;
+
+        private AsyncProcess(List<String> commandParts, Charset charset, OutputStream standardOutputTee) {
+            this.commandParts = commandParts;
+            this.charset = charset;
+            this.standardOutputTee = standardOutputTee;
+        }
+    }
+
+    private static class StreamingProcess {
+        private final Process process;
+        private final XpdfStreamDrainer drainer;
+        private volatile XpdfTimerWheel.XpdfTimeout timeout;
+        private volatile boolean timedOut;
+
+        private StreamingProcess(Process process, XpdfStreamDrainer drainer) {
+            this.process = process;
+            this.drainer = drainer;
+        }
+    }
+
+    private static class DefaultInstanceHolder {
+        private static final XpdfProcessExecutor INSTANCE = XpdfProcessExecutor.builder().build();
+    }
+
+    private static class ReaperHolder {
+        private static final ScheduledExecutorService REAPER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            val thread = new Thread(runnable, "xpdf-process-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Represents the outcome of a shell process that invoked an <em>Xpdf</em> executable.
+ *
+ * @since 1.3.0
+ */
+@Builder
+@Getter
+@ToString
+public class XpdfProcessResult {
+
+    /**
+     * Exit code returned by the shell process.
+     *
+     * @since 1.3.0
+     */
+    private final int exitCode;
+
+    /**
+     * Standard output from the shell process that invoked the executable.
+     *
+     * @since 1.3.0
+     */
+    private final String standardOutput;
+
+    /**
+     * Whether the standard output was truncated to the {@link XpdfProcessExecutor#getMaxOutputBytes() max output bytes} of the executor.
+     * A tee of the standard output still receives every byte.
+     *
+     * @since 1.3.0
+     */
+    private final boolean standardOutputTruncated;
+
+    /**
+     * Error output from the shell process that invoked the executable.
+     *
+     * @since 1.3.0
+     */
+    private final String errorOutput;
+
+}
@@ -16,10 +16,31 @@
  */
 package io.xpdf.api.common;
 
+import java.io.File;
+
 /**
  * Represents a command to invoke an <em>Xpdf</em> executable with.
  *
  * @since 1.0.0
  */
 public abstract class XpdfRequest {
+
+    /**
+     * Gets the PDF file that the executable should be invoked against.
+     *
+     * @return PDF file
+     * @since 1.3.0
+     */
+    public abstract File getPdfFile();
+
+    /**
+     * Gets the in-memory PDF content that the executable should be invoked against, in place of a PDF file.
+     *
+     * @return PDF source, or null if the request is given a PDF file
+     * @since 1.3.0
+     */
+    public XpdfPdfSource getPdfSource() {
+        return null;
+    }
+
 }
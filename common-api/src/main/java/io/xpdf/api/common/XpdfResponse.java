@@ -16,10 +16,87 @@
  */
 package io.xpdf.api.common;
 
+import lombok.val;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Represents the result of invoking an <em>Xpdf</em> executable.
  *
+ * <br><br> A response owns any temporary files that the executable wrote on its behalf, and deletes them when it is closed.
+ * Output files provided in the request are never deleted.
+ *
+ * <br><br> A response may be {@link #share() shared} with other callers, each of which gets a handle of its own to close.
+ * The temporary files are only deleted once the response and every handle of it have been closed.
+ *
  * @since 1.0.0
  */
-public abstract class XpdfResponse {
+public abstract class XpdfResponse implements AutoCloseable {
+
+    /**
+     * Number of handles of the temporary files that are still open, which is shared by a response and every handle of it.
+     */
+    private AtomicInteger openHandles = new AtomicInteger(1);
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Closes this response, and deletes any temporary files owned by it once no other handle of them is open.
+     *
+     * @implNote This method is idempotent, and does nothing for a response that owns no temporary files.
+     * @since 1.3.0
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true) && openHandles.decrementAndGet() == 0) {
+            deleteTemporaryFiles();
+        }
+    }
+
+    /**
+     * Deletes any temporary files owned by this response, once this response and every handle of it have been closed.
+     *
+     * @since 1.3.0
+     */
+    protected void deleteTemporaryFiles() {
+    }
+
+    /**
+     * Gets a copy of this response with the same results, to be handed out as a handle of its temporary files.
+     *
+     * @return copy of this response, or null if this response cannot be copied
+     * @since 1.3.0
+     */
+    protected XpdfResponse copy() {
+        return null;
+    }
+
+    /**
+     * Gets a handle of this response for another caller, which shares its temporary files.
+     *
+     * <br><br> The handle has the same results as this response, and is closed independently of it.
+     *
+     * @return handle of this response, or null if this response cannot be copied, or if it and every handle of it have already been closed
+     * @since 1.3.0
+     */
+    public XpdfResponse share() {
+        val handle = copy();
+        if (handle == null) {
+            return null;
+        }
+
+        // files that have been deleted already must not be handed out
+        int count;
+        do {
+            count = openHandles.get();
+            if (count == 0) {
+                return null;
+            }
+        } while (!openHandles.compareAndSet(count, count + 1));
+
+        handle.openHandles = openHandles;
+        return handle;
+    }
+
 }
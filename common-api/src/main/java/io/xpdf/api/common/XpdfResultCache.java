@@ -0,0 +1,329 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import io.xpdf.api.common.exception.XpdfRuntimeException;
+import io.xpdf.api.common.util.XpdfUtils;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A content-addressed cache of <em>Xpdf</em> results on disk, bounded in size by least-recently-used eviction.
+ *
+ * <br><br> Each result is stored as an entry directory, named after a SHA-256 key of the PDF file contents, the command options, and the executable file contents.
+ * A tool configured with a cache looks up this key before invoking its executable, and restores the cached outputs instead of launching a process on a hit.
+ * Once the total size of all entries exceeds {@link #maxBytes}, the least recently used entries are deleted.
+ *
+ * <br><br> Example usage:
+ * <blockquote><pre>
+ *  XpdfResultCache.builder()
+ *      .directory(new File("~/cache/xpdf"))
+ *      .maxBytes(10737418240L)
+ *      .build();
+ * </pre></blockquote>
+ *
+ * @implNote Entries that exist in the directory when the cache is built are adopted, ordered by their last modified time.
+ * A single cache directory should not be shared by caches in different JVMs.
+ * @since 1.3.0
+ */
+@Getter
+@ToString
+@Slf4j
+public class XpdfResultCache {
+
+    private static final String TEMP_ENTRY_PREFIX = ".tmp-";
+
+    private static final String STANDARD_OUTPUT_FILE_NAME = "standard-output.txt";
+
+    /**
+     * Directory that cache entries are stored in.
+     *
+     * @implNote If unassigned, this will default to a directory in the temporary directory of <em>Xpdf</em>.
+     * @since 1.3.0
+     */
+    private final File directory;
+
+    /**
+     * Maximum total size in bytes of all cache entries.
+     *
+     * @implNote If unassigned, this will default to 1 GiB.
+     * @since 1.3.0
+     */
+    private final Long maxBytes;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final LinkedHashMap<String, Long> entrySizes = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final Map<XpdfFileKey, String> executableHashes = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private long totalBytes;
+
+    @Builder
+    protected XpdfResultCache(File directory, Long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        adoptEntries();
+    }
+
+    public static class XpdfResultCacheBuilder {
+
+        public XpdfResultCache build() {
+            val directoryBuilder = configureDirectory();
+            val maxBytesBuilder = configureMaxBytes();
+
+            return new XpdfResultCache(directoryBuilder, maxBytesBuilder);
+        }
+
+        protected File configureDirectory() {
+            val directoryBuilder = directory == null ? XpdfUtils.getXpdfCachePath().toFile() : directory;
+            if (!directoryBuilder.isDirectory() && !directoryBuilder.mkdirs()) {
+                throw new XpdfRuntimeException("Unable to create cache directory");
+            }
+            return directoryBuilder;
+        }
+
+        protected long configureMaxBytes() {
+            if (maxBytes == null) {
+                return XpdfUtils.getXpdfCacheMaxBytes();
+            } else if (maxBytes <= 0) {
+                throw new XpdfRuntimeException("MaxBytes must be greater than zero");
+            } else {
+                return maxBytes;
+            }
+        }
+    }
+
+    /**
+     * Writes the outputs of a result into a new cache entry directory.
+     *
+     * @since 1.3.0
+     */
+    @FunctionalInterface
+    public interface XpdfCacheWriter {
+
+        /**
+         * Writes the outputs of a result into a cache entry directory.
+         *
+         * @param entryDirectory empty entry directory
+         * @throws IOException if unable to write outputs
+         * @since 1.3.0
+         */
+        void write(Path entryDirectory) throws IOException;
+
+    }
+
+    /**
+     * Gets the key of a result.
+     *
+     * @param executableFile executable file that produces the result
+     * @param commandOptions command options that the executable is invoked with
+     * @param pdfFile PDF file that the executable is invoked against
+     * @return hexadecimal SHA-256 key
+     * @throws IOException if unable to read the executable file or PDF file
+     * @implNote The hash of each executable file is computed once, and reused for as long as its path, size and last modified time do not change.
+     * @since 1.3.0
+     */
+    public String getKey(File executableFile, List<String> commandOptions, File pdfFile) throws IOException {
+        val executableKey = XpdfFileKey.of(executableFile);
+        String executableHash = executableHashes.get(executableKey);
+        if (executableHash == null) {
+            executableHash = XpdfUtils.getSha256Hex(executableFile);
+            executableHashes.put(executableKey, executableHash);
+        }
+
+        val digest = XpdfUtils.newSha256Digest();
+        digest.update(executableHash.getBytes(StandardCharsets.UTF_8));
+        for (val commandOption : commandOptions) {
+            // length prefix keeps option boundaries unambiguous
+            digest.update(String.format("%d:%s", commandOption.length(), commandOption).getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(XpdfUtils.getSha256Hex(pdfFile).getBytes(StandardCharsets.UTF_8));
+        return XpdfUtils.toHex(digest.digest());
+    }
+
+    /**
+     * Gets a cache entry, and marks it as most recently used.
+     *
+     * @param key key of the result
+     * @return entry directory, or null if not cached
+     * @since 1.3.0
+     */
+    public Path get(String key) {
+        synchronized (entrySizes) {
+            if (entrySizes.get(key) == null) {
+                return null;
+            }
+        }
+
+        val entryDirectory = directory.toPath().resolve(key);
+        if (!entryDirectory.toFile().setLastModified(System.currentTimeMillis())) {
+            log.debug("Unable to touch cache entry; key: {}", key);
+        }
+        return entryDirectory;
+    }
+
+    /**
+     * Stores a cache entry, and evicts the least recently used entries if the cache exceeds its size.
+     *
+     * <br><br> The entry is written into a temporary directory, and only moved into place once it is complete.
+     * An entry larger than {@link #maxBytes} is discarded rather than stored.
+     *
+     * @param key key of the result
+     * @param writer {@link XpdfCacheWriter} of the result outputs
+     * @throws IOException if unable to write the entry
+     * @since 1.3.0
+     */
+    public void put(String key, XpdfCacheWriter writer) throws IOException {
+        val tempDirectory = directory.toPath().resolve(TEMP_ENTRY_PREFIX + UUID.randomUUID());
+        try {
+            Files.createDirectories(tempDirectory);
+            writer.write(tempDirectory);
+
+            val size = FileUtils.sizeOfDirectory(tempDirectory.toFile());
+            if (size > maxBytes) {
+                log.debug("Result too large to cache; key: {}, size: {}", key, size);
+                return;
+            }
+
+            synchronized (entrySizes) {
+                if (entrySizes.containsKey(key)) {
+                    return;
+                }
+                Files.move(tempDirectory, directory.toPath().resolve(key), StandardCopyOption.ATOMIC_MOVE);
+                entrySizes.put(key, size);
+                totalBytes += size;
+                evict();
+            }
+        } finally {
+            FileUtils.deleteQuietly(tempDirectory.toFile());
+        }
+    }
+
+    /**
+     * Gets the total size in bytes of all cache entries.
+     *
+     * @return total bytes
+     * @since 1.3.0
+     */
+    public long getTotalBytes() {
+        synchronized (entrySizes) {
+            return totalBytes;
+        }
+    }
+
+    /**
+     * Gets the number of cache entries.
+     *
+     * @return entry count
+     * @since 1.3.0
+     */
+    public int getEntryCount() {
+        synchronized (entrySizes) {
+            return entrySizes.size();
+        }
+    }
+
+    /**
+     * Writes the standard output of a result into a cache entry directory.
+     *
+     * @param entryDirectory entry directory
+     * @param standardOutput standard output, which may be null
+     * @throws IOException if unable to write standard output
+     * @since 1.3.0
+     */
+    public static void writeStandardOutput(Path entryDirectory, String standardOutput) throws IOException {
+        if (standardOutput != null) {
+            Files.write(entryDirectory.resolve(STANDARD_OUTPUT_FILE_NAME), standardOutput.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Reads the standard output of a result from a cache entry directory.
+     *
+     * @param entryDirectory entry directory
+     * @return standard output, or null if the result had none
+     * @throws IOException if unable to read standard output
+     * @since 1.3.0
+     */
+    public static String readStandardOutput(Path entryDirectory) throws IOException {
+        val standardOutputPath = entryDirectory.resolve(STANDARD_OUTPUT_FILE_NAME);
+        if (!Files.exists(standardOutputPath)) {
+            return null;
+        }
+        return new String(Files.readAllBytes(standardOutputPath), StandardCharsets.UTF_8);
+    }
+
+    private void evict() {
+        val iterator = entrySizes.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            val eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.getValue();
+            FileUtils.deleteQuietly(directory.toPath().resolve(eldest.getKey()).toFile());
+            log.debug("Cache entry evicted; key: {}", eldest.getKey());
+        }
+    }
+
+    private void adoptEntries() {
+        val files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        synchronized (entrySizes) {
+            Arrays.stream(files)
+                    .filter(File::isDirectory)
+                    .sorted(Comparator.comparingLong(File::lastModified))
+                    .forEach(file -> {
+                        if (file.getName().startsWith(TEMP_ENTRY_PREFIX)) {
+                            // left behind by an interrupted write
+                            FileUtils.deleteQuietly(file);
+                        } else {
+                            val size = FileUtils.sizeOfDirectory(file);
+                            entrySizes.put(file.getName(), size);
+                            totalBytes += size;
+                        }
+                    });
+            evict();
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A consumer of an output stream of a running shell process that invoked an <em>Xpdf</em> executable.
+ *
+ * <br><br> The stream is fed directly from the process while it runs, so that output can be consumed before the process finishes.
+ * The stream is closed by the caller once the consumer returns.
+ *
+ * @since 1.3.0
+ */
+@FunctionalInterface
+public interface XpdfStreamConsumer {
+
+    /**
+     * Consumes an output stream of a running process.
+     *
+     * @param stream output {@code InputStream}
+     * @throws IOException if unable to consume stream
+     * @since 1.3.0
+     */
+    void accept(InputStream stream) throws IOException;
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import lombok.Getter;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Drains the standard and error output streams of a running shell process into bounded {@link XpdfOutputBuffer buffers}.
+ *
+ * <br><br> A native process blocks as soon as it fills the OS pipe buffer of either output stream, so both streams must be read while the process runs.
+ * Rather than dedicating a thread to each stream, the drainer reads only the bytes that are already available, and should be called periodically until the process exits.
+ * Bytes are read through a scratch chunk that is pooled per thread, so draining many processes from the same thread allocates no read buffers.
+ * Every byte of the standard output may also be copied to a tee, which sees the whole output even once the buffer is full.
+ * Any failure of the tee is deferred until {@link #drainRemaining}, so that the outputs keep being drained in the meantime.
+ *
+ * <br><br> Only the standard output is decoded with the configured charset.
+ * The error output holds the messages of the executable, which are never written in the encoding that its output was asked for, so it is decoded with the default charset of the JVM.
+ *
+ * @since 1.3.0
+ */
+@Getter
+public class XpdfStreamDrainer {
+
+    private static final int CHUNK_BYTES = 8192;
+
+    private static final ThreadLocal<byte[]> CHUNKS = ThreadLocal.withInitial(() -> new byte[CHUNK_BYTES]);
+
+    /**
+     * Buffer of bytes drained from the standard output stream.
+     *
+     * @since 1.3.0
+     */
+    private final XpdfOutputBuffer standardOutputBuffer;
+
+    /**
+     * Buffer of bytes drained from the error output stream.
+     *
+     * @since 1.3.0
+     */
+    private final XpdfOutputBuffer errorOutputBuffer;
+
+    /**
+     * Charset that the drained standard output is decoded with.
+     *
+     * @since 1.3.0
+     */
+    private final Charset charset;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final InputStream standardOutputStream;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final InputStream errorOutputStream;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final OutputStream standardOutputTee;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private IOException teeException;
+
+    public XpdfStreamDrainer(Process process, int maxBytes) {
+        this(process, maxBytes, Charset.defaultCharset());
+    }
+
+    public XpdfStreamDrainer(Process process, int maxBytes, Charset charset) {
+        this(process, maxBytes, charset, null);
+    }
+
+    public XpdfStreamDrainer(Process process, int maxBytes, Charset charset, OutputStream standardOutputTee) {
+        this(process.getInputStream(), process.getErrorStream(), maxBytes, charset, standardOutputTee);
+    }
+
+    public XpdfStreamDrainer(InputStream standardOutputStream, InputStream errorOutputStream, int maxBytes) {
+        this(standardOutputStream, errorOutputStream, maxBytes, Charset.defaultCharset());
+    }
+
+    public XpdfStreamDrainer(InputStream standardOutputStream, InputStream errorOutputStream, int maxBytes, Charset charset) {
+        this(standardOutputStream, errorOutputStream, maxBytes, charset, null);
+    }
+
+    public XpdfStreamDrainer(InputStream standardOutputStream, InputStream errorOutputStream, int maxBytes, Charset charset, OutputStream standardOutputTee) {
+        this.standardOutputStream = standardOutputStream;
+        this.errorOutputStream = errorOutputStream;
+        this.standardOutputTee = standardOutputTee;
+        this.standardOutputBuffer = new XpdfOutputBuffer(maxBytes);
+        this.errorOutputBuffer = new XpdfOutputBuffer(maxBytes);
+        this.charset = charset;
+    }
+
+    /**
+     * Reads any bytes that are available on both output streams, without blocking.
+     *
+     * @return true if any bytes were read
+     * @throws IOException if unable to read from output streams
+     * @since 1.3.0
+     */
+    public boolean drainAvailable() throws IOException {
+        val standardOutputRead = drainAvailable(standardOutputStream, standardOutputBuffer, standardOutputTee);
+        val errorOutputRead = drainAvailable(errorOutputStream, errorOutputBuffer, null);
+        return standardOutputRead || errorOutputRead;
+    }
+
+    /**
+     * Reads both output streams until they are exhausted.
+     * This should only be called after the process has exited, because it blocks until the streams are closed.
+     *
+     * @throws IOException if unable to read from output streams, or if unable to write to the standard output tee at any time
+     * @since 1.3.0
+     */
+    public void drainRemaining() throws IOException {
+        drainRemaining(standardOutputStream, standardOutputBuffer, standardOutputTee);
+        drainRemaining(errorOutputStream, errorOutputBuffer, null);
+        if (teeException != null) {
+            throw teeException;
+        }
+    }
+
+    /**
+     * Decodes the bytes drained from the standard output stream.
+     *
+     * @return standard output
+     * @since 1.3.0
+     */
+    public String getStandardOutput() {
+        return standardOutputBuffer.toString(charset);
+    }
+
+    /**
+     * Decodes the bytes drained from the error output stream, with the default charset of the JVM.
+     *
+     * @return error output
+     * @since 1.3.0
+     */
+    public String getErrorOutput() {
+        return errorOutputBuffer.toString(Charset.defaultCharset());
+    }
+
+    private boolean drainAvailable(InputStream stream, XpdfOutputBuffer buffer, OutputStream tee) throws IOException {
+        val chunk = CHUNKS.get();
+        boolean read = false;
+        int available;
+        while ((available = stream.available()) > 0) {
+            val length = stream.read(chunk, 0, Math.min(available, chunk.length));
+            if (length < 0) {
+                break;
+            }
+            buffer.write(chunk, 0, length);
+            writeTee(tee, chunk, length);
+            read = true;
+        }
+        return read;
+    }
+
+    private void writeTee(OutputStream tee, byte[] chunk, int length) {
+        if (tee != null && teeException == null) {
+            try {
+                tee.write(chunk, 0, length);
+            } catch (IOException e) {
+                teeException = e;
+            }
+        }
+    }
+
+    private void drainRemaining(InputStream stream, XpdfOutputBuffer buffer, OutputStream tee) throws IOException {
+        val chunk = CHUNKS.get();
+        int length;
+        while ((length = stream.read(chunk)) >= 0) {
+            buffer.write(chunk, 0, length);
+            writeTee(tee, chunk, length);
+        }
+    }
+
+}
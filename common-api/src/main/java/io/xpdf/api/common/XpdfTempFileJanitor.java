@@ -0,0 +1,230 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import io.xpdf.api.common.exception.XpdfRuntimeException;
+import io.xpdf.api.common.util.XpdfUtils;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A background sweeper of temporary files left behind by <em>Xpdf</em> executables.
+ *
+ * <br><br> Responses delete their own temporary files when they are closed.
+ * Any file that is never closed, or that was left behind by a JVM that crashed, is deleted by this janitor once it is older than {@link #ttlSeconds}.
+ * Each registered directory is swept as soon as it is registered, and then periodically every {@link #sweepIntervalSeconds}.
+ * Every {@link XpdfTool} in this project registers its temporary output directory with the same {@link #getDefaultInstance() default instance}, unless configured otherwise.
+ *
+ * <br><br> Example usage:
+ * <blockquote><pre>
+ *  XpdfTempFileJanitor.builder()
+ *      .ttlSeconds(3600L)
+ *      .sweepIntervalSeconds(300L)
+ *      .build();
+ * </pre></blockquote>
+ *
+ * @implNote Only the direct children of a registered directory are swept, and a child directory is deleted along with its contents.
+ * @since 1.3.0
+ */
+@Getter
+@ToString
+@Slf4j
+public class XpdfTempFileJanitor {
+
+    /**
+     * Minimum age in seconds, by last modified time, of a temporary file before it is swept.
+     *
+     * @implNote If unassigned, this will default to 24 hours.
+     * @since 1.3.0
+     */
+    private final Long ttlSeconds;
+
+    /**
+     * Interval in seconds between sweeps of the registered directories.
+     *
+     * @implNote If unassigned, this will default to 10 minutes.
+     * @since 1.3.0
+     */
+    private final Long sweepIntervalSeconds;
+
+    @Getter(lombok.AccessLevel.NONE)
+    @ToString.Exclude
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+
+    @Getter(lombok.AccessLevel.NONE)
+    @ToString.Exclude
+    private ScheduledFuture<?> sweepTask;
+
+    @Builder
+    protected XpdfTempFileJanitor(Long ttlSeconds, Long sweepIntervalSeconds) {
+        this.ttlSeconds = ttlSeconds;
+        this.sweepIntervalSeconds = sweepIntervalSeconds;
+    }
+
+    public static class XpdfTempFileJanitorBuilder {
+
+        public XpdfTempFileJanitor build() {
+            val ttlSecondsBuilder = configureTtlSeconds();
+            val sweepIntervalSecondsBuilder = configureSweepIntervalSeconds();
+
+            return new XpdfTempFileJanitor(ttlSecondsBuilder, sweepIntervalSecondsBuilder);
+        }
+
+        protected long configureTtlSeconds() {
+            if (ttlSeconds == null) {
+                return XpdfUtils.getXpdfTempFileTtlSeconds();
+            } else if (ttlSeconds <= 0) {
+                throw new XpdfRuntimeException("TtlSeconds must be greater than zero");
+            } else {
+                return ttlSeconds;
+            }
+        }
+
+        protected long configureSweepIntervalSeconds() {
+            if (sweepIntervalSeconds == null) {
+                return XpdfUtils.getXpdfTempFileSweepIntervalSeconds();
+            } else if (sweepIntervalSeconds <= 0) {
+                throw new XpdfRuntimeException("SweepIntervalSeconds must be greater than zero");
+            } else {
+                return sweepIntervalSeconds;
+            }
+        }
+    }
+
+    /**
+     * Gets the janitor shared by every {@link XpdfTool} that has not been configured with its own janitor.
+     *
+     * @return default {@link XpdfTempFileJanitor}
+     * @since 1.3.0
+     */
+    public static XpdfTempFileJanitor getDefaultInstance() {
+        return DefaultInstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Registers a directory of temporary files to be swept.
+     *
+     * <br><br> A directory that is registered for the first time is swept straight away, which deletes any expired leftovers of a previous JVM.
+     * Registering the same directory again has no effect.
+     *
+     * @param directory directory of temporary files
+     * @since 1.3.0
+     */
+    public void register(Path directory) {
+        if (directories.add(directory)) {
+            log.debug("Temp directory registered; directory: {}", directory);
+            SweeperHolder.SWEEPER.execute(() -> sweep(directory));
+            startSweeper();
+        }
+    }
+
+    /**
+     * Gets the directories registered with this janitor.
+     *
+     * @return registered directories
+     * @since 1.3.0
+     */
+    public Set<Path> getDirectories() {
+        return Collections.unmodifiableSet(directories);
+    }
+
+    /**
+     * Sweeps every registered directory, deleting the temporary files that are older than {@link #ttlSeconds}.
+     *
+     * @return number of deleted files
+     * @since 1.3.0
+     */
+    public int sweep() {
+        int deletedCount = 0;
+        for (val directory : directories) {
+            deletedCount += sweep(directory);
+        }
+        return deletedCount;
+    }
+
+    /**
+     * Sweeps a single directory, deleting the temporary files that are older than {@link #ttlSeconds}.
+     *
+     * @param directory directory of temporary files
+     * @return number of deleted files
+     */
+    protected int sweep(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        val cutoffMillis = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(ttlSeconds);
+        int deletedCount = 0;
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory)) {
+            for (val path : paths) {
+                val file = path.toFile();
+                // a file deleted concurrently reports a last modified time of zero, and fails to delete
+                if (file.lastModified() < cutoffMillis && FileUtils.deleteQuietly(file)) {
+                    deletedCount++;
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Unable to sweep temp directory; directory: {}, exception message: {}", directory, e.getMessage());
+        }
+
+        if (deletedCount > 0) {
+            log.debug("Temp directory swept; directory: {}, deleted count: {}", directory, deletedCount);
+        }
+        return deletedCount;
+    }
+
+    private synchronized void startSweeper() {
+        if (sweepTask == null) {
+            sweepTask = SweeperHolder.SWEEPER.scheduleWithFixedDelay(() -> {
+                try {
+                    sweep();
+                } catch (Exception e) {
+                    log.debug("Sweeper failed; exception message: {}", e.getMessage());
+                }
+            }, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    private static class DefaultInstanceHolder {
+        private static final XpdfTempFileJanitor INSTANCE = XpdfTempFileJanitor.builder().build();
+    }
+
+    private static class SweeperHolder {
+        private static final ScheduledExecutorService SWEEPER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            val thread = new Thread(runnable, "xpdf-temp-file-janitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
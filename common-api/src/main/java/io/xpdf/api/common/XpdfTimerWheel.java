@@ -0,0 +1,206 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common;
+
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A hashed wheel of timeouts, which fire once their deadline has passed.
+ *
+ * <br><br> Each timeout is hashed into one of {@link #wheelSize} buckets by the tick that its deadline falls in, so that scheduling and cancelling a timeout takes constant time.
+ * Advancing the wheel by a tick only visits the timeouts in a single bucket, rather than every pending timeout.
+ * A timeout that lies more than one rotation ahead simply stays in its bucket until the wheel comes round to its tick.
+ *
+ * @implNote This wheel has no thread of its own.
+ * Timeouts only fire when the wheel is {@link #advance advanced}, and then run on the advancing thread, which is the reaper thread in the case of {@link XpdfProcessExecutor}.
+ * A timeout may fire up to one tick late, but never early.
+ * @since 1.3.0
+ */
+@Getter
+@ToString(onlyExplicitlyIncluded = true)
+@Slf4j
+public class XpdfTimerWheel {
+
+    /**
+     * Duration in nanoseconds of a single tick of the wheel.
+     *
+     * @since 1.3.0
+     */
+    @ToString.Include
+    private final long tickNanos;
+
+    /**
+     * Number of buckets in the wheel.
+     *
+     * @since 1.3.0
+     */
+    @ToString.Include
+    private final int wheelSize;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final long startNanos;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final List<Set<XpdfTimeout>> buckets;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private long nextTick;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private int size;
+
+    public XpdfTimerWheel(long tickNanos, int wheelSize) {
+        this(tickNanos, wheelSize, System.nanoTime());
+    }
+
+    protected XpdfTimerWheel(long tickNanos, int wheelSize, long startNanos) {
+        this.tickNanos = tickNanos;
+        this.wheelSize = wheelSize;
+        this.startNanos = startNanos;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int bucket = 0; bucket < wheelSize; bucket++) {
+            buckets.add(new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Schedules a task to run once a deadline has passed.
+     *
+     * @param deadlineNanos deadline, as given by {@link System#nanoTime()}
+     * @param task task to run
+     * @return {@link XpdfTimeout} that can cancel the task
+     * @since 1.3.0
+     */
+    public synchronized XpdfTimeout schedule(long deadlineNanos, Runnable task) {
+        // round up, so that a timeout never fires before its deadline
+        val elapsedNanos = deadlineNanos - startNanos;
+        val tick = Math.max(nextTick, elapsedNanos <= 0 ? 0 : (elapsedNanos + tickNanos - 1) / tickNanos);
+
+        val timeout = new XpdfTimeout(tick, task);
+        buckets.get(getBucket(tick)).add(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel up to a point in time, and runs the tasks of every timeout whose deadline has passed.
+     *
+     * @param nowNanos current time, as given by {@link System#nanoTime()}
+     * @return number of timeouts that fired
+     * @implNote Tasks run on the calling thread, after the wheel has been advanced, so a task may safely schedule further timeouts.
+     * @since 1.3.0
+     */
+    public int advance(long nowNanos) {
+        val expiredTimeouts = new ArrayList<XpdfTimeout>();
+
+        synchronized (this) {
+            val currentTick = (nowNanos - startNanos) / tickNanos;
+            if (currentTick < nextTick) {
+                return 0;
+            }
+
+            // visiting every bucket once covers all ticks, however far the wheel has to advance
+            val ticks = Math.min(currentTick - nextTick + 1, wheelSize);
+            for (long tick = nextTick; tick < nextTick + ticks; tick++) {
+                val iterator = buckets.get(getBucket(tick)).iterator();
+                while (iterator.hasNext()) {
+                    val timeout = iterator.next();
+                    if (timeout.tick <= currentTick) {
+                        iterator.remove();
+                        size--;
+                        timeout.expired = true;
+                        expiredTimeouts.add(timeout);
+                    }
+                }
+            }
+            nextTick = currentTick + 1;
+        }
+
+        for (val timeout : expiredTimeouts) {
+            try {
+                timeout.task.run();
+            } catch (RuntimeException e) {
+                // a failing task must not keep the remaining timeouts from firing
+                log.debug("Timeout task failed; exception message: {}", e.getMessage());
+            }
+        }
+        return expiredTimeouts.size();
+    }
+
+    /**
+     * Gets the number of timeouts that are scheduled and have neither fired nor been cancelled.
+     *
+     * @return pending timeouts
+     * @since 1.3.0
+     */
+    public synchronized int getPendingTimeoutCount() {
+        return size;
+    }
+
+    private int getBucket(long tick) {
+        return (int) (tick % wheelSize);
+    }
+
+    /**
+     * A timeout scheduled on a {@link XpdfTimerWheel}.
+     *
+     * @since 1.3.0
+     */
+    public final class XpdfTimeout {
+
+        private final long tick;
+
+        private final Runnable task;
+
+        private boolean expired;
+
+        private boolean cancelled;
+
+        private XpdfTimeout(long tick, Runnable task) {
+            this.tick = tick;
+            this.task = task;
+        }
+
+        /**
+         * Cancels this timeout, so that its task never runs.
+         *
+         * @return true if cancelled, or false if it had already fired or been cancelled
+         * @since 1.3.0
+         */
+        public boolean cancel() {
+            synchronized (XpdfTimerWheel.this) {
+                if (expired || cancelled) {
+                    return false;
+                }
+                cancelled = true;
+                buckets.get(getBucket(tick)).remove(this);
+                size--;
+                return true;
+            }
+        }
+
+    }
+
+}
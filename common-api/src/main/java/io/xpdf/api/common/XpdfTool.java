@@ -18,6 +18,9 @@ package io.xpdf.api.common;
 
 import io.xpdf.api.common.exception.XpdfException;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
  * A wrapper of an <em>Xpdf</em> command line tool.
  *
@@ -35,4 +38,23 @@ public interface XpdfTool<RequestT extends XpdfRequest, ResponseT extends XpdfRe
      */
     ResponseT process(RequestT request) throws XpdfException;
 
+    /**
+     * Invokes an <em>Xpdf</em> executable against a PDF file, without blocking the calling thread.
+     *
+     * @param request {@link XpdfRequest}
+     * @return {@code CompletableFuture} of the {@link XpdfResponse} result, which completes exceptionally with an {@link XpdfException} if exception
+     * @implNote By default, this runs {@link #process(XpdfRequest)} in the common {@code ForkJoinPool}, which blocks one of its threads for the duration of the process.
+     * The built-in tools override this to wait for the process without blocking any thread.
+     * @since 1.3.0
+     */
+    default CompletableFuture<ResponseT> processAsync(RequestT request) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return process(request);
+            } catch (XpdfException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
 }
@@ -20,8 +20,16 @@ import io.xpdf.api.common.XpdfTool;
 import io.xpdf.api.common.exception.XpdfRuntimeException;
 import lombok.val;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Helpers for a {@link XpdfTool}.
@@ -30,6 +38,8 @@ import java.nio.file.Paths;
  */
 public class XpdfUtils {
 
+    private static final int HASH_BUFFER_BYTES = 65536;
+
     private XpdfUtils() {
     }
 
@@ -42,6 +52,202 @@ public class XpdfUtils {
         return Paths.get(System.getProperty("java.io.tmpdir")).resolve( "xpdf-api");
     }
 
+    /**
+     * Gets the RAM-backed directory of this system, where files are never written to disk.
+     *
+     * @return RAM-backed directory, or null if this system has no writable {@code /dev/shm}
+     * @since 1.3.0
+     */
+    public static Path getXpdfRamDiskPath() {
+        val ramDiskPath = Paths.get("/dev/shm");
+        return Files.isDirectory(ramDiskPath) && Files.isWritable(ramDiskPath) ? ramDiskPath : null;
+    }
+
+    /**
+     * Gets the RAM-backed temporary directory utilized by native <em>Xpdf</em> executables.
+     *
+     * @return RAM-backed temporary directory, or null if this system has no RAM-backed directory
+     * @since 1.3.0
+     */
+    public static Path getXpdfRamDiskTempPath() {
+        val ramDiskPath = getXpdfRamDiskPath();
+        return ramDiskPath != null ? ramDiskPath.resolve("xpdf-api") : null;
+    }
+
+    /**
+     * Gets the minimum free space in bytes that a RAM-backed directory must have left for <em>Xpdf</em> output to be written to it.
+     *
+     * @return minimum free bytes
+     * @since 1.3.0
+     */
+    public static Long getXpdfRamDiskMinFreeBytes() {
+        return 256L * 1024 * 1024;
+    }
+
+    /**
+     * Gets the on-disk directory where in-memory PDF content is staged for native <em>Xpdf</em> executables.
+     *
+     * @return staging directory
+     * @since 1.3.0
+     */
+    public static Path getXpdfStagingPath() {
+        return getXpdfTempPath().resolve("staging");
+    }
+
+    /**
+     * Gets the RAM-backed directory where in-memory PDF content is preferably staged for native <em>Xpdf</em> executables.
+     *
+     * @return RAM-backed staging directory, or null if this system has no RAM-backed directory
+     * @since 1.3.0
+     */
+    public static Path getXpdfRamDiskStagingPath() {
+        val ramDiskTempPath = getXpdfRamDiskTempPath();
+        return ramDiskTempPath != null ? ramDiskTempPath.resolve("staging") : null;
+    }
+
+    /**
+     * Gets the maximum number of <em>Xpdf</em> processes that may run at the same time.
+     *
+     * @return maximum concurrent processes
+     * @since 1.3.0
+     */
+    public static Integer getXpdfMaxConcurrentProcesses() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Gets the maximum number of <em>Xpdf</em> processes that may wait for a free slot before being rejected.
+     *
+     * @return maximum queued processes
+     * @since 1.3.0
+     */
+    public static Integer getXpdfMaxQueuedProcesses() {
+        return 1024;
+    }
+
+    /**
+     * Gets the maximum number of bytes kept from each output stream of an <em>Xpdf</em> process.
+     *
+     * @return maximum output bytes
+     * @since 1.3.0
+     */
+    public static Integer getXpdfMaxOutputBytes() {
+        return 16 * 1024 * 1024;
+    }
+
+    /**
+     * Gets the maximum number of requests that a batch may hand to an {@link XpdfTool} at once.
+     *
+     * @return maximum in-flight requests
+     * @since 1.3.0
+     */
+    public static Integer getXpdfMaxInFlightRequests() {
+        return 2 * getXpdfMaxConcurrentProcesses();
+    }
+
+    /**
+     * Gets the directory where <em>Xpdf</em> results are cached.
+     *
+     * @return cache directory
+     * @since 1.3.0
+     */
+    public static Path getXpdfCachePath() {
+        return getXpdfTempPath().resolve("cache");
+    }
+
+    /**
+     * Gets the maximum total size in bytes of cached <em>Xpdf</em> results.
+     *
+     * @return maximum cache bytes
+     * @since 1.3.0
+     */
+    public static Long getXpdfCacheMaxBytes() {
+        return 1024L * 1024 * 1024;
+    }
+
+    /**
+     * Gets the minimum age in seconds of an <em>Xpdf</em> temporary file before it is swept.
+     *
+     * @return temporary file time-to-live in seconds
+     * @since 1.3.0
+     */
+    public static Long getXpdfTempFileTtlSeconds() {
+        return 24L * 60 * 60;
+    }
+
+    /**
+     * Gets the interval in seconds between sweeps of <em>Xpdf</em> temporary files.
+     *
+     * @return sweep interval in seconds
+     * @since 1.3.0
+     */
+    public static Long getXpdfTempFileSweepIntervalSeconds() {
+        return 10L * 60;
+    }
+
+    /**
+     * Gets a new SHA-256 message digest.
+     *
+     * @return SHA-256 {@code MessageDigest}
+     * @since 1.3.0
+     */
+    public static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new XpdfRuntimeException("SHA-256 is not supported by this JVM");
+        }
+    }
+
+    /**
+     * Gets the hexadecimal SHA-256 hash of the content of a file.
+     *
+     * @param file file to hash
+     * @return hexadecimal SHA-256 hash
+     * @throws IOException if unable to read the file
+     * @since 1.3.0
+     */
+    public static String getSha256Hex(File file) throws IOException {
+        val digest = newSha256Digest();
+        val buffer = new byte[HASH_BUFFER_BYTES];
+        try (InputStream stream = new FileInputStream(file)) {
+            int length;
+            while ((length = stream.read(buffer)) >= 0) {
+                digest.update(buffer, 0, length);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Gets the lowercase hexadecimal representation of bytes.
+     *
+     * @param bytes bytes
+     * @return hexadecimal string
+     * @since 1.3.0
+     */
+    public static String toHex(byte[] bytes) {
+        val hex = new StringBuilder(bytes.length * 2);
+        for (val b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Gets a {@code CompletableFuture} that has already completed exceptionally.
+     *
+     * @param throwable exception to complete with
+     * @param <T> type of future value
+     * @return failed {@code CompletableFuture}
+     * @since 1.3.0
+     */
+    public static <T> CompletableFuture<T> failedFuture(Throwable throwable) {
+        val future = new CompletableFuture<T>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+
     /**
      * Gets the OS and JVM bit architecture specific to this system.
      * This helps to locate the correct <em>Xpdf</em> executable for this system in the project resources.
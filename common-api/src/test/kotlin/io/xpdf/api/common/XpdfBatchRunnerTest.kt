@@ -0,0 +1,211 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common
+
+import io.kotest.assertions.throwables.shouldThrowWithMessage
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeInstanceOf
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.mockkStatic
+import io.mockk.unmockkAll
+import io.xpdf.api.common.exception.XpdfExecutionException
+import io.xpdf.api.common.exception.XpdfProcessingException
+import io.xpdf.api.common.exception.XpdfRuntimeException
+import io.xpdf.api.common.util.XpdfUtils
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+
+class XpdfBatchRunnerTest {
+
+    private val tool = mockk<XpdfTool<XpdfRequest, XpdfResponse>>()
+
+    @AfterEach
+    fun afterEach() {
+        unmockkAll()
+    }
+
+    @Test
+    fun `should initialize and get defaults from xpdf utils`() {
+        // given
+        mockkStatic(XpdfUtils::class)
+        every { XpdfUtils.getXpdfMaxInFlightRequests() } returns 7
+
+        val request = mockk<XpdfRequest> {
+            every { pdfFile.length() } returns 99
+        }
+
+        // when
+        val result = XpdfBatchRunner.builder<XpdfRequest, XpdfResponse>().tool(tool).build()
+
+        // then
+        result.tool shouldBe tool
+        result.maxInFlightRequests shouldBe 7
+        result.sizeFunction.applyAsLong(request) shouldBe 99
+    }
+
+    @Test
+    fun `should initialize with values`() {
+        // when
+        val result = XpdfBatchRunner.builder<XpdfRequest, XpdfResponse>()
+                .tool(tool)
+                .sizeFunction { 1 }
+                .maxInFlightRequests(3)
+                .build()
+
+        // then
+        result.maxInFlightRequests shouldBe 3
+        result.sizeFunction.applyAsLong(mockk()) shouldBe 1
+    }
+
+    @Test
+    fun `should throw exception when initializing if tool is null`() {
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("Tool cannot be null") {
+            XpdfBatchRunner.builder<XpdfRequest, XpdfResponse>().build()
+        }
+    }
+
+    @Test
+    fun `should throw exception when initializing if max in flight requests is not positive`() {
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("MaxInFlightRequests must be greater than zero") {
+            XpdfBatchRunner.builder<XpdfRequest, XpdfResponse>().tool(tool).maxInFlightRequests(0).build()
+        }
+    }
+
+    @Test
+    fun `should run batch largest first and record every outcome`() {
+        // given
+        val small = mockk<XpdfRequest> { every { pdfFile.length() } returns 1 }
+        val large = mockk<XpdfRequest> { every { pdfFile.length() } returns 3 }
+        val medium = mockk<XpdfRequest> { every { pdfFile.length() } returns 2 }
+        val failing = mockk<XpdfRequest> { every { pdfFile.length() } returns 0 }
+        val response = mockk<XpdfResponse>()
+        val exception = XpdfExecutionException("some message", null, null)
+        val launched = mutableListOf<XpdfRequest>()
+
+        every { tool.processAsync(any()) } answers {
+            launched.add(firstArg())
+            if (firstArg<XpdfRequest>() == failing) {
+                XpdfUtils.failedFuture(CompletionException(exception))
+            } else {
+                CompletableFuture.completedFuture(response)
+            }
+        }
+
+        val runner = XpdfBatchRunner.builder<XpdfRequest, XpdfResponse>().tool(tool).maxInFlightRequests(1).build()
+
+        // when
+        val result = runner.run(listOf(small, large, failing, medium))
+
+        // then
+        launched shouldContainExactly listOf(large, medium, small, failing)
+        result.items.map { it.request } shouldContainExactly listOf(small, large, failing, medium)
+        result.items[0].response shouldBe response
+        result.items[2].isSucceeded shouldBe false
+        result.items[2].exception shouldBe exception
+        result.succeededCount shouldBe 3
+        result.failedCount shouldBe 1
+        result.totalSize shouldBe 6
+        result.succeededItems.map { it.request } shouldContainExactly listOf(small, large, medium)
+        result.failedItems.map { it.request } shouldContainExactly listOf(failing)
+    }
+
+    @Test
+    fun `should record exception when tool throws non-xpdf exception`() {
+        // given
+        val request = mockk<XpdfRequest> { every { pdfFile.length() } returns 1 }
+        every { tool.processAsync(any()) } throws IllegalStateException("some message")
+
+        val runner = XpdfBatchRunner.builder<XpdfRequest, XpdfResponse>().tool(tool).build()
+
+        // when
+        val result = runner.run(listOf(request))
+
+        // then
+        result.failedCount shouldBe 1
+        result.items[0].exception.shouldBeInstanceOf<XpdfProcessingException>()
+    }
+
+    @Test
+    fun `should limit requests in flight`() {
+        // given
+        val requests = List(3) { mockk<XpdfRequest> { every { pdfFile.length() } returns 1 } }
+        val futures = CopyOnWriteArrayList<CompletableFuture<XpdfResponse>>()
+
+        every { tool.processAsync(any()) } answers {
+            CompletableFuture<XpdfResponse>().also { futures.add(it) }
+        }
+
+        val runner = XpdfBatchRunner.builder<XpdfRequest, XpdfResponse>().tool(tool).maxInFlightRequests(2).build()
+
+        // when
+        val result = CompletableFuture.supplyAsync { runner.run(requests) }
+
+        // then
+        awaitSize(futures, 2)
+        Thread.sleep(50)
+        futures.size shouldBe 2
+
+        futures[0].complete(mockk())
+        awaitSize(futures, 3)
+        futures[1].complete(mockk())
+        futures[2].complete(mockk())
+
+        result.get(5, TimeUnit.SECONDS).succeededCount shouldBe 3
+    }
+
+    @Test
+    fun `should run empty batch`() {
+        // when
+        val result = XpdfBatchRunner.builder<XpdfRequest, XpdfResponse>().tool(tool).build().run(emptyList())
+
+        // then
+        result.items.size shouldBe 0
+        result.succeededCount shouldBe 0
+    }
+
+    @Test
+    fun `should convert to string`() {
+        // given
+        val result = XpdfBatchResult.builder<XpdfRequest, XpdfResponse>()
+                .items(emptyList())
+                .succeededCount(1)
+                .failedCount(2)
+                .totalSize(3)
+                .elapsedMillis(4)
+                .build()
+
+        // when then
+        result.toString() shouldBe "XpdfBatchResult(succeededCount=1, failedCount=2, totalSize=3, elapsedMillis=4)"
+    }
+
+    private fun awaitSize(futures: List<*>, size: Int) {
+        val deadline = System.currentTimeMillis() + 5000
+        while (futures.size < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5)
+        }
+        futures.size shouldBe size
+    }
+
+}
@@ -0,0 +1,326 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.assertions.throwables.shouldThrowWithMessage
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
+import io.kotest.matchers.types.shouldBeInstanceOf
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.unmockkAll
+import io.mockk.verify
+import io.xpdf.api.common.exception.XpdfExecutionException
+import io.xpdf.api.common.exception.XpdfRuntimeException
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import java.nio.file.Path
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+class XpdfCoalescingToolTest {
+
+    private val tool = mockk<XpdfTool<XpdfRequest, XpdfResponse>>()
+
+    private val request = mockk<XpdfRequest>()
+
+    @AfterEach
+    fun afterEach() {
+        unmockkAll()
+    }
+
+    @Test
+    fun `should initialize with default key function`(@TempDir tempDir: Path) {
+        // given
+        val pdfFile = tempDir.resolve("some.pdf").toFile().apply { writeText("some content") }
+        val request = mockk<XpdfRequest> {
+            every { this@mockk.pdfFile } returns pdfFile
+        }
+
+        // when
+        val result = XpdfCoalescingTool.builder<XpdfRequest, XpdfResponse>().tool(tool).build()
+
+        // then
+        result.tool shouldBe tool
+        result.keyFunction.apply(request) shouldBe listOf(XpdfFileKey.of(pdfFile), request)
+    }
+
+    @Test
+    fun `should throw exception when initializing if tool is null`() {
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("Tool cannot be null") {
+            XpdfCoalescingTool.builder<XpdfRequest, XpdfResponse>().build()
+        }
+    }
+
+    @Test
+    fun `should coalesce identical requests when processing async`(@TempDir tempDir: Path) {
+        // given
+        val future = CompletableFuture<XpdfResponse>()
+        val response = SomeResponse(tempDir.resolve("some.txt").toFile())
+        every { tool.processAsync(request) } returns future
+
+        val coalescingTool = XpdfCoalescingTool.builder<XpdfRequest, XpdfResponse>().tool(tool).keyFunction { "key" }.build()
+
+        // when
+        val first = coalescingTool.processAsync(request)
+        val second = coalescingTool.processAsync(request)
+        coalescingTool.inFlightRequestCount shouldBe 1
+        future.complete(response)
+
+        // then
+        first.get(5, TimeUnit.SECONDS) shouldBe response
+        second.get(5, TimeUnit.SECONDS).shouldBeInstanceOf<SomeResponse>().file shouldBe response.file
+        second.get(5, TimeUnit.SECONDS) shouldNotBe response
+        coalescingTool.inFlightRequestCount shouldBe 0
+        verify(exactly = 1) { tool.processAsync(request) }
+    }
+
+    @Test
+    fun `should delete temporary files once every coalesced caller has closed its response`(@TempDir tempDir: Path) {
+        // given
+        val future = CompletableFuture<XpdfResponse>()
+        val file = tempDir.resolve("some.txt").toFile().apply { writeText("some text") }
+        every { tool.processAsync(request) } returns future
+
+        val coalescingTool = XpdfCoalescingTool.builder<XpdfRequest, XpdfResponse>().tool(tool).keyFunction { "key" }.build()
+        val first = coalescingTool.processAsync(request)
+        val second = coalescingTool.processAsync(request)
+        future.complete(SomeResponse(file))
+
+        // when
+        (first.get(5, TimeUnit.SECONDS) as SomeResponse).use {
+            it.file.readText() shouldBe "some text"
+        }
+
+        // then
+        (second.get(5, TimeUnit.SECONDS) as SomeResponse).use {
+            it.file.readText() shouldBe "some text"
+            it.close()
+            file.exists() shouldBe false
+        }
+    }
+
+    @Test
+    fun `should close handle of coalesced caller that cancelled before response arrived`(@TempDir tempDir: Path) {
+        // given
+        val future = CompletableFuture<XpdfResponse>()
+        val file = tempDir.resolve("some.txt").toFile().apply { writeText("some text") }
+        every { tool.processAsync(request) } returns future
+
+        val coalescingTool = XpdfCoalescingTool.builder<XpdfRequest, XpdfResponse>().tool(tool).keyFunction { "key" }.build()
+        val first = coalescingTool.processAsync(request)
+        val second = coalescingTool.processAsync(request)
+
+        // when
+        second.cancel(true)
+        future.complete(SomeResponse(file))
+
+        // then
+        second.isCancelled shouldBe true
+        first.get(5, TimeUnit.SECONDS).close()
+        file.exists() shouldBe false
+    }
+
+    @Test
+    fun `should close response of caller that cancelled before response arrived`(@TempDir tempDir: Path) {
+        // given
+        val future = CompletableFuture<XpdfResponse>()
+        val file = tempDir.resolve("some.txt").toFile().apply { writeText("some text") }
+        every { tool.processAsync(request) } returns future
+
+        val coalescingTool = XpdfCoalescingTool.builder<XpdfRequest, XpdfResponse>().tool(tool).keyFunction { "key" }.build()
+        val first = coalescingTool.processAsync(request)
+        val second = coalescingTool.processAsync(request)
+
+        // when
+        first.cancel(true)
+        future.complete(SomeResponse(file))
+
+        // then
+        (second.get(5, TimeUnit.SECONDS) as SomeResponse).use {
+            it.file.readText() shouldBe "some text"
+        }
+        file.exists() shouldBe false
+    }
+
+    @Test
+    fun `should not share response that cannot be copied when processing async`() {
+        // given
+        val future = CompletableFuture<XpdfResponse>()
+        val response = object : XpdfResponse() {}
+        val otherResponse = object : XpdfResponse() {}
+        every { tool.processAsync(request) } returnsMany listOf(future, CompletableFuture.completedFuture(otherResponse))
+
+        val coalescingTool = XpdfCoalescingTool.builder<XpdfRequest, XpdfResponse>().tool(tool).keyFunction { "key" }.build()
+
+        // when
+        val first = coalescingTool.processAsync(request)
+        val second = coalescingTool.processAsync(request)
+        future.complete(response)
+
+        // then
+        first.get(5, TimeUnit.SECONDS) shouldBe response
+        second.get(5, TimeUnit.SECONDS) shouldBe otherResponse
+        verify(exactly = 2) { tool.processAsync(request) }
+    }
+
+    @Test
+    fun `should share exception of coalesced requests when processing async`() {
+        // given
+        val future = CompletableFuture<XpdfResponse>()
+        val exception = XpdfExecutionException("some message", null, null)
+        every { tool.processAsync(request) } returns future
+
+        val coalescingTool = XpdfCoalescingTool.builder<XpdfRequest, XpdfResponse>().tool(tool).keyFunction { "key" }.build()
+
+        // when
+        val first = coalescingTool.processAsync(request)
+        val second = coalescingTool.processAsync(request)
+        future.completeExceptionally(exception)
+
+        // then
+        shouldThrow<ExecutionException> { first.get(5, TimeUnit.SECONDS) }.cause shouldBe exception
+        shouldThrow<ExecutionException> { second.get(5, TimeUnit.SECONDS) }.cause shouldBe exception
+        coalescingTool.inFlightRequestCount shouldBe 0
+    }
+
+    @Test
+    fun `should not coalesce requests once finished`() {
+        // given
+        every { tool.processAsync(request) } answers { CompletableFuture.completedFuture(mockk()) }
+
+        val coalescingTool = XpdfCoalescingTool.builder<XpdfRequest, XpdfResponse>().tool(tool).keyFunction { "key" }.build()
+
+        // when
+        coalescingTool.processAsync(request).get(5, TimeUnit.SECONDS)
+        coalescingTool.processAsync(request).get(5, TimeUnit.SECONDS)
+
+        // then
+        verify(exactly = 2) { tool.processAsync(request) }
+    }
+
+    @Test
+    fun `should not coalesce requests with different keys`() {
+        // given
+        val other = mockk<XpdfRequest>()
+        every { tool.processAsync(any()) } returns CompletableFuture()
+
+        val coalescingTool = XpdfCoalescingTool.builder<XpdfRequest, XpdfResponse>().tool(tool).keyFunction { it }.build()
+
+        // when
+        coalescingTool.processAsync(request)
+        coalescingTool.processAsync(other)
+
+        // then
+        coalescingTool.inFlightRequestCount shouldBe 2
+        verify(exactly = 1) { tool.processAsync(request) }
+        verify(exactly = 1) { tool.processAsync(other) }
+    }
+
+    @Test
+    fun `should not coalesce requests if unable to get key`() {
+        // given
+        every { tool.processAsync(request) } returns CompletableFuture()
+
+        val coalescingTool = XpdfCoalescingTool.builder<XpdfRequest, XpdfResponse>().tool(tool).keyFunction { throw Exception("some message") }.build()
+
+        // when
+        coalescingTool.processAsync(request)
+        coalescingTool.processAsync(request)
+
+        // then
+        coalescingTool.inFlightRequestCount shouldBe 0
+        verify(exactly = 2) { tool.processAsync(request) }
+    }
+
+    @Test
+    fun `should coalesce identical requests when processing`(@TempDir tempDir: Path) {
+        // given
+        val started = CountDownLatch(1)
+        val release = CountDownLatch(1)
+        val file = tempDir.resolve("some.txt").toFile().apply { writeText("some text") }
+        val response = SomeResponse(file)
+        every { tool.process(request) } answers {
+            started.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            response
+        }
+
+        val coalescingTool = XpdfCoalescingTool.builder<XpdfRequest, XpdfResponse>().tool(tool).keyFunction { "key" }.build()
+
+        // when
+        val first = CompletableFuture.supplyAsync { coalescingTool.process(request) }
+        started.await(5, TimeUnit.SECONDS)
+        val second = CompletableFuture.supplyAsync { coalescingTool.process(request) }
+        Thread.sleep(50)
+        release.countDown()
+
+        // then
+        first.get(5, TimeUnit.SECONDS) shouldBe response
+        first.get(5, TimeUnit.SECONDS).close()
+        (second.get(5, TimeUnit.SECONDS) as SomeResponse).file.readText() shouldBe "some text"
+        second.get(5, TimeUnit.SECONDS).close()
+        file.exists() shouldBe false
+        coalescingTool.inFlightRequestCount shouldBe 0
+        verify(exactly = 1) { tool.process(request) }
+    }
+
+    @Test
+    fun `should throw exception of coalesced requests when processing`() {
+        // given
+        val started = CountDownLatch(1)
+        val release = CountDownLatch(1)
+        val exception = XpdfExecutionException("some message", null, null)
+        every { tool.process(request) } answers {
+            started.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            throw exception
+        }
+
+        val coalescingTool = XpdfCoalescingTool.builder<XpdfRequest, XpdfResponse>().tool(tool).keyFunction { "key" }.build()
+
+        // when
+        val first = CompletableFuture.supplyAsync { coalescingTool.process(request) }
+        started.await(5, TimeUnit.SECONDS)
+        val second = CompletableFuture.supplyAsync { coalescingTool.process(request) }
+        Thread.sleep(50)
+        release.countDown()
+
+        // then
+        shouldThrow<ExecutionException> { first.get(5, TimeUnit.SECONDS) }.cause shouldBe exception
+        shouldThrow<ExecutionException> { second.get(5, TimeUnit.SECONDS) }.cause shouldBe exception
+        verify(exactly = 1) { tool.process(request) }
+    }
+
+    private class SomeResponse(val file: File) : XpdfResponse() {
+
+        override fun deleteTemporaryFiles() {
+            file.delete()
+        }
+
+        override fun copy(): XpdfResponse = SomeResponse(file)
+
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common
+
+import io.kotest.assertions.throwables.shouldThrowWithMessage
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
+import io.xpdf.api.common.exception.XpdfRuntimeException
+import io.xpdf.api.common.util.XpdfUtils
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.net.URLClassLoader
+import java.nio.file.Path
+
+class XpdfExecutableManagerTest {
+
+    private fun resourceClassLoader(resourceDirectory: Path, content: String): ClassLoader {
+        resourceDirectory.resolve("xpdf").toFile().mkdirs()
+        resourceDirectory.resolve("xpdf").resolve("some-executable").toFile().writeText(content)
+        return URLClassLoader(arrayOf(resourceDirectory.toUri().toURL()), null)
+    }
+
+    @Test
+    fun `should extract executable into hash directory`(@TempDir tempDir: Path) {
+        // given
+        val classLoader = resourceClassLoader(tempDir.resolve("resources"), "some content")
+        val executablePath = tempDir.resolve("bin").resolve("some-executable")
+
+        // when
+        val result = XpdfExecutableManager.extract(classLoader, "xpdf/some-executable", executablePath)
+
+        // then
+        val hash = XpdfUtils.toHex(XpdfUtils.newSha256Digest().digest("some content".toByteArray()))
+        result shouldBe tempDir.resolve("bin").resolve(hash.substring(0, 16)).resolve("some-executable").toFile().canonicalFile
+        result.readText() shouldBe "some content"
+        result.canExecute() shouldBe true
+        result.parentFile.list()!!.filter { it.startsWith(".tmp-") } shouldBe emptyList()
+    }
+
+    @Test
+    fun `should extract executables of different content into different directories`(@TempDir tempDir: Path) {
+        // given
+        val executablePath = tempDir.resolve("bin").resolve("some-executable")
+        val result = XpdfExecutableManager.extract(resourceClassLoader(tempDir.resolve("resources"), "some content"), "xpdf/some-executable", executablePath)
+
+        // when
+        val otherResult = XpdfExecutableManager.extract(resourceClassLoader(tempDir.resolve("other"), "other content"), "xpdf/some-executable", executablePath)
+
+        // then
+        otherResult.parentFile shouldNotBe result.parentFile
+        result.readText() shouldBe "some content"
+        otherResult.readText() shouldBe "other content"
+    }
+
+    @Test
+    fun `should extract executable again if corrupt`(@TempDir tempDir: Path) {
+        // given
+        val classLoader = resourceClassLoader(tempDir.resolve("resources"), "some content")
+        val executablePath = tempDir.resolve("bin").resolve("some-executable")
+        val executableFile = XpdfExecutableManager.extract(classLoader, "xpdf/some-executable", executablePath)
+        executableFile.writeText("some")
+
+        // when
+        val result = XpdfExecutableManager.extract(classLoader, "xpdf/some-executable", executablePath)
+
+        // then
+        result shouldBe executableFile
+        result.readText() shouldBe "some content"
+    }
+
+    @Test
+    fun `should not extract executable again if intact`(@TempDir tempDir: Path) {
+        // given
+        val classLoader = resourceClassLoader(tempDir.resolve("resources"), "some content")
+        val executablePath = tempDir.resolve("bin").resolve("some-executable")
+        val executableFile = XpdfExecutableManager.extract(classLoader, "xpdf/some-executable", executablePath)
+        executableFile.setLastModified(0)
+
+        // when
+        val result = XpdfExecutableManager.extract(classLoader, "xpdf/some-executable", executablePath)
+
+        // then
+        result.lastModified() shouldBe 0
+    }
+
+    @Test
+    fun `should get cached executable file`(@TempDir tempDir: Path) {
+        // given
+        val classLoader = resourceClassLoader(tempDir.resolve("resources"), "some content")
+        val executablePath = tempDir.resolve("bin").resolve("some-executable")
+        val executableFile = XpdfExecutableManager.getExecutableFile(classLoader, "xpdf/some-executable", executablePath)
+
+        // when
+        val result = XpdfExecutableManager.getExecutableFile(resourceClassLoader(tempDir.resolve("other"), "other content"), "xpdf/some-executable", executablePath)
+
+        // then
+        result shouldBe executableFile
+        result.readText() shouldBe "some content"
+    }
+
+    @Test
+    fun `should extract cached executable file again if deleted`(@TempDir tempDir: Path) {
+        // given
+        val classLoader = resourceClassLoader(tempDir.resolve("resources"), "some content")
+        val executablePath = tempDir.resolve("bin").resolve("some-executable")
+        val executableFile = XpdfExecutableManager.getExecutableFile(classLoader, "xpdf/some-executable", executablePath)
+        tempDir.resolve("bin").toFile().deleteRecursively()
+
+        // when
+        val result = XpdfExecutableManager.getExecutableFile(classLoader, "xpdf/some-executable", executablePath)
+
+        // then
+        result shouldBe executableFile
+        result.readText() shouldBe "some content"
+        result.canExecute() shouldBe true
+    }
+
+    @Test
+    fun `should throw exception when extracting if unable to locate executable resource`(@TempDir tempDir: Path) {
+        // given
+        val classLoader = resourceClassLoader(tempDir.resolve("resources"), "some content")
+
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("Unable to locate executable in project resources") {
+            XpdfExecutableManager.getExecutableFile(classLoader, "xpdf/notexists", tempDir.resolve("bin").resolve("notexists"))
+        }
+    }
+
+    @Test
+    fun `should throw exception when extracting if unable to copy executable`(@TempDir tempDir: Path) {
+        // given
+        val classLoader = resourceClassLoader(tempDir.resolve("resources"), "some content")
+        tempDir.resolve("bin").toFile().writeText("not a directory")
+
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("Unable to copy executable from resources to local system") {
+            XpdfExecutableManager.extract(classLoader, "xpdf/some-executable", tempDir.resolve("bin").resolve("some-executable"))
+        }
+    }
+
+}
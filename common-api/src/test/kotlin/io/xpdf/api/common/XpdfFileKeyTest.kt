@@ -0,0 +1,54 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common
+
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.nio.file.Path
+
+class XpdfFileKeyTest {
+
+    @Test
+    fun `should be equal if same unmodified file`(@TempDir tempDir: Path) {
+        // given
+        val file = tempDir.resolve("some.pdf").toFile().apply { writeText("some content") }
+
+        // when
+        val result = XpdfFileKey.of(file)
+
+        // then
+        result shouldBe XpdfFileKey.of(tempDir.resolve(".").resolve("some.pdf").toFile())
+        result.canonicalPath shouldBe file.canonicalPath
+        result.length shouldBe 12
+    }
+
+    @Test
+    fun `should not be equal if file modified`(@TempDir tempDir: Path) {
+        // given
+        val file = tempDir.resolve("some.pdf").toFile().apply { writeText("some content") }
+        val key = XpdfFileKey.of(file)
+
+        // when
+        file.setLastModified(file.lastModified() - 60000)
+
+        // then
+        XpdfFileKey.of(file) shouldNotBe key
+    }
+
+}
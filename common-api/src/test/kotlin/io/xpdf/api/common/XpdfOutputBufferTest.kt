@@ -0,0 +1,68 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common
+
+import io.kotest.matchers.shouldBe
+import org.junit.jupiter.api.Test
+import java.nio.charset.StandardCharsets
+
+class XpdfOutputBufferTest {
+
+    @Test
+    fun `should write bytes`() {
+        // given
+        val buffer = XpdfOutputBuffer(1024)
+
+        // when
+        buffer.write("some ".toByteArray(), 0, 5)
+        buffer.write("xxtextxx".toByteArray(), 2, 4)
+
+        // then
+        buffer.size shouldBe 9
+        buffer.discardedBytes shouldBe 0
+        buffer.isTruncated shouldBe false
+        buffer.toString(StandardCharsets.UTF_8) shouldBe "some text"
+    }
+
+    @Test
+    fun `should discard bytes beyond capacity`() {
+        // given
+        val buffer = XpdfOutputBuffer(6)
+
+        // when
+        buffer.write("some ".toByteArray(), 0, 5)
+        buffer.write("text".toByteArray(), 0, 4)
+        buffer.write("more".toByteArray(), 0, 4)
+
+        // then
+        buffer.size shouldBe 6
+        buffer.discardedBytes shouldBe 7
+        buffer.isTruncated shouldBe true
+        buffer.toString(StandardCharsets.UTF_8) shouldBe "some t"
+    }
+
+    @Test
+    fun `should convert to string`() {
+        // given
+        val buffer = XpdfOutputBuffer(2)
+        buffer.write("text".toByteArray(), 0, 4)
+
+        // when then
+        buffer.toString() shouldBe "XpdfOutputBuffer(maxBytes=2, size=2, discardedBytes=2)"
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common
+
+import io.kotest.assertions.throwables.shouldThrowWithMessage
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.shouldBe
+import io.mockk.every
+import io.mockk.mockkStatic
+import io.mockk.unmockkAll
+import io.xpdf.api.common.exception.XpdfRuntimeException
+import io.xpdf.api.common.util.XpdfUtils
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class XpdfOutputDirectoryTest {
+
+    @AfterEach
+    fun afterEach() {
+        unmockkAll()
+    }
+
+    @Test
+    fun `should initialize with defaults`(@TempDir tempDir: Path) {
+        // when
+        val result = XpdfOutputDirectory.builder().directory(tempDir).build()
+
+        // then
+        result.directory shouldBe tempDir
+        result.ramDiskDirectory shouldBe null
+        result.minFreeBytes shouldBe 268435456
+        result.currentDirectory shouldBe tempDir
+        result.directories shouldContainExactly listOf(tempDir)
+    }
+
+    @Test
+    fun `should throw exception when initializing if directory is null`() {
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("Directory cannot be null") {
+            XpdfOutputDirectory.builder().build()
+        }
+    }
+
+    @Test
+    fun `should throw exception when initializing if negative min free bytes`(@TempDir tempDir: Path) {
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("MinFreeBytes must be greater than or equal to zero") {
+            XpdfOutputDirectory.builder().directory(tempDir).minFreeBytes(-1).build()
+        }
+    }
+
+    @Test
+    fun `should initialize with ram disk directory mirroring directory when ram disk enabled`() {
+        // given
+        mockkStatic(XpdfUtils::class)
+        every { XpdfUtils.getXpdfRamDiskTempPath() } returns Paths.get("/dev/shm", "xpdf-api")
+
+        // when
+        val result = XpdfOutputDirectory.builder().directory(Paths.get("/data/xpdf")).ramDiskEnabled(true).build()
+
+        // then
+        result.ramDiskDirectory shouldBe Paths.get("/dev/shm", "xpdf-api", "out", "data", "xpdf")
+        result.directories shouldContainExactly listOf(Paths.get("/data/xpdf"), Paths.get("/dev/shm", "xpdf-api", "out", "data", "xpdf"))
+    }
+
+    @Test
+    fun `should initialize without ram disk directory when ram disk enabled but not available`() {
+        // given
+        mockkStatic(XpdfUtils::class)
+        every { XpdfUtils.getXpdfRamDiskTempPath() } returns null
+
+        // when
+        val result = XpdfOutputDirectory.builder().directory(Paths.get("/data/xpdf")).ramDiskEnabled(true).build()
+
+        // then
+        result.ramDiskDirectory shouldBe null
+        result.currentDirectory shouldBe Paths.get("/data/xpdf")
+    }
+
+    @Test
+    fun `should get ram disk directory as current directory while it has enough free space`(@TempDir tempDir: Path) {
+        // given
+        val outputDirectory = XpdfOutputDirectory.builder()
+            .directory(tempDir.resolve("disk"))
+            .ramDiskDirectory(tempDir.resolve("ram"))
+            .minFreeBytes(0)
+            .build()
+
+        // when
+        val result = outputDirectory.currentDirectory
+
+        // then
+        result shouldBe tempDir.resolve("ram")
+        result.toFile().isDirectory shouldBe true
+    }
+
+    @Test
+    fun `should get directory as current directory when ram disk directory runs low on free space`(@TempDir tempDir: Path) {
+        // given
+        val outputDirectory = XpdfOutputDirectory.builder()
+            .directory(tempDir.resolve("disk"))
+            .ramDiskDirectory(tempDir.resolve("ram"))
+            .minFreeBytes(Long.MAX_VALUE)
+            .build()
+
+        // when then
+        outputDirectory.currentDirectory shouldBe tempDir.resolve("disk")
+    }
+
+    @Test
+    fun `should get directory as current directory when ram disk directory has no room for required bytes`(@TempDir tempDir: Path) {
+        // given
+        val outputDirectory = XpdfOutputDirectory.builder()
+            .directory(tempDir.resolve("disk"))
+            .ramDiskDirectory(tempDir.resolve("ram"))
+            .minFreeBytes(0)
+            .build()
+        val usableBytes = Files.getFileStore(tempDir).usableSpace
+
+        // when then
+        outputDirectory.getCurrentDirectory(usableBytes + 1) shouldBe tempDir.resolve("disk")
+        outputDirectory.getCurrentDirectory(0) shouldBe tempDir.resolve("ram")
+    }
+
+    @Test
+    fun `should get directory as current directory when ram disk directory is unavailable`(@TempDir tempDir: Path) {
+        // given
+        tempDir.resolve("ram").toFile().writeText("not a directory")
+        val outputDirectory = XpdfOutputDirectory.builder()
+            .directory(tempDir.resolve("disk"))
+            .ramDiskDirectory(tempDir.resolve("ram"))
+            .minFreeBytes(0)
+            .build()
+
+        // when then
+        outputDirectory.currentDirectory shouldBe tempDir.resolve("disk")
+    }
+
+}
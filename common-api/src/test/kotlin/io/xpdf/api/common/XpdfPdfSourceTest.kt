@@ -0,0 +1,95 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common
+
+import io.kotest.matchers.shouldBe
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.ByteArrayInputStream
+import java.nio.ByteBuffer
+import java.nio.channels.Channels
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+
+class XpdfPdfSourceTest {
+
+    @Test
+    fun `should transfer buffer without moving its position`(@TempDir tempDir: Path) {
+        // given
+        val buffer = ByteBuffer.wrap("skip some pdf".toByteArray())
+        buffer.position(5)
+        val source = XpdfPdfSource.of(buffer)
+        val target = tempDir.resolve("some.pdf")
+
+        // when
+        val result = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE).use { source.transferTo(it) }
+
+        // then
+        result shouldBe 8
+        source.size shouldBe 8
+        buffer.position() shouldBe 5
+        Files.readAllBytes(target).toString(Charsets.UTF_8) shouldBe "some pdf"
+    }
+
+    @Test
+    fun `should transfer direct buffer`(@TempDir tempDir: Path) {
+        // given
+        val bytes = "some pdf".toByteArray()
+        val buffer = ByteBuffer.allocateDirect(bytes.size).put(bytes).flip() as ByteBuffer
+        val target = tempDir.resolve("some.pdf")
+
+        // when
+        val result = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE).use { XpdfPdfSource.of(buffer).transferTo(it) }
+
+        // then
+        result shouldBe 8
+        Files.readAllBytes(target).toString(Charsets.UTF_8) shouldBe "some pdf"
+    }
+
+    @Test
+    fun `should transfer stream`(@TempDir tempDir: Path) {
+        // given
+        val bytes = ByteArray(3 * 1024 * 1024) { it.toByte() }
+        val source = XpdfPdfSource.of(ByteArrayInputStream(bytes))
+        val target = tempDir.resolve("some.pdf")
+
+        // when
+        val result = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE).use { source.transferTo(it) }
+
+        // then
+        result shouldBe bytes.size.toLong()
+        source.size shouldBe -1
+        Files.readAllBytes(target) shouldBe bytes
+    }
+
+    @Test
+    fun `should transfer channel`(@TempDir tempDir: Path) {
+        // given
+        val source = XpdfPdfSource.of(Channels.newChannel(ByteArrayInputStream("some pdf".toByteArray())))
+        val target = tempDir.resolve("some.pdf")
+
+        // when
+        val result = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE).use { source.transferTo(it) }
+
+        // then
+        result shouldBe 8
+        Files.readAllBytes(target).toString(Charsets.UTF_8) shouldBe "some pdf"
+    }
+
+}
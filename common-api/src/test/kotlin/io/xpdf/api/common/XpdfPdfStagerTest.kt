@@ -0,0 +1,252 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.assertions.throwables.shouldThrowWithMessage
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeInstanceOf
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.mockkStatic
+import io.mockk.unmockkAll
+import io.xpdf.api.common.exception.XpdfProcessingException
+import io.xpdf.api.common.exception.XpdfRuntimeException
+import io.xpdf.api.common.exception.XpdfValidationException
+import io.xpdf.api.common.util.XpdfUtils
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+
+class XpdfPdfStagerTest {
+
+    @AfterEach
+    fun afterEach() {
+        unmockkAll()
+    }
+
+    @Test
+    fun `should initialize with defaults`() {
+        // given
+        mockkStatic(XpdfUtils::class)
+        every { XpdfUtils.getXpdfRamDiskPath() } returns Paths.get("/dev/shm")
+
+        // when
+        val result = XpdfPdfStager.builder().build()
+
+        // then
+        result.directory shouldBe XpdfUtils.getXpdfStagingPath()
+        result.ramDiskDirectory shouldBe Paths.get("/dev/shm", "xpdf-api", "staging")
+        result.minFreeBytes shouldBe 268435456
+        XpdfTempFileJanitor.getDefaultInstance().directories.contains(XpdfUtils.getXpdfStagingPath()) shouldBe true
+        XpdfTempFileJanitor.getDefaultInstance().directories.contains(Paths.get("/dev/shm", "xpdf-api", "staging")) shouldBe true
+    }
+
+    @Test
+    fun `should initialize without ram disk directory if no ram disk`() {
+        // given
+        mockkStatic(XpdfUtils::class)
+        every { XpdfUtils.getXpdfRamDiskPath() } returns null
+
+        // when
+        val result = XpdfPdfStager.builder().build()
+
+        // then
+        result.ramDiskDirectory shouldBe null
+    }
+
+    @Test
+    fun `should initialize without ram disk directory if directory given`(@TempDir tempDir: Path) {
+        // when
+        val result = XpdfPdfStager.builder().directory(tempDir).build()
+
+        // then
+        result.directory shouldBe tempDir
+        result.ramDiskDirectory shouldBe null
+    }
+
+    @Test
+    fun `should throw exception when initializing if negative min free bytes`(@TempDir tempDir: Path) {
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("MinFreeBytes must be greater than or equal to zero") {
+            XpdfPdfStager.builder().directory(tempDir).minFreeBytes(-1).build()
+        }
+    }
+
+    @Test
+    fun `should stage pdf source in ram disk directory while it has enough free space`(@TempDir tempDir: Path) {
+        // given
+        val stager = XpdfPdfStager.builder()
+            .directory(tempDir.resolve("disk"))
+            .ramDiskDirectory(tempDir.resolve("ram"))
+            .minFreeBytes(0)
+            .build()
+
+        // when
+        val result = stager.stage(XpdfPdfSource.of(ByteBuffer.wrap("some pdf".toByteArray())))
+
+        // then
+        result.parentFile shouldBe tempDir.resolve("ram").toFile()
+        result.readText() shouldBe "some pdf"
+    }
+
+    @Test
+    fun `should stage pdf source in directory when ram disk directory runs low on free space`(@TempDir tempDir: Path) {
+        // given
+        val stager = XpdfPdfStager.builder()
+            .directory(tempDir.resolve("disk"))
+            .ramDiskDirectory(tempDir.resolve("ram"))
+            .minFreeBytes(0)
+            .build()
+        val usableBytes = Files.getFileStore(tempDir).usableSpace
+        val source = mockk<XpdfPdfSource> {
+            every { size } returns usableBytes + 1
+            every { transferTo(any()) } returns 0
+        }
+
+        // when
+        val result = stager.stage(source)
+
+        // then
+        result.parentFile shouldBe tempDir.resolve("disk").toFile()
+    }
+
+    @Test
+    fun `should stage and unstage pdf source`(@TempDir tempDir: Path) {
+        // given
+        val stager = XpdfPdfStager.builder().directory(tempDir.resolve("staging")).build()
+
+        // when
+        val result = stager.stage(XpdfPdfSource.of(ByteBuffer.wrap("some pdf".toByteArray())))
+
+        // then
+        result.parentFile shouldBe tempDir.resolve("staging").toFile()
+        result.readText() shouldBe "some pdf"
+
+        stager.unstage(result)
+        result.exists() shouldBe false
+    }
+
+    @Test
+    fun `should delete staged file when unable to stage pdf source`(@TempDir tempDir: Path) {
+        // given
+        val stager = XpdfPdfStager.builder().directory(tempDir).build()
+        val source = mockk<XpdfPdfSource> {
+            every { size } returns -1
+            every { transferTo(any()) } throws IOException("some message")
+        }
+
+        // when then
+        shouldThrowWithMessage<IOException>("some message") {
+            stager.stage(source)
+        }
+        tempDir.toFile().listFiles()!!.shouldBeEmpty()
+    }
+
+    @Test
+    fun `should process staged file and delete it afterwards`(@TempDir tempDir: Path) {
+        // given
+        val stager = XpdfPdfStager.builder().directory(tempDir).build()
+        var stagedFile: File? = null
+
+        // when
+        val result = stager.process(XpdfPdfSource.of(ByteBuffer.wrap("some pdf".toByteArray()))) {
+            stagedFile = it
+            it.readText()
+        }
+
+        // then
+        result shouldBe "some pdf"
+        stagedFile!!.exists() shouldBe false
+    }
+
+    @Test
+    fun `should delete staged file when processing fails`(@TempDir tempDir: Path) {
+        // given
+        val stager = XpdfPdfStager.builder().directory(tempDir).build()
+
+        // when then
+        shouldThrowWithMessage<XpdfValidationException>("some message") {
+            stager.process<String>(XpdfPdfSource.of(ByteBuffer.wrap("some pdf".toByteArray()))) {
+                throw XpdfValidationException("some message")
+            }
+        }
+        tempDir.toFile().listFiles()!!.shouldBeEmpty()
+    }
+
+    @Test
+    fun `should throw exception when processing if unable to stage pdf source`(@TempDir tempDir: Path) {
+        // given
+        val stager = XpdfPdfStager.builder().directory(tempDir).build()
+        val source = mockk<XpdfPdfSource> {
+            every { size } returns -1
+            every { transferTo(any()) } throws IOException("some message")
+        }
+
+        // when then
+        shouldThrow<XpdfProcessingException> {
+            stager.process(source) { it.readText() }
+        }.cause.shouldBeInstanceOf<IOException>()
+    }
+
+    @Test
+    fun `should process async and delete staged file once completed`(@TempDir tempDir: Path) {
+        // given
+        val stager = XpdfPdfStager.builder().directory(tempDir).build()
+        val future = CompletableFuture<String>()
+        var stagedFile: File? = null
+
+        // when
+        val result = stager.processAsync(XpdfPdfSource.of(ByteBuffer.wrap("some pdf".toByteArray()))) {
+            stagedFile = it
+            future
+        }
+
+        // then
+        stagedFile!!.exists() shouldBe true
+
+        future.complete("some text")
+        result.get() shouldBe "some text"
+        stagedFile!!.exists() shouldBe false
+    }
+
+    @Test
+    fun `should complete exceptionally when processing async if unable to stage pdf source`(@TempDir tempDir: Path) {
+        // given
+        val stager = XpdfPdfStager.builder().directory(tempDir).build()
+        val source = mockk<XpdfPdfSource> {
+            every { size } returns -1
+            every { transferTo(any()) } throws IOException("some message")
+        }
+
+        // when
+        val result = stager.processAsync(source) { CompletableFuture.completedFuture("some text") }
+
+        // then
+        shouldThrow<ExecutionException> { result.get() }.cause.shouldBeInstanceOf<XpdfProcessingException>()
+    }
+
+}
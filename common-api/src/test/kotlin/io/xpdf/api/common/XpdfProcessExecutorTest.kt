@@ -0,0 +1,757 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.assertions.throwables.shouldThrowWithMessage
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeInstanceOf
+import io.mockk.*
+import io.xpdf.api.common.exception.XpdfExecutionException
+import io.xpdf.api.common.exception.XpdfProcessingException
+import io.xpdf.api.common.exception.XpdfRejectedException
+import io.xpdf.api.common.exception.XpdfRuntimeException
+import io.xpdf.api.common.exception.XpdfTimeoutException
+import io.xpdf.api.common.util.XpdfUtils
+import org.apache.commons.io.IOUtils
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.CsvSource
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.IOException
+import java.io.OutputStream
+import java.nio.charset.Charset
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+class XpdfProcessExecutorTest {
+
+    @AfterEach
+    fun afterEach() {
+        unmockkAll()
+    }
+
+    @Test
+    fun `should initialize and get defaults from xpdf utils`() {
+        // given
+        mockkStatic(XpdfUtils::class)
+        every { XpdfUtils.getXpdfMaxConcurrentProcesses() } returns 7
+        every { XpdfUtils.getXpdfMaxQueuedProcesses() } returns 99
+        every { XpdfUtils.getXpdfMaxOutputBytes() } returns 1024
+
+        // when
+        val result = XpdfProcessExecutor.builder().build()
+
+        // then
+        result.maxConcurrentProcesses shouldBe 7
+        result.maxQueuedProcesses shouldBe 99
+        result.maxOutputBytes shouldBe 1024
+    }
+
+    @Test
+    fun `should initialize with values`() {
+        // when
+        val result = XpdfProcessExecutor.builder().maxConcurrentProcesses(7).maxQueuedProcesses(99).maxOutputBytes(1024).build()
+
+        // then
+        result.maxConcurrentProcesses shouldBe 7
+        result.maxQueuedProcesses shouldBe 99
+        result.maxOutputBytes shouldBe 1024
+    }
+
+    @Test
+    fun `should throw exception when initializing if max concurrent processes is not positive`() {
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("MaxConcurrentProcesses must be greater than zero") {
+            XpdfProcessExecutor.builder().maxConcurrentProcesses(0).build()
+        }
+    }
+
+    @Test
+    fun `should throw exception when initializing if max queued processes is negative`() {
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("MaxQueuedProcesses must be greater than or equal to zero") {
+            XpdfProcessExecutor.builder().maxQueuedProcesses(-1).build()
+        }
+    }
+
+    @Test
+    fun `should throw exception when initializing if max output bytes is negative`() {
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("MaxOutputBytes must be greater than or equal to zero") {
+            XpdfProcessExecutor.builder().maxOutputBytes(-1).build()
+        }
+    }
+
+    @Test
+    fun `should get default instance`() {
+        // when then
+        XpdfProcessExecutor.getDefaultInstance() shouldBe XpdfProcessExecutor.getDefaultInstance()
+    }
+
+    @Test
+    fun `should execute`() {
+        // given
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns standardOutputStream
+            every { errorStream } returns errorOutputStream
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).build()
+
+        // when
+        val result = executor.execute(listOf("part1", "part2"), 1)
+
+        // then
+        result.exitCode shouldBe 0
+        result.standardOutput shouldBe "standardOutput"
+        result.isStandardOutputTruncated shouldBe false
+        result.errorOutput shouldBe "errorOutput"
+        executor.runningProcessCount shouldBe 0
+    }
+
+    @Test
+    fun `should execute and decode outputs with charset`() {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("Title: één".toByteArray(Charsets.UTF_16BE))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).build()
+
+        // when
+        val result = executor.execute(listOf("part1", "part2"), 1, Charsets.UTF_16BE)
+
+        // then
+        result.standardOutput shouldBe "Title: één"
+    }
+
+    @Test
+    fun `should execute and copy standard output to tee`() {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("standardOutput".toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).maxOutputBytes(8).build()
+        val tee = ByteArrayOutputStream()
+
+        // when
+        val result = executor.execute(listOf("part1", "part2"), 1, Charsets.UTF_8, tee)
+
+        // then
+        result.standardOutput shouldBe "standard"
+        tee.toString("UTF-8") shouldBe "standardOutput"
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+            "1, Error opening the PDF file",
+            "2, Error opening the output file",
+            "3, Error related to PDF permissions",
+            "99, Other Xpdf error",
+            "69, Unknown Xpdf error",
+    )
+    fun `should throw exception when executing if non-zero exit code`(exitCode: Int,
+                                                                      message: String) {
+        // given
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns standardOutputStream
+            every { errorStream } returns errorOutputStream
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns exitCode
+            every { destroy() } just runs
+        }
+
+        val executor = XpdfProcessExecutor.builder().build()
+
+        // when then
+        val exception = shouldThrowWithMessage<XpdfExecutionException>(message) {
+            executor.execute(listOf("part1", "part2"), 1)
+        }
+        exception.standardOutput shouldBe "standardOutput"
+        exception.errorOutput shouldBe "errorOutput"
+    }
+
+    @Test
+    fun `should decode error output with default charset when executing with charset`() {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream("Command Line Error: Incorrect password".toByteArray(Charset.defaultCharset()))
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 3
+            every { destroy() } just runs
+        }
+
+        val executor = XpdfProcessExecutor.builder().build()
+
+        // when
+        val exception = shouldThrow<XpdfExecutionException> {
+            executor.execute(listOf("part1", "part2"), 1, Charsets.UTF_16BE)
+        }
+
+        // then
+        exception.errorOutput shouldBe "Command Line Error: Incorrect password"
+    }
+
+    @Test
+    fun `should throw exception when executing if timeout`() {
+        // given
+        val process = mockk<Process> {
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { waitFor(any(), any()) } returns false
+            every { destroy() } just runs
+        }
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns process
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).build()
+
+        // when then
+        shouldThrowWithMessage<XpdfTimeoutException>("Timeout reached before process could finish") {
+            executor.execute(listOf("part1", "part2"), 0)
+        }
+        verify { process.destroy() }
+        executor.runningProcessCount shouldBe 0
+    }
+
+    @Test
+    fun `should drain outputs while waiting for process to finish`() {
+        // given
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns standardOutputStream
+            every { errorStream } returns errorOutputStream
+            every { waitFor(any(), any()) } returnsMany listOf(false, false, true)
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).build()
+
+        // when
+        val result = executor.execute(listOf("part1", "part2"), 1)
+
+        // then
+        result.standardOutput shouldBe "standardOutput"
+        result.errorOutput shouldBe "errorOutput"
+        standardOutputStream.available() shouldBe 0
+        errorOutputStream.available() shouldBe 0
+    }
+
+    @Test
+    fun `should truncate outputs when executing if max output bytes exceeded`() {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("standardOutput".toByteArray())
+            every { errorStream } returns ByteArrayInputStream("errorOutput".toByteArray())
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val executor = XpdfProcessExecutor.builder().maxOutputBytes(8).build()
+
+        // when
+        val result = executor.execute(listOf("part1", "part2"), 1)
+
+        // then
+        result.standardOutput shouldBe "standard"
+        result.isStandardOutputTruncated shouldBe true
+        result.errorOutput shouldBe "errorOut"
+    }
+
+    @Test
+    fun `should execute streaming`() {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("standardOutput".toByteArray())
+            every { errorStream } returns ByteArrayInputStream("errorOutput".toByteArray())
+            every { isAlive } returns false
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).build()
+        var standardOutput: String? = null
+
+        // when
+        val result = executor.execute(listOf("part1", "part2"), 1) { standardOutput = IOUtils.toString(it, Charsets.UTF_8) }
+
+        // then
+        standardOutput shouldBe "standardOutput"
+        result.exitCode shouldBe 0
+        result.standardOutput shouldBe null
+        result.errorOutput shouldBe "errorOutput"
+        executor.runningProcessCount shouldBe 0
+    }
+
+    @Test
+    fun `should throw exception when executing streaming if non-zero exit code`() {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream("errorOutput".toByteArray())
+            every { isAlive } returns false
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 1
+            every { destroy() } just runs
+        }
+
+        val executor = XpdfProcessExecutor.builder().build()
+
+        // when then
+        val exception = shouldThrowWithMessage<XpdfExecutionException>("Error opening the PDF file") {
+            executor.execute(listOf("part1", "part2"), 1) { }
+        }
+        exception.errorOutput shouldBe "errorOutput"
+    }
+
+    @Test
+    fun `should throw exception when executing streaming if timeout`() {
+        // given
+        val process = mockk<Process> {
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns true
+            every { waitFor(any(), any()) } returns false
+            every { destroy() } just runs
+        }
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns process
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).build()
+
+        // when then
+        shouldThrowWithMessage<XpdfTimeoutException>("Timeout reached before process could finish") {
+            executor.execute(listOf("part1", "part2"), 0) { }
+        }
+        verify { process.destroy() }
+        executor.runningProcessCount shouldBe 0
+    }
+
+    @Test
+    fun `should throw exception when executing streaming if consumer throws exception`() {
+        // given
+        val process = mockk<Process> {
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns true
+            every { destroy() } just runs
+        }
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns process
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).build()
+
+        // when then
+        shouldThrow<XpdfProcessingException> {
+            executor.execute(listOf("part1", "part2"), 1) { throw IOException("some message") }
+        }
+        verify { process.destroy() }
+        executor.runningProcessCount shouldBe 0
+    }
+
+    @Test
+    fun `should throw exception when acquiring permit if queue is full`() {
+        // given
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).maxQueuedProcesses(0).build()
+        executor.acquirePermit(1)
+
+        // when then
+        shouldThrowWithMessage<XpdfRejectedException>("Queue is full; process cannot be accepted") {
+            executor.acquirePermit(1)
+        }
+        executor.queuedProcessCount shouldBe 0
+    }
+
+    @Test
+    fun `should throw exception when acquiring permit if timeout in queue`() {
+        // given
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).maxQueuedProcesses(1).build()
+        executor.acquirePermit(1)
+
+        // when then
+        shouldThrowWithMessage<XpdfTimeoutException>("Timeout reached before process could start") {
+            executor.acquirePermit(0)
+        }
+        executor.queuedProcessCount shouldBe 0
+        executor.runningProcessCount shouldBe 1
+    }
+
+    @Test
+    fun `should not take free slot ahead of process waiting in queue`() {
+        // given
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).maxQueuedProcesses(1).build()
+        executor.acquirePermit(1)
+        val waiter = Thread { executor.acquirePermit(5) }.apply { start() }
+        while (waiter.state != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1)
+        }
+        executor.releasePermit()
+
+        // when
+        val result = executor.tryAcquirePermit()
+
+        // then
+        result shouldBe false
+        waiter.join(5000)
+        waiter.isAlive shouldBe false
+        executor.queuedProcessCount shouldBe 0
+        executor.runningProcessCount shouldBe 1
+    }
+
+    @Test
+    fun `should execute async`() {
+        // given
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns standardOutputStream
+            every { errorStream } returns errorOutputStream
+            every { isAlive } returns false
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).build()
+
+        // when
+        val result = executor.executeAsync(listOf("part1", "part2"), 5).get(5, TimeUnit.SECONDS)
+
+        // then
+        result.exitCode shouldBe 0
+        result.standardOutput shouldBe "standardOutput"
+        result.isStandardOutputTruncated shouldBe false
+        result.errorOutput shouldBe "errorOutput"
+        executor.runningProcessCount shouldBe 0
+    }
+
+    @Test
+    fun `should execute async and decode outputs with charset`() {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("Title: één".toByteArray(Charsets.ISO_8859_1))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns false
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).build()
+
+        // when
+        val result = executor.executeAsync(listOf("part1", "part2"), 5, Charsets.ISO_8859_1).get(5, TimeUnit.SECONDS)
+
+        // then
+        result.standardOutput shouldBe "Title: één"
+    }
+
+    @Test
+    fun `should execute async and copy standard output to tee`() {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("standardOutput".toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns false
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).maxOutputBytes(8).build()
+        val tee = ByteArrayOutputStream()
+
+        // when
+        val result = executor.executeAsync(listOf("part1", "part2"), 5, Charsets.UTF_8, tee).get(5, TimeUnit.SECONDS)
+
+        // then
+        result.standardOutput shouldBe "standard"
+        tee.toString("UTF-8") shouldBe "standardOutput"
+    }
+
+    @Test
+    fun `should complete exceptionally when executing async if tee fails`() {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("standardOutput".toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns false
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).build()
+        val tee = mockk<OutputStream> {
+            every { write(any(), any(), any()) } throws IOException("tee failed")
+        }
+
+        // when
+        val exception = shouldThrow<ExecutionException> {
+            executor.executeAsync(listOf("part1", "part2"), 5, Charsets.UTF_8, tee).get(5, TimeUnit.SECONDS)
+        }
+
+        // then
+        exception.cause.shouldBeInstanceOf<XpdfProcessingException>()
+        executor.runningProcessCount shouldBe 0
+    }
+
+    @Test
+    fun `should complete exceptionally when executing async if non-zero exit code`() {
+        // given
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns standardOutputStream
+            every { errorStream } returns errorOutputStream
+            every { isAlive } returns false
+            every { exitValue() } returns 1
+            every { destroy() } just runs
+        }
+
+        val executor = XpdfProcessExecutor.builder().build()
+
+        // when
+        val exception = shouldThrow<ExecutionException> {
+            executor.executeAsync(listOf("part1", "part2"), 5).get(5, TimeUnit.SECONDS)
+        }
+
+        // then
+        exception.cause.shouldBeInstanceOf<XpdfExecutionException>()
+        exception.cause!!.message shouldBe "Error opening the PDF file"
+    }
+
+    @Test
+    fun `should complete exceptionally when executing async if timeout`() {
+        // given
+        val process = mockk<Process> {
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns true
+            every { destroy() } just runs
+        }
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns process
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).build()
+
+        // when
+        val exception = shouldThrow<ExecutionException> {
+            executor.executeAsync(listOf("part1", "part2"), 0).get(5, TimeUnit.SECONDS)
+        }
+
+        // then
+        exception.cause.shouldBeInstanceOf<XpdfTimeoutException>()
+        exception.cause!!.message shouldBe "Timeout reached before process could finish"
+        verify { process.destroy() }
+        executor.runningProcessCount shouldBe 0
+    }
+
+    @Test
+    fun `should destroy process when executing async if future is cancelled`() {
+        // given
+        val process = mockk<Process>(relaxed = true) {
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns true
+        }
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns process
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).build()
+        val future = executor.executeAsync(listOf("part1", "part2"), 60)
+
+        // when
+        future.cancel(false)
+
+        // then
+        verify(timeout = 5000) { process.destroy() }
+        executor.runningProcessCount shouldBe 0
+    }
+
+    @Test
+    fun `should remove queued process when executing async if future is cancelled`() {
+        // given
+        val process = mockk<Process>(relaxed = true) {
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns true
+        }
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns process
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).build()
+        val runningFuture = executor.executeAsync(listOf("part1", "part2"), 60)
+        val queuedFuture = executor.executeAsync(listOf("part1", "part2"), 60)
+
+        // when
+        queuedFuture.cancel(false)
+
+        // then
+        executor.queuedProcessCount shouldBe 0
+        executor.runningProcessCount shouldBe 1
+        runningFuture.cancel(false)
+        verify(timeout = 5000) { process.destroy() }
+    }
+
+    @Test
+    fun `should destroy process forcibly when executing async if it ignores termination after timeout`() {
+        // given
+        val process = mockk<Process> {
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns true
+            every { destroy() } just runs
+            every { destroyForcibly() } returns this
+        }
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns process
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).build()
+
+        // when
+        shouldThrow<ExecutionException> {
+            executor.executeAsync(listOf("part1", "part2"), 0).get(5, TimeUnit.SECONDS)
+        }
+
+        // then
+        verify(exactly = 0) { process.destroyForcibly() }
+        verify(timeout = 5000) { process.destroyForcibly() }
+    }
+
+    @Test
+    fun `should complete exceptionally when executing async if unable to start process`() {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } throws IOException("some message")
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).build()
+
+        // when
+        val exception = shouldThrow<ExecutionException> {
+            executor.executeAsync(listOf("part1", "part2"), 5).get(5, TimeUnit.SECONDS)
+        }
+
+        // then
+        exception.cause.shouldBeInstanceOf<XpdfProcessingException>()
+        executor.runningProcessCount shouldBe 0
+    }
+
+    @Test
+    fun `should complete exceptionally when executing async if queue is full`() {
+        // given
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).maxQueuedProcesses(0).build()
+        executor.acquirePermit(1)
+
+        // when
+        val exception = shouldThrow<ExecutionException> {
+            executor.executeAsync(listOf("part1", "part2"), 5).get(5, TimeUnit.SECONDS)
+        }
+
+        // then
+        exception.cause.shouldBeInstanceOf<XpdfRejectedException>()
+    }
+
+    @Test
+    fun `should complete exceptionally when executing async if timeout in queue`() {
+        // given
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).maxQueuedProcesses(1).build()
+        executor.acquirePermit(1)
+
+        // when
+        val exception = shouldThrow<ExecutionException> {
+            executor.executeAsync(listOf("part1", "part2"), 0).get(5, TimeUnit.SECONDS)
+        }
+
+        // then
+        exception.cause.shouldBeInstanceOf<XpdfTimeoutException>()
+        exception.cause!!.message shouldBe "Timeout reached before process could start"
+        executor.queuedProcessCount shouldBe 0
+    }
+
+    @Test
+    fun `should execute async queued process once slot frees up`() {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns false
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val executor = XpdfProcessExecutor.builder().maxConcurrentProcesses(1).maxQueuedProcesses(1).build()
+        executor.acquirePermit(1)
+        val future = executor.executeAsync(listOf("part1", "part2"), 5)
+        executor.queuedProcessCount shouldBe 1
+
+        // when
+        executor.releasePermit()
+
+        // then
+        future.get(5, TimeUnit.SECONDS).exitCode shouldBe 0
+        executor.queuedProcessCount shouldBe 0
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
+import io.xpdf.api.common.exception.XpdfRuntimeException
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.nio.file.Path
+
+class XpdfResultCacheTest {
+
+    @Test
+    fun `should build with defaults`() {
+        // when
+        val result = XpdfResultCache.builder().build()
+
+        // then
+        result.directory.isDirectory shouldBe true
+        result.maxBytes shouldBe 1073741824L
+    }
+
+    @Test
+    fun `should throw exception when building with non-positive max bytes`(@TempDir tempDir: Path) {
+        // when
+        val exception = shouldThrow<XpdfRuntimeException> {
+            XpdfResultCache.builder().directory(tempDir.toFile()).maxBytes(0L).build()
+        }
+
+        // then
+        exception.message shouldBe "MaxBytes must be greater than zero"
+    }
+
+    @Test
+    fun `should compute same key for same inputs`(@TempDir tempDir: Path) {
+        // given
+        val cache = XpdfResultCache.builder().directory(tempDir.resolve("cache").toFile()).build()
+        val executableFile = tempDir.resolve("executable").toFile().apply { writeText("some executable") }
+        val pdfFile = tempDir.resolve("some.pdf").toFile().apply { writeText("some content") }
+
+        // when
+        val result = cache.getKey(executableFile, listOf("-f", "1"), pdfFile)
+
+        // then
+        result.length shouldBe 64
+        result shouldBe cache.getKey(executableFile, listOf("-f", "1"), pdfFile)
+    }
+
+    @Test
+    fun `should compute different key for different inputs`(@TempDir tempDir: Path) {
+        // given
+        val cache = XpdfResultCache.builder().directory(tempDir.resolve("cache").toFile()).build()
+        val executableFile = tempDir.resolve("executable").toFile().apply { writeText("some executable") }
+        val pdfFile = tempDir.resolve("some.pdf").toFile().apply { writeText("some content") }
+        val otherPdfFile = tempDir.resolve("other.pdf").toFile().apply { writeText("other content") }
+
+        // when
+        val result = cache.getKey(executableFile, listOf("-f", "1"), pdfFile)
+
+        // then
+        result shouldNotBe cache.getKey(executableFile, listOf("-f1"), pdfFile)
+        result shouldNotBe cache.getKey(executableFile, listOf("-f", "1"), otherPdfFile)
+    }
+
+    @Test
+    fun `should get entry after put`(@TempDir tempDir: Path) {
+        // given
+        val cache = XpdfResultCache.builder().directory(tempDir.toFile()).build()
+
+        // when
+        cache.put("some-key") { XpdfResultCache.writeStandardOutput(it, "some output") }
+
+        // then
+        val entryDirectory = cache.get("some-key")
+        entryDirectory shouldNotBe null
+        XpdfResultCache.readStandardOutput(entryDirectory) shouldBe "some output"
+        cache.entryCount shouldBe 1
+        cache.totalBytes shouldBe 11
+        tempDir.toFile().list()!!.toList() shouldBe listOf("some-key")
+    }
+
+    @Test
+    fun `should return null when entry missing`(@TempDir tempDir: Path) {
+        // given
+        val cache = XpdfResultCache.builder().directory(tempDir.toFile()).build()
+
+        // when
+        val result = cache.get("some-key")
+
+        // then
+        result shouldBe null
+    }
+
+    @Test
+    fun `should evict least recently used entry when exceeding max bytes`(@TempDir tempDir: Path) {
+        // given
+        val cache = XpdfResultCache.builder().directory(tempDir.toFile()).maxBytes(20L).build()
+        cache.put("first-key") { XpdfResultCache.writeStandardOutput(it, "0123456789") }
+        cache.put("second-key") { XpdfResultCache.writeStandardOutput(it, "0123456789") }
+        cache.get("first-key")
+
+        // when
+        cache.put("third-key") { XpdfResultCache.writeStandardOutput(it, "0123456789") }
+
+        // then
+        cache.get("first-key") shouldNotBe null
+        cache.get("second-key") shouldBe null
+        cache.get("third-key") shouldNotBe null
+        cache.totalBytes shouldBe 20
+        tempDir.resolve("second-key").toFile().exists() shouldBe false
+    }
+
+    @Test
+    fun `should skip entry larger than max bytes`(@TempDir tempDir: Path) {
+        // given
+        val cache = XpdfResultCache.builder().directory(tempDir.toFile()).maxBytes(5L).build()
+
+        // when
+        cache.put("some-key") { XpdfResultCache.writeStandardOutput(it, "0123456789") }
+
+        // then
+        cache.get("some-key") shouldBe null
+        cache.entryCount shouldBe 0
+        tempDir.toFile().list()!!.size shouldBe 0
+    }
+
+    @Test
+    fun `should adopt existing entries and delete incomplete entries`(@TempDir tempDir: Path) {
+        // given
+        XpdfResultCache.builder().directory(tempDir.toFile()).build()
+            .put("some-key") { XpdfResultCache.writeStandardOutput(it, "some output") }
+        tempDir.resolve(".tmp-interrupted").toFile().mkdirs()
+
+        // when
+        val result = XpdfResultCache.builder().directory(tempDir.toFile()).build()
+
+        // then
+        XpdfResultCache.readStandardOutput(result.get("some-key")) shouldBe "some output"
+        result.entryCount shouldBe 1
+        tempDir.resolve(".tmp-interrupted").toFile().exists() shouldBe false
+    }
+
+    @Test
+    fun `should read null standard output when none written`(@TempDir tempDir: Path) {
+        // given
+        XpdfResultCache.writeStandardOutput(tempDir, null)
+
+        // when
+        val result = XpdfResultCache.readStandardOutput(tempDir)
+
+        // then
+        result shouldBe null
+    }
+
+}
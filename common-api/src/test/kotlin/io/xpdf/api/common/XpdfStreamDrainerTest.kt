@@ -0,0 +1,150 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common
+
+import io.kotest.assertions.throwables.shouldThrowWithMessage
+import io.kotest.matchers.shouldBe
+import io.mockk.every
+import io.mockk.mockk
+import org.junit.jupiter.api.Test
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+import java.nio.charset.Charset
+import java.nio.charset.StandardCharsets
+
+class XpdfStreamDrainerTest {
+
+    @Test
+    fun `should drain available bytes`() {
+        // given
+        val process = mockk<Process> {
+            every { inputStream } returns ByteArrayInputStream("standardOutput".toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+        }
+        val drainer = XpdfStreamDrainer(process, 1024)
+
+        // when
+        val result = drainer.drainAvailable()
+
+        // then
+        result shouldBe true
+        drainer.drainAvailable() shouldBe false
+        drainer.standardOutputBuffer.toString(StandardCharsets.UTF_8) shouldBe "standardOutput"
+        drainer.errorOutputBuffer.size shouldBe 0
+    }
+
+    @Test
+    fun `should not block when no bytes are available`() {
+        // given
+        val blockingStream = mockk<InputStream> {
+            every { available() } returns 0
+        }
+        val process = mockk<Process> {
+            every { inputStream } returns blockingStream
+            every { errorStream } returns blockingStream
+        }
+        val drainer = XpdfStreamDrainer(process, 1024)
+
+        // when
+        val result = drainer.drainAvailable()
+
+        // then
+        result shouldBe false
+    }
+
+    @Test
+    fun `should drain remaining bytes`() {
+        // given
+        val process = mockk<Process> {
+            every { inputStream } returns ByteArrayInputStream("standardOutput".toByteArray())
+            every { errorStream } returns ByteArrayInputStream("errorOutput".toByteArray())
+        }
+        val drainer = XpdfStreamDrainer(process, 5)
+
+        // when
+        drainer.drainRemaining()
+
+        // then
+        drainer.standardOutputBuffer.toString(StandardCharsets.UTF_8) shouldBe "stand"
+        drainer.standardOutputBuffer.discardedBytes shouldBe 9
+        drainer.errorOutputBuffer.toString(StandardCharsets.UTF_8) shouldBe "error"
+        drainer.errorOutputBuffer.discardedBytes shouldBe 6
+    }
+
+    @Test
+    fun `should decode standard output with charset and error output with default charset`() {
+        // given
+        val process = mockk<Process> {
+            every { inputStream } returns ByteArrayInputStream("Title: één".toByteArray(StandardCharsets.UTF_16BE))
+            every { errorStream } returns ByteArrayInputStream("Error: Incorrect password".toByteArray(Charset.defaultCharset()))
+        }
+        val drainer = XpdfStreamDrainer(process, 1024, StandardCharsets.UTF_16BE)
+
+        // when
+        drainer.drainRemaining()
+
+        // then
+        drainer.charset shouldBe StandardCharsets.UTF_16BE
+        drainer.standardOutput shouldBe "Title: één"
+        drainer.errorOutput shouldBe "Error: Incorrect password"
+    }
+
+    @Test
+    fun `should copy whole standard output to tee`() {
+        // given
+        val process = mockk<Process> {
+            every { inputStream } returns ByteArrayInputStream("standardOutput".toByteArray())
+            every { errorStream } returns ByteArrayInputStream("errorOutput".toByteArray())
+        }
+        val tee = ByteArrayOutputStream()
+        val drainer = XpdfStreamDrainer(process, 5, StandardCharsets.UTF_8, tee)
+
+        // when
+        drainer.drainAvailable()
+        drainer.drainRemaining()
+
+        // then
+        drainer.standardOutput shouldBe "stand"
+        tee.toString("UTF-8") shouldBe "standardOutput"
+    }
+
+    @Test
+    fun `should keep draining when tee fails and throw exception once drained`() {
+        // given
+        val process = mockk<Process> {
+            every { inputStream } returns ByteArrayInputStream("standardOutput".toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+        }
+        val tee = mockk<OutputStream> {
+            every { write(any(), any(), any()) } throws IOException("tee failed")
+        }
+        val drainer = XpdfStreamDrainer(process, 1024, StandardCharsets.UTF_8, tee)
+
+        // when
+        drainer.drainAvailable() shouldBe true
+
+        // then
+        shouldThrowWithMessage<IOException>("tee failed") {
+            drainer.drainRemaining()
+        }
+        drainer.standardOutput shouldBe "standardOutput"
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common
+
+import io.kotest.assertions.throwables.shouldThrowWithMessage
+import io.kotest.matchers.shouldBe
+import io.xpdf.api.common.exception.XpdfRuntimeException
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.nio.file.Path
+
+class XpdfTempFileJanitorTest {
+
+    @Test
+    fun `should initialize with defaults`() {
+        // when
+        val result = XpdfTempFileJanitor.builder().build()
+
+        // then
+        result.ttlSeconds shouldBe 86400
+        result.sweepIntervalSeconds shouldBe 600
+    }
+
+    @Test
+    fun `should throw exception when initializing if non-positive ttl`() {
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("TtlSeconds must be greater than zero") {
+            XpdfTempFileJanitor.builder().ttlSeconds(0).build()
+        }
+    }
+
+    @Test
+    fun `should throw exception when initializing if non-positive sweep interval`() {
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("SweepIntervalSeconds must be greater than zero") {
+            XpdfTempFileJanitor.builder().sweepIntervalSeconds(0).build()
+        }
+    }
+
+    @Test
+    fun `should sweep expired files and keep fresh files`(@TempDir tempDir: Path) {
+        // given
+        val janitor = XpdfTempFileJanitor.builder().ttlSeconds(60).build()
+        janitor.register(tempDir.resolve("missing"))
+
+        val expiredFile = tempDir.resolve("expired.txt").toFile().apply { writeText("some text") }
+        expiredFile.setLastModified(System.currentTimeMillis() - 120000)
+        val expiredDirectory = tempDir.resolve("expired").toFile().apply { mkdirs() }
+        expiredDirectory.resolve("some-000.ppm").writeText("some image")
+        expiredDirectory.setLastModified(System.currentTimeMillis() - 120000)
+        val freshFile = tempDir.resolve("fresh.txt").toFile().apply { writeText("some text") }
+
+        // when
+        val result = janitor.sweep(tempDir)
+
+        // then
+        result shouldBe 2
+        expiredFile.exists() shouldBe false
+        expiredDirectory.exists() shouldBe false
+        freshFile.exists() shouldBe true
+        janitor.sweep() shouldBe 0
+    }
+
+    @Test
+    fun `should sweep directory when registered`(@TempDir tempDir: Path) {
+        // given
+        val janitor = XpdfTempFileJanitor.builder().ttlSeconds(60).build()
+        val expiredFile = tempDir.resolve("expired.txt").toFile().apply { writeText("some text") }
+        expiredFile.setLastModified(System.currentTimeMillis() - 120000)
+
+        // when
+        janitor.register(tempDir)
+
+        // then
+        val deadline = System.currentTimeMillis() + 5000
+        while (expiredFile.exists() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        expiredFile.exists() shouldBe false
+        janitor.directories shouldBe setOf(tempDir)
+    }
+
+}
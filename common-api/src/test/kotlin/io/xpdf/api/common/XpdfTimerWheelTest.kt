@@ -0,0 +1,159 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common
+
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.shouldBe
+import org.junit.jupiter.api.Test
+
+class XpdfTimerWheelTest {
+
+    private val tickNanos = 10L
+
+    @Test
+    fun `should fire timeout once deadline has passed`() {
+        // given
+        val wheel = XpdfTimerWheel(tickNanos, 8, 0)
+        var fired = false
+        wheel.schedule(25) { fired = true }
+
+        // when
+        val result = wheel.advance(29)
+
+        // then
+        result shouldBe 0
+        fired shouldBe false
+        wheel.advance(30) shouldBe 1
+        fired shouldBe true
+        wheel.pendingTimeoutCount shouldBe 0
+    }
+
+    @Test
+    fun `should fire timeout with deadline in the past on next advance`() {
+        // given
+        val wheel = XpdfTimerWheel(tickNanos, 8, 0)
+        wheel.advance(100)
+        var fired = false
+        wheel.schedule(50) { fired = true }
+
+        // when
+        val result = wheel.advance(110)
+
+        // then
+        result shouldBe 1
+        fired shouldBe true
+    }
+
+    @Test
+    fun `should fire timeout more than one rotation ahead only on its own tick`() {
+        // given
+        val wheel = XpdfTimerWheel(tickNanos, 8, 0)
+        val fired = mutableListOf<String>()
+        wheel.schedule(20) { fired.add("near") }
+        wheel.schedule(20 + 8 * tickNanos) { fired.add("far") }
+
+        // when
+        wheel.advance(50)
+
+        // then
+        fired shouldContainExactly listOf("near")
+        wheel.pendingTimeoutCount shouldBe 1
+        wheel.advance(100) shouldBe 1
+        fired shouldContainExactly listOf("near", "far")
+    }
+
+    @Test
+    fun `should fire every expired timeout when advancing past a full rotation`() {
+        // given
+        val wheel = XpdfTimerWheel(tickNanos, 8, 0)
+        val fired = mutableListOf<Long>()
+        listOf(10L, 30L, 70L, 150L).forEach { deadline -> wheel.schedule(deadline) { fired.add(deadline) } }
+
+        // when
+        val result = wheel.advance(1000)
+
+        // then
+        result shouldBe 4
+        fired.sorted() shouldContainExactly listOf(10L, 30L, 70L, 150L)
+    }
+
+    @Test
+    fun `should not fire cancelled timeout`() {
+        // given
+        val wheel = XpdfTimerWheel(tickNanos, 8, 0)
+        var fired = false
+        val timeout = wheel.schedule(20) { fired = true }
+
+        // when
+        val result = timeout.cancel()
+
+        // then
+        result shouldBe true
+        timeout.cancel() shouldBe false
+        wheel.pendingTimeoutCount shouldBe 0
+        wheel.advance(100) shouldBe 0
+        fired shouldBe false
+    }
+
+    @Test
+    fun `should not cancel fired timeout`() {
+        // given
+        val wheel = XpdfTimerWheel(tickNanos, 8, 0)
+        val timeout = wheel.schedule(20) { }
+        wheel.advance(100)
+
+        // when
+        val result = timeout.cancel()
+
+        // then
+        result shouldBe false
+        wheel.pendingTimeoutCount shouldBe 0
+    }
+
+    @Test
+    fun `should fire remaining timeouts if task throws exception`() {
+        // given
+        val wheel = XpdfTimerWheel(tickNanos, 8, 0)
+        var fired = false
+        wheel.schedule(20) { throw IllegalStateException("some failure") }
+        wheel.schedule(20) { fired = true }
+
+        // when
+        val result = wheel.advance(20)
+
+        // then
+        result shouldBe 2
+        fired shouldBe true
+    }
+
+    @Test
+    fun `should allow task to schedule further timeouts`() {
+        // given
+        val wheel = XpdfTimerWheel(tickNanos, 8, 0)
+        var fired = false
+        wheel.schedule(20) { wheel.schedule(40) { fired = true } }
+
+        // when
+        wheel.advance(20)
+
+        // then
+        wheel.pendingTimeoutCount shouldBe 1
+        wheel.advance(40) shouldBe 1
+        fired shouldBe true
+    }
+
+}
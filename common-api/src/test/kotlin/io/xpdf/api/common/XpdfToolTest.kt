@@ -0,0 +1,62 @@
+/*
+ * Common - The components shared between Xpdf APIs (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.common
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeInstanceOf
+import io.mockk.mockk
+import io.xpdf.api.common.exception.XpdfProcessingException
+import org.junit.jupiter.api.Test
+import java.io.IOException
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+class XpdfToolTest {
+
+    @Test
+    fun `should process async by default`() {
+        // given
+        val response = mockk<XpdfResponse>()
+        val tool = object : XpdfTool<XpdfRequest, XpdfResponse> {
+            override fun process(request: XpdfRequest) = response
+        }
+
+        // when
+        val result = tool.processAsync(mockk()).get(5, TimeUnit.SECONDS)
+
+        // then
+        result shouldBe response
+    }
+
+    @Test
+    fun `should complete exceptionally when processing async by default if exception`() {
+        // given
+        val tool = object : XpdfTool<XpdfRequest, XpdfResponse> {
+            override fun process(request: XpdfRequest) = throw XpdfProcessingException(IOException("some message"))
+        }
+
+        // when
+        val exception = shouldThrow<ExecutionException> {
+            tool.processAsync(mockk()).get(5, TimeUnit.SECONDS)
+        }
+
+        // then
+        exception.cause.shouldBeInstanceOf<XpdfProcessingException>()
+    }
+
+}
@@ -16,8 +16,10 @@
  */
 package io.xpdf.api.common.util
 
+import io.kotest.assertions.throwables.shouldThrow
 import io.kotest.assertions.throwables.shouldThrowWithMessage
 import io.kotest.matchers.shouldBe
+import io.mockk.every
 import io.mockk.mockkStatic
 import io.mockk.unmockkAll
 import io.xpdf.api.common.exception.XpdfRuntimeException
@@ -27,6 +29,7 @@ import org.junit.jupiter.api.Test
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.CsvSource
 import java.nio.file.Paths
+import java.util.concurrent.ExecutionException
 
 class XpdfUtilsTest {
 
@@ -55,6 +58,61 @@ class XpdfUtilsTest {
         XpdfUtils.getXpdfTempPath() shouldBe Paths.get(javaTmpDir, "xpdf-api")
     }
 
+    @Test
+    fun `should get xpdf staging path`() {
+        // when then
+        XpdfUtils.getXpdfStagingPath() shouldBe Paths.get(javaTmpDir, "xpdf-api", "staging")
+    }
+
+    @Test
+    fun `should get xpdf ram disk staging path`() {
+        // given
+        every { XpdfUtils.getXpdfRamDiskPath() } returns Paths.get("/dev/shm")
+
+        // when then
+        XpdfUtils.getXpdfRamDiskStagingPath() shouldBe Paths.get("/dev/shm", "xpdf-api", "staging")
+    }
+
+    @Test
+    fun `should get null xpdf ram disk staging path if no ram disk`() {
+        // given
+        every { XpdfUtils.getXpdfRamDiskPath() } returns null
+
+        // when then
+        XpdfUtils.getXpdfRamDiskStagingPath() shouldBe null
+    }
+
+    @Test
+    fun `should get xpdf ram disk temp path`() {
+        // given
+        every { XpdfUtils.getXpdfRamDiskPath() } returns Paths.get("/dev/shm")
+
+        // when then
+        XpdfUtils.getXpdfRamDiskTempPath() shouldBe Paths.get("/dev/shm", "xpdf-api")
+    }
+
+    @Test
+    fun `should get null xpdf ram disk temp path if no ram disk`() {
+        // given
+        every { XpdfUtils.getXpdfRamDiskPath() } returns null
+
+        // when then
+        XpdfUtils.getXpdfRamDiskTempPath() shouldBe null
+    }
+
+    @Test
+    fun `should get failed future`() {
+        // given
+        val exception = XpdfRuntimeException("some message")
+
+        // when
+        val result = XpdfUtils.failedFuture<String>(exception)
+
+        // then
+        result.isCompletedExceptionally shouldBe true
+        shouldThrow<ExecutionException> { result.get() }.cause shouldBe exception
+    }
+
     @ParameterizedTest
     @CsvSource(
             "32, Linux, linux/bin32",
@@ -16,7 +16,9 @@
  */
 package io.xpdf.api.pdfimages.autoconfigure;
 
+import io.xpdf.api.common.XpdfOutputDirectory;
 import io.xpdf.api.pdfimages.PdfImagesTool;
+import io.xpdf.api.pdfimages.util.PdfImagesUtils;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -39,6 +41,10 @@ public class PdfImagesToolAutoConfiguration {
         return PdfImagesTool.builder()
                 .executableFile(pdfImagesToolProperties.getExecutablePath() != null ? pdfImagesToolProperties.getExecutablePath().toFile() : null)
                 .timeoutSeconds(pdfImagesToolProperties.getTimeoutSeconds())
+                .outputDirectory(XpdfOutputDirectory.builder()
+                        .directory(pdfImagesToolProperties.getOutputPath() != null ? pdfImagesToolProperties.getOutputPath() : PdfImagesUtils.getPdfImagesTempOutputPath())
+                        .ramDiskEnabled(pdfImagesToolProperties.getRamDiskEnabled())
+                        .build())
                 .build();
     }
 
@@ -33,5 +33,7 @@ public class PdfImagesToolProperties {
 
     private Path executablePath;
     private Integer timeoutSeconds;
+    private Path outputPath;
+    private Boolean ramDiskEnabled;
 
 }
@@ -21,6 +21,7 @@ import io.mockk.every
 import io.mockk.mockk
 import io.mockk.mockkStatic
 import io.mockk.unmockkAll
+import io.xpdf.api.common.XpdfExecutableManager
 import io.xpdf.api.common.util.XpdfUtils
 import io.xpdf.api.pdfimages.PdfImagesTool
 import io.xpdf.api.pdfimages.util.PdfImagesUtils
@@ -69,10 +70,13 @@ class PdfImagesToolAutoConfigurationTest {
             createNewFile()
             deleteOnExit()
         }
+        val outputPath = XpdfUtils.getXpdfTempPath().resolve("output")
 
         TestPropertyValues.of(
                 "io.xpdf.api.pdf-images.executable-path=${executableFile.canonicalPath}",
-                "io.xpdf.api.pdf-images.timeout-seconds=99"
+                "io.xpdf.api.pdf-images.timeout-seconds=99",
+                "io.xpdf.api.pdf-images.output-path=${outputPath}",
+                "io.xpdf.api.pdf-images.ram-disk-enabled=false"
         ).applyTo(context)
 
         context.register(PdfImagesToolAutoConfiguration::class.java)
@@ -84,21 +88,19 @@ class PdfImagesToolAutoConfigurationTest {
         // then
         pdfImagesTool.executableFile.canonicalPath shouldBe executableFile.canonicalPath
         pdfImagesTool.timeoutSeconds shouldBe 99
+        pdfImagesTool.outputDirectory.directory shouldBe outputPath
+        pdfImagesTool.outputDirectory.ramDiskDirectory shouldBe null
     }
 
     @Test
     fun `should autoconfigure pdf images tool without properties`() {
         // given
-        val executableFile = mockk<File> {
-            every { exists() } returns true
-            every { setExecutable(any()) } returns true
-        }
-        val executablePath = mockk<Path> {
-            every { toFile() } returns executableFile
-        }
+        val executableFile = mockk<File>(relaxed = true)
+
+        mockkStatic(XpdfExecutableManager::class)
+        every { XpdfExecutableManager.getExecutableFile(any(), any(), any()) } returns executableFile
 
         mockkStatic(PdfImagesUtils::class)
-        every { PdfImagesUtils.getPdfImagesExecutablePath() } returns executablePath
         every { PdfImagesUtils.getPdfImagesTimeoutSeconds() } returns 99
 
         context.register(PdfImagesToolAutoConfiguration::class.java)
@@ -110,6 +112,7 @@ class PdfImagesToolAutoConfigurationTest {
         // then
         pdfImagesTool.executableFile shouldBe executableFile
         pdfImagesTool.timeoutSeconds shouldBe 99
+        pdfImagesTool.outputDirectory.directory shouldBe PdfImagesUtils.getPdfImagesTempOutputPath()
     }
 
     @Test
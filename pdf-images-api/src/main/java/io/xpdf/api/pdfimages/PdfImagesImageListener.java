@@ -0,0 +1,42 @@
+/*
+ * PdfImages API - An API for accessing a native pdfimages library (https://xpdf.io)
+ * Copyright © 2025 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdfimages;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A listener of the image files written by a running <em>pdfimages</em> process.
+ *
+ * <br><br> Each image file is delivered as soon as it is complete, which is once the process has started writing the next image file, or has exited.
+ * Image files are delivered in order of their image number, so that they can be consumed before extraction finishes.
+ *
+ * @since 1.3.0
+ */
+@FunctionalInterface
+public interface PdfImagesImageListener {
+
+    /**
+     * Receives a completed image file.
+     *
+     * @param imageFile image file, such as {@code some-0007.ppm}
+     * @throws IOException if unable to handle the image file
+     * @since 1.3.0
+     */
+    void onImage(File imageFile) throws IOException;
+
+}
@@ -0,0 +1,259 @@
+/*
+ * PdfImages API - An API for accessing a native pdfimages library (https://xpdf.io)
+ * Copyright © 2025 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdfimages;
+
+import io.xpdf.api.pdfimages.util.PdfImagesParser;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.val;
+
+import java.util.Arrays;
+
+/**
+ * The image listing printed by the <em>pdfimages</em> executable when {@link PdfImagesOptions#getMetadataIncluded() metadata is included}, stored in columns of primitive arrays.
+ *
+ * <br><br> Each attribute of the listed images is held in its own array, indexed by the position of the image in the listing, so that the metadata of many thousands of images can be queried without allocating an object per image.
+ * Images are listed in the order that they were extracted, which is also the order of their image numbers.
+ *
+ * @implNote An attribute that was not printed for an image is {@code 0}, {@code NaN} or {@code null}, depending on its type.
+ * @since 1.3.0
+ */
+@Getter
+@ToString
+public class PdfImagesListing {
+
+    /**
+     * Number of images in the listing.
+     *
+     * @since 1.3.0
+     */
+    private final int imageCount;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final String[] imageFileNames;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final int[] imageNumbers;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final int[] pageNumbers;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final int[] widths;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final int[] heights;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final float[] horizontalDpis;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final float[] verticalDpis;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final String[] colorSpaces;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final int[] bitsPerComponents;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final boolean imageNumbersSorted;
+
+    /**
+     * Creates a listing from columns of image attributes, each holding at least {@code imageCount} entries.
+     *
+     * @param imageCount number of images in the listing
+     * @param imageFileNames names of the image files
+     * @param imageNumbers image numbers, usually in ascending order
+     * @param pageNumbers numbers of the pages that the images are drawn on
+     * @param widths widths in pixels
+     * @param heights heights in pixels
+     * @param horizontalDpis horizontal resolutions in dots per inch
+     * @param verticalDpis vertical resolutions in dots per inch
+     * @param colorSpaces names of the color spaces
+     * @param bitsPerComponents numbers of bits per color component
+     * @implNote Use {@link PdfImagesParser#parseListing} to create a listing from the standard output of <em>pdfimages</em>.
+     * @since 1.3.0
+     */
+    public PdfImagesListing(int imageCount, String[] imageFileNames, int[] imageNumbers, int[] pageNumbers, int[] widths, int[] heights,
+                            float[] horizontalDpis, float[] verticalDpis, String[] colorSpaces, int[] bitsPerComponents) {
+        this.imageCount = imageCount;
+        this.imageFileNames = imageFileNames;
+        this.imageNumbers = imageNumbers;
+        this.pageNumbers = pageNumbers;
+        this.widths = widths;
+        this.heights = heights;
+        this.horizontalDpis = horizontalDpis;
+        this.verticalDpis = verticalDpis;
+        this.colorSpaces = colorSpaces;
+        this.bitsPerComponents = bitsPerComponents;
+        this.imageNumbersSorted = isSorted(imageNumbers, imageCount);
+    }
+
+    /**
+     * Finds the position of an image in the listing.
+     *
+     * @param imageNumber image number, as written in the name of its image file
+     * @return position of the image, or {@code -1} if the image is not listed
+     * @implNote Images are found by binary search if they are listed in order of image number, as <em>pdfimages</em> lists them, and by linear search otherwise.
+     * @since 1.3.0
+     */
+    public int indexOf(int imageNumber) {
+        // images are numbered from zero in the order they are listed, unless the listing skips any
+        if (imageNumber >= 0 && imageNumber < imageCount && imageNumbers[imageNumber] == imageNumber) {
+            return imageNumber;
+        }
+        if (imageNumbersSorted) {
+            val index = Arrays.binarySearch(imageNumbers, 0, imageCount, imageNumber);
+            return index < 0 ? -1 : index;
+        }
+        for (int i = 0; i < imageCount; i++) {
+            if (imageNumbers[i] == imageNumber) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the name of the file that an image was written to.
+     *
+     * @param index position of the image in the listing
+     * @return image file name
+     * @since 1.3.0
+     */
+    public String getImageFileName(int index) {
+        return imageFileNames[checkIndex(index)];
+    }
+
+    /**
+     * Gets the number of an image, as written in the name of its image file.
+     *
+     * @param index position of the image in the listing
+     * @return image number
+     * @since 1.3.0
+     */
+    public int getImageNumber(int index) {
+        return imageNumbers[checkIndex(index)];
+    }
+
+    /**
+     * Gets the number of the page that an image is drawn on.
+     *
+     * @param index position of the image in the listing
+     * @return page number
+     * @since 1.3.0
+     */
+    public int getPageNumber(int index) {
+        return pageNumbers[checkIndex(index)];
+    }
+
+    /**
+     * Gets the width of an image.
+     *
+     * @param index position of the image in the listing
+     * @return width in pixels
+     * @since 1.3.0
+     */
+    public int getWidth(int index) {
+        return widths[checkIndex(index)];
+    }
+
+    /**
+     * Gets the height of an image.
+     *
+     * @param index position of the image in the listing
+     * @return height in pixels
+     * @since 1.3.0
+     */
+    public int getHeight(int index) {
+        return heights[checkIndex(index)];
+    }
+
+    /**
+     * Gets the horizontal resolution that an image is drawn at.
+     *
+     * @param index position of the image in the listing
+     * @return horizontal resolution in dots per inch
+     * @since 1.3.0
+     */
+    public float getHorizontalDpi(int index) {
+        return horizontalDpis[checkIndex(index)];
+    }
+
+    /**
+     * Gets the vertical resolution that an image is drawn at.
+     *
+     * @param index position of the image in the listing
+     * @return vertical resolution in dots per inch
+     * @since 1.3.0
+     */
+    public float getVerticalDpi(int index) {
+        return verticalDpis[checkIndex(index)];
+    }
+
+    /**
+     * Gets the color space of an image.
+     *
+     * @param index position of the image in the listing
+     * @return color space name, such as {@code DeviceRGB}
+     * @since 1.3.0
+     */
+    public String getColorSpace(int index) {
+        return colorSpaces[checkIndex(index)];
+    }
+
+    /**
+     * Gets the number of bits per color component of an image.
+     *
+     * @param index position of the image in the listing
+     * @return bits per component
+     * @since 1.3.0
+     */
+    public int getBitsPerComponent(int index) {
+        return bitsPerComponents[checkIndex(index)];
+    }
+
+    private static boolean isSorted(int[] values, int count) {
+        for (int i = 1; i < count; i++) {
+            if (values[i - 1] > values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int checkIndex(int index) {
+        // columns may be longer than the listing
+        if (index < 0 || index >= imageCount) {
+            throw new IndexOutOfBoundsException(String.format("Index %d is out of bounds for %d images", index, imageCount));
+        }
+        return index;
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * PdfImages API - An API for accessing a native pdfimages library (https://xpdf.io)
+ * Copyright © 2025 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdfimages;
+
+import io.xpdf.api.common.exception.XpdfProcessingException;
+import io.xpdf.api.common.exception.XpdfRuntimeException;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static io.xpdf.api.pdfimages.util.PdfImagesUtils.getPdfImagesMaxConcurrentConversions;
+import static io.xpdf.api.pdfimages.util.PdfImagesUtils.getPdfImagesMaxQueuedConversions;
+
+/**
+ * A post-processing stage that converts the PNM image files written by <em>pdfimages</em> into PNG image files, on a bounded pool of worker threads.
+ *
+ * <br><br> Unless asked for another {@link PdfImagesOptions#getFileFormat() file format}, <em>pdfimages</em> writes uncompressed PBM, PGM and PPM image files.
+ * Each of these is converted into a PNG image file of the same name, and then deleted, which shrinks the disk space held by the image files.
+ * Any other image file, such as a JPEG image file, is left as it is.
+ *
+ * <br><br> Example usage:
+ * <blockquote><pre>
+ *  PdfImagesPngConverter.builder()
+ *      .maxConcurrentConversions(4)
+ *      .maxQueuedConversions(64)
+ *      .build();
+ * </pre></blockquote>
+ *
+ * @implNote Once the queue is full, {@link #convertAsync} runs a conversion on the thread that submitted it, which slows down the submitter rather than holding more image files on disk.
+ * Submitters that must never convert on their own thread use {@link #tryConvertAsync} instead, and retry later.
+ * @since 1.3.0
+ */
+@Getter
+@ToString
+@Slf4j
+public class PdfImagesPngConverter {
+
+    private static final String PNG_EXTENSION = "png";
+
+    /**
+     * Maximum number of image files that are converted at the same time.
+     *
+     * @implNote If unassigned, this will default to the number of available processors.
+     * @since 1.3.0
+     */
+    private final Integer maxConcurrentConversions;
+
+    /**
+     * Maximum number of image files that may wait for a free worker.
+     *
+     * @implNote If unassigned, this will default to 256.
+     * @since 1.3.0
+     */
+    private final Integer maxQueuedConversions;
+
+    @Getter(lombok.AccessLevel.NONE)
+    @ToString.Exclude
+    private final ThreadPoolExecutor workers;
+
+    @Builder
+    protected PdfImagesPngConverter(Integer maxConcurrentConversions, Integer maxQueuedConversions) {
+        this.maxConcurrentConversions = maxConcurrentConversions;
+        this.maxQueuedConversions = maxQueuedConversions;
+        this.workers = new ThreadPoolExecutor(maxConcurrentConversions, maxConcurrentConversions, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(maxQueuedConversions), runnable -> {
+                    val thread = new Thread(runnable, "xpdf-png-converter");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    public static class PdfImagesPngConverterBuilder {
+
+        public PdfImagesPngConverter build() {
+            val maxConcurrentConversionsBuilder = configureMaxConcurrentConversions();
+            val maxQueuedConversionsBuilder = configureMaxQueuedConversions();
+
+            return new PdfImagesPngConverter(maxConcurrentConversionsBuilder, maxQueuedConversionsBuilder);
+        }
+
+        protected int configureMaxConcurrentConversions() {
+            if (maxConcurrentConversions == null) {
+                return getPdfImagesMaxConcurrentConversions();
+            } else if (maxConcurrentConversions <= 0) {
+                throw new XpdfRuntimeException("MaxConcurrentConversions must be greater than zero");
+            } else {
+                return maxConcurrentConversions;
+            }
+        }
+
+        protected int configureMaxQueuedConversions() {
+            if (maxQueuedConversions == null) {
+                return getPdfImagesMaxQueuedConversions();
+            } else if (maxQueuedConversions <= 0) {
+                throw new XpdfRuntimeException("MaxQueuedConversions must be greater than zero");
+            } else {
+                return maxQueuedConversions;
+            }
+        }
+    }
+
+    /**
+     * Checks whether an image file is a PNM image file, by its extension.
+     *
+     * @param imageFile image file
+     * @return true if the image file is a PBM, PGM or PPM image file
+     * @since 1.3.0
+     */
+    public static boolean isPnmFile(File imageFile) {
+        val extension = FilenameUtils.getExtension(imageFile.getName()).toLowerCase();
+        return "pbm".equals(extension) || "pgm".equals(extension) || "ppm".equals(extension);
+    }
+
+    /**
+     * Converts a PNM image file into a PNG image file, without blocking the calling thread.
+     *
+     * @param imageFile image file
+     * @return {@code CompletableFuture} of the PNG image file, or of the given image file if it is not a PNM image file,
+     * which completes exceptionally with an {@link XpdfProcessingException} if the image file cannot be converted
+     * @since 1.3.0
+     */
+    public CompletableFuture<File> convertAsync(File imageFile) {
+        val conversion = tryConvertAsync(imageFile);
+        if (conversion != null) {
+            return conversion;
+        }
+
+        // queue is full, so convert on the calling thread
+        val callerConversion = new CompletableFuture<File>();
+        convert(imageFile, callerConversion);
+        return callerConversion;
+    }
+
+    /**
+     * Converts a PNM image file into a PNG image file on a worker thread, unless the queue is full.
+     *
+     * @param imageFile image file
+     * @return {@code CompletableFuture} of the PNG image file, or of the given image file if it is not a PNM image file,
+     * which completes exceptionally with an {@link XpdfProcessingException} if the image file cannot be converted,
+     * or null if the queue is full
+     * @implNote Unlike {@link #convertAsync}, this method never converts on the calling thread.
+     * @since 1.3.0
+     */
+    public CompletableFuture<File> tryConvertAsync(File imageFile) {
+        if (!isPnmFile(imageFile)) {
+            return CompletableFuture.completedFuture(imageFile);
+        }
+
+        val conversion = new CompletableFuture<File>();
+        try {
+            workers.execute(() -> convert(imageFile, conversion));
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+        return conversion;
+    }
+
+    /**
+     * Converts a PNM image file into a PNG image file of the same name, and deletes the PNM image file.
+     *
+     * @param imageFile image file
+     * @return PNG image file, or the given image file if it is not a PNM image file
+     * @throws IOException if unable to read the PNM image file or write the PNG image file
+     * @since 1.3.0
+     */
+    public File convert(File imageFile) throws IOException {
+        if (!isPnmFile(imageFile)) {
+            return imageFile;
+        }
+
+        val pngFile = new File(imageFile.getParentFile(), FilenameUtils.getBaseName(imageFile.getName()) + "." + PNG_EXTENSION);
+        log.debug("Converting image file; image file: {}", imageFile.getName());
+        if (!ImageIO.write(readPnm(imageFile), PNG_EXTENSION, pngFile)) {
+            throw new IOException("No PNG writer is available");
+        }
+        FileUtils.forceDelete(imageFile);
+        return pngFile;
+    }
+
+    private void convert(File imageFile, CompletableFuture<File> conversion) {
+        try {
+            conversion.complete(convert(imageFile));
+        } catch (IOException e) {
+            conversion.completeExceptionally(new XpdfProcessingException(e));
+        } catch (RuntimeException e) {
+            conversion.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Reads a PNM image file of any of the plain (P1, P2, P3) or raw (P4, P5, P6) formats.
+     *
+     * @param imageFile PNM image file
+     * @return {@code BufferedImage}, with samples scaled to 8 bits, or to 16 bits for image files of more than 8 bits per sample
+     * @throws IOException if unable to read the image file, or if it is not a PNM image file
+     */
+    protected BufferedImage readPnm(File imageFile) throws IOException {
+        return PdfImagesPnmImage.open(imageFile).toBufferedImage();
+    }
+
+}
@@ -0,0 +1,502 @@
+/*
+ * PdfImages API - An API for accessing a native pdfimages library (https://xpdf.io)
+ * Copyright © 2025 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdfimages;
+
+import io.xpdf.api.common.exception.XpdfRuntimeException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.val;
+
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A lightweight handle of a PNM image file written by the <em>pdfimages</em> executable, such as a PBM, PGM or PPM image file.
+ *
+ * <br><br> Only the header of the image file is read when it is opened, so its format and dimensions are available without decoding any pixels.
+ * The raster that follows the header is mapped into memory on first access, so reading a few rows or tiles, or a subsampled preview, only touches the pages of the file that hold them.
+ * Converting the whole image into a {@code BufferedImage} reads the raster straight into the pixel array of the image.
+ *
+ * <br><br> Samples are returned as stored in the image file, between {@code 0} and {@link #maxValue}.
+ * For a bitmap, a sample of {@code 1} is black, and a sample of {@code 0} is white.
+ *
+ * <br><br> Example usage:
+ * <blockquote><pre>
+ *  PdfImagesPnmImage image = PdfImagesPnmImage.open(imageFile);
+ *  BufferedImage preview = image.toBufferedImage(Math.max(1, image.getWidth() / 256));
+ * </pre></blockquote>
+ *
+ * @implNote Plain image files (P1, P2, P3) are written as text, so their raster is decoded onto the heap rather than mapped, in the layout of the matching raw format.
+ * The mapping is released when this handle is garbage collected, and on some platforms a mapped image file cannot be deleted until then.
+ * @since 1.3.0
+ */
+@Getter
+@ToString
+public class PdfImagesPnmImage {
+
+    /**
+     * Image file that this handle reads.
+     *
+     * @since 1.3.0
+     */
+    private final File imageFile;
+
+    /**
+     * Number of the PNM format, from {@code 1} for a plain bitmap to {@code 6} for a raw pixmap.
+     *
+     * @since 1.3.0
+     */
+    private final int format;
+
+    /**
+     * Width in pixels.
+     *
+     * @since 1.3.0
+     */
+    private final int width;
+
+    /**
+     * Height in pixels.
+     *
+     * @since 1.3.0
+     */
+    private final int height;
+
+    /**
+     * Maximum value of a sample, which is {@code 1} for a bitmap.
+     *
+     * @since 1.3.0
+     */
+    private final int maxValue;
+
+    /**
+     * Offset in bytes of the raster from the start of the image file.
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final long rasterOffset;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private ByteBuffer raster;
+
+    private PdfImagesPnmImage(File imageFile, int format, int width, int height, int maxValue, long rasterOffset) {
+        this.imageFile = imageFile;
+        this.format = format;
+        this.width = width;
+        this.height = height;
+        this.maxValue = maxValue;
+        this.rasterOffset = rasterOffset;
+    }
+
+    /**
+     * Opens a PNM image file, by reading its header only.
+     *
+     * @param imageFile PNM image file
+     * @return {@link PdfImagesPnmImage}
+     * @throws IOException if unable to read the image file, or if its header is not a valid PNM header
+     * @since 1.3.0
+     */
+    public static PdfImagesPnmImage open(File imageFile) throws IOException {
+        try (val stream = new HeaderInputStream(new BufferedInputStream(Files.newInputStream(imageFile.toPath()), 256))) {
+            if (stream.read() != 'P') {
+                throw new IOException("Not a PNM image file: " + imageFile.getName());
+            }
+            val format = stream.read() - '0';
+            if (format < 1 || format > 6) {
+                throw new IOException("Unsupported PNM format: P" + format);
+            }
+            val width = readNumber(stream);
+            val height = readNumber(stream);
+            val maxValue = format == 1 || format == 4 ? 1 : readNumber(stream);
+            if (width <= 0 || height <= 0 || maxValue <= 0 || maxValue > 65535) {
+                throw new IOException("Invalid PNM header: " + imageFile.getName());
+            }
+
+            // the single whitespace that ends the header has been consumed along with its last number
+            return new PdfImagesPnmImage(imageFile, format, width, height, maxValue, stream.position);
+        }
+    }
+
+    /**
+     * Gets the number of samples per pixel.
+     *
+     * @return {@code 3} for a pixmap, or {@code 1} otherwise
+     * @since 1.3.0
+     */
+    public int getChannelCount() {
+        return format == 3 || format == 6 ? 3 : 1;
+    }
+
+    /**
+     * Checks whether this image is a bitmap, whose pixels are either black or white.
+     *
+     * @return true if this image is a bitmap
+     * @since 1.3.0
+     */
+    public boolean isBitmap() {
+        return format == 1 || format == 4;
+    }
+
+    /**
+     * Gets the number of bytes of each row of the raster, in the layout of the raw format.
+     *
+     * @return bytes per row
+     * @since 1.3.0
+     */
+    public int getRowBytes() {
+        if (isBitmap()) {
+            return (width + 7) / 8;
+        }
+        return width * getChannelCount() * (maxValue > 255 ? 2 : 1);
+    }
+
+    /**
+     * Gets a sample of a pixel.
+     *
+     * @param x column of the pixel
+     * @param y row of the pixel
+     * @param channel channel of the sample, which is {@code 0} unless this image is a pixmap
+     * @return sample, between {@code 0} and {@link #maxValue}
+     * @throws IndexOutOfBoundsException if the pixel or channel is out of range
+     * @throws IOException if unable to map the raster
+     * @since 1.3.0
+     */
+    public int getSample(int x, int y, int channel) throws IOException {
+        if (x < 0 || x >= width || y < 0 || y >= height || channel < 0 || channel >= getChannelCount()) {
+            throw new IndexOutOfBoundsException("Sample out of range: (" + x + ", " + y + ", " + channel + ")");
+        }
+        return getSample(getRaster(), x, y, channel);
+    }
+
+    /**
+     * Gets the samples of a row of pixels.
+     *
+     * @param y row of the pixels
+     * @param samples array to fill with samples, or null to allocate one
+     * @return samples of every pixel from left to right, with the channels of each pixel in order
+     * @throws IndexOutOfBoundsException if the row is out of range
+     * @throws IOException if unable to map the raster
+     * @since 1.3.0
+     */
+    public int[] getRow(int y, int[] samples) throws IOException {
+        return getTile(0, y, width, 1, samples);
+    }
+
+    /**
+     * Gets the samples of a rectangular tile of pixels.
+     *
+     * @param x column of the top left pixel
+     * @param y row of the top left pixel
+     * @param tileWidth width of the tile in pixels
+     * @param tileHeight height of the tile in pixels
+     * @param samples array to fill with samples, or null to allocate one
+     * @return samples of every pixel, row by row from left to right, with the channels of each pixel in order
+     * @throws IndexOutOfBoundsException if the tile is out of range
+     * @throws IOException if unable to map the raster
+     * @since 1.3.0
+     */
+    public int[] getTile(int x, int y, int tileWidth, int tileHeight, int[] samples) throws IOException {
+        if (x < 0 || y < 0 || tileWidth < 0 || tileHeight < 0 || x + tileWidth > width || y + tileHeight > height) {
+            throw new IndexOutOfBoundsException("Tile out of range: (" + x + ", " + y + ", " + tileWidth + ", " + tileHeight + ")");
+        }
+
+        val channelCount = getChannelCount();
+        val result = samples != null ? samples : new int[tileWidth * tileHeight * channelCount];
+        val buffer = getRaster();
+        int i = 0;
+        for (int row = y; row < y + tileHeight; row++) {
+            for (int column = x; column < x + tileWidth; column++) {
+                for (int channel = 0; channel < channelCount; channel++) {
+                    result[i++] = getSample(buffer, column, row, channel);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Converts this image into a {@code BufferedImage}.
+     *
+     * <br><br> Unless the raster is already mapped, it is read from the image file straight into the pixel array of the image, without decoding each pixel.
+     * Pixmaps are kept in the RGB order of the image file, and 16-bit samples keep their full precision.
+     *
+     * @return {@code BufferedImage}
+     * @throws IOException if unable to read the raster
+     * @since 1.3.0
+     */
+    public BufferedImage toBufferedImage() throws IOException {
+        val image = createImage(width, height);
+        val dataBuffer = image.getRaster().getDataBuffer();
+
+        if (dataBuffer instanceof DataBufferUShort) {
+            val bytes = new byte[getRasterBytes()];
+            readRaster(bytes);
+            ByteBuffer.wrap(bytes).asShortBuffer().get(((DataBufferUShort) dataBuffer).getData());
+        } else {
+            readRaster(((DataBufferByte) dataBuffer).getData());
+        }
+
+        if (isBitmap()) {
+            // a set bit is black in a bitmap, and white in the raster of the image
+            val data = ((DataBufferByte) dataBuffer).getData();
+            for (int i = 0; i < data.length; i++) {
+                data[i] = (byte) ~data[i];
+            }
+        } else if (maxValue != 255 && maxValue != 65535) {
+            val targetMaxValue = maxValue > 255 ? 65535 : 255;
+            for (int i = 0; i < dataBuffer.getSize(); i++) {
+                dataBuffer.setElem(i, scale(dataBuffer.getElem(i), targetMaxValue));
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Converts this image into a subsampled {@code BufferedImage}, such as a preview.
+     *
+     * <br><br> Only every n-th pixel of every n-th row is read, so only the rows of the raster that are sampled are touched.
+     *
+     * @param subsampling distance in pixels between sampled pixels, both across and down
+     * @return {@code BufferedImage} of {@code ceil(width / subsampling)} by {@code ceil(height / subsampling)} pixels
+     * @throws IllegalArgumentException if subsampling is not positive
+     * @throws IOException if unable to map the raster
+     * @since 1.3.0
+     */
+    public BufferedImage toBufferedImage(int subsampling) throws IOException {
+        if (subsampling <= 0) {
+            throw new IllegalArgumentException("Subsampling must be greater than zero");
+        }
+        if (subsampling == 1) {
+            return toBufferedImage();
+        }
+
+        val targetWidth = (width + subsampling - 1) / subsampling;
+        val targetHeight = (height + subsampling - 1) / subsampling;
+        val image = createImage(targetWidth, targetHeight);
+        val target = image.getRaster();
+        val buffer = getRaster();
+        val channelCount = getChannelCount();
+        val targetMaxValue = maxValue > 255 ? 65535 : 255;
+        for (int y = 0; y < targetHeight; y++) {
+            for (int x = 0; x < targetWidth; x++) {
+                for (int channel = 0; channel < channelCount; channel++) {
+                    val sample = getSample(buffer, x * subsampling, y * subsampling, channel);
+                    // a set bit is black in a bitmap, and white in the raster of the image
+                    target.setSample(x, y, channel, isBitmap() ? 1 - sample : scale(sample, targetMaxValue));
+                }
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Gets the raster, in the layout of the raw format, which is mapped or decoded on first access.
+     *
+     * @return read-only {@code ByteBuffer} of the raster
+     * @throws IOException if unable to map or decode the raster
+     */
+    protected synchronized ByteBuffer getRaster() throws IOException {
+        if (raster == null) {
+            raster = format <= 3 ? decodePlainRaster() : mapRaster();
+        }
+        return raster;
+    }
+
+    private int getRasterBytes() {
+        val rasterBytes = (long) getRowBytes() * height;
+        if (rasterBytes > Integer.MAX_VALUE) {
+            throw new XpdfRuntimeException("Raster is too large to map: " + rasterBytes + " bytes");
+        }
+        return (int) rasterBytes;
+    }
+
+    private int getSample(ByteBuffer buffer, int x, int y, int channel) {
+        val rowOffset = y * getRowBytes();
+        if (isBitmap()) {
+            return (buffer.get(rowOffset + x / 8) >>> (7 - x % 8)) & 1;
+        }
+        val index = x * getChannelCount() + channel;
+        if (maxValue > 255) {
+            return buffer.getShort(rowOffset + index * 2) & 0xFFFF;
+        }
+        return buffer.get(rowOffset + index) & 0xFF;
+    }
+
+    private int scale(int sample, int targetMaxValue) {
+        if (maxValue == targetMaxValue) {
+            return sample;
+        }
+        return (int) (((long) Math.min(sample, maxValue) * targetMaxValue + maxValue / 2) / maxValue);
+    }
+
+    private BufferedImage createImage(int imageWidth, int imageHeight) {
+        if (isBitmap()) {
+            return new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_BYTE_BINARY);
+        }
+        val wide = maxValue > 255;
+        if (getChannelCount() == 1) {
+            return new BufferedImage(imageWidth, imageHeight, wide ? BufferedImage.TYPE_USHORT_GRAY : BufferedImage.TYPE_BYTE_GRAY);
+        }
+
+        // samples are interleaved in RGB order, like the raster of a raw pixmap
+        val dataType = wide ? DataBuffer.TYPE_USHORT : DataBuffer.TYPE_BYTE;
+        val colorModel = new ComponentColorModel(ColorSpace.getInstance(ColorSpace.CS_sRGB), false, false, Transparency.OPAQUE, dataType);
+        val imageRaster = Raster.createInterleavedRaster(dataType, imageWidth, imageHeight, imageWidth * 3, 3, new int[]{0, 1, 2}, null);
+        return new BufferedImage(colorModel, imageRaster, false, null);
+    }
+
+    private void readRaster(byte[] bytes) throws IOException {
+        synchronized (this) {
+            if (raster != null || format <= 3) {
+                val source = getRaster().duplicate();
+                // ByteBuffer only overrides position(int) from Java 9 on
+                ((Buffer) source).position(0);
+                source.get(bytes);
+                return;
+            }
+        }
+
+        try (val channel = FileChannel.open(imageFile.toPath(), StandardOpenOption.READ)) {
+            val target = ByteBuffer.wrap(bytes);
+            long position = rasterOffset;
+            while (target.hasRemaining()) {
+                val length = channel.read(target, position);
+                if (length < 0) {
+                    throw new EOFException("PNM raster is truncated: " + imageFile.getName());
+                }
+                position += length;
+            }
+        }
+    }
+
+    private ByteBuffer mapRaster() throws IOException {
+        val rasterBytes = getRasterBytes();
+        try (val channel = FileChannel.open(imageFile.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < rasterOffset + rasterBytes) {
+                throw new EOFException("PNM raster is truncated: " + imageFile.getName());
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, rasterOffset, rasterBytes);
+        }
+    }
+
+    private ByteBuffer decodePlainRaster() throws IOException {
+        val buffer = ByteBuffer.allocate(getRasterBytes());
+        try (val channel = FileChannel.open(imageFile.toPath(), StandardOpenOption.READ)) {
+            channel.position(rasterOffset);
+            val stream = new HeaderInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            val rowBytes = getRowBytes();
+            val sampleCount = width * getChannelCount();
+            for (int y = 0; y < height; y++) {
+                for (int i = 0; i < sampleCount; i++) {
+                    if (isBitmap()) {
+                        if (readBit(stream) == 1) {
+                            val index = y * rowBytes + i / 8;
+                            buffer.put(index, (byte) (buffer.get(index) | (0x80 >>> (i % 8))));
+                        }
+                    } else if (maxValue > 255) {
+                        buffer.putShort((y * sampleCount + i) * 2, (short) readNumber(stream));
+                    } else {
+                        buffer.put(y * sampleCount + i, (byte) readNumber(stream));
+                    }
+                }
+            }
+        }
+        return buffer.asReadOnlyBuffer();
+    }
+
+    private static int readNumber(InputStream stream) throws IOException {
+        int c = skipWhitespace(stream);
+        if (c < '0' || c > '9') {
+            throw new IOException("Invalid PNM number");
+        }
+        int number = 0;
+        while (c >= '0' && c <= '9') {
+            number = number * 10 + (c - '0');
+            c = stream.read();
+        }
+        // the single whitespace that ends a number is consumed along with it
+        return number;
+    }
+
+    private static int readBit(InputStream stream) throws IOException {
+        // plain bits may be written without whitespace between them
+        val c = skipWhitespace(stream);
+        if (c != '0' && c != '1') {
+            throw new IOException("Invalid PNM bit");
+        }
+        return c - '0';
+    }
+
+    private static int skipWhitespace(InputStream stream) throws IOException {
+        int c = stream.read();
+        while (c == '#' || Character.isWhitespace(c)) {
+            if (c == '#') {
+                // comments run to the end of the line
+                while (c != '\n' && c != '\r' && c != -1) {
+                    c = stream.read();
+                }
+            }
+            c = stream.read();
+        }
+        if (c == -1) {
+            throw new EOFException();
+        }
+        return c;
+    }
+
+    /**
+     * Input stream that counts the bytes read, so that the offset of the raster is known once the header has been read.
+     */
+    private static class HeaderInputStream extends FilterInputStream {
+
+        private long position;
+
+        private HeaderInputStream(InputStream stream) {
+            super(stream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            val c = super.read();
+            if (c >= 0) {
+                position++;
+            }
+            return c;
+        }
+    }
+
+}
@@ -16,10 +16,11 @@
  */
 package io.xpdf.api.pdfimages;
 
+import io.xpdf.api.common.XpdfPdfSource;
 import io.xpdf.api.common.XpdfRequest;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.NonNull;
 import lombok.ToString;
 
 import java.io.File;
@@ -37,23 +38,38 @@ import java.nio.file.Path;
  *      .build();
  * </pre></blockquote>
  *
- * @implNote A {@code NullPointerException} will be thrown if the required arguments are not provided to the builder.
+ * <br><br> In-memory PDF content may be given in place of a PDF file:
+ * <blockquote><pre>
+ *  PdfImagesRequest.builder()
+ *      .pdfSource(XpdfPdfSource.of(ByteBuffer.wrap(bytes)))
+ *      .build();
+ * </pre></blockquote>
+ *
+ * @implNote A {@code NullPointerException} will be thrown if neither a PDF file nor a PDF source is provided to the builder,
+ * and an {@code IllegalArgumentException} will be thrown if both are provided.
  * @since 1.2.0
  */
-@Builder
 @Getter
 @ToString
+@EqualsAndHashCode(callSuper = false)
 public class PdfImagesRequest extends XpdfRequest {
 
     /**
      * Input PDF file.
      *
-     * @implNote Required.
+     * @implNote Required, unless a {@link #pdfSource} is provided.
      * @since 1.2.0
      */
-    @NonNull
     private final File pdfFile;
 
+    /**
+     * Input PDF content, which is staged into a file before the executable is invoked.
+     *
+     * @implNote Required, unless a {@link #pdfFile} is provided.
+     * @since 1.3.0
+     */
+    private final XpdfPdfSource pdfSource;
+
     /**
      * Output image file path prefix.
      *
@@ -70,7 +86,7 @@ public class PdfImagesRequest extends XpdfRequest {
      *   <em>...</em>
      * </pre></blockquote>
      *
-     * @implNote If unassigned, image files will be created in the temporary directory, and then automatically deleted at JVM termination.
+     * @implNote If unassigned, image files will be created in the temporary directory, which are deleted when the response is closed.
      * @since 1.2.0
      */
     private final Path imageFilePathPrefix;
@@ -82,4 +98,18 @@ public class PdfImagesRequest extends XpdfRequest {
      */
     private final PdfImagesOptions options;
 
+    @Builder(toBuilder = true)
+    protected PdfImagesRequest(File pdfFile, XpdfPdfSource pdfSource, Path imageFilePathPrefix, PdfImagesOptions options) {
+        if (pdfFile == null && pdfSource == null) {
+            throw new NullPointerException("pdfFile and pdfSource cannot both be null");
+        }
+        if (pdfFile != null && pdfSource != null) {
+            throw new IllegalArgumentException("pdfFile and pdfSource cannot both be provided");
+        }
+        this.pdfFile = pdfFile;
+        this.pdfSource = pdfSource;
+        this.imageFilePathPrefix = imageFilePathPrefix;
+        this.options = options;
+    }
+
 }
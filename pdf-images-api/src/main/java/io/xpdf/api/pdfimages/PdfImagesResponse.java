@@ -17,9 +17,13 @@
 package io.xpdf.api.pdfimages;
 
 import io.xpdf.api.common.XpdfResponse;
+import io.xpdf.api.pdfimages.util.PdfImagesParser;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
 
 import java.io.File;
 import java.util.List;
@@ -37,16 +41,94 @@ public class PdfImagesResponse extends XpdfResponse {
     /**
      * Image files extracted from input PDF.
      *
-     * @implNote If these files were created in a temporary directory, then they will be automatically deleted on JVM termination.
+     * @implNote If these files were created in a temporary directory, then they are deleted when this response is closed.
      * @since 1.2.0
      */
     private final List<File> imageFiles;
 
+    /**
+     * Whether the image files are temporary files owned by this response.
+     *
+     * @since 1.3.0
+     */
+    private final boolean temporary;
+
+    /**
+     * Directory of its own that the temporary image files were written to.
+     *
+     * @implNote If assigned, this directory is deleted along with its contents when this response is closed, rather than each image file.
+     * @since 1.3.0
+     */
+    private final File temporaryDirectory;
+
     /**
      * Standard output from the shell process that invoked the executable.
      *
+     * @implNote If {@link PdfImagesOptions#getMetadataIncluded() metadata is included}, then the standard output is also parsed into the {@link #listing} as it streams.
      * @since 1.2.0
      */
     private final String standardOutput;
 
+    /**
+     * Listing of the image files, parsed from the standard output.
+     *
+     * @implNote This is only available if {@link PdfImagesOptions#getMetadataIncluded() metadata is included}.
+     * @since 1.3.0
+     */
+    private final PdfImagesListing listing;
+
+    /**
+     * Gets the number of the page that an image file was extracted from.
+     *
+     * @param imageFile image file
+     * @return page number, or null if the image file is not listed
+     * @implNote This requires the {@link #listing}, so it always returns null unless {@link PdfImagesOptions#getMetadataIncluded() metadata is included}.
+     * @since 1.3.0
+     */
+    public Integer getPageNumber(File imageFile) {
+        if (listing == null || imageFile == null) {
+            return null;
+        }
+        // image files converted after extraction keep their base name, but not their extension
+        val index = listing.indexOf(PdfImagesParser.parseImageNumber(imageFile.getName()));
+        if (index < 0 || !FilenameUtils.getBaseName(listing.getImageFileName(index)).equals(FilenameUtils.getBaseName(imageFile.getName()))) {
+            return null;
+        }
+        return listing.getPageNumber(index);
+    }
+
+    /**
+     * Deletes the image files, if they are temporary files owned by this response.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    protected void deleteTemporaryFiles() {
+        if (!temporary) {
+            return;
+        }
+        if (temporaryDirectory != null) {
+            FileUtils.deleteQuietly(temporaryDirectory);
+        } else if (imageFiles != null) {
+            imageFiles.forEach(FileUtils::deleteQuietly);
+        }
+    }
+
+    /**
+     * Gets a copy of this response with the same results.
+     *
+     * @return {@link PdfImagesResponse}
+     * @since 1.3.0
+     */
+    @Override
+    protected PdfImagesResponse copy() {
+        return PdfImagesResponse.builder()
+                .imageFiles(imageFiles)
+                .temporary(temporary)
+                .temporaryDirectory(temporaryDirectory)
+                .standardOutput(standardOutput)
+                .listing(listing)
+                .build();
+    }
+
 }
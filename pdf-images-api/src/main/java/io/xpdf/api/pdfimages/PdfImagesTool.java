@@ -16,38 +16,64 @@
  */
 package io.xpdf.api.pdfimages;
 
+import io.xpdf.api.common.XpdfExecutableManager;
+import io.xpdf.api.common.XpdfOutputDirectory;
+import io.xpdf.api.common.XpdfPdfStager;
+import io.xpdf.api.common.XpdfProcessExecutor;
+import io.xpdf.api.common.XpdfProcessResult;
+import io.xpdf.api.common.XpdfResultCache;
+import io.xpdf.api.common.XpdfTempFileJanitor;
 import io.xpdf.api.common.XpdfTool;
 import io.xpdf.api.common.exception.*;
+import io.xpdf.api.common.util.XpdfUtils;
+import io.xpdf.api.pdfimages.util.PdfImagesParser;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import static io.xpdf.api.pdfimages.util.PdfImagesUtils.*;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
-import static java.util.Objects.requireNonNull;
 
 /**
  * A wrapper of the <em>pdfimages</em> command line tool.
  *
  * <br><br> Targets the <em>pdfimages</em> executable native to your OS and JVM architecture.
  * The {@link #process} method executes a shell command to invoke the executable, which extracts and saves images from a PDF file.
+ * Requests may give in-memory PDF content in place of a PDF file, which is staged into a file by the configured {@link XpdfPdfStager} for the duration of the process.
+ * Alternatively, each image file can be delivered to a {@link PdfImagesImageListener} as soon as it is written, while later images are still being extracted.
  *
  * <br><br> Example usage:
  * <blockquote><pre>
@@ -67,6 +93,14 @@ import static java.util.Objects.requireNonNull;
 @Slf4j
 public class PdfImagesTool implements XpdfTool<PdfImagesRequest, PdfImagesResponse> {
 
+    private static final String IMAGES_CACHE_DIRECTORY_NAME = "images";
+
+    private static final String IMAGE_FILE_NAME_PREFIX = "image";
+
+    private static final long IMAGE_POLL_INTERVAL_MILLIS = 20L;
+
+    private static final String PNG_CONVERTER_CACHE_KEY_PART = "<png>";
+
     /**
      * Executable file that should be invoked.
      *
@@ -83,39 +117,79 @@ public class PdfImagesTool implements XpdfTool<PdfImagesRequest, PdfImagesRespon
      */
     private final Integer timeoutSeconds;
 
+    /**
+     * Executor that runs and bounds the shell processes invoking the executable.
+     *
+     * @implNote If unassigned, this will default to the {@link XpdfProcessExecutor#getDefaultInstance() executor} shared by all tools.
+     * @since 1.3.0
+     */
+    private final XpdfProcessExecutor processExecutor;
+
+    /**
+     * Cache of results, which is checked before invoking the executable.
+     *
+     * @implNote If unassigned, results are not cached.
+     * @since 1.3.0
+     */
+    private final XpdfResultCache resultCache;
+
+    /**
+     * Stager of the in-memory PDF content of requests into files that the executable can read.
+     *
+     * @implNote If unassigned, this will default to the {@link XpdfPdfStager#getDefaultInstance() stager} shared by all tools.
+     * @since 1.3.0
+     */
+    private final XpdfPdfStager pdfStager;
+
+    /**
+     * Root directory of the temporary image files that are created for requests without an output path.
+     *
+     * @implNote If unassigned, this will default to an on-disk directory in the temporary directory.
+     * @since 1.3.0
+     */
+    private final XpdfOutputDirectory outputDirectory;
+
+    /**
+     * Janitor that sweeps the temporary image files of responses that are never closed.
+     *
+     * @implNote If unassigned, this will default to the {@link XpdfTempFileJanitor#getDefaultInstance() janitor} shared by all tools.
+     * @since 1.3.0
+     */
+    private final XpdfTempFileJanitor tempFileJanitor;
+
+    /**
+     * Converter of the PNM image files written by the executable into PNG image files.
+     *
+     * @implNote If unassigned, image files are returned as written by the executable.
+     * Otherwise, each image file is converted as soon as the executable has finished writing it, while later images are still being extracted.
+     * @since 1.3.0
+     */
+    private final PdfImagesPngConverter pngConverter;
+
     public static class PdfImagesToolBuilder {
 
         public PdfImagesTool build() {
             val executableFileBuilder = configureExecutableFile();
             val timeoutSecondsBuilder = configureTimeoutSeconds();
+            val processExecutorBuilder = configureProcessExecutor();
+            val resultCacheBuilder = configureResultCache();
+            val pdfStagerBuilder = configurePdfStager();
+            val outputDirectoryBuilder = configureOutputDirectory();
+            val tempFileJanitorBuilder = configureTempFileJanitor(outputDirectoryBuilder);
+            val pngConverterBuilder = configurePngConverter();
 
-            return new PdfImagesTool(executableFileBuilder, timeoutSecondsBuilder);
+            return new PdfImagesTool(executableFileBuilder, timeoutSecondsBuilder, processExecutorBuilder, resultCacheBuilder, pdfStagerBuilder, outputDirectoryBuilder, tempFileJanitorBuilder, pngConverterBuilder);
         }
 
         protected File configureExecutableFile() {
             if (executableFile == null) {
-                // copy executable from project resources to OS-accessible directory on local system
-                val executablePath = getPdfImagesExecutablePath();
-                if (!executablePath.toFile().exists()) {
-                    val executableResourceStream = getClass().getClassLoader().getResourceAsStream(getPdfImagesExecutableResourceName());
-                    if (executableResourceStream == null) {
-                        throw new XpdfRuntimeException("Unable to locate executable in project resources");
-                    }
-                    try {
-                        FileUtils.copyInputStreamToFile(executableResourceStream, executablePath.toFile());
-                    } catch (IOException e) {
-                        throw new XpdfRuntimeException("Unable to copy executable from resources to local system");
-                    }
-                }
-                if (!executablePath.toFile().setExecutable(true)) {
-                    throw new XpdfRuntimeException("Unable to set execute permissions on executable");
-                }
-                return executablePath.toFile();
+                // extract executable from project resources to OS-accessible directory on local system
+                return XpdfExecutableManager.getExecutableFile(getClass().getClassLoader(), getPdfImagesExecutableResourceName(), getPdfImagesExecutablePath());
             } else {
                 if (!executableFile.exists()) {
                     throw new XpdfRuntimeException("The configured executable does not exist");
                 }
-                if (!executableFile.setExecutable(true)) {
+                if (!executableFile.canExecute() && !executableFile.setExecutable(true)) {
                     throw new XpdfRuntimeException("Unable to set execute permissions on executable");
                 }
                 return executableFile;
@@ -129,6 +203,44 @@ public class PdfImagesTool implements XpdfTool<PdfImagesRequest, PdfImagesRespon
                 return timeoutSeconds;
             }
         }
+
+        protected XpdfProcessExecutor configureProcessExecutor() {
+            if (processExecutor == null) {
+                return XpdfProcessExecutor.getDefaultInstance();
+            } else {
+                return processExecutor;
+            }
+        }
+
+        protected XpdfResultCache configureResultCache() {
+            return resultCache;
+        }
+
+        protected XpdfPdfStager configurePdfStager() {
+            if (pdfStager == null) {
+                return XpdfPdfStager.getDefaultInstance();
+            } else {
+                return pdfStager;
+            }
+        }
+
+        protected XpdfOutputDirectory configureOutputDirectory() {
+            if (outputDirectory == null) {
+                return XpdfOutputDirectory.builder().directory(getPdfImagesTempOutputPath()).build();
+            } else {
+                return outputDirectory;
+            }
+        }
+
+        protected XpdfTempFileJanitor configureTempFileJanitor(XpdfOutputDirectory outputDirectoryBuilder) {
+            val tempFileJanitorBuilder = tempFileJanitor == null ? XpdfTempFileJanitor.getDefaultInstance() : tempFileJanitor;
+            outputDirectoryBuilder.getDirectories().forEach(tempFileJanitorBuilder::register);
+            return tempFileJanitorBuilder;
+        }
+
+        protected PdfImagesPngConverter configurePngConverter() {
+            return pngConverter;
+        }
     }
 
     /**
@@ -138,11 +250,15 @@ public class PdfImagesTool implements XpdfTool<PdfImagesRequest, PdfImagesRespon
      * This executable extracts and saves images from a PDF file.
      *
      * <br><br> This method utilizes Java's {@link ProcessBuilder} API to execute a shell command that launches the executable.
+     * The shell command is run by the configured {@link XpdfProcessExecutor}, which may hold the request in its queue until a process slot frees up.
      * Be aware that this method may become blocking for very large PDF files.
      *
+     * <br><br> If {@link PdfImagesOptions#getMetadataIncluded() metadata is included}, then the image listing printed by the executable is also parsed into a {@link PdfImagesListing} as it streams, so that it is complete even if the standard output is truncated.
+     *
      * @param request {@link PdfImagesRequest}
      * @return {@link PdfImagesResponse} with list of image files extracted from PDF
      * @throws XpdfValidationException if request is invalid
+     * @throws XpdfRejectedException if process queue is full
      * @throws XpdfExecutionException if process returns non-zero exit code
      * @throws XpdfTimeoutException if process duration exceeds timeout length
      * @throws XpdfProcessingException if any other exception occurs during processing
@@ -151,8 +267,12 @@ public class PdfImagesTool implements XpdfTool<PdfImagesRequest, PdfImagesRespon
      */
     @Override
     public PdfImagesResponse process(PdfImagesRequest request) throws XpdfException {
+        if (request != null && request.getPdfFile() == null) {
+            // stage in-memory pdf content into a file, which is deleted once processed
+            return pdfStager.process(request.getPdfSource(), stagedFile -> process(toStagedRequest(request, stagedFile)));
+        }
+
         log.debug("Process starting");
-        Process process = null;
 
         try {
             // validate request
@@ -163,55 +283,37 @@ public class PdfImagesTool implements XpdfTool<PdfImagesRequest, PdfImagesRespon
             log.debug("Configuring output image file path prefix");
             val imageFilePathPrefix = initializeImageFilePathPrefix(request);
 
+            // restore cached result
+            val cacheKey = getCacheKey(request);
+            val cachedResponse = getCachedResponse(cacheKey, request, imageFilePathPrefix);
+            if (cachedResponse != null) {
+                return cachedResponse;
+            }
+
             // get commands
             log.debug("Building command");
             val commandParts = getCommandParts(request, imageFilePathPrefix);
 
-            // process commands
-            log.debug("Invoking executable; command: {}", commandParts.toString());
-            val processBuilder = new ProcessBuilder(commandParts);
-            process = processBuilder.start();
-
-            // wait for process finish
-            if (process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
-                val standardOutput = StringUtils.trimToNull(IOUtils.toString(process.getInputStream(), Charset.defaultCharset()));
-                val errorOutput = StringUtils.trimToNull(IOUtils.toString(process.getErrorStream(), Charset.defaultCharset()));
-                log.debug("Invocation completed; exit code: {}, standard output: {}", process.exitValue(), standardOutput);
-
-                // handle process finished
-                if (process.exitValue() == 0) {
-                    log.debug("Invocation succeeded");
-                    return PdfImagesResponse.builder()
-                            .imageFiles(getImageFilesMatchingPathPrefix(imageFilePathPrefix))
-                            .standardOutput(standardOutput)
-                            .build();
-                } else {
-                    log.debug("Invocation failed; error output: {}", errorOutput);
-                    final String message;
-                    switch (process.exitValue()) {
-                        case 1:
-                            message = "Error opening the PDF file";
-                            break;
-                        case 2:
-                            message = "Error opening the output file";
-                            break;
-                        case 3:
-                            message = "Error related to PDF permissions";
-                            break;
-                        case 99:
-                            message = "Other Xpdf error";
-                            break;
-                        default:
-                            message = "Unknown Xpdf error";
-                            break;
-                    }
-                    throw new XpdfExecutionException(message, standardOutput, errorOutput);
-                }
-            } else {
-                // handle process timeout
-                log.debug("Invocation timed out");
-                throw new XpdfTimeoutException("Timeout reached before process could finish");
+            // process commands, parsing any image listing as it streams, and converting each image file as it is written
+            val charset = getCharset(request);
+            val listingStream = getListingStream(request, charset);
+            final XpdfProcessResult result;
+            final List<File> imageFiles;
+            try (val conversion = startImageFileConversion(imageFilePathPrefix)) {
+                result = processExecutor.execute(commandParts, timeoutSeconds, charset, listingStream);
+                imageFiles = joinConversion(finishImageFileConversion(conversion, imageFilePathPrefix));
             }
+
+            val response = PdfImagesResponse.builder()
+                    .imageFiles(imageFiles)
+                    .temporary(request.getImageFilePathPrefix() == null)
+                    .temporaryDirectory(getTemporaryDirectory(request, imageFilePathPrefix))
+                    .standardOutput(result.getStandardOutput())
+                    .listing(getListing(listingStream))
+                    .build();
+            putCachedResponse(cacheKey, imageFilePathPrefix, response);
+
+            return response;
         } catch (XpdfException | XpdfRuntimeException e) {
             log.debug("Process failed; exception message: {}", e.getMessage());
             throw e;
@@ -219,13 +321,208 @@ public class PdfImagesTool implements XpdfTool<PdfImagesRequest, PdfImagesRespon
             log.debug("Process failed; exception message: {}", e.getMessage());
             throw new XpdfProcessingException(e);
         } finally {
-            if (process != null) {
-                process.destroy();
-            }
             log.debug("Process finished");
         }
     }
 
+    /**
+     * Extracts and saves images from a PDF file, without blocking the calling thread.
+     *
+     * <br><br> Behaves like {@link #process}, except that the shell command is run asynchronously by the configured {@link XpdfProcessExecutor}.
+     * No thread is parked while the process waits in the queue or runs, which makes this method suitable for handling many PDF files at once.
+     *
+     * @param request {@link PdfImagesRequest}
+     * @return {@code CompletableFuture} of the {@link PdfImagesResponse}, which completes exceptionally with the same {@link XpdfException} types thrown by {@link #process}
+     * @since 1.3.0
+     */
+    @Override
+    public CompletableFuture<PdfImagesResponse> processAsync(PdfImagesRequest request) {
+        if (request != null && request.getPdfFile() == null) {
+            // stage in-memory pdf content into a file, which is deleted once processed
+            return pdfStager.processAsync(request.getPdfSource(), stagedFile -> processAsync(toStagedRequest(request, stagedFile)));
+        }
+
+        log.debug("Async process starting");
+
+        try {
+            // validate request
+            log.debug("Validating request");
+            validate(request);
+
+            // configure output image file path prefix
+            log.debug("Configuring output image file path prefix");
+            val imageFilePathPrefix = initializeImageFilePathPrefix(request);
+
+            // restore cached result
+            val cacheKey = getCacheKey(request);
+            val cachedResponse = getCachedResponse(cacheKey, request, imageFilePathPrefix);
+            if (cachedResponse != null) {
+                log.debug("Async process finished");
+                return CompletableFuture.completedFuture(cachedResponse);
+            }
+
+            // get commands
+            log.debug("Building command");
+            val commandParts = getCommandParts(request, imageFilePathPrefix);
+
+            // process commands, parsing any image listing as it streams, and converting each image file as it is written
+            val charset = getCharset(request);
+            val listingStream = getListingStream(request, charset);
+            val conversion = startImageFileConversion(imageFilePathPrefix);
+            return processExecutor.executeAsync(commandParts, timeoutSeconds, charset, listingStream)
+                    .whenComplete((result, throwable) -> {
+                        // stop watching if the process failed, since the image files are never converted then
+                        if (throwable != null && conversion != null) {
+                            conversion.close();
+                        }
+                    })
+                    .thenCompose(result -> finishImageFileConversion(conversion, imageFilePathPrefix).thenApply(imageFiles -> {
+                        val response = PdfImagesResponse.builder()
+                                .imageFiles(imageFiles)
+                                .temporary(request.getImageFilePathPrefix() == null)
+                                .temporaryDirectory(getTemporaryDirectory(request, imageFilePathPrefix))
+                                .standardOutput(result.getStandardOutput())
+                                .listing(getListing(listingStream))
+                                .build();
+                        putCachedResponse(cacheKey, imageFilePathPrefix, response);
+                        return response;
+                    }))
+                    .whenComplete((response, throwable) -> log.debug("Async process finished"));
+        } catch (XpdfException | XpdfRuntimeException e) {
+            log.debug("Async process failed; exception message: {}", e.getMessage());
+            return XpdfUtils.failedFuture(e);
+        } catch (Exception e) {
+            log.debug("Async process failed; exception message: {}", e.getMessage());
+            return XpdfUtils.failedFuture(new XpdfProcessingException(e));
+        }
+    }
+
+    /**
+     * Extracts and saves images from a PDF file, and delivers each image file to a listener as soon as it is written.
+     *
+     * <br><br> Behaves like {@link #process(PdfImagesRequest)}, except that the directory of the image files is watched with a {@code WatchService} while the executable runs.
+     * <em>pdfimages</em> writes image files one at a time in order of their image number, so every image file is delivered once the next one appears, or once the process exits.
+     * Image files are delivered on the calling thread, while later images are still being extracted.
+     *
+     * <br><br> Example usage:
+     * <blockquote><pre>
+     *  try (PdfImagesResponse response = pdfImagesTool.process(request, imageFile -&gt; thumbnailer.submit(imageFile))) {
+     *      ...
+     *  }
+     * </pre></blockquote>
+     *
+     * @param request {@link PdfImagesRequest}
+     * @param imageListener {@link PdfImagesImageListener} of the image files
+     * @return {@link PdfImagesResponse} with list of image files extracted from PDF, which remain until the response is closed
+     * @throws XpdfValidationException if request is invalid
+     * @throws XpdfRejectedException if process queue is full
+     * @throws XpdfExecutionException if process returns non-zero exit code
+     * @throws XpdfTimeoutException if process duration exceeds timeout length
+     * @throws XpdfProcessingException if any other exception occurs during processing, including any exception thrown by the listener
+     * @implNote This method executes a shell command and may become blocking.
+     * Results are never restored from or stored in the {@link #resultCache}.
+     * If the listener fails, then the process is destroyed.
+     * @since 1.3.0
+     */
+    public PdfImagesResponse process(PdfImagesRequest request, PdfImagesImageListener imageListener) throws XpdfException {
+        if (request != null && request.getPdfFile() == null) {
+            // stage in-memory pdf content into a file, which is deleted once processed
+            return pdfStager.process(request.getPdfSource(), stagedFile -> process(toStagedRequest(request, stagedFile), imageListener));
+        }
+
+        log.debug("Stream process starting");
+
+        try {
+            // validate request
+            log.debug("Validating request");
+            validate(request);
+            if (imageListener == null) {
+                throw new XpdfValidationException("ImageListener cannot be null");
+            }
+
+            // configure output image file path prefix
+            log.debug("Configuring output image file path prefix");
+            val imageFilePathPrefix = initializeImageFilePathPrefix(request);
+
+            // get commands
+            log.debug("Building command");
+            val commandParts = getCommandParts(request, imageFilePathPrefix);
+
+            // completed image files are converted first, if a converter is configured, and delivered in order once converted
+            val conversions = new ArrayDeque<CompletableFuture<File>>();
+            final PdfImagesImageListener extractedImageListener = pngConverter == null
+                    ? imageListener
+                    : imageFile -> conversions.add(pngConverter.convertAsync(imageFile));
+
+            // watch the directory of the image files before the process starts writing them
+            val charset = getCharset(request);
+            val listingStream = getListingStream(request, charset);
+            XpdfProcessResult result = null;
+            try (val watchService = imageFilePathPrefix.getFileSystem().newWatchService()) {
+                imageFilePathPrefix.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+
+                // process commands, delivering each image file once the next one appears, and parsing any image listing as it streams
+                val future = processExecutor.executeAsync(commandParts, timeoutSeconds, charset, listingStream);
+                try {
+                    val createdImageFiles = new TreeMap<Integer, File>();
+                    int nextImageNumber = 0;
+                    while (result == null) {
+                        try {
+                            result = future.get(IMAGE_POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                        } catch (TimeoutException e) {
+                            nextImageNumber = deliverCreatedImageFiles(watchService, imageFilePathPrefix, createdImageFiles, nextImageNumber, extractedImageListener);
+                            deliverConvertedImageFiles(conversions, false, imageListener);
+                        } catch (ExecutionException e) {
+                            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                        }
+                    }
+
+                    // deliver the image files that were completed by the process exiting
+                    log.debug("Delivering remaining image files");
+                    deliverImageFiles(imageFilePathPrefix, nextImageNumber, true, extractedImageListener);
+                    deliverConvertedImageFiles(conversions, true, imageListener);
+                } finally {
+                    // destroy the process if delivery failed, rather than leaving it to run until it exits or times out
+                    future.cancel(false);
+                }
+            }
+
+            return PdfImagesResponse.builder()
+                    .imageFiles(getImageFilesMatchingPathPrefix(imageFilePathPrefix))
+                    .temporary(request.getImageFilePathPrefix() == null)
+                    .temporaryDirectory(getTemporaryDirectory(request, imageFilePathPrefix))
+                    .standardOutput(result.getStandardOutput())
+                    .listing(getListing(listingStream))
+                    .build();
+        } catch (XpdfException | XpdfRuntimeException e) {
+            log.debug("Stream process failed; exception message: {}", e.getMessage());
+            throw e;
+        } catch (InterruptedException e) {
+            log.debug("Stream process failed; exception message: {}", e.getMessage());
+            Thread.currentThread().interrupt();
+            throw new XpdfProcessingException(e);
+        } catch (Exception e) {
+            log.debug("Stream process failed; exception message: {}", e.getMessage());
+            throw new XpdfProcessingException(e);
+        } finally {
+            log.debug("Stream process finished");
+        }
+    }
+
+    /**
+     * Gets a copy of a request that reads its PDF content from a staged PDF file, in place of its PDF source.
+     *
+     * @param request {@link PdfImagesRequest} with PDF source
+     * @param stagedFile staged PDF file
+     * @return {@link PdfImagesRequest} with PDF file
+     */
+    protected PdfImagesRequest toStagedRequest(PdfImagesRequest request, File stagedFile) {
+        return request.toBuilder()
+                .pdfFile(stagedFile)
+                .pdfSource(null)
+                .build();
+    }
+
     /**
      * Validates a {@link PdfImagesRequest}.
      *
@@ -279,10 +576,8 @@ public class PdfImagesTool implements XpdfTool<PdfImagesRequest, PdfImagesRespon
             // use image file path prefix provided in request
             imageFilePathPrefix = request.getImageFilePathPrefix();
         } else {
-            // create image file path prefix
-            imageFilePathPrefix = getPdfImagesTempOutputPath().resolve(UUID.randomUUID().toString());
-            // auto-delete image directory
-            imageFilePathPrefix.getParent().toFile().deleteOnExit();
+            // create image file path prefix in a directory of its own, which is deleted when the response is closed
+            imageFilePathPrefix = outputDirectory.getCurrentDirectory().resolve(UUID.randomUUID().toString()).resolve(IMAGE_FILE_NAME_PREFIX);
         }
 
         // create directories on path if not existing
@@ -291,6 +586,159 @@ public class PdfImagesTool implements XpdfTool<PdfImagesRequest, PdfImagesRespon
         return imageFilePathPrefix;
     }
 
+    /**
+     * Gets the directory of its own that the image files of a request are written to, if the request did not provide an output path.
+     *
+     * @param request {@link PdfImagesRequest}
+     * @param imageFilePathPrefix {@link Path}
+     * @return temporary directory, or null if the image file path prefix was provided in the request
+     */
+    protected File getTemporaryDirectory(PdfImagesRequest request, Path imageFilePathPrefix) {
+        if (request.getImageFilePathPrefix() != null) {
+            return null;
+        }
+        return imageFilePathPrefix.getParent().toFile();
+    }
+
+    /**
+     * Gets the key that the result of a request is cached under.
+     *
+     * @param request {@link PdfImagesRequest}
+     * @return cache key, or null if no {@link #resultCache} is configured or the result is not cacheable
+     * @throws IOException if unable to read the executable file or PDF file
+     */
+    protected String getCacheKey(PdfImagesRequest request) throws IOException {
+        if (resultCache == null) {
+            return null;
+        }
+
+        // metadata listing names the image files of the original run, so it cannot be replayed for another path prefix
+        if (isListingIncluded(request)) {
+            return null;
+        }
+
+        // converted image files are cached in place of the extracted ones, so they are keyed apart
+        log.debug("Computing cache key");
+        val commandOptions = new ArrayList<String>(getCommandOptions(request.getOptions()));
+        if (pngConverter != null) {
+            commandOptions.add(PNG_CONVERTER_CACHE_KEY_PART);
+        }
+        return resultCache.getKey(executableFile, commandOptions, request.getPdfFile());
+    }
+
+    /**
+     * Restores a cached result into image files at the path prefix.
+     *
+     * @param cacheKey cache key, or null if the result is not cached
+     * @param request {@link PdfImagesRequest}
+     * @param imageFilePathPrefix {@link Path}
+     * @return {@link PdfImagesResponse} restored from cache, or null if the result is not cached
+     * @throws XpdfException if any restored image file cannot be converted
+     */
+    protected PdfImagesResponse getCachedResponse(String cacheKey, PdfImagesRequest request, Path imageFilePathPrefix) throws XpdfException {
+        if (cacheKey == null) {
+            return null;
+        }
+
+        val entryDirectory = resultCache.get(cacheKey);
+        if (entryDirectory == null) {
+            log.debug("Cache missed; key: {}", cacheKey);
+            return null;
+        }
+
+        try {
+            // cached image files are named by their suffix only, e.g. "-000.ppm"
+            val imageFileNamePrefix = imageFilePathPrefix.getFileName().toString();
+            try (val cachedImagePaths = Files.newDirectoryStream(entryDirectory.resolve(IMAGES_CACHE_DIRECTORY_NAME))) {
+                for (val cachedImagePath : cachedImagePaths) {
+                    val imagePath = imageFilePathPrefix.resolveSibling(imageFileNamePrefix + cachedImagePath.getFileName());
+                    Files.copy(cachedImagePath, imagePath, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            log.debug("Cache hit; key: {}", cacheKey);
+            return PdfImagesResponse.builder()
+                    .imageFiles(convertImageFiles(getImageFilesMatchingPathPrefix(imageFilePathPrefix)))
+                    .temporary(request.getImageFilePathPrefix() == null)
+                    .temporaryDirectory(getTemporaryDirectory(request, imageFilePathPrefix))
+                    .standardOutput(XpdfResultCache.readStandardOutput(entryDirectory))
+                    .build();
+        } catch (IOException e) {
+            // entry may have been evicted in the meantime
+            log.debug("Unable to restore cached result; exception message: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores a result in the cache.
+     * Any failure to store the result is logged and otherwise ignored.
+     *
+     * @param cacheKey cache key, or null if the result is not cached
+     * @param imageFilePathPrefix {@link Path}
+     * @param response {@link PdfImagesResponse}
+     */
+    protected void putCachedResponse(String cacheKey, Path imageFilePathPrefix, PdfImagesResponse response) {
+        if (cacheKey == null) {
+            return;
+        }
+
+        val imageFileNamePrefix = imageFilePathPrefix.getFileName().toString();
+        try {
+            resultCache.put(cacheKey, entryDirectory -> {
+                val imagesDirectory = Files.createDirectory(entryDirectory.resolve(IMAGES_CACHE_DIRECTORY_NAME));
+                for (val imageFile : response.getImageFiles()) {
+                    val imageFileSuffix = imageFile.getName().substring(imageFileNamePrefix.length());
+                    Files.copy(imageFile.toPath(), imagesDirectory.resolve(imageFileSuffix));
+                }
+                XpdfResultCache.writeStandardOutput(entryDirectory, response.getStandardOutput());
+            });
+        } catch (IOException e) {
+            log.debug("Unable to cache result; exception message: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether the executable lists the images that it extracts, because {@link PdfImagesOptions#getMetadataIncluded() metadata is included}.
+     *
+     * @param request {@link PdfImagesRequest}
+     * @return true if images are listed
+     */
+    protected boolean isListingIncluded(PdfImagesRequest request) {
+        return request.getOptions() != null && Boolean.TRUE.equals(request.getOptions().getMetadataIncluded());
+    }
+
+    /**
+     * Gets the charset that the outputs of the executable are decoded with.
+     *
+     * <br><br> <em>pdfimages</em> has no option for its output encoding, and lists each image file by the path that it was given.
+     * That path is passed to the process in the platform encoding of file names, so the outputs are decoded in the same encoding.
+     *
+     * @param request {@link PdfImagesRequest}
+     * @return {@code Charset} of file names, or the default charset if the platform encoding of file names is unknown
+     */
+    protected Charset getCharset(PdfImagesRequest request) {
+        val fileNameEncoding = System.getProperty("sun.jnu.encoding");
+        if (fileNameEncoding != null && Charset.isSupported(fileNameEncoding)) {
+            return Charset.forName(fileNameEncoding);
+        }
+        return Charset.defaultCharset();
+    }
+
+    /**
+     * Gets the stream that the standard output of a running process is copied to, which parses the image listing as it streams.
+     *
+     * @param request {@link PdfImagesRequest}
+     * @param charset {@code Charset} of standard output
+     * @return {@link PdfImagesParser.ListingOutputStream}, or null if images are not listed
+     */
+    protected PdfImagesParser.ListingOutputStream getListingStream(PdfImagesRequest request, Charset charset) {
+        return isListingIncluded(request) ? new PdfImagesParser.ListingOutputStream(charset) : null;
+    }
+
+    private static PdfImagesListing getListing(PdfImagesParser.ListingOutputStream listingStream) {
+        return listingStream != null ? listingStream.getListing() : null;
+    }
+
     /**
      * Gets the complete list of command parts for a {@code Process}.
      *
@@ -376,17 +824,311 @@ public class PdfImagesTool implements XpdfTool<PdfImagesRequest, PdfImagesRespon
     }
 
     /**
-     * Gets the image files matching the path prefix.
+     * Gets the image files matching the path prefix, such as {@code some-0007.ppm} for the path prefix {@code some}.
      *
      * @param imageFilePathPrefix {@link Path}
-     * @return image files as {@code List<File>}
+     * @return image files as {@code List<File>}, sorted by image number
+     * @throws IOException if unable to list the directory of the path prefix
      */
-    protected List<File> getImageFilesMatchingPathPrefix(Path imageFilePathPrefix) {
-        val imageDirectory = imageFilePathPrefix.getParent().toFile();
-        val imageFileNamePrefix = imageFilePathPrefix.getFileName().toString();
-        return asList(requireNonNull(
-                imageDirectory.listFiles((directory, name) -> name.matches(imageFileNamePrefix + "-[0-9]+\\..+"))
-        ));
+    protected List<File> getImageFilesMatchingPathPrefix(Path imageFilePathPrefix) throws IOException {
+        val imageFileNamePrefix = imageFilePathPrefix.getFileName().toString() + "-";
+        val imageFiles = new ArrayList<File>();
+        try (val imagePaths = Files.newDirectoryStream(imageFilePathPrefix.getParent(), path -> isImageFileName(path.getFileName().toString(), imageFileNamePrefix))) {
+            for (val imagePath : imagePaths) {
+                imageFiles.add(imagePath.toFile());
+            }
+        }
+        imageFiles.sort(Comparator.comparingInt(imageFile -> PdfImagesParser.parseImageNumber(imageFile.getName())));
+        return imageFiles;
+    }
+
+    /**
+     * Delivers the completed image files matching the path prefix to a listener, starting from an image number.
+     *
+     * @param imageFilePathPrefix {@link Path}
+     * @param nextImageNumber image number of the next image file to deliver
+     * @param finished whether the process has exited, which completes the last image file
+     * @param imageListener {@link PdfImagesImageListener}
+     * @return image number of the next image file to deliver
+     * @throws IOException if unable to list the directory of the path prefix, or if the listener fails
+     */
+    protected int deliverImageFiles(Path imageFilePathPrefix, int nextImageNumber, boolean finished, PdfImagesImageListener imageListener) throws IOException {
+        val imageFiles = getImageFilesMatchingPathPrefix(imageFilePathPrefix);
+
+        // unless the process has exited, the last image file may still be being written
+        val completedCount = finished ? imageFiles.size() : imageFiles.size() - 1;
+        for (int i = 0; i < completedCount; i++) {
+            val imageFile = imageFiles.get(i);
+            val imageNumber = PdfImagesParser.parseImageNumber(imageFile.getName());
+            if (imageNumber >= nextImageNumber) {
+                imageListener.onImage(imageFile);
+                nextImageNumber = imageNumber + 1;
+            }
+        }
+        return nextImageNumber;
+    }
+
+    /**
+     * Delivers the image files created since the last call to a listener, starting from an image number.
+     *
+     * <br><br> Newly created image files are reported by a watch service on the directory of the path prefix, so the directory is only listed again if the watch service drops any events.
+     * Created image files are held until they are delivered, and the one with the highest image number is held until another image file is created, because it may still be being written.
+     *
+     * @param watchService {@code WatchService} that the directory of the path prefix is registered with
+     * @param imageFilePathPrefix {@link Path}
+     * @param createdImageFiles image files created but not yet delivered, by image number, which are removed once delivered
+     * @param nextImageNumber image number of the next image file to deliver
+     * @param imageListener {@link PdfImagesImageListener}
+     * @return image number of the next image file to deliver
+     * @throws IOException if unable to list the directory of the path prefix, or if the listener fails
+     */
+    protected int deliverCreatedImageFiles(WatchService watchService, Path imageFilePathPrefix, NavigableMap<Integer, File> createdImageFiles,
+                                           int nextImageNumber, PdfImagesImageListener imageListener) throws IOException {
+        val imageFileNamePrefix = imageFilePathPrefix.getFileName().toString() + "-";
+        WatchKey watchKey;
+        while ((watchKey = watchService.poll()) != null) {
+            for (val event : watchKey.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    log.debug("Image file events overflowed; listing image files");
+                    for (val imageFile : getImageFilesMatchingPathPrefix(imageFilePathPrefix)) {
+                        createdImageFiles.put(PdfImagesParser.parseImageNumber(imageFile.getName()), imageFile);
+                    }
+                } else {
+                    val fileName = event.context().toString();
+                    if (isImageFileName(fileName, imageFileNamePrefix)) {
+                        createdImageFiles.put(PdfImagesParser.parseImageNumber(fileName), imageFilePathPrefix.resolveSibling(fileName).toFile());
+                    }
+                }
+            }
+            watchKey.reset();
+        }
+
+        // the image file with the highest image number may still be being written
+        while (createdImageFiles.size() > 1) {
+            val createdImageFile = createdImageFiles.pollFirstEntry();
+            if (createdImageFile.getKey() >= nextImageNumber) {
+                imageListener.onImage(createdImageFile.getValue());
+                nextImageNumber = createdImageFile.getKey() + 1;
+            }
+        }
+        return nextImageNumber;
+    }
+
+    /**
+     * Delivers the image files whose conversion has finished to a listener, in the order that they were submitted.
+     *
+     * @param conversions queue of pending conversions, from which delivered conversions are removed
+     * @param finished whether to wait for every pending conversion to finish
+     * @param imageListener {@link PdfImagesImageListener}
+     * @throws XpdfException if any conversion failed
+     * @throws IOException if the listener fails
+     */
+    protected void deliverConvertedImageFiles(Queue<CompletableFuture<File>> conversions, boolean finished, PdfImagesImageListener imageListener) throws XpdfException, IOException {
+        while (!conversions.isEmpty() && (finished || conversions.peek().isDone())) {
+            imageListener.onImage(joinConversion(conversions.poll()));
+        }
+    }
+
+    /**
+     * Converts image files with the {@link #pngConverter}, and waits for every conversion to finish.
+     *
+     * @param imageFiles image files as {@code List<File>}
+     * @return converted image files as {@code List<File>}, in the same order, or the given image files if no converter is configured
+     * @throws XpdfException if any conversion failed
+     */
+    protected List<File> convertImageFiles(List<File> imageFiles) throws XpdfException {
+        if (pngConverter == null) {
+            return imageFiles;
+        }
+        return joinConversion(convertImageFilesAsync(imageFiles));
+    }
+
+    /**
+     * Converts image files with the {@link #pngConverter}, without blocking the calling thread.
+     *
+     * @param imageFiles image files as {@code List<File>}
+     * @return {@code CompletableFuture} of the converted image files as {@code List<File>}, in the same order, or of the given image files if no converter is configured
+     */
+    protected CompletableFuture<List<File>> convertImageFilesAsync(List<File> imageFiles) {
+        if (pngConverter == null) {
+            return CompletableFuture.completedFuture(imageFiles);
+        }
+
+        // every conversion is submitted before any is waited on, so that they run in parallel
+        val conversions = imageFiles.stream()
+                .map(pngConverter::convertAsync)
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(conversions.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> conversions.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Starts converting the image files matching the path prefix with the {@link #pngConverter}, as soon as the executable has finished writing each of them.
+     *
+     * <br><br> The directory of the path prefix is watched with a {@code WatchService}, which is polled on a shared background thread while the executable runs.
+     * Every image file is dispatched to the converter once the next one appears, so that image files are deleted while later images are still being extracted.
+     *
+     * @param imageFilePathPrefix {@link Path}
+     * @return {@link ImageFileConversion}, which closes itself once every image file has been dispatched, and must be closed if the process fails,
+     * or null if no converter is configured
+     * @throws IOException if unable to watch the directory of the path prefix
+     * @implNote The background thread only dispatches image files, and never converts any itself.
+     * While the queue of the converter is full, image files are held back by the conversion of their request, and dispatched on a later poll.
+     */
+    protected ImageFileConversion startImageFileConversion(Path imageFilePathPrefix) throws IOException {
+        return pngConverter != null ? new ImageFileConversion(imageFilePathPrefix) : null;
+    }
+
+    /**
+     * Finishes converting the image files matching the path prefix, once the process has exited.
+     *
+     * @param conversion {@link ImageFileConversion}, or null if no converter is configured
+     * @param imageFilePathPrefix {@link Path}
+     * @return {@code CompletableFuture} of the image files matching the path prefix as {@code List<File>}, once every conversion has finished,
+     * which completes exceptionally with an {@link XpdfProcessingException} if the image files cannot be listed, or if any conversion failed
+     */
+    protected CompletableFuture<List<File>> finishImageFileConversion(ImageFileConversion conversion, Path imageFilePathPrefix) {
+        try {
+            if (conversion == null) {
+                return CompletableFuture.completedFuture(getImageFilesMatchingPathPrefix(imageFilePathPrefix));
+            }
+            return conversion.finish().thenApply(ignored -> {
+                try {
+                    return getImageFilesMatchingPathPrefix(imageFilePathPrefix);
+                } catch (IOException e) {
+                    throw new CompletionException(new XpdfProcessingException(e));
+                }
+            });
+        } catch (IOException e) {
+            return XpdfUtils.failedFuture(new XpdfProcessingException(e));
+        }
+    }
+
+    private static <T> T joinConversion(CompletableFuture<T> conversion) throws XpdfException {
+        try {
+            return conversion.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof XpdfException) {
+                throw (XpdfException) e.getCause();
+            }
+            throw new XpdfProcessingException(e.getCause());
+        }
+    }
+
+    /**
+     * Checks whether a file name is the image file name prefix, followed by an image number and an extension.
+     *
+     * @param fileName file name
+     * @param imageFileNamePrefix image file name prefix, including its trailing dash
+     * @return true if the file name is an image file name
+     */
+    private static boolean isImageFileName(String fileName, String imageFileNamePrefix) {
+        val prefixLength = imageFileNamePrefix.length();
+        return fileName.startsWith(imageFileNamePrefix)
+                && fileName.lastIndexOf('-') == prefixLength - 1
+                && fileName.indexOf('.', prefixLength) > prefixLength
+                && PdfImagesParser.parseImageNumber(fileName) >= 0;
+    }
+
+    /**
+     * Conversion of the image files matching a path prefix, as soon as the executable has finished writing each of them.
+     */
+    protected class ImageFileConversion implements Closeable {
+        private final Path imageFilePathPrefix;
+        private final WatchService watchService;
+        private final NavigableMap<Integer, File> createdImageFiles = new TreeMap<>();
+        private final Queue<File> pendingImageFiles = new ArrayDeque<>();
+        private final List<CompletableFuture<File>> conversions = new ArrayList<>();
+        private final CompletableFuture<Void> dispatched = new CompletableFuture<>();
+        private final ScheduledFuture<?> watchTask;
+        private int nextImageNumber;
+        private boolean exited;
+        private boolean closed;
+
+        private ImageFileConversion(Path imageFilePathPrefix) throws IOException {
+            this.imageFilePathPrefix = imageFilePathPrefix;
+            this.watchService = imageFilePathPrefix.getFileSystem().newWatchService();
+            try {
+                // watch the directory of the image files before the process starts writing them
+                imageFilePathPrefix.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+            } catch (IOException e) {
+                watchService.close();
+                throw e;
+            }
+            synchronized (this) {
+                this.watchTask = WatcherHolder.WATCHER.scheduleWithFixedDelay(this::dispatchImageFiles, IMAGE_POLL_INTERVAL_MILLIS, IMAGE_POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private synchronized void dispatchImageFiles() {
+            if (closed) {
+                return;
+            }
+            try {
+                if (!exited) {
+                    deliverCreatedImageFiles(watchService, imageFilePathPrefix, createdImageFiles, nextImageNumber, this::enqueue);
+                }
+                submitPendingImageFiles();
+            } catch (Exception e) {
+                // image files left undispatched are dispatched once the process exits
+                log.debug("Image file watcher failed; exception message: {}", e.getMessage());
+            }
+        }
+
+        private void enqueue(File imageFile) {
+            pendingImageFiles.add(imageFile);
+            nextImageNumber = PdfImagesParser.parseImageNumber(imageFile.getName()) + 1;
+        }
+
+        private void submitPendingImageFiles() {
+            while (!pendingImageFiles.isEmpty()) {
+                val conversion = pngConverter.tryConvertAsync(pendingImageFiles.peek());
+                if (conversion == null) {
+                    // queue of the converter is full, so the remaining image files wait for the next poll
+                    return;
+                }
+                conversions.add(conversion);
+                pendingImageFiles.remove();
+            }
+
+            if (exited) {
+                dispatched.complete(null);
+                close();
+            }
+        }
+
+        private synchronized CompletableFuture<Void> finish() throws IOException {
+            // the process has exited, so the remaining image files are complete
+            exited = true;
+            deliverImageFiles(imageFilePathPrefix, nextImageNumber, true, this::enqueue);
+            submitPendingImageFiles();
+            return dispatched.thenCompose(ignored -> CompletableFuture.allOf(conversions.toArray(new CompletableFuture[0])));
+        }
+
+        @Override
+        public synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            watchTask.cancel(false);
+            dispatched.cancel(false);
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Unable to close image file watcher; exception message: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static class WatcherHolder {
+        private static final ScheduledExecutorService WATCHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            val thread = new Thread(runnable, "xpdf-image-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
 }
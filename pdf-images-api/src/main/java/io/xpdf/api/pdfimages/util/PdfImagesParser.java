@@ -0,0 +1,353 @@
+/*
+ * PdfImages API - An API for accessing a native pdfimages library (https://xpdf.io)
+ * Copyright © 2025 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdfimages.util;
+
+import io.xpdf.api.pdfimages.PdfImagesListing;
+import lombok.val;
+import org.apache.commons.io.output.WriterOutputStream;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parses the image listing printed by the <em>pdfimages</em> executable.
+ *
+ * <br><br> Each listed image is printed on its own line, as the path of its image file followed by its attributes, for example:
+ * <blockquote><pre>
+ *  /tmp/out/some-0000.ppm: page=1 width=700 height=420 hdpi=168.81 vdpi=168.79 colorspace=DeviceRGB bpc=8
+ * </pre></blockquote>
+ *
+ * @since 1.3.0
+ */
+public class PdfImagesParser {
+
+    private static final String PAGE_SEPARATOR = ": page=";
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private PdfImagesParser() {
+    }
+
+    /**
+     * Parses the image listing from the standard output of <em>pdfimages</em>.
+     *
+     * @param standardOutput standard output
+     * @return {@link PdfImagesListing}, or null if standard output is null
+     * @since 1.3.0
+     */
+    public static PdfImagesListing parseListing(String standardOutput) {
+        if (standardOutput == null) {
+            return null;
+        }
+        try {
+            return parseListing(new StringReader(standardOutput));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses the image listing from the standard output of <em>pdfimages</em>, as it is read.
+     *
+     * <br><br> Lines are parsed one at a time straight into the columns of the listing, so the standard output is never held in memory as a whole.
+     * Lines that do not list an image, such as those printed by the {@code -verbose} option, are skipped.
+     *
+     * @param reader {@code Reader} of standard output
+     * @return {@link PdfImagesListing}
+     * @throws IOException if unable to read standard output
+     * @since 1.3.0
+     */
+    public static PdfImagesListing parseListing(Reader reader) throws IOException {
+        val columns = new Columns();
+        val bufferedReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        String line;
+        while ((line = bufferedReader.readLine()) != null) {
+            columns.add(line);
+        }
+        return columns.toListing();
+    }
+
+    /**
+     * Parses the image number from the name of an image file, such as {@code 7} from {@code some-0007.ppm}.
+     *
+     * @param imageFileName image file name
+     * @return image number, or {@code -1} if the name has no image number
+     * @since 1.3.0
+     */
+    public static int parseImageNumber(String imageFileName) {
+        if (imageFileName == null) {
+            return -1;
+        }
+        val extensionStart = imageFileName.lastIndexOf('.');
+        val numberEnd = extensionStart < 0 ? imageFileName.length() : extensionStart;
+        val numberStart = imageFileName.lastIndexOf('-', numberEnd - 1) + 1;
+        if (numberStart == 0 || numberStart == numberEnd || numberEnd - numberStart > 9) {
+            return -1;
+        }
+        int number = 0;
+        for (int i = numberStart; i < numberEnd; i++) {
+            val c = imageFileName.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
+    /**
+     * Parses the image listing from the raw standard output of <em>pdfimages</em>, as its bytes are written.
+     *
+     * <br><br> Bytes are decoded as they arrive, and each line is parsed as soon as it is complete, so the standard output is never held in memory as a whole.
+     * Like {@link #parseListing(Reader)}, lines that do not list an image are skipped.
+     *
+     * @since 1.3.0
+     */
+    public static class ListingOutputStream extends OutputStream {
+
+        private final Columns columns = new Columns();
+
+        private final StringBuilder line = new StringBuilder();
+
+        private final OutputStream decoder;
+
+        private PdfImagesListing listing;
+
+        public ListingOutputStream(Charset charset) {
+            try {
+                decoder = WriterOutputStream.builder()
+                        .setWriter(new LineWriter())
+                        .setCharset(charset)
+                        .get();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (listing == null) {
+                decoder.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] source, int offset, int length) throws IOException {
+            if (listing == null) {
+                decoder.write(source, offset, length);
+            }
+        }
+
+        /**
+         * Parses any last line that has no line break, and completes the listing.
+         * Any bytes written afterwards are ignored.
+         *
+         * @since 1.3.0
+         */
+        @Override
+        public void close() {
+            if (listing != null) {
+                return;
+            }
+            try {
+                decoder.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            addLine();
+            listing = columns.toListing();
+        }
+
+        /**
+         * Gets the listing of every line written so far, closing this stream.
+         *
+         * @return {@link PdfImagesListing}
+         * @since 1.3.0
+         */
+        public PdfImagesListing getListing() {
+            close();
+            return listing;
+        }
+
+        private void addLine() {
+            if (line.length() > 0) {
+                columns.add(line.toString());
+                line.setLength(0);
+            }
+        }
+
+        /**
+         * Splits decoded characters into lines.
+         */
+        private class LineWriter extends Writer {
+
+            @Override
+            public void write(char[] source, int offset, int length) {
+                for (int i = offset; i < offset + length; i++) {
+                    val c = source[i];
+                    if (c == '\n' || c == '\r') {
+                        addLine();
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        }
+    }
+
+    /**
+     * Columns of a listing that grow as images are added.
+     */
+    private static class Columns {
+
+        private final Map<String, String> colorSpaceNames = new HashMap<>();
+
+        private int imageCount;
+
+        private String[] imageFileNames = new String[INITIAL_CAPACITY];
+
+        private int[] imageNumbers = new int[INITIAL_CAPACITY];
+
+        private int[] pageNumbers = new int[INITIAL_CAPACITY];
+
+        private int[] widths = new int[INITIAL_CAPACITY];
+
+        private int[] heights = new int[INITIAL_CAPACITY];
+
+        private float[] horizontalDpis = new float[INITIAL_CAPACITY];
+
+        private float[] verticalDpis = new float[INITIAL_CAPACITY];
+
+        private String[] colorSpaces = new String[INITIAL_CAPACITY];
+
+        private int[] bitsPerComponents = new int[INITIAL_CAPACITY];
+
+        private void add(String line) {
+            // image file path may itself contain ": ", but never the attributes that follow it
+            val separator = line.lastIndexOf(PAGE_SEPARATOR);
+            if (separator < 0) {
+                return;
+            }
+            if (imageCount == pageNumbers.length) {
+                grow();
+            }
+
+            val i = imageCount++;
+            val imageFileName = line.substring(Math.max(line.lastIndexOf('/', separator - 1), line.lastIndexOf('\\', separator - 1)) + 1, separator);
+            val imageNumber = parseImageNumber(imageFileName);
+            imageFileNames[i] = imageFileName;
+            imageNumbers[i] = imageNumber < 0 ? i : imageNumber;
+            horizontalDpis[i] = Float.NaN;
+            verticalDpis[i] = Float.NaN;
+
+            // attributes are "key=value" pairs separated by spaces
+            int keyStart = separator + 2;
+            while (keyStart < line.length()) {
+                int valueEnd = line.indexOf(' ', keyStart);
+                if (valueEnd < 0) {
+                    valueEnd = line.length();
+                }
+                val equals = line.indexOf('=', keyStart);
+                if (equals > keyStart && equals < valueEnd) {
+                    setAttribute(i, line.substring(keyStart, equals), line.substring(equals + 1, valueEnd));
+                }
+                keyStart = valueEnd + 1;
+            }
+        }
+
+        private void setAttribute(int i, String key, String value) {
+            switch (key) {
+                case "page":
+                    pageNumbers[i] = parseInt(value);
+                    break;
+                case "width":
+                    widths[i] = parseInt(value);
+                    break;
+                case "height":
+                    heights[i] = parseInt(value);
+                    break;
+                case "hdpi":
+                    horizontalDpis[i] = parseFloat(value);
+                    break;
+                case "vdpi":
+                    verticalDpis[i] = parseFloat(value);
+                    break;
+                case "colorspace":
+                    // share one instance of each color space name across all images
+                    colorSpaces[i] = colorSpaceNames.computeIfAbsent(value, it -> it);
+                    break;
+                case "bpc":
+                    bitsPerComponents[i] = parseInt(value);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void grow() {
+            val capacity = pageNumbers.length + (pageNumbers.length >> 1);
+            imageFileNames = Arrays.copyOf(imageFileNames, capacity);
+            imageNumbers = Arrays.copyOf(imageNumbers, capacity);
+            pageNumbers = Arrays.copyOf(pageNumbers, capacity);
+            widths = Arrays.copyOf(widths, capacity);
+            heights = Arrays.copyOf(heights, capacity);
+            horizontalDpis = Arrays.copyOf(horizontalDpis, capacity);
+            verticalDpis = Arrays.copyOf(verticalDpis, capacity);
+            colorSpaces = Arrays.copyOf(colorSpaces, capacity);
+            bitsPerComponents = Arrays.copyOf(bitsPerComponents, capacity);
+        }
+
+        private PdfImagesListing toListing() {
+            return new PdfImagesListing(imageCount, imageFileNames, imageNumbers, pageNumbers, widths, heights,
+                    horizontalDpis, verticalDpis, colorSpaces, bitsPerComponents);
+        }
+
+        private static int parseInt(String value) {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+        private static float parseFloat(String value) {
+            try {
+                return Float.parseFloat(value);
+            } catch (NumberFormatException e) {
+                return Float.NaN;
+            }
+        }
+    }
+
+}
@@ -71,6 +71,26 @@ public class PdfImagesUtils {
         return 30;
     }
 
+    /**
+     * Gets the maximum number of image files that are converted to PNG at the same time.
+     *
+     * @return maximum concurrent conversions
+     * @since 1.3.0
+     */
+    public static Integer getPdfImagesMaxConcurrentConversions() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Gets the maximum number of image files that may wait for a free worker before being converted on the submitting thread.
+     *
+     * @return maximum queued conversions
+     * @since 1.3.0
+     */
+    public static Integer getPdfImagesMaxQueuedConversions() {
+        return 256;
+    }
+
     /**
      * Gets the name of the native <em>pdfimages</em> executable.
      *
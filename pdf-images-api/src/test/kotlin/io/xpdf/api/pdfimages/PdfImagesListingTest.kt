@@ -0,0 +1,100 @@
+/*
+ * PdfImages API - An API for accessing a native pdfimages library (https://xpdf.io)
+ * Copyright © 2025 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdfimages
+
+import io.kotest.assertions.throwables.shouldThrowWithMessage
+import io.kotest.matchers.shouldBe
+import org.junit.jupiter.api.Test
+
+class PdfImagesListingTest {
+
+    private val listing = PdfImagesListing(
+        3,
+        arrayOf("some-0000.ppm", "some-0002.ppm", "some-0005.ppm", null),
+        intArrayOf(0, 2, 5, 0),
+        intArrayOf(1, 1, 2, 0),
+        intArrayOf(10, 20, 30, 0),
+        intArrayOf(11, 21, 31, 0),
+        floatArrayOf(72f, 96f, 150f, 0f),
+        floatArrayOf(72f, 96f, 150f, 0f),
+        arrayOf("DeviceRGB", "DeviceGray", "DeviceCMYK", null),
+        intArrayOf(8, 1, 8, 0),
+    )
+
+    @Test
+    fun `should find index of image number`() {
+        // when then
+        listing.indexOf(0) shouldBe 0
+        listing.indexOf(2) shouldBe 1
+        listing.indexOf(5) shouldBe 2
+        listing.indexOf(1) shouldBe -1
+        listing.indexOf(-1) shouldBe -1
+        listing.indexOf(6) shouldBe -1
+    }
+
+    @Test
+    fun `should find index of image number if not listed in order`() {
+        // given
+        val unsortedListing = PdfImagesListing(
+            3,
+            arrayOf("some-0005.ppm", "other.ppm", "some-0002.ppm"),
+            intArrayOf(5, 1, 2),
+            intArrayOf(1, 1, 2),
+            IntArray(3),
+            IntArray(3),
+            FloatArray(3),
+            FloatArray(3),
+            arrayOfNulls(3),
+            IntArray(3),
+        )
+
+        // when then
+        unsortedListing.indexOf(5) shouldBe 0
+        unsortedListing.indexOf(1) shouldBe 1
+        unsortedListing.indexOf(2) shouldBe 2
+        unsortedListing.indexOf(0) shouldBe -1
+    }
+
+    @Test
+    fun `should get image attributes`() {
+        // when then
+        listing.getImageFileName(2) shouldBe "some-0005.ppm"
+        listing.getImageNumber(2) shouldBe 5
+        listing.getPageNumber(2) shouldBe 2
+        listing.getWidth(2) shouldBe 30
+        listing.getHeight(2) shouldBe 31
+        listing.getHorizontalDpi(2) shouldBe 150f
+        listing.getVerticalDpi(2) shouldBe 150f
+        listing.getColorSpace(2) shouldBe "DeviceCMYK"
+        listing.getBitsPerComponent(2) shouldBe 8
+    }
+
+    @Test
+    fun `should throw exception when getting image attribute out of bounds`() {
+        // when then
+        shouldThrowWithMessage<IndexOutOfBoundsException>("Index 3 is out of bounds for 3 images") {
+            listing.getPageNumber(3)
+        }
+    }
+
+    @Test
+    fun `should convert to string`() {
+        // when then
+        listing.toString() shouldBe "PdfImagesListing(imageCount=3)"
+    }
+
+}
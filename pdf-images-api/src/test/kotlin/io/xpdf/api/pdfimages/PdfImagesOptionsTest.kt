@@ -17,6 +17,7 @@
 package io.xpdf.api.pdfimages
 
 import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
 import io.xpdf.api.pdfimages.options.PdfImagesFileFormat
 import org.junit.jupiter.api.Test
 
@@ -38,4 +39,25 @@ class PdfImagesOptionsTest {
         options.toString() shouldBe "PdfImagesOptions(pageStart=1, pageStop=5, fileFormat=JPEG, metadataIncluded=true, ownerPassword=ownerPassword, userPassword=userPassword, nativeOptions=null)"
     }
 
+    @Test
+    fun `should be equal if same values`() {
+        // given
+        val options = PdfImagesOptions.builder().pageStart(1).userPassword("userPassword").nativeOptions(mapOf("-opw" to "secret")).build()
+        val other = PdfImagesOptions.builder().pageStart(1).userPassword("userPassword").nativeOptions(mapOf("-opw" to "secret")).build()
+
+        // when then
+        options shouldBe other
+        options.hashCode() shouldBe other.hashCode()
+    }
+
+    @Test
+    fun `should not be equal if different values`() {
+        // given
+        val options = PdfImagesOptions.builder().pageStart(1).build()
+        val other = PdfImagesOptions.builder().pageStart(2).build()
+
+        // when then
+        options shouldNotBe other
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,257 @@
+/*
+ * PdfImages API - An API for accessing a native pdfimages library (https://xpdf.io)
+ * Copyright © 2025 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdfimages
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.assertions.throwables.shouldThrowWithMessage
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.collections.shouldNotContain
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeInstanceOf
+import io.xpdf.api.common.exception.XpdfProcessingException
+import io.xpdf.api.common.exception.XpdfRuntimeException
+import io.mockk.every
+import io.mockk.spyk
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.CsvSource
+import java.awt.image.BufferedImage
+import java.io.File
+import java.io.IOException
+import java.nio.file.Path
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import javax.imageio.ImageIO
+
+class PdfImagesPngConverterTest {
+
+    private val pngConverter = PdfImagesPngConverter.builder().maxConcurrentConversions(2).maxQueuedConversions(4).build()
+
+    @ParameterizedTest
+    @CsvSource(
+        "ppm, P6",
+        "pgm, P5",
+        "pbm, P4",
+    )
+    fun `should convert pnm image file to png image file`(extension: String, format: String, @TempDir tempDir: Path) {
+        // given
+        val imageFile = tempDir.resolve("some-0000.$extension").toFile().apply { writeBytes(getPnmBytes(format)) }
+
+        // when
+        val result = pngConverter.convert(imageFile)
+
+        // then
+        result shouldBe tempDir.resolve("some-0000.png").toFile()
+        imageFile.exists() shouldBe false
+        getPixels(result) shouldBe getExpectedPixels(format)
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+        "P1, P4",
+        "P2, P5",
+        "P3, P6",
+    )
+    fun `should convert plain pnm image file like raw pnm image file`(plainFormat: String, rawFormat: String, @TempDir tempDir: Path) {
+        // given
+        val plainImageFile = tempDir.resolve("plain-0000.ppm").toFile().apply { writeBytes(getPnmBytes(plainFormat)) }
+        val rawImageFile = tempDir.resolve("raw-0000.ppm").toFile().apply { writeBytes(getPnmBytes(rawFormat)) }
+
+        // when
+        val plainResult = pngConverter.convert(plainImageFile)
+        val rawResult = pngConverter.convert(rawImageFile)
+
+        // then
+        getPixels(plainResult) shouldBe getPixels(rawResult)
+    }
+
+    @Test
+    fun `should scale samples when converting pnm image file with max value other than 255`(@TempDir tempDir: Path) {
+        // given
+        val imageFile = tempDir.resolve("some-0000.pgm").toFile().apply {
+            writeBytes("P5\n2 1\n# some comment\n15\n".toByteArray() + byteArrayOf(0, 15))
+        }
+        val wideImageFile = tempDir.resolve("wide-0000.pgm").toFile().apply {
+            writeBytes("P5 2 1 65535\n".toByteArray() + byteArrayOf(0, 0, -1, -1))
+        }
+
+        // when
+        val result = pngConverter.convert(imageFile)
+        val wideResult = pngConverter.convert(wideImageFile)
+
+        // then
+        getPixels(result) shouldBe listOf(0x000000, 0xFFFFFF)
+        getPixels(wideResult) shouldBe listOf(0x000000, 0xFFFFFF)
+    }
+
+    @Test
+    fun `should not convert image file that is not pnm image file`(@TempDir tempDir: Path) {
+        // given
+        val imageFile = tempDir.resolve("some-0000.jpg").toFile().apply { writeText("some image") }
+
+        // when
+        val result = pngConverter.convertAsync(imageFile).get(5, TimeUnit.SECONDS)
+
+        // then
+        result shouldBe imageFile
+        imageFile.exists() shouldBe true
+    }
+
+    @Test
+    fun `should convert pnm image file async`(@TempDir tempDir: Path) {
+        // given
+        val imageFile = tempDir.resolve("some-0000.ppm").toFile().apply { writeBytes(getPnmBytes("P6")) }
+
+        // when
+        val result = pngConverter.convertAsync(imageFile).get(5, TimeUnit.SECONDS)
+
+        // then
+        getPixels(result) shouldBe getExpectedPixels("P6")
+    }
+
+    @Test
+    fun `should throw exception when converting invalid pnm image file`(@TempDir tempDir: Path) {
+        // given
+        val imageFile = tempDir.resolve("some-0000.ppm").toFile().apply { writeText("P7\n2 2\n255\n") }
+
+        // when then
+        shouldThrowWithMessage<IOException>("Unsupported PNM format: P7") {
+            pngConverter.convert(imageFile)
+        }
+        imageFile.exists() shouldBe true
+    }
+
+    @Test
+    fun `should complete exceptionally when converting truncated pnm image file async`(@TempDir tempDir: Path) {
+        // given
+        val imageFile = tempDir.resolve("some-0000.ppm").toFile().apply { writeText("P6\n2 2\n255\nabc") }
+
+        // when
+        val exception = shouldThrow<ExecutionException> {
+            pngConverter.convertAsync(imageFile).get(5, TimeUnit.SECONDS)
+        }
+
+        // then
+        exception.cause.shouldBeInstanceOf<XpdfProcessingException>()
+    }
+
+    @Test
+    fun `should not convert on calling thread when trying to convert async if queue is full`(@TempDir tempDir: Path) {
+        // given
+        val latch = CountDownLatch(1)
+        val convertingThreads = Collections.synchronizedList(mutableListOf<Thread>())
+        val pngConverterSpy = spyk(PdfImagesPngConverter.builder().maxConcurrentConversions(1).maxQueuedConversions(1).build()) {
+            every { convert(any<File>()) } answers {
+                convertingThreads.add(Thread.currentThread())
+                latch.await(5, TimeUnit.SECONDS)
+                callOriginal()
+            }
+        }
+        val imageFiles = (0..2).map { tempDir.resolve("some-000$it.ppm").toFile().apply { writeBytes(getPnmBytes("P6")) } }
+
+        // when
+        val running = pngConverterSpy.tryConvertAsync(imageFiles[0])
+        val queued = pngConverterSpy.tryConvertAsync(imageFiles[1])
+        val rejected = pngConverterSpy.tryConvertAsync(imageFiles[2])
+        latch.countDown()
+
+        // then
+        rejected.shouldBeNull()
+        running.get(5, TimeUnit.SECONDS) shouldBe tempDir.resolve("some-0000.png").toFile()
+        queued.get(5, TimeUnit.SECONDS) shouldBe tempDir.resolve("some-0001.png").toFile()
+        imageFiles[2].exists() shouldBe true
+        convertingThreads shouldNotContain Thread.currentThread()
+    }
+
+    @Test
+    fun `should convert on calling thread when converting async if queue is full`(@TempDir tempDir: Path) {
+        // given
+        val latch = CountDownLatch(1)
+        val callingThread = Thread.currentThread()
+        val pngConverterSpy = spyk(PdfImagesPngConverter.builder().maxConcurrentConversions(1).maxQueuedConversions(1).build()) {
+            every { convert(any<File>()) } answers {
+                if (Thread.currentThread() != callingThread) {
+                    latch.await(5, TimeUnit.SECONDS)
+                }
+                callOriginal()
+            }
+        }
+        val imageFiles = (0..2).map { tempDir.resolve("some-000$it.ppm").toFile().apply { writeBytes(getPnmBytes("P6")) } }
+
+        // when
+        val results = imageFiles.map { pngConverterSpy.convertAsync(it) }
+
+        // then
+        results[2].isDone shouldBe true
+        results[2].get() shouldBe tempDir.resolve("some-0002.png").toFile()
+        latch.countDown()
+        results[0].get(5, TimeUnit.SECONDS) shouldBe tempDir.resolve("some-0000.png").toFile()
+        results[1].get(5, TimeUnit.SECONDS) shouldBe tempDir.resolve("some-0001.png").toFile()
+    }
+
+    @Test
+    fun `should throw exception when initializing if non-positive max concurrent conversions given`() {
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("MaxConcurrentConversions must be greater than zero") {
+            PdfImagesPngConverter.builder().maxConcurrentConversions(0).build()
+        }
+    }
+
+    @Test
+    fun `should throw exception when initializing if non-positive max queued conversions given`() {
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("MaxQueuedConversions must be greater than zero") {
+            PdfImagesPngConverter.builder().maxQueuedConversions(0).build()
+        }
+    }
+
+    @Test
+    fun `should convert to string`() {
+        // when then
+        pngConverter.toString() shouldBe "PdfImagesPngConverter(maxConcurrentConversions=2, maxQueuedConversions=4)"
+    }
+
+    private fun getPnmBytes(format: String): ByteArray = when (format) {
+        "P1" -> "P1\n# some comment\n3 2\n1 0 1\n010\n".toByteArray()
+        "P2" -> "P2\n3 2\n255\n0 128 255\n255 128 0\n".toByteArray()
+        "P3" -> "P3\n3 2\n255\n255 0 0  0 255 0  0 0 255\n0 0 0  128 128 128  255 255 255\n".toByteArray()
+        "P4" -> "P4\n3 2\n".toByteArray() + byteArrayOf(0b10100000.toByte(), 0b01000000)
+        "P5" -> "P5\n3 2\n255\n".toByteArray() + byteArrayOf(0, -128, -1, -1, -128, 0)
+        "P6" -> "P6\n3 2\n255\n".toByteArray() + byteArrayOf(-1, 0, 0, 0, -1, 0, 0, 0, -1, 0, 0, 0, -128, -128, -128, -1, -1, -1)
+        else -> throw IllegalArgumentException(format)
+    }
+
+    private fun getExpectedPixels(format: String): List<Int> = when (format) {
+        "P4" -> listOf(0x000000, 0xFFFFFF, 0x000000, 0xFFFFFF, 0x000000, 0xFFFFFF)
+        "P5" -> listOf(0x000000, 0x808080, 0xFFFFFF, 0xFFFFFF, 0x808080, 0x000000)
+        "P6" -> listOf(0xFF0000, 0x00FF00, 0x0000FF, 0x000000, 0x808080, 0xFFFFFF)
+        else -> throw IllegalArgumentException(format)
+    }
+
+    private fun getPixels(pngFile: File): List<Int> {
+        val image = ImageIO.read(pngFile)
+        // gray samples are compared as stored, since converting them to RGB alters their values
+        val gray = image.type == BufferedImage.TYPE_BYTE_GRAY
+        return (0 until image.height).flatMap { y ->
+            (0 until image.width).map { x -> if (gray) image.raster.getSample(x, y, 0) * 0x010101 else image.getRGB(x, y) and 0xFFFFFF }
+        }
+    }
+
+}
@@ -0,0 +1,258 @@
+/*
+ * PdfImages API - An API for accessing a native pdfimages library (https://xpdf.io)
+ * Copyright © 2025 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdfimages
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.assertions.throwables.shouldThrowWithMessage
+import io.kotest.matchers.shouldBe
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.CsvSource
+import java.awt.image.BufferedImage
+import java.io.EOFException
+import java.io.IOException
+import java.nio.file.Path
+
+class PdfImagesPnmImageTest {
+
+    @Test
+    fun `should read header when opening pnm image file`(@TempDir tempDir: Path) {
+        // given
+        val imageFile = tempDir.resolve("some-0000.ppm").toFile().apply {
+            writeBytes("P6\n# some comment\n3 2\n255\n".toByteArray() + ByteArray(18))
+        }
+
+        // when
+        val result = PdfImagesPnmImage.open(imageFile)
+
+        // then
+        result.imageFile shouldBe imageFile
+        result.format shouldBe 6
+        result.width shouldBe 3
+        result.height shouldBe 2
+        result.maxValue shouldBe 255
+        result.channelCount shouldBe 3
+        result.rowBytes shouldBe 9
+        result.isBitmap shouldBe false
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+        "P1, 1, 1, 1",
+        "P2, 1, 255, 3",
+        "P3, 3, 255, 9",
+        "P4, 1, 1, 1",
+        "P5, 1, 255, 3",
+        "P6, 3, 255, 9",
+    )
+    fun `should read rows of pnm image file`(format: String, channelCount: Int, maxValue: Int, rowBytes: Int, @TempDir tempDir: Path) {
+        // given
+        val image = PdfImagesPnmImage.open(tempDir.resolve("some-0000.pnm").toFile().apply { writeBytes(getPnmBytes(format)) })
+
+        // when
+        val rows = (0 until image.height).map { image.getRow(it, null).toList() }
+
+        // then
+        image.channelCount shouldBe channelCount
+        image.maxValue shouldBe maxValue
+        image.rowBytes shouldBe rowBytes
+        rows shouldBe getExpectedRows(format)
+    }
+
+    @Test
+    fun `should read samples and tiles of pnm image file`(@TempDir tempDir: Path) {
+        // given
+        val image = PdfImagesPnmImage.open(tempDir.resolve("some-0000.ppm").toFile().apply { writeBytes(getPnmBytes("P6")) })
+
+        // when
+        val sample = image.getSample(1, 1, 2)
+        val tile = image.getTile(1, 0, 2, 2, IntArray(12))
+
+        // then
+        sample shouldBe 128
+        tile.toList() shouldBe listOf(0, 255, 0, 0, 0, 255, 128, 128, 128, 255, 255, 255)
+    }
+
+    @Test
+    fun `should read 16-bit samples of pnm image file`(@TempDir tempDir: Path) {
+        // given
+        val image = PdfImagesPnmImage.open(tempDir.resolve("some-0000.pgm").toFile().apply {
+            writeBytes("P5 2 1 65535\n".toByteArray() + byteArrayOf(0x12, 0x34, -1, -1))
+        })
+
+        // when
+        val row = image.getRow(0, null)
+        val result = image.toBufferedImage()
+
+        // then
+        row.toList() shouldBe listOf(0x1234, 0xFFFF)
+        result.type shouldBe BufferedImage.TYPE_USHORT_GRAY
+        result.raster.getSample(0, 0, 0) shouldBe 0x1234
+        result.raster.getSample(1, 0, 0) shouldBe 0xFFFF
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+        "P1, P4",
+        "P2, P5",
+        "P3, P6",
+    )
+    fun `should convert plain pnm image file like raw pnm image file`(plainFormat: String, rawFormat: String, @TempDir tempDir: Path) {
+        // given
+        val plainImage = PdfImagesPnmImage.open(tempDir.resolve("plain-0000.pnm").toFile().apply { writeBytes(getPnmBytes(plainFormat)) })
+        val rawImage = PdfImagesPnmImage.open(tempDir.resolve("raw-0000.pnm").toFile().apply { writeBytes(getPnmBytes(rawFormat)) })
+
+        // when
+        val plainResult = plainImage.toBufferedImage()
+        val rawResult = rawImage.toBufferedImage()
+
+        // then
+        getPixels(plainResult) shouldBe getPixels(rawResult)
+        getPixels(rawResult) shouldBe getExpectedPixels(rawFormat)
+    }
+
+    @Test
+    fun `should scale samples when converting pnm image file with max value other than 255`(@TempDir tempDir: Path) {
+        // given
+        val image = PdfImagesPnmImage.open(tempDir.resolve("some-0000.pgm").toFile().apply {
+            writeBytes("P5\n2 1\n15\n".toByteArray() + byteArrayOf(0, 15))
+        })
+
+        // when
+        val result = image.toBufferedImage()
+
+        // then
+        getPixels(result) shouldBe listOf(0x000000, 0xFFFFFF)
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+        "P4",
+        "P5",
+        "P6",
+    )
+    fun `should convert pnm image file to subsampled image`(format: String, @TempDir tempDir: Path) {
+        // given
+        val image = PdfImagesPnmImage.open(tempDir.resolve("some-0000.pnm").toFile().apply { writeBytes(getPnmBytes(format)) })
+
+        // when
+        val result = image.toBufferedImage(2)
+
+        // then
+        result.width shouldBe 2
+        result.height shouldBe 1
+        getPixels(result) shouldBe getExpectedPixels(format).let { listOf(it[0], it[2]) }
+    }
+
+    @Test
+    fun `should throw exception when converting pnm image file to image with non-positive subsampling`(@TempDir tempDir: Path) {
+        // given
+        val image = PdfImagesPnmImage.open(tempDir.resolve("some-0000.ppm").toFile().apply { writeBytes(getPnmBytes("P6")) })
+
+        // when then
+        shouldThrowWithMessage<IllegalArgumentException>("Subsampling must be greater than zero") {
+            image.toBufferedImage(0)
+        }
+    }
+
+    @Test
+    fun `should throw exception when reading sample out of range`(@TempDir tempDir: Path) {
+        // given
+        val image = PdfImagesPnmImage.open(tempDir.resolve("some-0000.ppm").toFile().apply { writeBytes(getPnmBytes("P6")) })
+
+        // when then
+        shouldThrowWithMessage<IndexOutOfBoundsException>("Sample out of range: (3, 0, 0)") {
+            image.getSample(3, 0, 0)
+        }
+        shouldThrowWithMessage<IndexOutOfBoundsException>("Tile out of range: (1, 1, 2, 2)") {
+            image.getTile(1, 1, 2, 2, null)
+        }
+    }
+
+    @Test
+    fun `should throw exception when reading truncated pnm image file`(@TempDir tempDir: Path) {
+        // given
+        val image = PdfImagesPnmImage.open(tempDir.resolve("some-0000.ppm").toFile().apply { writeText("P6\n2 2\n255\nabc") })
+
+        // when then
+        shouldThrowWithMessage<EOFException>("PNM raster is truncated: some-0000.ppm") {
+            image.toBufferedImage()
+        }
+        shouldThrowWithMessage<EOFException>("PNM raster is truncated: some-0000.ppm") {
+            image.getRow(0, null)
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+        "'GIF89a', Not a PNM image file: some-0000.ppm",
+        "'P7\n2 2\n255\n', Unsupported PNM format: P7",
+        "'P6\n0 2\n255\n', Invalid PNM header: some-0000.ppm",
+    )
+    fun `should throw exception when opening invalid pnm image file`(content: String, message: String, @TempDir tempDir: Path) {
+        // given
+        val imageFile = tempDir.resolve("some-0000.ppm").toFile().apply { writeText(content) }
+
+        // when then
+        shouldThrow<IOException> {
+            PdfImagesPnmImage.open(imageFile)
+        }.message shouldBe message
+    }
+
+    @Test
+    fun `should convert to string`(@TempDir tempDir: Path) {
+        // given
+        val imageFile = tempDir.resolve("some-0000.pbm").toFile().apply { writeBytes(getPnmBytes("P4")) }
+
+        // when then
+        PdfImagesPnmImage.open(imageFile).toString() shouldBe "PdfImagesPnmImage(imageFile=$imageFile, format=4, width=3, height=2, maxValue=1)"
+    }
+
+    private fun getPnmBytes(format: String): ByteArray = when (format) {
+        "P1" -> "P1\n# some comment\n3 2\n1 0 1\n010\n".toByteArray()
+        "P2" -> "P2\n3 2\n255\n0 128 255\n255 128 0\n".toByteArray()
+        "P3" -> "P3\n3 2\n255\n255 0 0  0 255 0  0 0 255\n0 0 0  128 128 128  255 255 255\n".toByteArray()
+        "P4" -> "P4\n3 2\n".toByteArray() + byteArrayOf(0b10100000.toByte(), 0b01000000)
+        "P5" -> "P5\n3 2\n255\n".toByteArray() + byteArrayOf(0, -128, -1, -1, -128, 0)
+        "P6" -> "P6\n3 2\n255\n".toByteArray() + byteArrayOf(-1, 0, 0, 0, -1, 0, 0, 0, -1, 0, 0, 0, -128, -128, -128, -1, -1, -1)
+        else -> throw IllegalArgumentException(format)
+    }
+
+    private fun getExpectedRows(format: String): List<List<Int>> = when (format) {
+        "P1", "P4" -> listOf(listOf(1, 0, 1), listOf(0, 1, 0))
+        "P2", "P5" -> listOf(listOf(0, 128, 255), listOf(255, 128, 0))
+        "P3", "P6" -> listOf(listOf(255, 0, 0, 0, 255, 0, 0, 0, 255), listOf(0, 0, 0, 128, 128, 128, 255, 255, 255))
+        else -> throw IllegalArgumentException(format)
+    }
+
+    private fun getExpectedPixels(format: String): List<Int> = when (format) {
+        "P4" -> listOf(0x000000, 0xFFFFFF, 0x000000, 0xFFFFFF, 0x000000, 0xFFFFFF)
+        "P5" -> listOf(0x000000, 0x808080, 0xFFFFFF, 0xFFFFFF, 0x808080, 0x000000)
+        "P6" -> listOf(0xFF0000, 0x00FF00, 0x0000FF, 0x000000, 0x808080, 0xFFFFFF)
+        else -> throw IllegalArgumentException(format)
+    }
+
+    private fun getPixels(image: BufferedImage): List<Int> {
+        // gray samples are compared as stored, since converting them to RGB alters their values
+        val gray = image.type == BufferedImage.TYPE_BYTE_GRAY
+        return (0 until image.height).flatMap { y ->
+            (0 until image.width).map { x -> if (gray) image.raster.getSample(x, y, 0) * 0x010101 else image.getRGB(x, y) and 0xFFFFFF }
+        }
+    }
+
+}
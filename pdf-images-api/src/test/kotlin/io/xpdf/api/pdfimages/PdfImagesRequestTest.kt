@@ -18,20 +18,47 @@ package io.xpdf.api.pdfimages
 
 import io.kotest.assertions.throwables.shouldThrow
 import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
+import io.xpdf.api.common.XpdfPdfSource
 import org.junit.jupiter.api.Test
 import java.io.File
+import java.nio.ByteBuffer
 import java.nio.file.Paths
 
 class PdfImagesRequestTest {
 
     @Test
-    fun `should throw exception when initializing if pdf file is null`() {
+    fun `should throw exception when initializing if pdf file and pdf source are null`() {
         // when then
         shouldThrow<NullPointerException> {
             PdfImagesRequest.builder().build()
         }
     }
 
+    @Test
+    fun `should throw exception when initializing if pdf file and pdf source are both provided`() {
+        // when then
+        shouldThrow<IllegalArgumentException> {
+            PdfImagesRequest.builder()
+                .pdfFile(File("some.pdf"))
+                .pdfSource(XpdfPdfSource.of(ByteBuffer.wrap("some pdf".toByteArray())))
+                .build()
+        }
+    }
+
+    @Test
+    fun `should initialize with pdf source`() {
+        // given
+        val pdfSource = XpdfPdfSource.of(ByteBuffer.wrap("some pdf".toByteArray()))
+
+        // when
+        val result = PdfImagesRequest.builder().pdfSource(pdfSource).build()
+
+        // then
+        result.pdfFile shouldBe null
+        result.pdfSource shouldBe pdfSource
+    }
+
     @Test
     fun `should convert to string`() {
         // given
@@ -41,7 +68,28 @@ class PdfImagesRequestTest {
             .build()
 
         // when then
-        request.toString() shouldBe "PdfImagesRequest(pdfFile=some.pdf, imageFilePathPrefix=some.path, options=null)"
+        request.toString() shouldBe "PdfImagesRequest(pdfFile=some.pdf, pdfSource=null, imageFilePathPrefix=some.path, options=null)"
+    }
+
+    @Test
+    fun `should be equal if same values`() {
+        // given
+        val request = PdfImagesRequest.builder().pdfFile(File("some.pdf")).options(PdfImagesOptions.builder().pageStart(1).build()).build()
+        val other = PdfImagesRequest.builder().pdfFile(File("some.pdf")).options(PdfImagesOptions.builder().pageStart(1).build()).build()
+
+        // when then
+        request shouldBe other
+        request.hashCode() shouldBe other.hashCode()
+    }
+
+    @Test
+    fun `should not be equal if different values`() {
+        // given
+        val request = PdfImagesRequest.builder().pdfFile(File("some.pdf")).build()
+        val other = PdfImagesRequest.builder().pdfFile(File("other.pdf")).build()
+
+        // when then
+        request shouldNotBe other
     }
 
 }
\ No newline at end of file
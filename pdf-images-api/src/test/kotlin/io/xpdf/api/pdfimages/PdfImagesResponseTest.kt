@@ -17,11 +17,88 @@
 package io.xpdf.api.pdfimages
 
 import io.kotest.matchers.shouldBe
+import io.xpdf.api.pdfimages.util.PdfImagesParser
 import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
 import java.io.File
+import java.nio.file.Path
 
 class PdfImagesResponseTest {
 
+    @Test
+    fun `should delete temporary image files when closed`(@TempDir tempDir: Path) {
+        // given
+        val imageFiles = listOf(
+            tempDir.resolve("some-000.ppm").toFile().apply { writeText("some image") },
+            tempDir.resolve("some-001.ppm").toFile().apply { writeText("other image") },
+        )
+        val response = PdfImagesResponse.builder()
+            .imageFiles(imageFiles)
+            .temporary(true)
+            .build()
+
+        // when
+        response.use { }
+
+        // then
+        imageFiles.none { it.exists() } shouldBe true
+    }
+
+    @Test
+    fun `should delete temporary directory when closed`(@TempDir tempDir: Path) {
+        // given
+        val temporaryDirectory = tempDir.resolve("some").toFile().apply { mkdirs() }
+        val imageFile = temporaryDirectory.resolve("image-0000.ppm").apply { writeText("some image") }
+        val response = PdfImagesResponse.builder()
+            .imageFiles(listOf(imageFile))
+            .temporary(true)
+            .temporaryDirectory(temporaryDirectory)
+            .build()
+
+        // when
+        response.close()
+
+        // then
+        temporaryDirectory.exists() shouldBe false
+    }
+
+    @Test
+    fun `should delete temporary directory once shared response is closed`(@TempDir tempDir: Path) {
+        // given
+        val temporaryDirectory = tempDir.resolve("some").toFile().apply { mkdirs() }
+        val imageFile = temporaryDirectory.resolve("image-0000.ppm").apply { writeText("some image") }
+        val response = PdfImagesResponse.builder()
+            .imageFiles(listOf(imageFile))
+            .temporary(true)
+            .temporaryDirectory(temporaryDirectory)
+            .build()
+        val handle = response.share() as PdfImagesResponse
+
+        // when
+        response.close()
+
+        // then
+        handle.imageFiles shouldBe listOf(imageFile)
+        temporaryDirectory.exists() shouldBe true
+        handle.close()
+        temporaryDirectory.exists() shouldBe false
+    }
+
+    @Test
+    fun `should not delete provided image files when closed`(@TempDir tempDir: Path) {
+        // given
+        val imageFile = tempDir.resolve("some-000.ppm").toFile().apply { writeText("some image") }
+        val response = PdfImagesResponse.builder()
+            .imageFiles(listOf(imageFile))
+            .build()
+
+        // when
+        response.close()
+
+        // then
+        imageFile.exists() shouldBe true
+    }
+
     @Test
     fun `should convert to string`() {
         // given
@@ -31,7 +108,37 @@ class PdfImagesResponseTest {
             .build()
 
         // when then
-        request.toString() shouldBe "PdfImagesResponse(imageFiles=[some1.jpg, some2.jpg], standardOutput=some standard output)"
+        request.toString() shouldBe "PdfImagesResponse(imageFiles=[some1.jpg, some2.jpg], temporary=false, temporaryDirectory=null, standardOutput=some standard output, listing=null)"
+    }
+
+    @Test
+    fun `should get page number of image file`() {
+        // given
+        val response = PdfImagesResponse.builder()
+            .imageFiles(listOf(File("out/some-0000.ppm"), File("out/some-0001.ppm")))
+            .listing(PdfImagesParser.parseListing("out/some-0000.ppm: page=1\nout/some-0001.ppm: page=4"))
+            .build()
+
+        // when then
+        response.getPageNumber(File("out/some-0000.ppm")) shouldBe 1
+        response.getPageNumber(File("out/some-0001.ppm")) shouldBe 4
+        response.getPageNumber(File("out/some-0002.ppm")) shouldBe null
+        response.getPageNumber(File("out/other-0001.ppm")) shouldBe null
+        response.getPageNumber(null) shouldBe null
+    }
+
+    @Test
+    fun `should not get page number of image file without listing`() {
+        // given
+        val response = PdfImagesResponse.builder()
+            .imageFiles(listOf(File("out/some-0000.ppm")))
+            .build()
+
+        // when
+        val result = response.getPageNumber(File("out/some-0000.ppm"))
+
+        // then
+        result shouldBe null
     }
 
 }
\ No newline at end of file
@@ -161,6 +161,15 @@ class PdfImagesToolCucumberSteps {
         response!!.standardOutput shouldContain Regex(pattern)
     }
 
+    @Then("the image listing should list {int} images on page {int}")
+    fun `the image listing should list IMAGE_COUNT images on page PAGE_NUMBER`(imageCount: Int, pageNumber: Int) {
+        response!!.listing.imageCount shouldBe imageCount
+        response!!.imageFiles shouldHaveSize imageCount
+        response!!.imageFiles.forEach {
+            response!!.getPageNumber(it) shouldBe pageNumber
+        }
+    }
+
     @Then("the XpdfException should be an {word}")
     fun `the XpdfException should be an XPDF_EXCEPTION_NAME`(xpdfExceptionName: String) {
         exception!!::class.java shouldBe Class.forName("io.xpdf.api.common.exception.${xpdfExceptionName}")
@@ -20,32 +20,51 @@ import io.kotest.assertions.throwables.shouldNotThrow
 import io.kotest.assertions.throwables.shouldThrow
 import io.kotest.assertions.throwables.shouldThrowWithMessage
 import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.collections.shouldContain
 import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.collections.shouldContainExactlyInAnyOrder
+import io.kotest.matchers.collections.shouldNotContain
 import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
 import io.kotest.matchers.string.shouldContain
 import io.kotest.matchers.string.shouldMatch
+import io.kotest.matchers.types.shouldBeInstanceOf
 import io.mockk.*
+import io.xpdf.api.common.XpdfExecutableManager
+import io.xpdf.api.common.XpdfOutputDirectory
+import io.xpdf.api.common.XpdfPdfSource
+import io.xpdf.api.common.XpdfPdfStager
+import io.xpdf.api.common.XpdfProcessExecutor
+import io.xpdf.api.common.XpdfResultCache
+import io.xpdf.api.common.XpdfTempFileJanitor
 import io.xpdf.api.common.exception.*
 import io.xpdf.api.common.util.XpdfUtils
 import io.xpdf.api.pdfimages.options.PdfImagesFileFormat
+import io.xpdf.api.pdfimages.util.PdfImagesParser
 import io.xpdf.api.pdfimages.util.PdfImagesUtils
 import org.apache.commons.io.FileUtils
-import org.apache.commons.io.IOUtils
 import org.junit.jupiter.api.AfterAll
 import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.extension.ExtendWith
+import org.junit.jupiter.api.io.TempDir
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.CsvSource
 import org.springframework.boot.test.system.CapturedOutput
 import org.springframework.boot.test.system.OutputCaptureExtension
 import java.io.ByteArrayInputStream
 import java.io.File
-import java.io.FilenameFilter
 import java.io.IOException
-import java.nio.charset.Charset
+import java.nio.ByteBuffer
 import java.nio.file.Path
+import java.nio.file.StandardWatchEventKinds
+import java.nio.file.WatchEvent
+import java.nio.file.WatchKey
+import java.nio.file.WatchService
 import java.util.*
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 import java.util.UUID.randomUUID
 
 @ExtendWith(OutputCaptureExtension::class)
@@ -67,307 +86,1016 @@ class PdfImagesToolTest {
     }
 
     @Test
-    fun `should initialize and copy executable to local system`() {
+    fun `should initialize and extract executable to local system`() {
+        // given
+        val executableFile = mockk<File>()
+
+        mockkStatic(XpdfExecutableManager::class)
+        every { XpdfExecutableManager.getExecutableFile(any(), PdfImagesUtils.getPdfImagesExecutableResourceName(), PdfImagesUtils.getPdfImagesExecutablePath()) } returns executableFile
+
+        // when
+        val result = PdfImagesTool.builder().build()
+
+        // then
+        result.executableFile shouldBe executableFile
+    }
+
+    @Test
+    fun `should initialize and reuse extracted executable`() {
+        // when
+        val result = PdfImagesTool.builder().build()
+
+        // then
+        result.executableFile shouldBe PdfImagesTool.builder().build().executableFile
+        result.executableFile.canExecute() shouldBe true
+        result.executableFile.parentFile.parentFile shouldBe PdfImagesUtils.getPdfImagesExecutablePath().parent.toFile().canonicalFile
+    }
+
+    @Test
+    fun `should initialize with executable`() {
+        // given
+        val executableFile = mockk<File> {
+            every { exists() } returns true
+            every { canExecute() } returns false
+            every { setExecutable(any()) } returns true
+        }
+
+        // when
+        val result = PdfImagesTool.builder().executableFile(executableFile).build()
+
+        // then
+        result.executableFile shouldBe executableFile
+    }
+
+    @Test
+    fun `should initialize with executable and not set execute permission if already executable`() {
+        // given
+        val executableFile = mockk<File> {
+            every { exists() } returns true
+            every { canExecute() } returns true
+        }
+
+        // when
+        val result = PdfImagesTool.builder().executableFile(executableFile).build()
+
+        // then
+        result.executableFile shouldBe executableFile
+        verify(exactly = 0) { executableFile.setExecutable(any()) }
+    }
+
+    @Test
+    fun `should throw exception when initializing if unable to get executable resource stream`() {
         // given
         mockkStatic(PdfImagesUtils::class)
-        every { PdfImagesUtils.getPdfImagesExecutablePath().toFile() } returns mockk {
+        every { PdfImagesUtils.getPdfImagesExecutableResourceName() } returns "notexists"
+
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("Unable to locate executable in project resources") {
+            PdfImagesTool.builder().build()
+        }
+    }
+
+    @Test
+    fun `should throw exception when initializing with executable that does not exist`() {
+        // given
+        val executableFile = mockk<File> {
             every { exists() } returns false
-            every { setExecutable(any()) } returns true
         }
 
-        mockkStatic(FileUtils::class)
-        every { FileUtils.copyInputStreamToFile(any(), any()) } just runs
-
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("The configured executable does not exist") {
+            PdfImagesTool.builder().executableFile(executableFile).build()
+        }
+    }
+
+    @Test
+    fun `should throw exception when initializing with executable if unable to set execute permission`() {
+        // given
+        val executableFile = mockk<File> {
+            every { exists() } returns true
+            every { canExecute() } returns false
+            every { setExecutable(any()) } returns false
+        }
+
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("Unable to set execute permissions on executable") {
+            PdfImagesTool.builder().executableFile(executableFile).build()
+        }
+    }
+
+    @Test
+    fun `should initialize and get timeout from xpdf utils`() {
+        // given
+        mockkStatic(PdfImagesUtils::class)
+        every { PdfImagesUtils.getPdfImagesTimeoutSeconds() } returns 99
+
+        // when
+        val result = PdfImagesTool.builder().build()
+
+        // then
+        result.timeoutSeconds shouldBe 99
+    }
+
+    @Test
+    fun `should initialize with timeout`() {
+        // when
+        val result = PdfImagesTool.builder().timeoutSeconds(99).build()
+
+        // then
+        result.timeoutSeconds shouldBe 99
+    }
+
+    @Test
+    fun `should initialize with default process executor`() {
+        // when
+        val result = PdfImagesTool.builder().build()
+
+        // then
+        result.processExecutor shouldBe XpdfProcessExecutor.getDefaultInstance()
+    }
+
+    @Test
+    fun `should initialize with process executor`() {
+        // given
+        val processExecutor = XpdfProcessExecutor.builder().build()
+
+        // when
+        val result = PdfImagesTool.builder().processExecutor(processExecutor).build()
+
+        // then
+        result.processExecutor shouldBe processExecutor
+    }
+
+    @Test
+    fun `should initialize with result cache`(@TempDir tempDir: Path) {
+        // given
+        val resultCache = XpdfResultCache.builder().directory(tempDir.toFile()).build()
+
+        // when
+        val result = PdfImagesTool.builder().resultCache(resultCache).build()
+
+        // then
+        result.resultCache shouldBe resultCache
+    }
+
+    @Test
+    fun `should initialize with default temp file janitor`() {
+        // when
+        val result = PdfImagesTool.builder().build()
+
+        // then
+        result.tempFileJanitor shouldBe XpdfTempFileJanitor.getDefaultInstance()
+        result.tempFileJanitor.directories shouldContain PdfImagesUtils.getPdfImagesTempOutputPath()
+    }
+
+    @Test
+    fun `should initialize with default output directory`() {
+        // when
+        val result = PdfImagesTool.builder().build()
+
+        // then
+        result.outputDirectory.directory shouldBe PdfImagesUtils.getPdfImagesTempOutputPath()
+        result.outputDirectory.ramDiskDirectory shouldBe null
+    }
+
+    @Test
+    fun `should initialize with output directory and register its directories with temp file janitor`(@TempDir tempDir: Path) {
+        // given
+        val outputDirectory = XpdfOutputDirectory.builder()
+            .directory(tempDir.resolve("disk"))
+            .ramDiskDirectory(tempDir.resolve("ram"))
+            .build()
+        val tempFileJanitor = XpdfTempFileJanitor.builder().build()
+
+        // when
+        val result = PdfImagesTool.builder().outputDirectory(outputDirectory).tempFileJanitor(tempFileJanitor).build()
+
+        // then
+        result.outputDirectory shouldBe outputDirectory
+        result.tempFileJanitor.directories shouldContainExactlyInAnyOrder listOf(tempDir.resolve("disk"), tempDir.resolve("ram"))
+    }
+
+    @Test
+    fun `should initialize with temp file janitor`() {
+        // given
+        val tempFileJanitor = XpdfTempFileJanitor.builder().build()
+
+        // when
+        val result = PdfImagesTool.builder().tempFileJanitor(tempFileJanitor).build()
+
+        // then
+        result.tempFileJanitor shouldBe tempFileJanitor
+        result.tempFileJanitor.directories shouldContainExactly listOf(PdfImagesUtils.getPdfImagesTempOutputPath())
+    }
+
+    @Test
+    fun `should process`(capturedOutput: CapturedOutput) {
+        // given
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns standardOutputStream
+            every { errorStream } returns errorOutputStream
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val imageFiles = listOf(File("some1.jpg"), File("some2.jpg"))
+
+        val pdfImagesToolSpy = spyk(pdfImagesTool) {
+            every { validate(any()) } just runs
+            every { initializeImageFilePathPrefix(any()) } returns mockk(relaxed = true)
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
+            every { getImageFilesMatchingPathPrefix(any()) } returns imageFiles
+        }
+
+        // when
+        val result = pdfImagesToolSpy.process(mockk(relaxed = true) { every { getImageFilePathPrefix() } returns null })
+
+        // then
+        result.imageFiles shouldBe imageFiles
+        result.isTemporary shouldBe true
+        result.standardOutput shouldBe "standardOutput"
+
+        capturedOutput.all shouldContain "Process starting"
+        capturedOutput.all shouldContain "Validating request"
+        capturedOutput.all shouldContain "Configuring output image file path prefix"
+        capturedOutput.all shouldContain "Building command"
+        capturedOutput.all shouldContain "Invoking executable; command: [part1, part2, part3]"
+        capturedOutput.all shouldContain "Invocation completed; exit code: 0, standard output: standardOutput"
+        capturedOutput.all shouldContain "Invocation succeeded"
+        capturedOutput.all shouldContain "Process finished"
+    }
+
+    @Test
+    fun `should process with listing`(capturedOutput: CapturedOutput) {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("out/some-0000.ppm: page=2 width=10\nout/some-0001.ppm: page=5 width=20".toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns false
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val imageFiles = listOf(File("out/some-0000.ppm"), File("out/some-0001.ppm"))
+
+        val pdfImagesToolSpy = spyk(pdfImagesTool) {
+            every { validate(any()) } just runs
+            every { initializeImageFilePathPrefix(any()) } returns mockk(relaxed = true)
+            every { getCommandParts(any(), any()) } returns listOf("part1", "-list", "part3")
+            every { getImageFilesMatchingPathPrefix(any()) } returns imageFiles
+        }
+        val request = mockk<PdfImagesRequest>(relaxed = true) {
+            every { getImageFilePathPrefix() } returns null
+            every { getOptions() } returns PdfImagesOptions.builder().metadataIncluded(true).build()
+        }
+
+        // when
+        val result = pdfImagesToolSpy.process(request)
+
+        // then
+        result.imageFiles shouldBe imageFiles
+        result.standardOutput shouldBe "out/some-0000.ppm: page=2 width=10\nout/some-0001.ppm: page=5 width=20"
+        result.listing.imageCount shouldBe 2
+        result.listing.getWidth(1) shouldBe 20
+        result.getPageNumber(imageFiles[0]) shouldBe 2
+        result.getPageNumber(imageFiles[1]) shouldBe 5
+
+        capturedOutput.all shouldContain "Invocation succeeded"
+    }
+
+    @Test
+    fun `should process from cache`(@TempDir tempDir: Path, capturedOutput: CapturedOutput) {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } answers {
+            tempDir.resolve("first-000.ppm").toFile().writeText("some image")
+            tempDir.resolve("first-001.ppm").toFile().writeText("other image")
+            mockk {
+                every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+                every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+                every { waitFor(any(), any()) } returns true
+                every { exitValue() } returns 0
+                every { destroy() } just runs
+            }
+        }
+
+        val resultCache = XpdfResultCache.builder().directory(tempDir.resolve("cache").toFile()).build()
+        val pdfImagesToolSpy = spyk(PdfImagesTool.builder().resultCache(resultCache).build()) {
+            every { validate(any()) } just runs
+            every { initializeImageFilePathPrefix(any()) } returnsMany listOf(tempDir.resolve("first"), tempDir.resolve("second"))
+            every { getCacheKey(any()) } returns "some-key"
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
+        }
+        pdfImagesToolSpy.process(mockk(relaxed = true))
+
+        // when
+        val result = pdfImagesToolSpy.process(mockk(relaxed = true))
+
+        // then
+        result.imageFiles.map { it.name }.sorted() shouldContainExactly listOf("second-000.ppm", "second-001.ppm")
+        tempDir.resolve("second-001.ppm").toFile().readText() shouldBe "other image"
+        resultCache.entryCount shouldBe 1
+
+        verify(exactly = 1) { anyConstructed<ProcessBuilder>().start() }
+
+        capturedOutput.all shouldContain "Cache missed; key: some-key"
+        capturedOutput.all shouldContain "Cache hit; key: some-key"
+    }
+
+    @Test
+    fun `should not get cache key when metadata included`(@TempDir tempDir: Path) {
+        // given
+        val resultCache = XpdfResultCache.builder().directory(tempDir.toFile()).build()
+        val request = PdfImagesRequest.builder()
+            .pdfFile(tempDir.resolve("some.pdf").toFile().apply { writeText("some content") })
+            .options(PdfImagesOptions.builder().metadataIncluded(true).build())
+            .build()
+
+        // when
+        val result = PdfImagesTool.builder().resultCache(resultCache).build().getCacheKey(request)
+
+        // then
+        result shouldBe null
+    }
+
+    @Test
+    fun `should get cache key apart when png converter configured`(@TempDir tempDir: Path) {
+        // given
+        val resultCache = XpdfResultCache.builder().directory(tempDir.toFile()).build()
+        val request = PdfImagesRequest.builder()
+            .pdfFile(tempDir.resolve("some.pdf").toFile().apply { writeText("some content") })
+            .build()
+
+        // when
+        val result = PdfImagesTool.builder().resultCache(resultCache).build().getCacheKey(request)
+        val convertedResult = PdfImagesTool.builder().resultCache(resultCache).pngConverter(PdfImagesPngConverter.builder().build()).build().getCacheKey(request)
+
+        // then
+        result shouldNotBe null
+        convertedResult shouldNotBe null
+        convertedResult shouldNotBe result
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+            "1, Error opening the PDF file",
+            "2, Error opening the output file",
+            "3, Error related to PDF permissions",
+            "99, Other Xpdf error",
+            "69, Unknown Xpdf error",
+    )
+    fun `should throw exception when processing if non-zero exit code`(exitCode: Int,
+                                                                       message: String,
+                                                                       capturedOutput: CapturedOutput) {
+        // given
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns standardOutputStream
+            every { errorStream } returns errorOutputStream
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns exitCode
+            every { destroy() } just runs
+        }
+
+        val pdfImagesToolSpy = spyk(pdfImagesTool) {
+            every { validate(any()) } just runs
+            every { initializeImageFilePathPrefix(any()) } returns mockk(relaxed = true)
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
+        }
+
+        // when then
+        val exception = shouldThrowWithMessage<XpdfExecutionException>(message) {
+            pdfImagesToolSpy.process(mockk(relaxed = true))
+        }
+        exception.standardOutput shouldBe "standardOutput"
+        exception.errorOutput shouldBe "errorOutput"
+
+        capturedOutput.all shouldContain "Process starting"
+        capturedOutput.all shouldContain "Validating request"
+        capturedOutput.all shouldContain "Configuring output image file path prefix"
+        capturedOutput.all shouldContain "Building command"
+        capturedOutput.all shouldContain "Invoking executable; command: [part1, part2, part3]"
+        capturedOutput.all shouldContain "Invocation completed; exit code: ${exitCode}, standard output: standardOutput"
+        capturedOutput.all shouldContain "Invocation failed; error output: errorOutput"
+        capturedOutput.all shouldContain "Process failed; exception message: $message"
+        capturedOutput.all shouldContain "Process finished"
+    }
+
+    @Test
+    fun `should throw exception when processing if timout`(capturedOutput: CapturedOutput) {
+        // given
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns standardOutputStream
+            every { errorStream } returns errorOutputStream
+            every { waitFor(any(), any()) } returns false
+            every { destroy() } just runs
+        }
+
+        val pdfImagesToolSpy = spyk(PdfImagesTool.builder().timeoutSeconds(0).build()) {
+            every { validate(any()) } just runs
+            every { initializeImageFilePathPrefix(any()) } returns mockk(relaxed = true)
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
+        }
+
+        // when then
+        shouldThrowWithMessage<XpdfTimeoutException>("Timeout reached before process could finish") {
+            pdfImagesToolSpy.process(mockk(relaxed = true))
+        }
+
+        capturedOutput.all shouldContain "Process starting"
+        capturedOutput.all shouldContain "Validating request"
+        capturedOutput.all shouldContain "Configuring output image file path prefix"
+        capturedOutput.all shouldContain "Building command"
+        capturedOutput.all shouldContain "Invoking executable; command: [part1, part2, part3]"
+        capturedOutput.all shouldContain "Invocation timed out"
+        capturedOutput.all shouldContain "Process failed; exception message: Timeout reached before process could finish"
+        capturedOutput.all shouldContain "Process finished"
+    }
+
+    @Test
+    fun `should throw exception when processing if caught non-xpdf exception`(capturedOutput: CapturedOutput) {
+        // given
+        val pdfImagesToolSpy = spyk(pdfImagesTool) {
+            every { validate(any()) } throws Exception("some message")
+        }
+
+        // when then
+        shouldThrow<XpdfProcessingException> {
+            pdfImagesToolSpy.process(mockk(relaxed = true))
+        }
+
+        capturedOutput.all shouldContain "Process starting"
+        capturedOutput.all shouldContain "Validating request"
+        capturedOutput.all shouldContain "Process failed; exception message: some message"
+        capturedOutput.all shouldContain "Process finished"
+    }
+
+    @Test
+    fun `should process async`(capturedOutput: CapturedOutput) {
+        // given
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns standardOutputStream
+            every { errorStream } returns errorOutputStream
+            every { isAlive } returns false
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val imageFiles = listOf(File("some1.jpg"), File("some2.jpg"))
+
+        val pdfImagesToolSpy = spyk(pdfImagesTool) {
+            every { validate(any()) } just runs
+            every { initializeImageFilePathPrefix(any()) } returns mockk(relaxed = true)
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
+            every { getImageFilesMatchingPathPrefix(any()) } returns imageFiles
+        }
+
+        // when
+        val result = pdfImagesToolSpy.processAsync(mockk(relaxed = true)).get(5, TimeUnit.SECONDS)
+
+        // then
+        result.imageFiles shouldBe imageFiles
+        result.standardOutput shouldBe "standardOutput"
+
+        capturedOutput.all shouldContain "Async process starting"
+        capturedOutput.all shouldContain "Invoking executable; command: [part1, part2, part3]"
+        capturedOutput.all shouldContain "Invocation succeeded"
+    }
+
+    @Test
+    fun `should process async with listing`() {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("out/some-0000.ppm: page=3 width=10".toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns false
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val imageFiles = listOf(File("out/some-0000.ppm"))
+
+        val pdfImagesToolSpy = spyk(pdfImagesTool) {
+            every { validate(any()) } just runs
+            every { initializeImageFilePathPrefix(any()) } returns mockk(relaxed = true)
+            every { getCommandParts(any(), any()) } returns listOf("part1", "-list", "part3")
+            every { getImageFilesMatchingPathPrefix(any()) } returns imageFiles
+        }
+        val request = mockk<PdfImagesRequest>(relaxed = true) {
+            every { getOptions() } returns PdfImagesOptions.builder().metadataIncluded(true).build()
+        }
+
+        // when
+        val result = pdfImagesToolSpy.processAsync(request).get(5, TimeUnit.SECONDS)
+
+        // then
+        result.standardOutput shouldBe "out/some-0000.ppm: page=3 width=10"
+        result.listing.imageCount shouldBe 1
+        result.getPageNumber(imageFiles[0]) shouldBe 3
+    }
+
+    @Test
+    fun `should process with image listener`(@TempDir tempDir: Path, capturedOutput: CapturedOutput) {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("standardOutput".toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns false
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        listOf("some-0001.ppm", "some-0000.ppm").forEach { tempDir.resolve(it).toFile().writeText("some image") }
+
+        val pdfImagesToolSpy = spyk(pdfImagesTool) {
+            every { validate(any()) } just runs
+            every { initializeImageFilePathPrefix(any()) } returns tempDir.resolve("some")
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
+        }
+
+        val deliveredImageFiles = mutableListOf<File>()
+
+        // when
+        val result = pdfImagesToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null }) { deliveredImageFiles.add(it) }
+
+        // then
+        deliveredImageFiles.map { it.name } shouldContainExactly listOf("some-0000.ppm", "some-0001.ppm")
+        result.imageFiles shouldContainExactly deliveredImageFiles
+        result.standardOutput shouldBe "standardOutput"
+
+        capturedOutput.all shouldContain "Stream process starting"
+        capturedOutput.all shouldContain "Invoking executable; command: [part1, part2, part3]"
+        capturedOutput.all shouldContain "Delivering remaining image files"
+        capturedOutput.all shouldContain "Stream process finished"
+    }
+
+    @Test
+    fun `should throw exception when processing with image listener if image listener is null`() {
+        // given
+        val pdfImagesToolSpy = spyk(pdfImagesTool) {
+            every { validate(any()) } just runs
+        }
+
+        // when then
+        shouldThrowWithMessage<XpdfValidationException>("ImageListener cannot be null") {
+            pdfImagesToolSpy.process(mockk(relaxed = true), null as PdfImagesImageListener?)
+        }
+    }
+
+    @Test
+    fun `should throw exception when processing with image listener if image listener fails`(@TempDir tempDir: Path) {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns false
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        tempDir.resolve("some-0000.ppm").toFile().writeText("some image")
+
+        val pdfImagesToolSpy = spyk(pdfImagesTool) {
+            every { validate(any()) } just runs
+            every { initializeImageFilePathPrefix(any()) } returns tempDir.resolve("some")
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
+        }
+
         // when
-        PdfImagesTool.builder().build()
+        val exception = shouldThrow<XpdfProcessingException> {
+            pdfImagesToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null }) { throw IOException("some message") }
+        }
 
         // then
-        verify { FileUtils.copyInputStreamToFile(any(), any()) }
+        exception.cause.shouldBeInstanceOf<IOException>()
     }
 
     @Test
-    fun `should initialize and not copy executable to local system`() {
+    fun `should destroy process when processing with image listener if image listener fails`(@TempDir tempDir: Path) {
         // given
-        mockkStatic(PdfImagesUtils::class)
-        every { PdfImagesUtils.getPdfImagesExecutablePath().toFile() } returns mockk {
-            every { exists() } returns true
-            every { setExecutable(any()) } returns true
+        val process = mockk<Process>(relaxed = true) {
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns true
+        }
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } answers {
+            listOf("some-0000.ppm", "some-0001.ppm").forEach { tempDir.resolve(it).toFile().writeText("some image") }
+            process
         }
 
-        mockkStatic(FileUtils::class)
+        val pdfImagesToolSpy = spyk(pdfImagesTool) {
+            every { validate(any()) } just runs
+            every { initializeImageFilePathPrefix(any()) } returns tempDir.resolve("some")
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
+        }
 
         // when
-        PdfImagesTool.builder().build()
+        shouldThrow<XpdfProcessingException> {
+            pdfImagesToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null }) { throw IOException("some message") }
+        }
 
         // then
-        verify(exactly = 0) { FileUtils.copyInputStreamToFile(any(), any()) }
+        verify(timeout = 5000) { process.destroy() }
     }
 
     @Test
-    fun `should initialize with executable`() {
+    fun `should deliver created image files once next image file is created`(@TempDir tempDir: Path) {
         // given
-        val executableFile = mockk<File> {
-            every { exists() } returns true
-            every { setExecutable(any()) } returns true
-        }
+        val watchService = tempDir.fileSystem.newWatchService()
+        tempDir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE)
+        listOf("some-0000.ppm", "other-0001.ppm", "some-0001.ppm", "some-0002.ppm").forEach { tempDir.resolve(it).toFile().writeText("some image") }
+        val createdImageFiles = TreeMap<Int, File>()
+        val deliveredImageFiles = mutableListOf<String>()
 
         // when
-        val result = PdfImagesTool.builder().executableFile(executableFile).build()
+        var result = 0
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+        while (deliveredImageFiles.size < 2 && System.nanoTime() < deadline) {
+            result = pdfImagesTool.deliverCreatedImageFiles(watchService, tempDir.resolve("some"), createdImageFiles, 0) { deliveredImageFiles.add(it.name) }
+            Thread.sleep(10)
+        }
+        watchService.close()
 
         // then
-        result.executableFile shouldBe executableFile
+        result shouldBe 2
+        deliveredImageFiles shouldContainExactly listOf("some-0000.ppm", "some-0001.ppm")
+        createdImageFiles.keys shouldContainExactly listOf(2)
     }
 
     @Test
-    fun `should throw exception when initializing if unable to get executable resource stream`() {
+    fun `should list image files when delivering created image files if events overflow`(@TempDir tempDir: Path) {
         // given
-        mockkStatic(PdfImagesUtils::class)
-        every { PdfImagesUtils.getPdfImagesExecutablePath().toFile() } returns mockk {
-            every { exists() } returns false
-            every { setExecutable(any()) } returns true
+        listOf("some-0000.ppm", "some-0001.ppm", "some-0002.ppm").forEach { tempDir.resolve(it).toFile().writeText("some image") }
+        val watchKey = mockk<WatchKey> {
+            every { pollEvents() } returns listOf(mockk<WatchEvent<Any>> { every { kind() } returns StandardWatchEventKinds.OVERFLOW })
+            every { reset() } returns true
         }
-        every { PdfImagesUtils.getPdfImagesExecutableResourceName() } returns "notexists"
-
-        // when then
-        shouldThrowWithMessage<XpdfRuntimeException>("Unable to locate executable in project resources") {
-            PdfImagesTool.builder().build()
+        val watchService = mockk<WatchService> {
+            every { poll() } returnsMany listOf(watchKey, null)
         }
+        val deliveredImageFiles = mutableListOf<String>()
+
+        // when
+        val result = pdfImagesTool.deliverCreatedImageFiles(watchService, tempDir.resolve("some"), TreeMap(), 1) { deliveredImageFiles.add(it.name) }
+
+        // then
+        result shouldBe 2
+        deliveredImageFiles shouldContainExactly listOf("some-0001.ppm")
     }
 
     @Test
-    fun `should throw exception when initializing if unable to copy executable to local system`() {
+    fun `should deliver image files once next image file appears`(@TempDir tempDir: Path) {
         // given
-        mockkStatic(PdfImagesUtils::class)
-        every { PdfImagesUtils.getPdfImagesExecutablePath().toFile() } returns mockk {
-            every { exists() } returns false
-            every { setExecutable(any()) } returns true
-        }
+        listOf("some-0000.ppm", "some-0001.ppm", "some-0002.ppm").forEach { tempDir.resolve(it).toFile().writeText("some image") }
+        val deliveredImageFiles = mutableListOf<String>()
 
-        mockkStatic(FileUtils::class)
-        every { FileUtils.copyInputStreamToFile(any(), any()) } throws IOException()
+        // when
+        val firstResult = pdfImagesTool.deliverImageFiles(tempDir.resolve("some"), 1, false) { deliveredImageFiles.add(it.name) }
+        val secondResult = pdfImagesTool.deliverImageFiles(tempDir.resolve("some"), firstResult, true) { deliveredImageFiles.add(it.name) }
 
-        // when then
-        shouldThrowWithMessage<XpdfRuntimeException>("Unable to copy executable from resources to local system") {
-            PdfImagesTool.builder().build()
-        }
+        // then
+        firstResult shouldBe 2
+        secondResult shouldBe 3
+        deliveredImageFiles shouldContainExactly listOf("some-0001.ppm", "some-0002.ppm")
     }
 
     @Test
-    fun `should throw exception when initializing if unable to set execute permission`() {
+    fun `should process with png converter`(@TempDir tempDir: Path) {
         // given
-        mockkStatic(PdfImagesUtils::class)
-        every { PdfImagesUtils.getPdfImagesExecutablePath().toFile() } returns mockk {
-            every { exists() } returns true
-            every { setExecutable(any()) } returns false
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
+            every { destroy() } just runs
         }
 
-        // when then
-        shouldThrowWithMessage<XpdfRuntimeException>("Unable to set execute permissions on executable") {
-            PdfImagesTool.builder().build()
+        tempDir.resolve("some-0000.ppm").toFile().writeBytes("P6\n1 1\n255\n".toByteArray() + byteArrayOf(1, 2, 3))
+        tempDir.resolve("some-0001.jpg").toFile().writeText("some image")
+
+        val pdfImagesToolSpy = spyk(PdfImagesTool.builder().pngConverter(PdfImagesPngConverter.builder().build()).build()) {
+            every { validate(any()) } just runs
+            every { initializeImageFilePathPrefix(any()) } returns tempDir.resolve("some")
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
         }
+
+        // when
+        val result = pdfImagesToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null })
+
+        // then
+        result.imageFiles.map { it.name } shouldContainExactly listOf("some-0000.png", "some-0001.jpg")
+        tempDir.resolve("some-0000.ppm").toFile().exists() shouldBe false
     }
 
     @Test
-    fun `should throw exception when initializing with executable that does not exist`() {
+    fun `should process async with png converter`(@TempDir tempDir: Path) {
         // given
-        val executableFile = mockk<File> {
-            every { exists() } returns false
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns false
+            every { exitValue() } returns 0
+            every { destroy() } just runs
         }
 
-        // when then
-        shouldThrowWithMessage<XpdfRuntimeException>("The configured executable does not exist") {
-            PdfImagesTool.builder().executableFile(executableFile).build()
+        tempDir.resolve("some-0000.pgm").toFile().writeBytes("P5\n1 1\n255\n".toByteArray() + byteArrayOf(1))
+
+        val pdfImagesToolSpy = spyk(PdfImagesTool.builder().pngConverter(PdfImagesPngConverter.builder().build()).build()) {
+            every { validate(any()) } just runs
+            every { initializeImageFilePathPrefix(any()) } returns tempDir.resolve("some")
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
         }
+
+        // when
+        val result = pdfImagesToolSpy.processAsync(mockk(relaxed = true) { every { getOptions() } returns null }).get(5, TimeUnit.SECONDS)
+
+        // then
+        result.imageFiles.map { it.name } shouldContainExactly listOf("some-0000.png")
     }
 
     @Test
-    fun `should throw exception when initializing with executable if unable to set execute permission`() {
+    fun `should convert image files while processing with png converter`(@TempDir tempDir: Path) {
         // given
-        val executableFile = mockk<File> {
-            every { exists() } returns true
-            every { setExecutable(any()) } returns false
+        val ppmFile = tempDir.resolve("some-0000.ppm").toFile()
+        val pngFile = tempDir.resolve("some-0000.png").toFile()
+        var convertedWhileRunning = false
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } answers {
+            ppmFile.writeBytes("P6\n1 1\n255\n".toByteArray() + byteArrayOf(1, 2, 3))
+            tempDir.resolve("some-0001.ppm").toFile().writeBytes("P6\n1 1\n255\n".toByteArray() + byteArrayOf(4, 5, 6))
+            mockk {
+                every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+                every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+                every { waitFor(any(), any()) } answers {
+                    val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+                    while (ppmFile.exists() && System.nanoTime() < deadline) {
+                        Thread.sleep(10)
+                    }
+                    convertedWhileRunning = pngFile.exists() && !ppmFile.exists()
+                    true
+                }
+                every { exitValue() } returns 0
+                every { destroy() } just runs
+            }
         }
 
-        // when then
-        shouldThrowWithMessage<XpdfRuntimeException>("Unable to set execute permissions on executable") {
-            PdfImagesTool.builder().executableFile(executableFile).build()
+        val pdfImagesToolSpy = spyk(PdfImagesTool.builder().pngConverter(PdfImagesPngConverter.builder().build()).build()) {
+            every { validate(any()) } just runs
+            every { initializeImageFilePathPrefix(any()) } returns tempDir.resolve("some")
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
         }
+
+        // when
+        val result = pdfImagesToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null })
+
+        // then
+        convertedWhileRunning shouldBe true
+        result.imageFiles.map { it.name } shouldContainExactly listOf("some-0000.png", "some-0001.png")
+        tempDir.resolve("some-0001.ppm").toFile().exists() shouldBe false
     }
 
     @Test
-    fun `should initialize and get timeout from xpdf utils`() {
+    fun `should convert image files while processing async with png converter`(@TempDir tempDir: Path) {
         // given
-        mockkStatic(PdfImagesUtils::class)
-        every { PdfImagesUtils.getPdfImagesTimeoutSeconds() } returns 99
+        val pgmFile = tempDir.resolve("some-0000.pgm").toFile()
+        val pngFile = tempDir.resolve("some-0000.png").toFile()
+        var convertedWhileRunning = false
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } answers {
+            pgmFile.writeBytes("P5\n1 1\n255\n".toByteArray() + byteArrayOf(1))
+            tempDir.resolve("some-0001.pgm").toFile().writeBytes("P5\n1 1\n255\n".toByteArray() + byteArrayOf(2))
+            mockk {
+                every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+                every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+                every { isAlive } answers {
+                    convertedWhileRunning = pngFile.exists() && !pgmFile.exists()
+                    !convertedWhileRunning && System.nanoTime() < deadline
+                }
+                every { exitValue() } returns 0
+                every { destroy() } just runs
+            }
+        }
+
+        val pdfImagesToolSpy = spyk(PdfImagesTool.builder().pngConverter(PdfImagesPngConverter.builder().build()).build()) {
+            every { validate(any()) } just runs
+            every { initializeImageFilePathPrefix(any()) } returns tempDir.resolve("some")
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
+        }
 
         // when
-        val result = PdfImagesTool.builder().build()
+        val result = pdfImagesToolSpy.processAsync(mockk(relaxed = true) { every { getOptions() } returns null }).get(10, TimeUnit.SECONDS)
 
         // then
-        result.timeoutSeconds shouldBe 99
+        convertedWhileRunning shouldBe true
+        result.imageFiles.map { it.name } shouldContainExactly listOf("some-0000.png", "some-0001.png")
+        tempDir.resolve("some-0001.pgm").toFile().exists() shouldBe false
     }
 
     @Test
-    fun `should initialize with timeout`() {
+    fun `should not convert image files on watcher thread when processing with png converter if queue is full`(@TempDir tempDir: Path) {
+        // given
+        val ppmFile = tempDir.resolve("some-0000.ppm").toFile()
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } answers {
+            ppmFile.writeBytes("P6\n1 1\n255\n".toByteArray() + byteArrayOf(1, 2, 3))
+            tempDir.resolve("some-0001.ppm").toFile().writeBytes("P6\n1 1\n255\n".toByteArray() + byteArrayOf(4, 5, 6))
+            mockk {
+                every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+                every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+                every { waitFor(any(), any()) } answers {
+                    val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+                    while (ppmFile.exists() && System.nanoTime() < deadline) {
+                        Thread.sleep(10)
+                    }
+                    true
+                }
+                every { exitValue() } returns 0
+                every { destroy() } just runs
+            }
+        }
+
+        val rejectedConversions = AtomicInteger(3)
+        val convertingThreads = Collections.synchronizedList(mutableListOf<String>())
+        val pngConverterSpy = spyk(PdfImagesPngConverter.builder().build()) {
+            every { tryConvertAsync(any()) } answers {
+                if (rejectedConversions.getAndDecrement() > 0) null else callOriginal()
+            }
+            every { convert(any<File>()) } answers {
+                convertingThreads.add(Thread.currentThread().name)
+                callOriginal()
+            }
+        }
+        val pdfImagesToolSpy = spyk(PdfImagesTool.builder().pngConverter(pngConverterSpy).build()) {
+            every { validate(any()) } just runs
+            every { initializeImageFilePathPrefix(any()) } returns tempDir.resolve("some")
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
+        }
+
         // when
-        val result = PdfImagesTool.builder().timeoutSeconds(99).build()
+        val result = pdfImagesToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null })
 
         // then
-        result.timeoutSeconds shouldBe 99
+        result.imageFiles.map { it.name } shouldContainExactly listOf("some-0000.png", "some-0001.png")
+        convertingThreads.size shouldBe 2
+        convertingThreads shouldNotContain "xpdf-image-watcher"
+        verify(exactly = 0) { pngConverterSpy.convertAsync(any()) }
     }
 
     @Test
-    fun `should process`(capturedOutput: CapturedOutput) {
+    fun `should throw exception when processing with png converter if conversion fails`(@TempDir tempDir: Path) {
         // given
-        val standardOutputStream = mockk<ByteArrayInputStream>()
-        val errorOutputStream = mockk<ByteArrayInputStream>()
-
         mockkConstructor(ProcessBuilder::class)
         every { anyConstructed<ProcessBuilder>().start() } returns mockk {
-            every { inputStream } returns standardOutputStream
-            every { errorStream } returns errorOutputStream
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
             every { waitFor(any(), any()) } returns true
             every { exitValue() } returns 0
             every { destroy() } just runs
         }
 
-        mockkStatic(IOUtils::class)
-        every { IOUtils.toString(standardOutputStream, any<Charset>()) } returns "standardOutput"
-        every { IOUtils.toString(errorOutputStream, any<Charset>()) } returns "errorOutput"
+        tempDir.resolve("some-0000.ppm").toFile().writeText("some invalid image")
 
-        val imageFiles = listOf(File("some1.jpg"), File("some2.jpg"))
-
-        val pdfImagesToolSpy = spyk(pdfImagesTool) {
+        val pdfImagesToolSpy = spyk(PdfImagesTool.builder().pngConverter(PdfImagesPngConverter.builder().build()).build()) {
             every { validate(any()) } just runs
-            every { initializeImageFilePathPrefix(any()) } returns mockk()
+            every { initializeImageFilePathPrefix(any()) } returns tempDir.resolve("some")
             every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
-            every { getImageFilesMatchingPathPrefix(any()) } returns imageFiles
         }
 
         // when
-        val result = pdfImagesToolSpy.process(mockk())
+        val exception = shouldThrow<XpdfProcessingException> {
+            pdfImagesToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null })
+        }
 
         // then
-        result.imageFiles shouldBe imageFiles
-        result.standardOutput shouldBe "standardOutput"
-
-        capturedOutput.all shouldContain "Process starting"
-        capturedOutput.all shouldContain "Validating request"
-        capturedOutput.all shouldContain "Configuring output image file path prefix"
-        capturedOutput.all shouldContain "Building command"
-        capturedOutput.all shouldContain "Invoking executable; command: [part1, part2, part3]"
-        capturedOutput.all shouldContain "Invocation completed; exit code: 0, standard output: standardOutput"
-        capturedOutput.all shouldContain "Invocation succeeded"
-        capturedOutput.all shouldContain "Process finished"
+        exception.cause.shouldBeInstanceOf<IOException>()
     }
 
-    @ParameterizedTest
-    @CsvSource(
-            "1, Error opening the PDF file",
-            "2, Error opening the output file",
-            "3, Error related to PDF permissions",
-            "99, Other Xpdf error",
-            "69, Unknown Xpdf error",
-    )
-    fun `should throw exception when processing if non-zero exit code`(exitCode: Int,
-                                                                       message: String,
-                                                                       capturedOutput: CapturedOutput) {
+    @Test
+    fun `should process with image listener and png converter`(@TempDir tempDir: Path) {
         // given
-        val standardOutputStream = mockk<ByteArrayInputStream>()
-        val errorOutputStream = mockk<ByteArrayInputStream>()
-
         mockkConstructor(ProcessBuilder::class)
         every { anyConstructed<ProcessBuilder>().start() } returns mockk {
-            every { inputStream } returns standardOutputStream
-            every { errorStream } returns errorOutputStream
-            every { waitFor(any(), any()) } returns true
-            every { exitValue() } returns exitCode
+            every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns false
+            every { exitValue() } returns 0
             every { destroy() } just runs
         }
 
-        mockkStatic(IOUtils::class)
-        every { IOUtils.toString(standardOutputStream, any<Charset>()) } returns "standardOutput"
-        every { IOUtils.toString(errorOutputStream, any<Charset>()) } returns "errorOutput"
+        tempDir.resolve("some-0000.pbm").toFile().writeBytes("P4\n1 1\n".toByteArray() + byteArrayOf(0))
+        tempDir.resolve("some-0001.jpg").toFile().writeText("some image")
 
-        val pdfImagesToolSpy = spyk(pdfImagesTool) {
+        val pdfImagesToolSpy = spyk(PdfImagesTool.builder().pngConverter(PdfImagesPngConverter.builder().build()).build()) {
             every { validate(any()) } just runs
-            every { initializeImageFilePathPrefix(any()) } returns mockk()
+            every { initializeImageFilePathPrefix(any()) } returns tempDir.resolve("some")
             every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
         }
 
-        // when then
-        val exception = shouldThrowWithMessage<XpdfExecutionException>(message) {
-            pdfImagesToolSpy.process(mockk())
-        }
-        exception.standardOutput shouldBe "standardOutput"
-        exception.errorOutput shouldBe "errorOutput"
+        val deliveredImageFiles = mutableListOf<String>()
 
-        capturedOutput.all shouldContain "Process starting"
-        capturedOutput.all shouldContain "Validating request"
-        capturedOutput.all shouldContain "Configuring output image file path prefix"
-        capturedOutput.all shouldContain "Building command"
-        capturedOutput.all shouldContain "Invoking executable; command: [part1, part2, part3]"
-        capturedOutput.all shouldContain "Invocation completed; exit code: ${exitCode}, standard output: standardOutput"
-        capturedOutput.all shouldContain "Invocation failed; error output: errorOutput"
-        capturedOutput.all shouldContain "Process failed; exception message: $message"
-        capturedOutput.all shouldContain "Process finished"
+        // when
+        val result = pdfImagesToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null }) { deliveredImageFiles.add(it.name) }
+
+        // then
+        deliveredImageFiles shouldContainExactly listOf("some-0000.png", "some-0001.jpg")
+        result.imageFiles.map { it.name } shouldContainExactly deliveredImageFiles
     }
 
     @Test
-    fun `should throw exception when processing if timout`(capturedOutput: CapturedOutput) {
+    fun `should process  with pdf source`(@TempDir tempDir: Path) {
         // given
-        val standardOutputStream = mockk<ByteArrayInputStream>()
-        val errorOutputStream = mockk<ByteArrayInputStream>()
-
         mockkConstructor(ProcessBuilder::class)
         every { anyConstructed<ProcessBuilder>().start() } returns mockk {
-            every { inputStream } returns standardOutputStream
-            every { errorStream } returns errorOutputStream
-            every { waitFor(any(), any()) } returns false
+            every { inputStream } returns ByteArrayInputStream("standardOutput".toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
             every { destroy() } just runs
         }
 
-        mockkStatic(IOUtils::class)
-        every { IOUtils.toString(standardOutputStream, any<Charset>()) } returns "standardOutput"
-        every { IOUtils.toString(errorOutputStream, any<Charset>()) } returns "errorOutput"
+        val stagedRequest = slot<PdfImagesRequest>()
+        val pdfImagesToolSpy = spyk(PdfImagesTool.builder().pdfStager(XpdfPdfStager.builder().directory(tempDir).build()).build()) {
+            every { initializeImageFilePathPrefix(any()) } returns tempDir.resolve("images").resolve("some")
+            every { getCommandParts(capture(stagedRequest), any()) } answers {
+                firstArg<PdfImagesRequest>().pdfFile.readText() shouldBe "some pdf"
+                listOf("part1", "part2", "part3")
+            }
+            every { getImageFilesMatchingPathPrefix(any()) } returns emptyList()
+        }
+        val request = PdfImagesRequest.builder()
+            .pdfSource(XpdfPdfSource.of(ByteBuffer.wrap("some pdf".toByteArray())))
+            .build()
+
+        // when
+        val result = pdfImagesToolSpy.process(request)
+
+        // then
+        result.standardOutput shouldBe "standardOutput"
+        stagedRequest.captured.pdfFile.parentFile shouldBe tempDir.toFile()
+        stagedRequest.captured.pdfSource shouldBe null
+        stagedRequest.captured.pdfFile.exists() shouldBe false
+    }
 
+    @Test
+    fun `should complete exceptionally when processing async if caught xpdf exception`(capturedOutput: CapturedOutput) {
+        // given
+        val exception = XpdfValidationException("some message")
         val pdfImagesToolSpy = spyk(pdfImagesTool) {
-            every { validate(any()) } just runs
-            every { initializeImageFilePathPrefix(any()) } returns mockk()
-            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
+            every { validate(any()) } throws exception
         }
 
-        // when then
-        shouldThrowWithMessage<XpdfTimeoutException>("Timeout reached before process could finish") {
-            pdfImagesToolSpy.process(mockk())
-        }
+        // when
+        val result = pdfImagesToolSpy.processAsync(mockk(relaxed = true))
 
-        capturedOutput.all shouldContain "Process starting"
+        // then
+        shouldThrow<ExecutionException> { result.get() }.cause shouldBe exception
+
+        capturedOutput.all shouldContain "Async process starting"
         capturedOutput.all shouldContain "Validating request"
-        capturedOutput.all shouldContain "Configuring output image file path prefix"
-        capturedOutput.all shouldContain "Building command"
-        capturedOutput.all shouldContain "Invoking executable; command: [part1, part2, part3]"
-        capturedOutput.all shouldContain "Invocation timed out"
-        capturedOutput.all shouldContain "Process failed; exception message: Timeout reached before process could finish"
-        capturedOutput.all shouldContain "Process finished"
+        capturedOutput.all shouldContain "Async process failed; exception message: some message"
     }
 
     @Test
-    fun `should throw exception when processing if caught non-xpdf exception`(capturedOutput: CapturedOutput) {
+    fun `should complete exceptionally when processing async if caught non-xpdf exception`(capturedOutput: CapturedOutput) {
         // given
         val pdfImagesToolSpy = spyk(pdfImagesTool) {
             every { validate(any()) } throws Exception("some message")
         }
 
-        // when then
-        shouldThrow<XpdfProcessingException> {
-            pdfImagesToolSpy.process(mockk())
-        }
+        // when
+        val result = pdfImagesToolSpy.processAsync(mockk(relaxed = true))
 
-        capturedOutput.all shouldContain "Process starting"
+        // then
+        shouldThrow<ExecutionException> { result.get() }.cause.shouldBeInstanceOf<XpdfProcessingException>()
+
+        capturedOutput.all shouldContain "Async process starting"
         capturedOutput.all shouldContain "Validating request"
-        capturedOutput.all shouldContain "Process failed; exception message: some message"
-        capturedOutput.all shouldContain "Process finished"
+        capturedOutput.all shouldContain "Async process failed; exception message: some message"
     }
 
     @Test
@@ -485,17 +1213,47 @@ class PdfImagesToolTest {
 
         val imageFilePathPrefix = mockk<Path>(relaxed = true)
 
-        mockkStatic(PdfImagesUtils::class)
-        every { PdfImagesUtils.getPdfImagesTempOutputPath().resolve(randomUuid) } returns imageFilePathPrefix
+        val outputDirectory = mockk<XpdfOutputDirectory> {
+            every { directories } returns emptyList()
+            every { currentDirectory.resolve(randomUuid).resolve("image") } returns imageFilePathPrefix
+        }
 
         val request = mockk<PdfImagesRequest> {
             every { getImageFilePathPrefix() } returns null
         }
 
         // when then
-        pdfImagesTool.initializeImageFilePathPrefix(request) shouldBe imageFilePathPrefix
+        PdfImagesTool.builder().outputDirectory(outputDirectory).build().initializeImageFilePathPrefix(request) shouldBe imageFilePathPrefix
+
+        verify { imageFilePathPrefix.parent.toFile().mkdirs() }
+    }
+
+    @Test
+    fun `should get listing stream when metadata included`() {
+        // given
+        val request = mockk<PdfImagesRequest> {
+            every { getOptions() } returns PdfImagesOptions.builder().metadataIncluded(true).build()
+        }
 
-        verify { imageFilePathPrefix.parent.toFile().deleteOnExit() }
+        // when
+        val result = pdfImagesTool.getListingStream(request, Charsets.UTF_8)
+
+        // then
+        result.shouldBeInstanceOf<PdfImagesParser.ListingOutputStream>()
+    }
+
+    @Test
+    fun `should not get listing stream when metadata not included`() {
+        // given
+        val request = mockk<PdfImagesRequest> {
+            every { getOptions() } returns null
+        }
+
+        // when
+        val result = pdfImagesTool.getListingStream(request, Charsets.UTF_8)
+
+        // then
+        result shouldBe null
     }
 
     @Test
@@ -511,6 +1269,7 @@ class PdfImagesToolTest {
 
         val executableFile = mockk<File> {
             every { exists() } returns true
+            every { canExecute() } returns false
             every { setExecutable(any()) } returns true
             every { canonicalPath } returns "cmdPath"
         }
@@ -593,27 +1352,51 @@ class PdfImagesToolTest {
     }
 
     @Test
-    fun `should get multiple image files matching path prefix`() {
+    fun `should get multiple image files matching path prefix sorted by image number`(@TempDir tempDir: Path) {
+        // given
+        listOf("some-10000.ppm", "some-0002.jpg", "some-0010.pbm", "some-0001.ppm").forEach { tempDir.resolve(it).toFile().writeText("some image") }
+        listOf("some.ppm", "some-.ppm", "some-0003", "some-00a3.ppm", "some-other-0004.ppm", "other-0005.ppm").forEach { tempDir.resolve(it).toFile().writeText("some file") }
+        tempDir.resolve("some-0006.ppm.tmp").toFile().writeText("some file")
+
+        // when
+        val result = pdfImagesTool.getImageFilesMatchingPathPrefix(tempDir.resolve("some"))
+
+        // then
+        result.map { it.name } shouldContainExactly listOf("some-0001.ppm", "some-0002.jpg", "some-0010.pbm", "some-10000.ppm")
+    }
+
+    @Test
+    fun `should get no image files matching path prefix`(@TempDir tempDir: Path) {
+        // given
+        tempDir.resolve("other-0000.ppm").toFile().writeText("some image")
+
+        // when
+        val result = pdfImagesTool.getImageFilesMatchingPathPrefix(tempDir.resolve("some"))
+
+        // then
+        result.shouldBeEmpty()
+    }
+
+    @Test
+    fun `should get temporary directory when path not provided in request`(@TempDir tempDir: Path) {
         // given
-        val imageFiles = arrayOf(File("some1.jpg"), File("some2.jpg"))
-        val imageFilePathPrefix = mockk<Path>(relaxed = true) {
-            every { parent.toFile().listFiles(any<FilenameFilter>()) } returns imageFiles
+        val request = mockk<PdfImagesRequest> {
+            every { getImageFilePathPrefix() } returns null
         }
 
         // when then
-        pdfImagesTool.getImageFilesMatchingPathPrefix(imageFilePathPrefix) shouldContainExactly imageFiles.asList()
+        pdfImagesTool.getTemporaryDirectory(request, tempDir.resolve("some").resolve("image")) shouldBe tempDir.resolve("some").toFile()
     }
 
     @Test
-    fun `should get no image files matching path prefix`() {
+    fun `should not get temporary directory when path provided in request`(@TempDir tempDir: Path) {
         // given
-        val imageFiles = emptyArray<File>()
-        val imageFilePathPrefix = mockk<Path>(relaxed = true) {
-            every { parent.toFile().listFiles(any<FilenameFilter>()) } returns imageFiles
+        val request = mockk<PdfImagesRequest> {
+            every { getImageFilePathPrefix() } returns tempDir.resolve("image")
         }
 
         // when then
-        pdfImagesTool.getImageFilesMatchingPathPrefix(imageFilePathPrefix) shouldContainExactly imageFiles.asList()
+        pdfImagesTool.getTemporaryDirectory(request, tempDir.resolve("image")) shouldBe null
     }
 
     @Test
@@ -621,10 +1404,11 @@ class PdfImagesToolTest {
         // given
         val pdfImagesTool = PdfImagesTool.builder()
             .timeoutSeconds(100)
+            .processExecutor(XpdfProcessExecutor.builder().maxConcurrentProcesses(2).maxQueuedProcesses(10).maxOutputBytes(1024).build())
             .build()
 
         // when then
-        pdfImagesTool.toString() shouldMatch Regex("PdfImagesTool\\(executableFile=.+pdfimages(\\.exe)?, timeoutSeconds=100\\)")
+        pdfImagesTool.toString() shouldMatch Regex("PdfImagesTool\\(executableFile=.+pdfimages(\\.exe)?, timeoutSeconds=100, processExecutor=XpdfProcessExecutor\\(maxConcurrentProcesses=2, maxQueuedProcesses=10, maxOutputBytes=1024\\), resultCache=null, pdfStager=XpdfPdfStager\\(directory=.+\\), outputDirectory=XpdfOutputDirectory\\(directory=.+, ramDiskDirectory=null, minFreeBytes=268435456\\), tempFileJanitor=XpdfTempFileJanitor\\(ttlSeconds=86400, sweepIntervalSeconds=600\\), pngConverter=null\\)")
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+/*
+ * PdfImages API - An API for accessing a native pdfimages library (https://xpdf.io)
+ * Copyright © 2025 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdfimages.util
+
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeSameInstanceAs
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.CsvSource
+import java.io.StringReader
+
+class PdfImagesParserTest {
+
+    @Test
+    fun `should parse listing`() {
+        // given
+        val standardOutput = """
+            /tmp/out/some-0000.ppm: page=1 width=700 height=420 hdpi=168.81 vdpi=168.79 colorspace=DeviceRGB bpc=8
+            /tmp/out/some-0001.pgm: page=3 width=64 height=32 hdpi=72.00 vdpi=72.00 colorspace=DeviceGray bpc=1
+        """.trimIndent()
+
+        // when
+        val result = PdfImagesParser.parseListing(standardOutput)!!
+
+        // then
+        result.imageCount shouldBe 2
+        result.getImageFileName(0) shouldBe "some-0000.ppm"
+        result.getImageNumber(0) shouldBe 0
+        result.getPageNumber(0) shouldBe 1
+        result.getWidth(0) shouldBe 700
+        result.getHeight(0) shouldBe 420
+        result.getHorizontalDpi(0) shouldBe 168.81f
+        result.getVerticalDpi(0) shouldBe 168.79f
+        result.getColorSpace(0) shouldBe "DeviceRGB"
+        result.getBitsPerComponent(0) shouldBe 8
+        result.getImageFileName(1) shouldBe "some-0001.pgm"
+        result.getImageNumber(1) shouldBe 1
+        result.getPageNumber(1) shouldBe 3
+        result.getColorSpace(1) shouldBe "DeviceGray"
+        result.getBitsPerComponent(1) shouldBe 1
+    }
+
+    @Test
+    fun `should parse listing while reading`() {
+        // given
+        val standardOutput = (0 until 1000).joinToString("\n") { "C:\\out: dir\\some-%04d.ppm: page=${it / 10 + 1} width=$it colorspace=DeviceRGB".format(it) }
+
+        // when
+        val result = PdfImagesParser.parseListing(StringReader(standardOutput))
+
+        // then
+        result.imageCount shouldBe 1000
+        result.getImageFileName(999) shouldBe "some-0999.ppm"
+        result.getPageNumber(999) shouldBe 100
+        result.getWidth(999) shouldBe 999
+        result.getColorSpace(999) shouldBeSameInstanceAs result.getColorSpace(0)
+    }
+
+    @Test
+    fun `should parse listing while bytes are written`() {
+        // given
+        val bytes = "out/één-0000.ppm: page=1 width=10\r\nout/één-0001.ppm: page=2 width=20".toByteArray(Charsets.UTF_8)
+        val listingStream = PdfImagesParser.ListingOutputStream(Charsets.UTF_8)
+
+        // when
+        bytes.forEachIndexed { i, _ -> listingStream.write(bytes, i, 1) }
+        val result = listingStream.getListing()
+
+        // then
+        result.imageCount shouldBe 2
+        result.getImageFileName(0) shouldBe "één-0000.ppm"
+        result.getWidth(0) shouldBe 10
+        result.getImageFileName(1) shouldBe "één-0001.ppm"
+        result.getPageNumber(1) shouldBe 2
+    }
+
+    @Test
+    fun `should parse listing in charset while bytes are written`() {
+        // given
+        val listingStream = PdfImagesParser.ListingOutputStream(Charsets.UTF_16BE)
+
+        // when
+        listingStream.write("out/één-0000.ppm: page=3\n".toByteArray(Charsets.UTF_16BE))
+        val result = listingStream.getListing()
+
+        // then
+        result.imageCount shouldBe 1
+        result.getImageFileName(0) shouldBe "één-0000.ppm"
+        result.getPageNumber(0) shouldBe 3
+    }
+
+    @Test
+    fun `should ignore bytes written after listing is complete`() {
+        // given
+        val listingStream = PdfImagesParser.ListingOutputStream(Charsets.UTF_8)
+        listingStream.write("out/some-0000.ppm: page=1\n".toByteArray())
+        listingStream.close()
+
+        // when
+        listingStream.write("out/some-0001.ppm: page=2\n".toByteArray())
+        val result = listingStream.getListing()
+
+        // then
+        result.imageCount shouldBe 1
+    }
+
+    @Test
+    fun `should skip lines that do not list an image when parsing listing`() {
+        // given
+        val standardOutput = """
+            [processing page 1]
+            /tmp/out/some-0000.ppm: page=1 width=abc hdpi=def colorspace=DeviceRGB unknown=1
+        """.trimIndent()
+
+        // when
+        val result = PdfImagesParser.parseListing(standardOutput)!!
+
+        // then
+        result.imageCount shouldBe 1
+        result.getPageNumber(0) shouldBe 1
+        result.getWidth(0) shouldBe 0
+        result.getHeight(0) shouldBe 0
+        result.getHorizontalDpi(0).isNaN() shouldBe true
+        result.getVerticalDpi(0).isNaN() shouldBe true
+        result.getBitsPerComponent(0) shouldBe 0
+    }
+
+    @Test
+    fun `should parse empty listing`() {
+        // when
+        val result = PdfImagesParser.parseListing("")!!
+
+        // then
+        result.imageCount shouldBe 0
+    }
+
+    @Test
+    fun `should not parse listing if standard output is null`() {
+        // when
+        val result = PdfImagesParser.parseListing(null as String?)
+
+        // then
+        result shouldBe null
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+        "some-0000.ppm, 0",
+        "some-0042.jpg, 42",
+        "some-prefix-0007.pbm, 7",
+        "some-0003, 3",
+        "some.ppm, -1",
+        "some-.ppm, -1",
+        "some-00a1.ppm, -1",
+        "some-1234567890.ppm, -1",
+    )
+    fun `should parse image number`(imageFileName: String, expected: Int) {
+        // when
+        val result = PdfImagesParser.parseImageNumber(imageFileName)
+
+        // then
+        result shouldBe expected
+    }
+
+}
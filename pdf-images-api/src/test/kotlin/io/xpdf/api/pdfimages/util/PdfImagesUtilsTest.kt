@@ -79,6 +79,18 @@ class PdfImagesUtilsTest {
         PdfImagesUtils.getPdfImagesTimeoutSeconds() shouldBe 99
     }
 
+    @Test
+    fun `should get pdf images max concurrent conversions`() {
+        // when then
+        PdfImagesUtils.getPdfImagesMaxConcurrentConversions() shouldBe Runtime.getRuntime().availableProcessors()
+    }
+
+    @Test
+    fun `should get pdf images max queued conversions`() {
+        // when then
+        PdfImagesUtils.getPdfImagesMaxQueuedConversions() shouldBe 256
+    }
+
     @ParameterizedTest
     @CsvSource(
             "linux/bin32, pdfimages",
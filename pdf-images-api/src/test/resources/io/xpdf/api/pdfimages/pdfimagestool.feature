@@ -263,6 +263,7 @@ Feature: PdfImagesTool
       |           |          |            | true             |               |              |
     When the PdfImagesTool processes the PdfImagesRequest
     Then the standard output should match ".*-0000\.ppm:[^\f]+.*-0001\.ppm:[^\f]+.*-0002\.ppm"
+    And the image listing should list 3 images on page 1
 
 
   Scenario: Extract images from password protected pdf with owner password
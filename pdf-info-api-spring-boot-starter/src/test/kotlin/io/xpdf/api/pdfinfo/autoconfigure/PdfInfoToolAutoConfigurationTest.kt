@@ -21,6 +21,7 @@ import io.mockk.every
 import io.mockk.mockk
 import io.mockk.mockkStatic
 import io.mockk.unmockkAll
+import io.xpdf.api.common.XpdfExecutableManager
 import io.xpdf.api.common.util.XpdfUtils
 import io.xpdf.api.pdfinfo.PdfInfoTool
 import io.xpdf.api.pdfinfo.util.PdfInfoUtils
@@ -89,16 +90,12 @@ class PdfInfoToolAutoConfigurationTest {
     @Test
     fun `should autoconfigure pdf info tool without properties`() {
         // given
-        val executableFile = mockk<File> {
-            every { exists() } returns true
-            every { setExecutable(any()) } returns true
-        }
-        val executablePath = mockk<Path> {
-            every { toFile() } returns executableFile
-        }
+        val executableFile = mockk<File>(relaxed = true)
+
+        mockkStatic(XpdfExecutableManager::class)
+        every { XpdfExecutableManager.getExecutableFile(any(), any(), any()) } returns executableFile
 
         mockkStatic(PdfInfoUtils::class)
-        every { PdfInfoUtils.getPdfInfoExecutablePath() } returns executablePath
         every { PdfInfoUtils.getPdfInfoTimeoutSeconds() } returns 99
 
         context.register(PdfInfoToolAutoConfiguration::class.java)
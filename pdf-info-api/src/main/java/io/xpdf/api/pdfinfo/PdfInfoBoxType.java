@@ -0,0 +1,77 @@
+/*
+ * PdfInfo API - An API for accessing a native pdfinfo library (https://xpdf.io)
+ * Copyright © 2025 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdfinfo;
+
+/**
+ * Defines the page boundaries printed by the <em>pdfinfo</em> executable when {@link PdfInfoOptions#getBoundingBoxesIncluded() bounding boxes are included}.
+ *
+ * @since 1.3.0
+ */
+public enum PdfInfoBoxType {
+
+    /**
+     * Boundaries of the physical medium on which the page is to be printed.
+     *
+     * @since 1.3.0
+     */
+    MEDIA_BOX("MediaBox"),
+
+    /**
+     * Boundaries of the visible region of the page, to which its contents are clipped when displayed or printed.
+     *
+     * @since 1.3.0
+     */
+    CROP_BOX("CropBox"),
+
+    /**
+     * Boundaries of the region to which the page contents are clipped in a production environment.
+     *
+     * @since 1.3.0
+     */
+    BLEED_BOX("BleedBox"),
+
+    /**
+     * Boundaries of the finished page after trimming.
+     *
+     * @since 1.3.0
+     */
+    TRIM_BOX("TrimBox"),
+
+    /**
+     * Boundaries of the meaningful content of the page, as intended by its creator.
+     *
+     * @since 1.3.0
+     */
+    ART_BOX("ArtBox");
+
+    private final String label;
+
+    PdfInfoBoxType(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Gets the label that <em>pdfinfo</em> prints for this box, such as {@code MediaBox}.
+     *
+     * @return label
+     * @since 1.3.0
+     */
+    public String getLabel() {
+        return label;
+    }
+
+}
@@ -18,6 +18,7 @@ package io.xpdf.api.pdfinfo;
 
 import io.xpdf.api.pdfinfo.options.PdfInfoEncoding;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
@@ -46,6 +47,7 @@ import java.util.Map;
 @Builder
 @Getter
 @ToString
+@EqualsAndHashCode
 public class PdfInfoOptions {
 
     /**
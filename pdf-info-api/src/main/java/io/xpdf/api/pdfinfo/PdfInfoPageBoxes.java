@@ -0,0 +1,174 @@
+/*
+ * PdfInfo API - An API for accessing a native pdfinfo library (https://xpdf.io)
+ * Copyright © 2025 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdfinfo;
+
+import io.xpdf.api.pdfinfo.util.PdfInfoParser;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.val;
+
+/**
+ * The page boundaries printed by the <em>pdfinfo</em> executable, stored in columns of primitive arrays.
+ *
+ * <br><br> Each coordinate of each {@link PdfInfoBoxType box type} is held in its own {@code float[]}, indexed by page, so that the geometry of many thousands of pages can be queried without allocating an object per page.
+ * Coordinates are in points, in the default user space of the page.
+ *
+ * @implNote A box that was not printed for a page, including any page outside of this range, has {@code NaN} coordinates.
+ * @since 1.3.0
+ */
+@Getter
+@ToString
+public class PdfInfoPageBoxes {
+
+    private static final int LEFT = 0;
+
+    private static final int BOTTOM = 1;
+
+    private static final int RIGHT = 2;
+
+    private static final int TOP = 3;
+
+    /**
+     * Number of the first page that has boxes.
+     *
+     * @since 1.3.0
+     */
+    private final int firstPageNumber;
+
+    /**
+     * Number of pages from the first page that has boxes, to the last one.
+     *
+     * @since 1.3.0
+     */
+    private final int pageCount;
+
+    /**
+     * Columns of coordinates, indexed by box type and coordinate, and then by page.
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final float[][] columns;
+
+    /**
+     * Creates page boxes from columns of coordinates.
+     *
+     * @param firstPageNumber number of the first page that has boxes
+     * @param pageCount number of pages that have boxes
+     * @param columns four columns per {@link PdfInfoBoxType}, in order of declaration, holding the left, bottom, right and top coordinates of each page
+     * @implNote Use {@link PdfInfoParser#parseBoxes} to create page boxes from the standard output of <em>pdfinfo</em>.
+     * @since 1.3.0
+     */
+    public PdfInfoPageBoxes(int firstPageNumber, int pageCount, float[][] columns) {
+        this.firstPageNumber = firstPageNumber;
+        this.pageCount = pageCount;
+        this.columns = columns;
+    }
+
+    /**
+     * Checks whether a box was printed for a page.
+     *
+     * @param type {@link PdfInfoBoxType}
+     * @param pageNumber page number
+     * @return true if the box was printed
+     * @since 1.3.0
+     */
+    public boolean hasBox(PdfInfoBoxType type, int pageNumber) {
+        return !Float.isNaN(getCoordinate(type, LEFT, pageNumber));
+    }
+
+    /**
+     * Gets the left coordinate of a box.
+     *
+     * @param type {@link PdfInfoBoxType}
+     * @param pageNumber page number
+     * @return left coordinate in points, or {@code NaN} if the box was not printed
+     * @since 1.3.0
+     */
+    public float getLeft(PdfInfoBoxType type, int pageNumber) {
+        return getCoordinate(type, LEFT, pageNumber);
+    }
+
+    /**
+     * Gets the bottom coordinate of a box.
+     *
+     * @param type {@link PdfInfoBoxType}
+     * @param pageNumber page number
+     * @return bottom coordinate in points, or {@code NaN} if the box was not printed
+     * @since 1.3.0
+     */
+    public float getBottom(PdfInfoBoxType type, int pageNumber) {
+        return getCoordinate(type, BOTTOM, pageNumber);
+    }
+
+    /**
+     * Gets the right coordinate of a box.
+     *
+     * @param type {@link PdfInfoBoxType}
+     * @param pageNumber page number
+     * @return right coordinate in points, or {@code NaN} if the box was not printed
+     * @since 1.3.0
+     */
+    public float getRight(PdfInfoBoxType type, int pageNumber) {
+        return getCoordinate(type, RIGHT, pageNumber);
+    }
+
+    /**
+     * Gets the top coordinate of a box.
+     *
+     * @param type {@link PdfInfoBoxType}
+     * @param pageNumber page number
+     * @return top coordinate in points, or {@code NaN} if the box was not printed
+     * @since 1.3.0
+     */
+    public float getTop(PdfInfoBoxType type, int pageNumber) {
+        return getCoordinate(type, TOP, pageNumber);
+    }
+
+    /**
+     * Gets the width of a box.
+     *
+     * @param type {@link PdfInfoBoxType}
+     * @param pageNumber page number
+     * @return width in points, or {@code NaN} if the box was not printed
+     * @since 1.3.0
+     */
+    public float getWidth(PdfInfoBoxType type, int pageNumber) {
+        return getRight(type, pageNumber) - getLeft(type, pageNumber);
+    }
+
+    /**
+     * Gets the height of a box.
+     *
+     * @param type {@link PdfInfoBoxType}
+     * @param pageNumber page number
+     * @return height in points, or {@code NaN} if the box was not printed
+     * @since 1.3.0
+     */
+    public float getHeight(PdfInfoBoxType type, int pageNumber) {
+        return getTop(type, pageNumber) - getBottom(type, pageNumber);
+    }
+
+    private float getCoordinate(PdfInfoBoxType type, int coordinate, int pageNumber) {
+        val index = pageNumber - firstPageNumber;
+        if (index < 0 || index >= pageCount) {
+            return Float.NaN;
+        }
+        return columns[type.ordinal() * 4 + coordinate][index];
+    }
+
+}
@@ -17,13 +17,22 @@
 package io.xpdf.api.pdfinfo;
 
 import io.xpdf.api.common.XpdfResponse;
+import io.xpdf.api.pdfinfo.util.PdfInfoParser;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
+import lombok.val;
+
+import java.time.Instant;
+import java.util.Map;
 
 /**
  * Represents the result of invoking the <em>pdfinfo</em> executable.
  *
+ * <br><br> Besides the raw standard output, the document fields printed by <em>pdfinfo</em> are available through typed accessors.
+ * The standard output is parsed once, on first access to any field, and each accessor returns null if its field is missing or malformed.
+ *
  * @since 1.1.0
  */
 @Builder
@@ -38,4 +47,255 @@ public class PdfInfoResponse extends XpdfResponse {
      */
     private final String standardOutput;
 
+    /**
+     * Document fields parsed from the standard output, keyed by name, such as {@code Pages} or {@code PDF version}.
+     *
+     * @since 1.3.0
+     */
+    @Getter(lazy = true)
+    @ToString.Exclude
+    private final Map<String, String> fields = PdfInfoParser.parseFields(standardOutput);
+
+    /**
+     * Page boxes parsed from the standard output as it streamed, which are printed if {@link PdfInfoOptions#getBoundingBoxesIncluded() bounding boxes are included}.
+     *
+     * @since 1.3.0
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final PdfInfoPageBoxes pageBoxes;
+
+    /**
+     * Page boxes parsed from the standard output kept in memory, if none were parsed as it streamed.
+     */
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    @ToString.Exclude
+    private final PdfInfoPageBoxes parsedPageBoxes = PdfInfoParser.parseBoxes(standardOutput);
+
+    /**
+     * Gets the page boxes, which are printed if {@link PdfInfoOptions#getBoundingBoxesIncluded() bounding boxes are included}.
+     *
+     * <br><br> Page boxes are parsed by {@link PdfInfoTool} as the standard output streams, so that they are complete even if the standard output is truncated.
+     * Otherwise, such as for a response restored from cache, they are parsed from the standard output on first access.
+     *
+     * @return {@link PdfInfoPageBoxes}
+     * @implNote Request a {@link PdfInfoOptions#getPageStart() page range} to get the boxes of every page in the range, rather than of the first page only.
+     * @since 1.3.0
+     */
+    public PdfInfoPageBoxes getPageBoxes() {
+        return pageBoxes != null ? pageBoxes : getParsedPageBoxes();
+    }
+
+    /**
+     * Gets the value of a document field.
+     *
+     * @param name field name, as printed by <em>pdfinfo</em>
+     * @return field value, or null if missing
+     * @since 1.3.0
+     */
+    public String getField(String name) {
+        return getFields().get(name);
+    }
+
+    /**
+     * Gets the title of the document.
+     *
+     * @return title, or null if missing
+     * @since 1.3.0
+     */
+    public String getTitle() {
+        return getField("Title");
+    }
+
+    /**
+     * Gets the subject of the document.
+     *
+     * @return subject, or null if missing
+     * @since 1.3.0
+     */
+    public String getSubject() {
+        return getField("Subject");
+    }
+
+    /**
+     * Gets the keywords of the document.
+     *
+     * @return keywords, or null if missing
+     * @since 1.3.0
+     */
+    public String getKeywords() {
+        return getField("Keywords");
+    }
+
+    /**
+     * Gets the author of the document.
+     *
+     * @return author, or null if missing
+     * @since 1.3.0
+     */
+    public String getAuthor() {
+        return getField("Author");
+    }
+
+    /**
+     * Gets the application that created the original document.
+     *
+     * @return creator, or null if missing
+     * @since 1.3.0
+     */
+    public String getCreator() {
+        return getField("Creator");
+    }
+
+    /**
+     * Gets the application that produced the PDF file.
+     *
+     * @return producer, or null if missing
+     * @since 1.3.0
+     */
+    public String getProducer() {
+        return getField("Producer");
+    }
+
+    /**
+     * Gets the creation date of the document.
+     *
+     * @return creation date, or null if missing
+     * @implNote See {@link PdfInfoParser#parseDate} for the date formats that are understood.
+     * @since 1.3.0
+     */
+    public Instant getCreationDate() {
+        return PdfInfoParser.parseDate(getField("CreationDate"));
+    }
+
+    /**
+     * Gets the date the document was last modified.
+     *
+     * @return modification date, or null if missing
+     * @implNote See {@link PdfInfoParser#parseDate} for the date formats that are understood.
+     * @since 1.3.0
+     */
+    public Instant getModificationDate() {
+        return PdfInfoParser.parseDate(getField("ModDate"));
+    }
+
+    /**
+     * Gets whether the document is tagged.
+     *
+     * @return true if tagged, or null if missing
+     * @since 1.3.0
+     */
+    public Boolean getTagged() {
+        return PdfInfoParser.parseBoolean(getField("Tagged"));
+    }
+
+    /**
+     * Gets the type of form in the document, such as {@code none}, {@code AcroForm} or {@code XFA}.
+     *
+     * @return form type, or null if missing
+     * @since 1.3.0
+     */
+    public String getForm() {
+        return getField("Form");
+    }
+
+    /**
+     * Gets the number of pages in the document.
+     *
+     * @return page count, or null if missing
+     * @since 1.3.0
+     */
+    public Integer getPageCount() {
+        val pageCount = PdfInfoParser.parseLong(getField("Pages"));
+        return pageCount != null ? pageCount.intValue() : null;
+    }
+
+    /**
+     * Gets whether the document is encrypted.
+     *
+     * @return true if encrypted, or null if missing
+     * @implNote The permissions and algorithm of an encrypted document remain available through {@code getField("Encrypted")}.
+     * @since 1.3.0
+     */
+    public Boolean getEncrypted() {
+        return PdfInfoParser.parseBoolean(getField("Encrypted"));
+    }
+
+    /**
+     * Gets the width of the first page.
+     *
+     * @return page width in points, or null if missing
+     * @implNote This is only printed if no {@link PdfInfoOptions#getPageStart() page range} is requested, since <em>pdfinfo</em> prints the size of each page in a range instead.
+     * @since 1.3.0
+     */
+    public Float getPageWidth() {
+        return PdfInfoParser.parsePageDimension(getField("Page size"), 0);
+    }
+
+    /**
+     * Gets the height of the first page.
+     *
+     * @return page height in points, or null if missing
+     * @implNote This is only printed if no {@link PdfInfoOptions#getPageStart() page range} is requested, since <em>pdfinfo</em> prints the size of each page in a range instead.
+     * @since 1.3.0
+     */
+    public Float getPageHeight() {
+        return PdfInfoParser.parsePageDimension(getField("Page size"), 1);
+    }
+
+    /**
+     * Gets the rotation of the first page.
+     *
+     * @return page rotation in degrees, or null if missing
+     * @implNote This is only printed if no {@link PdfInfoOptions#getPageStart() page range} is requested, since <em>pdfinfo</em> prints the size of each page in a range instead.
+     * @since 1.3.0
+     */
+    public Integer getPageRotation() {
+        return PdfInfoParser.parsePageRotation(getField("Page size"));
+    }
+
+    /**
+     * Gets the size of the PDF file.
+     *
+     * @return file size in bytes, or null if missing
+     * @since 1.3.0
+     */
+    public Long getFileSize() {
+        return PdfInfoParser.parseLong(getField("File size"));
+    }
+
+    /**
+     * Gets whether the PDF file is optimized for fast web view.
+     *
+     * @return true if optimized, or null if missing
+     * @since 1.3.0
+     */
+    public Boolean getOptimized() {
+        return PdfInfoParser.parseBoolean(getField("Optimized"));
+    }
+
+    /**
+     * Gets the version of the PDF specification that the PDF file conforms to, such as {@code 1.7}.
+     *
+     * @return PDF version, or null if missing
+     * @since 1.3.0
+     */
+    public String getPdfVersion() {
+        return getField("PDF version");
+    }
+
+    /**
+     * Gets a copy of this response with the same results.
+     *
+     * @return {@link PdfInfoResponse}
+     * @since 1.3.0
+     */
+    @Override
+    protected PdfInfoResponse copy() {
+        return PdfInfoResponse.builder()
+                .standardOutput(standardOutput)
+                .pageBoxes(pageBoxes)
+                .build();
+    }
+
 }
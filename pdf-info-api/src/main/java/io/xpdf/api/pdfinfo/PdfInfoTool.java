@@ -16,24 +16,31 @@
  */
 package io.xpdf.api.pdfinfo;
 
+import io.xpdf.api.common.XpdfExecutableManager;
+import io.xpdf.api.common.XpdfPdfStager;
+import io.xpdf.api.common.XpdfProcessExecutor;
+import io.xpdf.api.common.XpdfProcessResult;
+import io.xpdf.api.common.XpdfResultCache;
 import io.xpdf.api.common.XpdfTool;
 import io.xpdf.api.common.exception.*;
+import io.xpdf.api.common.util.XpdfUtils;
+import io.xpdf.api.pdfinfo.options.PdfInfoEncoding;
+import io.xpdf.api.pdfinfo.util.PdfInfoParser;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static io.xpdf.api.pdfinfo.util.PdfInfoUtils.*;
@@ -45,6 +52,7 @@ import static java.util.Collections.emptyList;
  *
  * <br><br> Targets the <em>pdfinfo</em> executable native to your OS and JVM architecture.
  * The {@link #process} method executes a shell command to invoke the executable, which extracts information about a PDF file.
+ * Requests may give in-memory PDF content in place of a PDF file, which is staged into a file by the configured {@link XpdfPdfStager} for the duration of the process.
  *
  * <br><br> Example usage:
  * <blockquote><pre>
@@ -80,39 +88,51 @@ public class PdfInfoTool implements XpdfTool<PdfInfoRequest, PdfInfoResponse> {
      */
     private final Integer timeoutSeconds;
 
+    /**
+     * Executor that runs and bounds the shell processes invoking the executable.
+     *
+     * @implNote If unassigned, this will default to the {@link XpdfProcessExecutor#getDefaultInstance() executor} shared by all tools.
+     * @since 1.3.0
+     */
+    private final XpdfProcessExecutor processExecutor;
+
+    /**
+     * Cache of results, which is checked before invoking the executable.
+     *
+     * @implNote If unassigned, results are not cached.
+     * @since 1.3.0
+     */
+    private final XpdfResultCache resultCache;
+
+    /**
+     * Stager of the in-memory PDF content of requests into files that the executable can read.
+     *
+     * @implNote If unassigned, this will default to the {@link XpdfPdfStager#getDefaultInstance() stager} shared by all tools.
+     * @since 1.3.0
+     */
+    private final XpdfPdfStager pdfStager;
+
     public static class PdfInfoToolBuilder {
 
         public PdfInfoTool build() {
             val executableFileBuilder = configureExecutableFile();
             val timeoutSecondsBuilder = configureTimeoutSeconds();
+            val processExecutorBuilder = configureProcessExecutor();
+            val resultCacheBuilder = configureResultCache();
+            val pdfStagerBuilder = configurePdfStager();
 
-            return new PdfInfoTool(executableFileBuilder, timeoutSecondsBuilder);
+            return new PdfInfoTool(executableFileBuilder, timeoutSecondsBuilder, processExecutorBuilder, resultCacheBuilder, pdfStagerBuilder);
         }
 
         protected File configureExecutableFile() {
             if (executableFile == null) {
-                // copy executable from project resources to OS-accessible directory on local system
-                val executablePath = getPdfInfoExecutablePath();
-                if (!executablePath.toFile().exists()) {
-                    val executableResourceStream = getClass().getClassLoader().getResourceAsStream(getPdfInfoExecutableResourceName());
-                    if (executableResourceStream == null) {
-                        throw new XpdfRuntimeException("Unable to locate executable in project resources");
-                    }
-                    try {
-                        FileUtils.copyInputStreamToFile(executableResourceStream, executablePath.toFile());
-                    } catch (IOException e) {
-                        throw new XpdfRuntimeException("Unable to copy executable from resources to local system");
-                    }
-                }
-                if (!executablePath.toFile().setExecutable(true)) {
-                    throw new XpdfRuntimeException("Unable to set execute permissions on executable");
-                }
-                return executablePath.toFile();
+                // extract executable from project resources to OS-accessible directory on local system
+                return XpdfExecutableManager.getExecutableFile(getClass().getClassLoader(), getPdfInfoExecutableResourceName(), getPdfInfoExecutablePath());
             } else {
                 if (!executableFile.exists()) {
                     throw new XpdfRuntimeException("The configured executable does not exist");
                 }
-                if (!executableFile.setExecutable(true)) {
+                if (!executableFile.canExecute() && !executableFile.setExecutable(true)) {
                     throw new XpdfRuntimeException("Unable to set execute permissions on executable");
                 }
                 return executableFile;
@@ -126,6 +146,26 @@ public class PdfInfoTool implements XpdfTool<PdfInfoRequest, PdfInfoResponse> {
                 return timeoutSeconds;
             }
         }
+
+        protected XpdfProcessExecutor configureProcessExecutor() {
+            if (processExecutor == null) {
+                return XpdfProcessExecutor.getDefaultInstance();
+            } else {
+                return processExecutor;
+            }
+        }
+
+        protected XpdfResultCache configureResultCache() {
+            return resultCache;
+        }
+
+        protected XpdfPdfStager configurePdfStager() {
+            if (pdfStager == null) {
+                return XpdfPdfStager.getDefaultInstance();
+            } else {
+                return pdfStager;
+            }
+        }
     }
 
     /**
@@ -135,11 +175,13 @@ public class PdfInfoTool implements XpdfTool<PdfInfoRequest, PdfInfoResponse> {
      * This executable extracts the contents of the "Info" dictionary from a PDF file.
      *
      * <br><br> This method utilizes Java's {@link ProcessBuilder} API to execute a shell command that launches the executable.
+     * The shell command is run by the configured {@link XpdfProcessExecutor}, which may hold the request in its queue until a process slot frees up.
      * Be aware that this method may become blocking for very large PDF files.
      *
      * @param request {@link PdfInfoRequest}
      * @return {@link PdfInfoResponse} with standard output containing info extracted from PDF
      * @throws XpdfValidationException if request is invalid
+     * @throws XpdfRejectedException if process queue is full
      * @throws XpdfExecutionException if process returns non-zero exit code
      * @throws XpdfTimeoutException if process duration exceeds timeout length
      * @throws XpdfProcessingException if any other exception occurs during processing
@@ -148,62 +190,40 @@ public class PdfInfoTool implements XpdfTool<PdfInfoRequest, PdfInfoResponse> {
      */
     @Override
     public PdfInfoResponse process(PdfInfoRequest request) throws XpdfException {
+        if (request != null && request.getPdfFile() == null) {
+            // stage in-memory pdf content into a file, which is deleted once processed
+            return pdfStager.process(request.getPdfSource(), stagedFile -> process(toStagedRequest(request, stagedFile)));
+        }
+
         log.debug("Process starting");
-        Process process = null;
 
         try {
             // validate request
             log.debug("Validating request");
             validate(request);
 
+            // restore cached result
+            val cacheKey = getCacheKey(request);
+            val cachedResponse = getCachedResponse(cacheKey);
+            if (cachedResponse != null) {
+                return cachedResponse;
+            }
+
             // get commands
             log.debug("Building command");
             val commandParts = getCommandParts(request);
 
-            // process commands
-            log.debug("Invoking executable; command: {}", commandParts.toString());
-            val processBuilder = new ProcessBuilder(commandParts);
-            process = processBuilder.start();
-
-            // wait for process finish
-            if (process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
-                val standardOutput = StringUtils.trimToNull(IOUtils.toString(process.getInputStream(), Charset.defaultCharset()));
-                val errorOutput = StringUtils.trimToNull(IOUtils.toString(process.getErrorStream(), Charset.defaultCharset()));
-                log.debug("Invocation completed; exit code: {}, standard output: {}", process.exitValue(), standardOutput);
-
-                // handle process finished
-                if (process.exitValue() == 0) {
-                    log.debug("Invocation succeeded");
-                    return PdfInfoResponse.builder()
-                            .standardOutput(standardOutput)
-                            .build();
-                } else {
-                    log.debug("Invocation failed; error output: {}", errorOutput);
-                    final String message;
-                    switch (process.exitValue()) {
-                        case 1:
-                            message = "Error opening the PDF file";
-                            break;
-                        case 2:
-                            message = "Error opening the output file";
-                            break;
-                        case 3:
-                            message = "Error related to PDF permissions";
-                            break;
-                        case 99:
-                            message = "Other Xpdf error";
-                            break;
-                        default:
-                            message = "Unknown Xpdf error";
-                            break;
-                    }
-                    throw new XpdfExecutionException(message, standardOutput, errorOutput);
-                }
-            } else {
-                // handle process timeout
-                log.debug("Invocation timed out");
-                throw new XpdfTimeoutException("Timeout reached before process could finish");
-            }
+            // process commands, parsing any page boxes as they stream
+            val boxesStream = getBoxesStream(request);
+            val result = processExecutor.execute(commandParts, timeoutSeconds, getCharset(request), boxesStream);
+
+            val response = PdfInfoResponse.builder()
+                    .standardOutput(decodeStandardOutput(request, result.getStandardOutput()))
+                    .pageBoxes(getPageBoxes(boxesStream))
+                    .build();
+            putCachedResponse(cacheKey, result, response);
+
+            return response;
         } catch (XpdfException | XpdfRuntimeException e) {
             log.debug("Process failed; exception message: {}", e.getMessage());
             throw e;
@@ -211,13 +231,81 @@ public class PdfInfoTool implements XpdfTool<PdfInfoRequest, PdfInfoResponse> {
             log.debug("Process failed; exception message: {}", e.getMessage());
             throw new XpdfProcessingException(e);
         } finally {
-            if (process != null) {
-                process.destroy();
-            }
             log.debug("Process finished");
         }
     }
 
+    /**
+     * Extracts information about a PDF file, without blocking the calling thread.
+     *
+     * <br><br> Behaves like {@link #process}, except that the shell command is run asynchronously by the configured {@link XpdfProcessExecutor}.
+     * No thread is parked while the process waits in the queue or runs, which makes this method suitable for handling many PDF files at once.
+     *
+     * @param request {@link PdfInfoRequest}
+     * @return {@code CompletableFuture} of the {@link PdfInfoResponse}, which completes exceptionally with the same {@link XpdfException} types thrown by {@link #process}
+     * @since 1.3.0
+     */
+    @Override
+    public CompletableFuture<PdfInfoResponse> processAsync(PdfInfoRequest request) {
+        if (request != null && request.getPdfFile() == null) {
+            // stage in-memory pdf content into a file, which is deleted once processed
+            return pdfStager.processAsync(request.getPdfSource(), stagedFile -> processAsync(toStagedRequest(request, stagedFile)));
+        }
+
+        log.debug("Async process starting");
+
+        try {
+            // validate request
+            log.debug("Validating request");
+            validate(request);
+
+            // restore cached result
+            val cacheKey = getCacheKey(request);
+            val cachedResponse = getCachedResponse(cacheKey);
+            if (cachedResponse != null) {
+                log.debug("Async process finished");
+                return CompletableFuture.completedFuture(cachedResponse);
+            }
+
+            // get commands
+            log.debug("Building command");
+            val commandParts = getCommandParts(request);
+
+            // process commands, parsing any page boxes as they stream
+            val boxesStream = getBoxesStream(request);
+            return processExecutor.executeAsync(commandParts, timeoutSeconds, getCharset(request), boxesStream)
+                    .thenApply(result -> {
+                        val response = PdfInfoResponse.builder()
+                                .standardOutput(decodeStandardOutput(request, result.getStandardOutput()))
+                                .pageBoxes(getPageBoxes(boxesStream))
+                                .build();
+                        putCachedResponse(cacheKey, result, response);
+                        return response;
+                    })
+                    .whenComplete((response, throwable) -> log.debug("Async process finished"));
+        } catch (XpdfException | XpdfRuntimeException e) {
+            log.debug("Async process failed; exception message: {}", e.getMessage());
+            return XpdfUtils.failedFuture(e);
+        } catch (Exception e) {
+            log.debug("Async process failed; exception message: {}", e.getMessage());
+            return XpdfUtils.failedFuture(new XpdfProcessingException(e));
+        }
+    }
+
+    /**
+     * Gets a copy of a request that reads its PDF content from a staged PDF file, in place of its PDF source.
+     *
+     * @param request {@link PdfInfoRequest} with PDF source
+     * @param stagedFile staged PDF file
+     * @return {@link PdfInfoRequest} with PDF file
+     */
+    protected PdfInfoRequest toStagedRequest(PdfInfoRequest request, File stagedFile) {
+        return request.toBuilder()
+                .pdfFile(stagedFile)
+                .pdfSource(null)
+                .build();
+    }
+
     /**
      * Validates a {@link PdfInfoRequest}.
      *
@@ -250,6 +338,125 @@ public class PdfInfoTool implements XpdfTool<PdfInfoRequest, PdfInfoResponse> {
         }
     }
 
+    /**
+     * Gets the charset that the standard output of the executable is read with.
+     *
+     * <br><br> <em>pdfinfo</em> only encodes the text strings of the "Info" dictionary, and writes everything else in ASCII.
+     * That makes no difference for any encoding but {@link PdfInfoEncoding#UCS_2}, whose output is read byte for byte, and then decoded by {@link #decodeStandardOutput}.
+     *
+     * @param request {@link PdfInfoRequest}
+     * @return {@code Charset} of the requested encoding, or Latin-1 if UCS-2 is requested
+     */
+    protected Charset getCharset(PdfInfoRequest request) {
+        val encoding = getEncoding(request);
+        return encoding == PdfInfoEncoding.UCS_2 ? StandardCharsets.ISO_8859_1 : PdfInfoEncoding.getCharset(encoding);
+    }
+
+    /**
+     * Decodes the standard output of the executable, once it has been read with the charset of {@link #getCharset}.
+     *
+     * @param request {@link PdfInfoRequest}
+     * @param standardOutput standard output as read
+     * @return standard output with its UCS-2 values decoded, if UCS-2 is requested, or else the standard output as read
+     */
+    protected String decodeStandardOutput(PdfInfoRequest request, String standardOutput) {
+        if (getEncoding(request) != PdfInfoEncoding.UCS_2) {
+            return standardOutput;
+        }
+        return PdfInfoParser.decodeUcs2Output(standardOutput, Boolean.TRUE.equals(request.getOptions().getDatesUndecoded()));
+    }
+
+    /**
+     * Gets the stream that the standard output of a running process is copied to, which parses the page boxes as they stream.
+     *
+     * @param request {@link PdfInfoRequest}
+     * @return {@link PdfInfoParser.BoxesOutputStream}, or null if bounding boxes are not included
+     */
+    protected PdfInfoParser.BoxesOutputStream getBoxesStream(PdfInfoRequest request) {
+        val options = request.getOptions();
+        return options != null && Boolean.TRUE.equals(options.getBoundingBoxesIncluded()) ? new PdfInfoParser.BoxesOutputStream() : null;
+    }
+
+    private static PdfInfoPageBoxes getPageBoxes(PdfInfoParser.BoxesOutputStream boxesStream) {
+        return boxesStream != null ? boxesStream.getPageBoxes() : null;
+    }
+
+    private static PdfInfoEncoding getEncoding(PdfInfoRequest request) {
+        val options = request.getOptions();
+        return options != null ? options.getEncoding() : null;
+    }
+
+    /**
+     * Gets the key that the result of a request is cached under.
+     *
+     * @param request {@link PdfInfoRequest}
+     * @return cache key, or null if no {@link #resultCache} is configured
+     * @throws IOException if unable to read the executable file or PDF file
+     */
+    protected String getCacheKey(PdfInfoRequest request) throws IOException {
+        if (resultCache == null) {
+            return null;
+        }
+
+        log.debug("Computing cache key");
+        return resultCache.getKey(executableFile, getCommandOptions(request.getOptions()), request.getPdfFile());
+    }
+
+    /**
+     * Restores a cached result.
+     *
+     * @param cacheKey cache key, or null if no {@link #resultCache} is configured
+     * @return {@link PdfInfoResponse} restored from cache, or null if the result is not cached
+     */
+    protected PdfInfoResponse getCachedResponse(String cacheKey) {
+        if (cacheKey == null) {
+            return null;
+        }
+
+        val entryDirectory = resultCache.get(cacheKey);
+        if (entryDirectory == null) {
+            log.debug("Cache missed; key: {}", cacheKey);
+            return null;
+        }
+
+        try {
+            val standardOutput = XpdfResultCache.readStandardOutput(entryDirectory);
+            log.debug("Cache hit; key: {}", cacheKey);
+            return PdfInfoResponse.builder()
+                    .standardOutput(standardOutput)
+                    .build();
+        } catch (IOException e) {
+            // entry may have been evicted in the meantime
+            log.debug("Unable to restore cached result; exception message: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores a result in the cache.
+     * Any failure to store the result is logged and otherwise ignored.
+     *
+     * @param cacheKey cache key, or null if no {@link #resultCache} is configured
+     * @param result {@link XpdfProcessResult} of the process
+     * @param response {@link PdfInfoResponse}
+     */
+    protected void putCachedResponse(String cacheKey, XpdfProcessResult result, PdfInfoResponse response) {
+        if (cacheKey == null) {
+            return;
+        }
+        if (result.isStandardOutputTruncated()) {
+            // page boxes restored from a truncated standard output would be missing pages
+            log.debug("Standard output truncated; result not cached");
+            return;
+        }
+
+        try {
+            resultCache.put(cacheKey, entryDirectory -> XpdfResultCache.writeStandardOutput(entryDirectory, response.getStandardOutput()));
+        } catch (IOException e) {
+            log.debug("Unable to cache result; exception message: {}", e.getMessage());
+        }
+    }
+
     /**
      * Gets the complete list of command parts for a {@code Process}.
      *
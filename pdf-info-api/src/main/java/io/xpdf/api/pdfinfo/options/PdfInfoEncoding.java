@@ -16,6 +16,9 @@
  */
 package io.xpdf.api.pdfinfo.options;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Defines the encoding to use for text output from a processed PDF file.
  *
@@ -33,7 +36,7 @@ public enum PdfInfoEncoding {
      * @implNote Use {@link #UTF_8}, unless you specifically intend to limit the scope of encoding.
      * @since 1.1.0
      */
-    LATIN_1,
+    LATIN_1(StandardCharsets.ISO_8859_1),
 
     /**
      * 7-bit ASCII character set.
@@ -41,7 +44,7 @@ public enum PdfInfoEncoding {
      * @implNote Use {@link #UTF_8}, unless you specifically intend to limit the scope of encoding.
      * @since 1.1.0
      */
-    ASCII_7,
+    ASCII_7(StandardCharsets.US_ASCII),
 
     /**
      * 8-bit Unicode character set.
@@ -49,7 +52,7 @@ public enum PdfInfoEncoding {
      * @implNote Backward compatible with {@link #LATIN_1}, {@link #ASCII_7}, and {@link #ZAPF_DINGBATS}.
      * @since 1.1.0
      */
-    UTF_8,
+    UTF_8(StandardCharsets.UTF_8),
 
     /**
      * 2-bit Unicode character set.
@@ -57,7 +60,7 @@ public enum PdfInfoEncoding {
      * @implNote Predecessor to UTF-16 encoding.
      * @since 1.1.0
      */
-    UCS_2,
+    UCS_2(StandardCharsets.UTF_16BE),
 
     /**
      * "Extended" ASCII character set for encoding the Symbol font.
@@ -66,7 +69,7 @@ public enum PdfInfoEncoding {
      * The Symbol font and its encoding were adopted by PostScript, but never became part of any official encoding standard.
      * @since 1.1.0
      */
-    SYMBOL,
+    SYMBOL(StandardCharsets.ISO_8859_1),
 
     /**
      * ZapfDingbats Unicode character set.
@@ -74,6 +77,36 @@ public enum PdfInfoEncoding {
      * @implNote Use {@link #UTF_8}, unless you specifically intend to limit the scope of encoding.
      * @since 1.1.0
      */
-    ZAPF_DINGBATS,
+    ZAPF_DINGBATS(StandardCharsets.ISO_8859_1);
+
+    private final Charset charset;
+
+    PdfInfoEncoding(Charset charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * Gets the {@code Charset} that output in this encoding is decoded with.
+     *
+     * @implNote {@link #UCS_2} is decoded as big-endian UTF-16, which is how the executable writes it.
+     * <em>pdfinfo</em> only writes the text strings of the "Info" dictionary in this encoding, and everything else in ASCII, so {@code PdfInfoTool} decodes nothing else with this charset.
+     * {@link #SYMBOL} and {@link #ZAPF_DINGBATS} have no Unicode charset, so they are decoded as Latin-1, which keeps each byte as a character of the same value.
+     * @return {@code Charset} of this encoding
+     * @since 1.3.0
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Gets the {@code Charset} that output in an encoding is decoded with.
+     *
+     * @param encoding encoding, or null if none is configured
+     * @return {@code Charset} of the encoding, or of {@link #LATIN_1} if none is configured, which is the default encoding of the executable
+     * @since 1.3.0
+     */
+    public static Charset getCharset(PdfInfoEncoding encoding) {
+        return encoding != null ? encoding.getCharset() : LATIN_1.getCharset();
+    }
 
 }
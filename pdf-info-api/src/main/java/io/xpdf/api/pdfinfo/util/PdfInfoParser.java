@@ -0,0 +1,653 @@
+/*
+ * PdfInfo API - An API for accessing a native pdfinfo library (https://xpdf.io)
+ * Copyright © 2025 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdfinfo.util;
+
+import io.xpdf.api.pdfinfo.PdfInfoBoxType;
+import io.xpdf.api.pdfinfo.PdfInfoPageBoxes;
+import io.xpdf.api.pdfinfo.PdfInfoResponse;
+import lombok.val;
+
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parsers of the standard output of the <em>pdfinfo</em> executable, for a {@link PdfInfoResponse}.
+ *
+ * <br><br> Output is scanned by hand in a single pass, without regular expressions, since <em>pdfinfo</em> may be invoked on every document that passes through an application.
+ *
+ * @since 1.3.0
+ */
+public class PdfInfoParser {
+
+    private static final PdfInfoBoxType[] BOX_TYPES = PdfInfoBoxType.values();
+
+    private static final int INITIAL_PAGE_CAPACITY = 16;
+
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    private static final String[] ENCODED_LABELS = {"Title:", "Subject:", "Keywords:", "Author:", "Creator:", "Producer:"};
+
+    private static final String[] ENCODED_DATE_LABELS = {"CreationDate:", "ModDate:"};
+
+    private static final int LABEL_WIDTH = 16;
+
+    private static final int MAX_LABEL_LENGTH = 24;
+
+    private static final String METADATA_LINE = "Metadata:\n";
+
+    private static final int MAX_BOX_LINE_LENGTH = 256;
+
+    private PdfInfoParser() {
+    }
+
+    /**
+     * Parses the document fields of the standard output, each of which is a line of the form {@code Key: value}.
+     *
+     * @param standardOutput standard output of the <em>pdfinfo</em> executable, or null
+     * @return fields keyed by name, in order of output, with values trimmed
+     * @implNote Per-page lines, such as those printed for {@link io.xpdf.api.pdfinfo.PdfInfoOptions#getBoundingBoxesIncluded() bounding boxes}, are skipped.
+     * If a key is repeated, then its first value is kept.
+     * @since 1.3.0
+     */
+    public static Map<String, String> parseFields(String standardOutput) {
+        if (standardOutput == null) {
+            return Collections.emptyMap();
+        }
+
+        val fields = new LinkedHashMap<String, String>();
+        val length = standardOutput.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = standardOutput.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+
+            val separator = standardOutput.indexOf(':', lineStart);
+            if (separator > lineStart && separator < lineEnd && !isPageLine(standardOutput, lineStart, separator)) {
+                val key = standardOutput.substring(lineStart, separator).trim();
+                val value = standardOutput.substring(separator + 1, lineEnd).trim();
+                fields.putIfAbsent(key, value);
+            }
+            lineStart = lineEnd + 1;
+        }
+        return fields;
+    }
+
+    /**
+     * Decodes standard output that the executable wrote in the {@link io.xpdf.api.pdfinfo.options.PdfInfoEncoding#UCS_2 UCS-2} encoding, and that was read byte for byte as Latin-1.
+     *
+     * <br><br> <em>pdfinfo</em> writes its labels, numbers and line breaks in ASCII whatever the requested encoding, and only encodes the text strings of the "Info" dictionary.
+     * Each of these follows a label that is padded to 16 characters, such as {@code Title:          }, and is decoded as big-endian UCS-2 up to the line break that ends it.
+     * Every other line is kept as it is, except for any metadata, which is written as it is stored in the PDF file, and is decoded as UTF-8 like XMP metadata.
+     *
+     * @param standardOutput standard output of the <em>pdfinfo</em> executable read as Latin-1, or null
+     * @param datesEncoded whether dates are written as text strings too, which they are if {@link io.xpdf.api.pdfinfo.PdfInfoOptions#getDatesUndecoded() dates are undecoded}
+     * @return decoded standard output, or null if no standard output
+     * @implNote A line break byte within an encoded value is told apart from the one that ends it by the label that must follow the latter.
+     * @since 1.3.0
+     */
+    public static String decodeUcs2Output(String standardOutput, boolean datesEncoded) {
+        if (standardOutput == null) {
+            return null;
+        }
+
+        val decoded = new StringBuilder(standardOutput.length());
+        val length = standardOutput.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            if (standardOutput.startsWith(METADATA_LINE, lineStart)) {
+                decoded.append(reencode(standardOutput.substring(lineStart), StandardCharsets.UTF_8));
+                break;
+            }
+
+            int lineEnd;
+            if (isEncodedLine(standardOutput, lineStart, datesEncoded)) {
+                val valueStart = lineStart + LABEL_WIDTH;
+                lineEnd = findEncodedLineEnd(standardOutput, valueStart);
+                decoded.append(standardOutput, lineStart, valueStart);
+                decoded.append(reencode(standardOutput.substring(valueStart, lineEnd), StandardCharsets.UTF_16BE));
+            } else {
+                lineEnd = standardOutput.indexOf('\n', lineStart);
+                if (lineEnd < 0) {
+                    lineEnd = length;
+                }
+                decoded.append(standardOutput, lineStart, lineEnd);
+            }
+
+            if (lineEnd < length) {
+                decoded.append('\n');
+            }
+            lineStart = lineEnd + 1;
+        }
+        return decoded.toString();
+    }
+
+    /**
+     * Parses a value of the form {@code yes} or {@code no}, which may be followed by details, as for {@code Encrypted}.
+     *
+     * @param value field value, or null
+     * @return parsed value, or null if the value is neither
+     * @since 1.3.0
+     */
+    public static Boolean parseBoolean(String value) {
+        if (value == null) {
+            return null;
+        } else if (value.startsWith("yes")) {
+            return true;
+        } else if (value.startsWith("no")) {
+            return false;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Parses the leading whole number of a value, such as the page count, or the byte count of {@code 36953 bytes}.
+     *
+     * @param value field value, or null
+     * @return parsed number, or null if the value does not start with a number
+     * @since 1.3.0
+     */
+    public static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        val end = skipDigits(value, 0);
+        if (end == 0 || end > 18) {
+            return null;
+        }
+        return Long.parseLong(value.substring(0, end));
+    }
+
+    /**
+     * Parses a dimension of a page size of the form {@code 612 x 792 pts (letter) (rotated 0 degrees)}.
+     *
+     * @param value field value, or null
+     * @param index index of the dimension, which is 0 for the width and 1 for the height
+     * @return dimension in points, or null if the value is not a page size
+     * @since 1.3.0
+     */
+    public static Float parsePageDimension(String value, int index) {
+        if (value == null) {
+            return null;
+        }
+
+        val separator = value.indexOf(" x ");
+        val unit = value.indexOf(" pts");
+        if (separator < 0 || unit < separator) {
+            return null;
+        }
+
+        try {
+            return Float.parseFloat(index == 0 ? value.substring(0, separator) : value.substring(separator + 3, unit));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses the rotation of a page size of the form {@code 612 x 792 pts (letter) (rotated 0 degrees)}.
+     *
+     * @param value field value, or null
+     * @return rotation in degrees, or null if the value has no rotation
+     * @since 1.3.0
+     */
+    public static Integer parsePageRotation(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        val marker = "(rotated ";
+        val start = value.indexOf(marker);
+        if (start < 0) {
+            return null;
+        }
+
+        val digitsStart = start + marker.length();
+        val digitsEnd = skipDigits(value, digitsStart);
+        return digitsEnd > digitsStart ? Integer.valueOf(value.substring(digitsStart, digitsEnd)) : null;
+    }
+
+    /**
+     * Parses a date printed by <em>pdfinfo</em>, whether or not {@link io.xpdf.api.pdfinfo.PdfInfoOptions#getDatesUndecoded() dates are undecoded}.
+     *
+     * <br><br> Accepts ISO 8601 dates such as {@code 2024-02-22T10:18:14-08:00}, PDF dates such as {@code D:20240222101814-08'00'},
+     * and decoded dates such as {@code Thu Feb 22 10:18:14 2024}.
+     *
+     * @param value field value, or null
+     * @return parsed {@code Instant}, or null if the value is not a date
+     * @implNote Decoded dates are printed without their time zone, so they are read as UTC, as are any other dates without a time zone.
+     * @since 1.3.0
+     */
+    public static Instant parseDate(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+
+        try {
+            val leadingDigits = skipDigits(value, 0);
+            if (value.startsWith("D:")) {
+                return parsePdfDate(value.substring(2));
+            } else if (leadingDigits > 4) {
+                return parsePdfDate(value);
+            } else if (leadingDigits == 4) {
+                return parseIsoDate(value);
+            } else {
+                return parseDecodedDate(value);
+            }
+        } catch (DateTimeException | NumberFormatException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses the page boxes of the standard output, which are printed if {@link io.xpdf.api.pdfinfo.PdfInfoOptions#getBoundingBoxesIncluded() bounding boxes are included}.
+     *
+     * <br><br> Box lines are of the form {@code Page    1 MediaBox:     0.00     0.00   612.00   792.00} if a page range is requested, and of the form {@code MediaBox: ...} for the first page otherwise.
+     * Coordinates are read straight from the standard output into columns of primitive arrays, without allocating a string or an object per line.
+     *
+     * @param standardOutput standard output of the <em>pdfinfo</em> executable, or null
+     * @return {@link PdfInfoPageBoxes}, which has no pages if no box was printed
+     * @since 1.3.0
+     */
+    public static PdfInfoPageBoxes parseBoxes(String standardOutput) {
+        val output = standardOutput != null ? standardOutput : "";
+        val columns = new BoxColumns();
+        val cursor = new Cursor(output);
+        while (cursor.position < output.length()) {
+            int lineEnd = output.indexOf('\n', cursor.position);
+            if (lineEnd < 0) {
+                lineEnd = output.length();
+            }
+            columns.addLine(cursor, lineEnd);
+            cursor.position = lineEnd + 1;
+        }
+        return columns.toPageBoxes();
+    }
+
+    /**
+     * An {@code OutputStream} that parses page boxes from the standard output of the <em>pdfinfo</em> executable, as it is written.
+     *
+     * <br><br> Lines are parsed like {@link #parseBoxes}, but straight from the bytes of the standard output, so that every page is read even if the standard output kept in memory is truncated.
+     * Box lines are printed in ASCII whatever the requested encoding, so bytes are read as characters without decoding.
+     *
+     * @since 1.3.0
+     */
+    public static class BoxesOutputStream extends OutputStream {
+
+        private final BoxColumns columns = new BoxColumns();
+
+        private final StringBuilder line = new StringBuilder();
+
+        private final Cursor cursor = new Cursor(line);
+
+        private PdfInfoPageBoxes pageBoxes;
+
+        @Override
+        public void write(int b) {
+            if (pageBoxes != null) {
+                return;
+            }
+            if (b == '\n') {
+                addLine();
+            } else if (line.length() < MAX_BOX_LINE_LENGTH) {
+                // longer lines, such as metadata, are never box lines
+                line.append((char) (b & 0xFF));
+            }
+        }
+
+        @Override
+        public void write(byte[] source, int offset, int length) {
+            for (int index = offset; index < offset + length; index++) {
+                write(source[index]);
+            }
+        }
+
+        /**
+         * Parses any last line that has no line break, and completes the page boxes.
+         * Any bytes written afterwards are ignored.
+         *
+         * @since 1.3.0
+         */
+        @Override
+        public void close() {
+            if (pageBoxes != null) {
+                return;
+            }
+            addLine();
+            pageBoxes = columns.toPageBoxes();
+        }
+
+        /**
+         * Gets the page boxes of every line written so far, closing this stream.
+         *
+         * @return {@link PdfInfoPageBoxes}
+         * @since 1.3.0
+         */
+        public PdfInfoPageBoxes getPageBoxes() {
+            close();
+            return pageBoxes;
+        }
+
+        private void addLine() {
+            if (line.length() > 0) {
+                cursor.position = 0;
+                columns.addLine(cursor, line.length());
+                line.setLength(0);
+            }
+        }
+
+    }
+
+    private static float[][] newColumns(int capacity) {
+        return growColumns(new float[BOX_TYPES.length * 4][0], capacity);
+    }
+
+    private static float[][] growColumns(float[][] columns, int capacity) {
+        val grown = new float[columns.length][];
+        for (int column = 0; column < columns.length; column++) {
+            grown[column] = Arrays.copyOf(columns[column], capacity);
+            if (capacity > columns[column].length) {
+                Arrays.fill(grown[column], columns[column].length, capacity, Float.NaN);
+            }
+        }
+        return grown;
+    }
+
+    private static boolean isEncodedLine(String output, int lineStart, boolean datesEncoded) {
+        if (lineStart + LABEL_WIDTH > output.length()) {
+            return false;
+        }
+        for (val label : ENCODED_LABELS) {
+            if (isPaddedLabel(output, lineStart, label)) {
+                return true;
+            }
+        }
+        if (datesEncoded) {
+            for (val label : ENCODED_DATE_LABELS) {
+                if (isPaddedLabel(output, lineStart, label)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPaddedLabel(String output, int lineStart, String label) {
+        if (!output.startsWith(label, lineStart)) {
+            return false;
+        }
+        for (int index = lineStart + label.length(); index < lineStart + LABEL_WIDTH; index++) {
+            if (output.charAt(index) != ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int findEncodedLineEnd(String output, int valueStart) {
+        // encoded characters take two bytes each, so only every other byte may be the line break
+        for (int index = valueStart; index < output.length(); index += 2) {
+            if (output.charAt(index) == '\n' && isLabelStart(output, index + 1)) {
+                return index;
+            }
+        }
+        return output.length();
+    }
+
+    private static boolean isLabelStart(String output, int start) {
+        // every line after an encoded value starts with an ASCII label, such as "Tagged:" or "Page    1 size:"
+        if (start == output.length()) {
+            return true;
+        }
+        val first = output.charAt(start);
+        if (first < 'A' || first > 'Z') {
+            return false;
+        }
+        val limit = Math.min(output.length(), start + MAX_LABEL_LENGTH);
+        for (int index = start + 1; index < limit; index++) {
+            val character = output.charAt(index);
+            if (character == ':') {
+                return true;
+            } else if (character < ' ' || character > '~') {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static String reencode(String latin1, Charset charset) {
+        return new String(latin1.getBytes(StandardCharsets.ISO_8859_1), charset);
+    }
+
+    private static boolean isPageLine(String output, int lineStart, int separator) {
+        // per-page lines are of the form "Page    1 MediaBox: ..."
+        if (!output.startsWith("Page ", lineStart)) {
+            return false;
+        }
+        int index = lineStart + "Page ".length();
+        while (index < separator && output.charAt(index) == ' ') {
+            index++;
+        }
+        return index < separator && Character.isDigit(output.charAt(index));
+    }
+
+    private static int skipDigits(String value, int start) {
+        int index = start;
+        while (index < value.length() && Character.isDigit(value.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static Instant parsePdfDate(String value) {
+        // D:YYYYMMDDHHmmSSOHH'mm', where every part after the year is optional
+        val digitsEnd = Math.min(skipDigits(value, 0), 14);
+        val year = Integer.parseInt(value.substring(0, 4));
+        val month = digitsEnd >= 6 ? Integer.parseInt(value.substring(4, 6)) : 1;
+        val day = digitsEnd >= 8 ? Integer.parseInt(value.substring(6, 8)) : 1;
+        val hour = digitsEnd >= 10 ? Integer.parseInt(value.substring(8, 10)) : 0;
+        val minute = digitsEnd >= 12 ? Integer.parseInt(value.substring(10, 12)) : 0;
+        val second = digitsEnd >= 14 ? Integer.parseInt(value.substring(12, 14)) : 0;
+
+        ZoneOffset offset = ZoneOffset.UTC;
+        if (digitsEnd < value.length()) {
+            val sign = value.charAt(digitsEnd);
+            if (sign == '+' || sign == '-') {
+                val offsetHours = Integer.parseInt(value.substring(digitsEnd + 1, digitsEnd + 3));
+                val minutesStart = value.indexOf('\'', digitsEnd) + 1;
+                val offsetMinutes = minutesStart > 0 && minutesStart + 2 <= value.length() ? Integer.parseInt(value.substring(minutesStart, minutesStart + 2)) : 0;
+                offset = sign == '+' ? ZoneOffset.ofHoursMinutes(offsetHours, offsetMinutes) : ZoneOffset.ofHoursMinutes(-offsetHours, -offsetMinutes);
+            }
+        }
+
+        return OffsetDateTime.of(year, month, day, hour, minute, second, 0, offset).toInstant();
+    }
+
+    private static Instant parseIsoDate(String value) {
+        val timeStart = value.indexOf('T');
+        val hasOffset = value.endsWith("Z") || (timeStart > 0 && (value.indexOf('+', timeStart) > 0 || value.indexOf('-', timeStart) > 0));
+        return hasOffset ? OffsetDateTime.parse(value).toInstant() : LocalDateTime.parse(value).toInstant(ZoneOffset.UTC);
+    }
+
+    private static Instant parseDecodedDate(String value) {
+        // "Thu Feb 22 10:18:14 2024", in which the day of month may be padded with a space
+        val tokens = new String[5];
+        int count = 0;
+        int index = 0;
+        while (index < value.length() && count < tokens.length) {
+            while (index < value.length() && value.charAt(index) == ' ') {
+                index++;
+            }
+            val start = index;
+            while (index < value.length() && value.charAt(index) != ' ') {
+                index++;
+            }
+            if (index > start) {
+                tokens[count++] = value.substring(start, index);
+            }
+        }
+        if (count < tokens.length) {
+            return null;
+        }
+
+        int month = 0;
+        while (month < MONTHS.length && !MONTHS[month].equals(tokens[1])) {
+            month++;
+        }
+        val time = tokens[3];
+        if (month == MONTHS.length || time.length() != 8) {
+            return null;
+        }
+
+        return LocalDateTime.of(Integer.parseInt(tokens[4]), month + 1, Integer.parseInt(tokens[2]),
+                        Integer.parseInt(time.substring(0, 2)), Integer.parseInt(time.substring(3, 5)), Integer.parseInt(time.substring(6, 8)))
+                .toInstant(ZoneOffset.UTC);
+    }
+
+    /**
+     * Columns of page box coordinates, filled one line at a time.
+     */
+    private static class BoxColumns {
+        private int firstPageNumber;
+        private int pageCount;
+        private float[][] columns = newColumns(INITIAL_PAGE_CAPACITY);
+
+        private void addLine(Cursor cursor, int lineEnd) {
+            // read page number, if any, and box type
+            int pageNumber = 1;
+            if (cursor.startsWith("Page ")) {
+                cursor.position += "Page ".length();
+                cursor.skipSpaces();
+                pageNumber = cursor.readInt();
+                cursor.skipSpaces();
+            }
+            val type = cursor.readBoxType();
+
+            if (type != null && pageNumber > 0 && (pageCount == 0 || pageNumber >= firstPageNumber)) {
+                if (pageCount == 0) {
+                    firstPageNumber = pageNumber;
+                }
+                val index = pageNumber - firstPageNumber;
+                if (index >= columns[0].length) {
+                    columns = growColumns(columns, Math.max(index + 1, columns[0].length * 2));
+                }
+                pageCount = Math.max(pageCount, index + 1);
+
+                // read left, bottom, right and top coordinates
+                for (int coordinate = 0; coordinate < 4; coordinate++) {
+                    columns[type.ordinal() * 4 + coordinate][index] = cursor.readFloat(lineEnd);
+                }
+            }
+        }
+
+        private PdfInfoPageBoxes toPageBoxes() {
+            val pageColumns = pageCount < columns[0].length ? growColumns(columns, pageCount) : columns;
+            return new PdfInfoPageBoxes(pageCount == 0 ? 1 : firstPageNumber, pageCount, pageColumns);
+        }
+    }
+
+    private static class Cursor {
+        private final CharSequence text;
+        private int position;
+
+        private Cursor(CharSequence text) {
+            this.text = text;
+        }
+
+        private boolean startsWith(String prefix) {
+            if (position + prefix.length() > text.length()) {
+                return false;
+            }
+            for (int index = 0; index < prefix.length(); index++) {
+                if (text.charAt(position + index) != prefix.charAt(index)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void skipSpaces() {
+            while (position < text.length() && text.charAt(position) == ' ') {
+                position++;
+            }
+        }
+
+        private int readInt() {
+            int value = 0;
+            val start = position;
+            while (position < text.length() && Character.isDigit(text.charAt(position)) && position - start < 9) {
+                value = value * 10 + (text.charAt(position++) - '0');
+            }
+            return position > start ? value : -1;
+        }
+
+        private PdfInfoBoxType readBoxType() {
+            for (val type : BOX_TYPES) {
+                val label = type.getLabel();
+                if (startsWith(label) && position + label.length() < text.length() && text.charAt(position + label.length()) == ':') {
+                    position += label.length() + 1;
+                    return type;
+                }
+            }
+            return null;
+        }
+
+        private float readFloat(int limit) {
+            skipSpaces();
+            val negative = position < limit && text.charAt(position) == '-';
+            if (negative) {
+                position++;
+            }
+
+            double value = 0;
+            double scale = 0;
+            val start = position;
+            while (position < limit) {
+                val character = text.charAt(position);
+                if (character >= '0' && character <= '9') {
+                    value = value * 10 + (character - '0');
+                    scale *= 10;
+                } else if (character == '.' && scale == 0) {
+                    scale = 1;
+                } else {
+                    break;
+                }
+                position++;
+            }
+
+            if (position == start) {
+                return Float.NaN;
+            }
+            val magnitude = scale > 1 ? value / scale : value;
+            return (float) (negative ? -magnitude : magnitude);
+        }
+    }
+
+}
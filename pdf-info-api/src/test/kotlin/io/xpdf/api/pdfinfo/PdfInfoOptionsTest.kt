@@ -17,6 +17,7 @@
 package io.xpdf.api.pdfinfo
 
 import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
 import io.xpdf.api.pdfinfo.options.PdfInfoEncoding
 import org.junit.jupiter.api.Test
 
@@ -40,4 +41,25 @@ class PdfInfoOptionsTest {
         options.toString() shouldBe "PdfInfoOptions(pageStart=1, pageStop=5, encoding=UTF_8, boundingBoxesIncluded=true, metadataIncluded=true, datesUndecoded=true, ownerPassword=ownerPassword, userPassword=userPassword, nativeOptions=null)"
     }
 
+    @Test
+    fun `should be equal if same values`() {
+        // given
+        val options = PdfInfoOptions.builder().pageStart(1).userPassword("userPassword").nativeOptions(mapOf("-opw" to "secret")).build()
+        val other = PdfInfoOptions.builder().pageStart(1).userPassword("userPassword").nativeOptions(mapOf("-opw" to "secret")).build()
+
+        // when then
+        options shouldBe other
+        options.hashCode() shouldBe other.hashCode()
+    }
+
+    @Test
+    fun `should not be equal if different values`() {
+        // given
+        val options = PdfInfoOptions.builder().pageStart(1).build()
+        val other = PdfInfoOptions.builder().pageStart(2).build()
+
+        // when then
+        options shouldNotBe other
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+/*
+ * PdfInfo API - An API for accessing a native pdfinfo library (https://xpdf.io)
+ * Copyright © 2025 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdfinfo
+
+import io.kotest.matchers.shouldBe
+import org.junit.jupiter.api.Test
+
+class PdfInfoPageBoxesTest {
+
+    private val columns = Array(PdfInfoBoxType.values().size * 4) { column -> floatArrayOf(column.toFloat(), Float.NaN) }
+
+    @Test
+    fun `should get coordinates of box`() {
+        // given
+        val pageBoxes = PdfInfoPageBoxes(3, 2, columns)
+
+        // when then
+        pageBoxes.hasBox(PdfInfoBoxType.CROP_BOX, 3) shouldBe true
+        pageBoxes.getLeft(PdfInfoBoxType.CROP_BOX, 3) shouldBe 4f
+        pageBoxes.getBottom(PdfInfoBoxType.CROP_BOX, 3) shouldBe 5f
+        pageBoxes.getRight(PdfInfoBoxType.CROP_BOX, 3) shouldBe 6f
+        pageBoxes.getTop(PdfInfoBoxType.CROP_BOX, 3) shouldBe 7f
+        pageBoxes.getWidth(PdfInfoBoxType.CROP_BOX, 3) shouldBe 2f
+        pageBoxes.getHeight(PdfInfoBoxType.CROP_BOX, 3) shouldBe 2f
+    }
+
+    @Test
+    fun `should get nan coordinates of box that was not printed`() {
+        // given
+        val pageBoxes = PdfInfoPageBoxes(3, 2, columns)
+
+        // when then
+        pageBoxes.hasBox(PdfInfoBoxType.MEDIA_BOX, 4) shouldBe false
+        pageBoxes.getLeft(PdfInfoBoxType.MEDIA_BOX, 4).isNaN() shouldBe true
+        pageBoxes.getWidth(PdfInfoBoxType.MEDIA_BOX, 4).isNaN() shouldBe true
+    }
+
+    @Test
+    fun `should get nan coordinates of page out of range`() {
+        // given
+        val pageBoxes = PdfInfoPageBoxes(3, 2, columns)
+
+        // when then
+        pageBoxes.hasBox(PdfInfoBoxType.MEDIA_BOX, 2) shouldBe false
+        pageBoxes.hasBox(PdfInfoBoxType.MEDIA_BOX, 5) shouldBe false
+    }
+
+    @Test
+    fun `should convert to string`() {
+        // given
+        val pageBoxes = PdfInfoPageBoxes(3, 2, columns)
+
+        // when then
+        pageBoxes.toString() shouldBe "PdfInfoPageBoxes(firstPageNumber=3, pageCount=2)"
+    }
+
+}
@@ -18,19 +18,46 @@ package io.xpdf.api.pdfinfo
 
 import io.kotest.assertions.throwables.shouldThrow
 import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
+import io.xpdf.api.common.XpdfPdfSource
 import org.junit.jupiter.api.Test
 import java.io.File
+import java.nio.ByteBuffer
 
 class PdfInfoRequestTest {
 
     @Test
-    fun `should throw exception when initializing if pdf file is null`() {
+    fun `should throw exception when initializing if pdf file and pdf source are null`() {
         // when then
         shouldThrow<NullPointerException> {
             PdfInfoRequest.builder().build()
         }
     }
 
+    @Test
+    fun `should throw exception when initializing if pdf file and pdf source are both provided`() {
+        // when then
+        shouldThrow<IllegalArgumentException> {
+            PdfInfoRequest.builder()
+                .pdfFile(File("some.pdf"))
+                .pdfSource(XpdfPdfSource.of(ByteBuffer.wrap("some pdf".toByteArray())))
+                .build()
+        }
+    }
+
+    @Test
+    fun `should initialize with pdf source`() {
+        // given
+        val pdfSource = XpdfPdfSource.of(ByteBuffer.wrap("some pdf".toByteArray()))
+
+        // when
+        val result = PdfInfoRequest.builder().pdfSource(pdfSource).build()
+
+        // then
+        result.pdfFile shouldBe null
+        result.pdfSource shouldBe pdfSource
+    }
+
     @Test
     fun `should convert to string`() {
         // given
@@ -39,7 +66,28 @@ class PdfInfoRequestTest {
             .build()
 
         // when then
-        request.toString() shouldBe "PdfInfoRequest(pdfFile=some.pdf, options=null)"
+        request.toString() shouldBe "PdfInfoRequest(pdfFile=some.pdf, pdfSource=null, options=null)"
+    }
+
+    @Test
+    fun `should be equal if same values`() {
+        // given
+        val request = PdfInfoRequest.builder().pdfFile(File("some.pdf")).options(PdfInfoOptions.builder().pageStart(1).build()).build()
+        val other = PdfInfoRequest.builder().pdfFile(File("some.pdf")).options(PdfInfoOptions.builder().pageStart(1).build()).build()
+
+        // when then
+        request shouldBe other
+        request.hashCode() shouldBe other.hashCode()
+    }
+
+    @Test
+    fun `should not be equal if different values`() {
+        // given
+        val request = PdfInfoRequest.builder().pdfFile(File("some.pdf")).build()
+        val other = PdfInfoRequest.builder().pdfFile(File("other.pdf")).build()
+
+        // when then
+        request shouldNotBe other
     }
 
 }
\ No newline at end of file
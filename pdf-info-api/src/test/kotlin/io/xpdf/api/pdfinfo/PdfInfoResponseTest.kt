@@ -17,10 +17,96 @@
 package io.xpdf.api.pdfinfo
 
 import io.kotest.matchers.shouldBe
+import io.xpdf.api.pdfinfo.util.PdfInfoParser
 import org.junit.jupiter.api.Test
+import java.time.Instant
 
 class PdfInfoResponseTest {
 
+    @Test
+    fun `should get typed fields`() {
+        // given
+        val response = PdfInfoResponse.builder()
+            .standardOutput("""
+                Title:          some title
+                Subject:        some subject
+                Keywords:       some keywords
+                Author:         some author
+                Creator:        some creator
+                Producer:       some producer
+                CreationDate:   2024-02-22T10:18:14-08:00
+                ModDate:        Fri Feb 23 11:24:49 2024
+                Tagged:         yes
+                Form:           none
+                Pages:          3
+                Encrypted:      no
+                Page size:      612 x 792 pts (letter) (rotated 0 degrees)
+                File size:      36953 bytes
+                Optimized:      no
+                PDF version:    1.7
+            """.trimIndent())
+            .build()
+
+        // when then
+        response.title shouldBe "some title"
+        response.subject shouldBe "some subject"
+        response.keywords shouldBe "some keywords"
+        response.author shouldBe "some author"
+        response.creator shouldBe "some creator"
+        response.producer shouldBe "some producer"
+        response.creationDate shouldBe Instant.parse("2024-02-22T18:18:14Z")
+        response.modificationDate shouldBe Instant.parse("2024-02-23T11:24:49Z")
+        response.tagged shouldBe true
+        response.form shouldBe "none"
+        response.pageCount shouldBe 3
+        response.encrypted shouldBe false
+        response.pageWidth shouldBe 612f
+        response.pageHeight shouldBe 792f
+        response.pageRotation shouldBe 0
+        response.fileSize shouldBe 36953L
+        response.optimized shouldBe false
+        response.pdfVersion shouldBe "1.7"
+        response.getField("Form") shouldBe "none"
+    }
+
+    @Test
+    fun `should get page boxes`() {
+        // given
+        val response = PdfInfoResponse.builder()
+            .standardOutput("Page    1 MediaBox:     0.00     0.00   612.00   792.00")
+            .build()
+
+        // when then
+        response.pageBoxes.pageCount shouldBe 1
+        response.pageBoxes.getWidth(PdfInfoBoxType.MEDIA_BOX, 1) shouldBe 612f
+    }
+
+    @Test
+    fun `should get page boxes parsed as standard output streamed`() {
+        // given
+        val pageBoxes = PdfInfoParser.parseBoxes("Page    2 MediaBox:     0.00     0.00   612.00   792.00")
+        val response = PdfInfoResponse.builder()
+            .standardOutput("Pages:          2")
+            .pageBoxes(pageBoxes)
+            .build()
+
+        // when then
+        response.pageBoxes shouldBe pageBoxes
+    }
+
+    @Test
+    fun `should get null fields if no standard output`() {
+        // given
+        val response = PdfInfoResponse.builder().build()
+
+        // when then
+        response.fields shouldBe emptyMap()
+        response.title shouldBe null
+        response.creationDate shouldBe null
+        response.pageCount shouldBe null
+        response.encrypted shouldBe null
+    }
+
     @Test
     fun `should convert to string`() {
         // given
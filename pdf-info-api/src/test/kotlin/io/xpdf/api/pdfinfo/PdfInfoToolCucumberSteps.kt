@@ -24,6 +24,7 @@ import io.kotest.assertions.throwables.shouldThrow
 import io.kotest.matchers.shouldBe
 import io.kotest.matchers.string.shouldContain
 import io.xpdf.api.common.exception.XpdfException
+import io.xpdf.api.common.exception.XpdfExecutionException
 import io.xpdf.api.common.util.XpdfUtils
 import io.xpdf.api.pdfinfo.options.PdfInfoEncoding
 import io.xpdf.api.pdfinfo.util.PdfInfoUtils
@@ -111,11 +112,21 @@ class PdfInfoToolCucumberSteps {
         response!!.standardOutput shouldContain Regex(pattern)
     }
 
+    @Then("the page count should be {int}")
+    fun `the page count should be PAGE_COUNT`(pageCount: Int) {
+        response!!.pageCount shouldBe pageCount
+    }
+
     @Then("the XpdfException should be an {word}")
     fun `the XpdfException should be an XPDF_EXCEPTION_NAME`(xpdfExceptionName: String) {
         exception!!::class.java shouldBe Class.forName("io.xpdf.api.common.exception.${xpdfExceptionName}")
     }
 
+    @Then("the XpdfException error output should contain {string}")
+    fun `the XpdfException error output should contain TEXT`(text: String) {
+        (exception as XpdfExecutionException).errorOutput shouldContain text
+    }
+
     @DataTableType
     fun pdfInfoToolDtoTransformer(row: Map<String, String?>) = PdfInfoToolDto(
         row["executableFile"]?.let { Paths.get(it).toFile() },
@@ -24,25 +24,36 @@ import io.kotest.matchers.collections.shouldContainExactly
 import io.kotest.matchers.shouldBe
 import io.kotest.matchers.string.shouldContain
 import io.kotest.matchers.string.shouldMatch
+import io.kotest.matchers.types.shouldBeInstanceOf
 import io.mockk.*
+import io.xpdf.api.common.XpdfExecutableManager
+import io.xpdf.api.common.XpdfPdfSource
+import io.xpdf.api.common.XpdfPdfStager
+import io.xpdf.api.common.XpdfProcessExecutor
+import io.xpdf.api.common.XpdfResultCache
 import io.xpdf.api.common.exception.*
 import io.xpdf.api.common.util.XpdfUtils
 import io.xpdf.api.pdfinfo.options.PdfInfoEncoding
 import io.xpdf.api.pdfinfo.util.PdfInfoUtils
 import org.apache.commons.io.FileUtils
-import org.apache.commons.io.IOUtils
 import org.junit.jupiter.api.AfterAll
 import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.extension.ExtendWith
+import org.junit.jupiter.api.io.TempDir
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.CsvSource
 import org.springframework.boot.test.system.CapturedOutput
 import org.springframework.boot.test.system.OutputCaptureExtension
 import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
 import java.io.File
 import java.io.IOException
+import java.nio.ByteBuffer
 import java.nio.charset.Charset
+import java.nio.file.Path
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
 
 @ExtendWith(OutputCaptureExtension::class)
 class PdfInfoToolTest {
@@ -63,40 +74,29 @@ class PdfInfoToolTest {
     }
 
     @Test
-    fun `should initialize and copy executable to local system`() {
+    fun `should initialize and extract executable to local system`() {
         // given
-        mockkStatic(PdfInfoUtils::class)
-        every { PdfInfoUtils.getPdfInfoExecutablePath().toFile() } returns mockk {
-            every { exists() } returns false
-            every { setExecutable(any()) } returns true
-        }
+        val executableFile = mockk<File>()
 
-        mockkStatic(FileUtils::class)
-        every { FileUtils.copyInputStreamToFile(any(), any()) } just runs
+        mockkStatic(XpdfExecutableManager::class)
+        every { XpdfExecutableManager.getExecutableFile(any(), PdfInfoUtils.getPdfInfoExecutableResourceName(), PdfInfoUtils.getPdfInfoExecutablePath()) } returns executableFile
 
         // when
-        PdfInfoTool.builder().build()
+        val result = PdfInfoTool.builder().build()
 
         // then
-        verify { FileUtils.copyInputStreamToFile(any(), any()) }
+        result.executableFile shouldBe executableFile
     }
 
     @Test
-    fun `should initialize and not copy executable to local system`() {
-        // given
-        mockkStatic(PdfInfoUtils::class)
-        every { PdfInfoUtils.getPdfInfoExecutablePath().toFile() } returns mockk {
-            every { exists() } returns true
-            every { setExecutable(any()) } returns true
-        }
-
-        mockkStatic(FileUtils::class)
-
+    fun `should initialize and reuse extracted executable`() {
         // when
-        PdfInfoTool.builder().build()
+        val result = PdfInfoTool.builder().build()
 
         // then
-        verify(exactly = 0) { FileUtils.copyInputStreamToFile(any(), any()) }
+        result.executableFile shouldBe PdfInfoTool.builder().build().executableFile
+        result.executableFile.canExecute() shouldBe true
+        result.executableFile.parentFile.parentFile shouldBe PdfInfoUtils.getPdfInfoExecutablePath().parent.toFile().canonicalFile
     }
 
     @Test
@@ -104,6 +104,7 @@ class PdfInfoToolTest {
         // given
         val executableFile = mockk<File> {
             every { exists() } returns true
+            every { canExecute() } returns false
             every { setExecutable(any()) } returns true
         }
 
@@ -115,50 +116,29 @@ class PdfInfoToolTest {
     }
 
     @Test
-    fun `should throw exception when initializing if unable to get executable resource stream`() {
-        // given
-        mockkStatic(PdfInfoUtils::class)
-        every { PdfInfoUtils.getPdfInfoExecutablePath().toFile() } returns mockk {
-            every { exists() } returns false
-            every { setExecutable(any()) } returns true
-        }
-        every { PdfInfoUtils.getPdfInfoExecutableResourceName() } returns "notexists"
-
-        // when then
-        shouldThrowWithMessage<XpdfRuntimeException>("Unable to locate executable in project resources") {
-            PdfInfoTool.builder().build()
-        }
-    }
-
-    @Test
-    fun `should throw exception when initializing if unable to copy executable to local system`() {
+    fun `should initialize with executable and not set execute permission if already executable`() {
         // given
-        mockkStatic(PdfInfoUtils::class)
-        every { PdfInfoUtils.getPdfInfoExecutablePath().toFile() } returns mockk {
-            every { exists() } returns false
-            every { setExecutable(any()) } returns true
+        val executableFile = mockk<File> {
+            every { exists() } returns true
+            every { canExecute() } returns true
         }
 
-        mockkStatic(FileUtils::class)
-        every { FileUtils.copyInputStreamToFile(any(), any()) } throws IOException()
+        // when
+        val result = PdfInfoTool.builder().executableFile(executableFile).build()
 
-        // when then
-        shouldThrowWithMessage<XpdfRuntimeException>("Unable to copy executable from resources to local system") {
-            PdfInfoTool.builder().build()
-        }
+        // then
+        result.executableFile shouldBe executableFile
+        verify(exactly = 0) { executableFile.setExecutable(any()) }
     }
 
     @Test
-    fun `should throw exception when initializing if unable to set execute permission`() {
+    fun `should throw exception when initializing if unable to get executable resource stream`() {
         // given
         mockkStatic(PdfInfoUtils::class)
-        every { PdfInfoUtils.getPdfInfoExecutablePath().toFile() } returns mockk {
-            every { exists() } returns true
-            every { setExecutable(any()) } returns false
-        }
+        every { PdfInfoUtils.getPdfInfoExecutableResourceName() } returns "notexists"
 
         // when then
-        shouldThrowWithMessage<XpdfRuntimeException>("Unable to set execute permissions on executable") {
+        shouldThrowWithMessage<XpdfRuntimeException>("Unable to locate executable in project resources") {
             PdfInfoTool.builder().build()
         }
     }
@@ -181,6 +161,7 @@ class PdfInfoToolTest {
         // given
         val executableFile = mockk<File> {
             every { exists() } returns true
+            every { canExecute() } returns false
             every { setExecutable(any()) } returns false
         }
 
@@ -212,11 +193,44 @@ class PdfInfoToolTest {
         result.timeoutSeconds shouldBe 99
     }
 
+    @Test
+    fun `should initialize with default process executor`() {
+        // when
+        val result = PdfInfoTool.builder().build()
+
+        // then
+        result.processExecutor shouldBe XpdfProcessExecutor.getDefaultInstance()
+    }
+
+    @Test
+    fun `should initialize with process executor`() {
+        // given
+        val processExecutor = XpdfProcessExecutor.builder().build()
+
+        // when
+        val result = PdfInfoTool.builder().processExecutor(processExecutor).build()
+
+        // then
+        result.processExecutor shouldBe processExecutor
+    }
+
+    @Test
+    fun `should initialize with result cache`(@TempDir tempDir: Path) {
+        // given
+        val resultCache = XpdfResultCache.builder().directory(tempDir.toFile()).build()
+
+        // when
+        val result = PdfInfoTool.builder().resultCache(resultCache).build()
+
+        // then
+        result.resultCache shouldBe resultCache
+    }
+
     @Test
     fun `should process`(capturedOutput: CapturedOutput) {
         // given
-        val standardOutputStream = mockk<ByteArrayInputStream>()
-        val errorOutputStream = mockk<ByteArrayInputStream>()
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
 
         mockkConstructor(ProcessBuilder::class)
         every { anyConstructed<ProcessBuilder>().start() } returns mockk {
@@ -227,17 +241,13 @@ class PdfInfoToolTest {
             every { destroy() } just runs
         }
 
-        mockkStatic(IOUtils::class)
-        every { IOUtils.toString(standardOutputStream, any<Charset>()) } returns "standardOutput"
-        every { IOUtils.toString(errorOutputStream, any<Charset>()) } returns "errorOutput"
-
         val pdfInfoToolSpy = spyk(pdfInfoTool) {
             every { validate(any()) } just runs
             every { getCommandParts(any()) } returns listOf("part1", "part2", "part3")
         }
 
         // when
-        val result = pdfInfoToolSpy.process(mockk())
+        val result = pdfInfoToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null })
 
         // then
         result.standardOutput shouldBe "standardOutput"
@@ -251,6 +261,165 @@ class PdfInfoToolTest {
         capturedOutput.all shouldContain "Process finished"
     }
 
+    @Test
+    fun `should process and decode ucs-2 values`() {
+        // given
+        val standardOutput = ByteArrayOutputStream().apply {
+            write("Title:          ".toByteArray(Charsets.US_ASCII))
+            write("Zoë".toByteArray(Charsets.UTF_16BE))
+            write("\nPages:          1\n".toByteArray(Charsets.US_ASCII))
+        }.toByteArray()
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream(standardOutput)
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val pdfInfoToolSpy = spyk(pdfInfoTool) {
+            every { validate(any()) } just runs
+            every { getCommandParts(any()) } returns listOf("part1", "part2", "part3")
+        }
+
+        // when
+        val result = pdfInfoToolSpy.process(PdfInfoRequest.builder()
+                .pdfFile(File("some.pdf"))
+                .options(PdfInfoOptions.builder().encoding(PdfInfoEncoding.UCS_2).build())
+                .build())
+
+        // then
+        result.standardOutput shouldBe "Title:          Zoë\nPages:          1"
+        result.title shouldBe "Zoë"
+        result.pageCount shouldBe 1
+    }
+
+    @Test
+    fun `should process with page boxes of every page if standard output is truncated`(@TempDir tempDir: Path, capturedOutput: CapturedOutput) {
+        // given
+        val standardOutput = "Pages:          50\n" + (1..50).joinToString("\n") { "Page  %3d MediaBox:     0.00     0.00   612.00   %d.00".format(it, it) }
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream(standardOutput.toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val resultCache = XpdfResultCache.builder().directory(tempDir.toFile()).build()
+        val pdfInfoToolSpy = spyk(PdfInfoTool.builder()
+                .processExecutor(XpdfProcessExecutor.builder().maxOutputBytes(256).build())
+                .resultCache(resultCache)
+                .build()) {
+            every { validate(any()) } just runs
+            every { getCacheKey(any()) } returns "some-key"
+            every { getCommandParts(any()) } returns listOf("part1", "part2", "part3")
+        }
+        val request = PdfInfoRequest.builder()
+                .pdfFile(File("some.pdf"))
+                .options(PdfInfoOptions.builder().pageStart(1).pageStop(50).boundingBoxesIncluded(true).build())
+                .build()
+
+        // when
+        val result = pdfInfoToolSpy.process(request)
+
+        // then
+        result.standardOutput shouldBe standardOutput.take(256).trim()
+        result.pageCount shouldBe 50
+        result.pageBoxes.pageCount shouldBe 50
+        result.pageBoxes.getTop(PdfInfoBoxType.MEDIA_BOX, 50) shouldBe 50f
+        resultCache.entryCount shouldBe 0
+
+        capturedOutput.all shouldContain "Standard output truncated; result not cached"
+    }
+
+    @Test
+    fun `should process async with page boxes`() {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("Page    1 MediaBox:     0.00     0.00   612.00   792.00".toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns false
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val pdfInfoToolSpy = spyk(pdfInfoTool) {
+            every { validate(any()) } just runs
+            every { getCommandParts(any()) } returns listOf("part1", "part2", "part3")
+        }
+        val request = PdfInfoRequest.builder()
+                .pdfFile(File("some.pdf"))
+                .options(PdfInfoOptions.builder().boundingBoxesIncluded(true).build())
+                .build()
+
+        // when
+        val result = pdfInfoToolSpy.processAsync(request).get(5, TimeUnit.SECONDS)
+
+        // then
+        result.pageBoxes.getWidth(PdfInfoBoxType.MEDIA_BOX, 1) shouldBe 612f
+    }
+
+    @Test
+    fun `should process from cache`(@TempDir tempDir: Path, capturedOutput: CapturedOutput) {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("standardOutput".toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val resultCache = XpdfResultCache.builder().directory(tempDir.toFile()).build()
+        val pdfInfoToolSpy = spyk(PdfInfoTool.builder().resultCache(resultCache).build()) {
+            every { validate(any()) } just runs
+            every { getCacheKey(any()) } returns "some-key"
+            every { getCommandParts(any()) } returns listOf("part1", "part2", "part3")
+        }
+        pdfInfoToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null })
+
+        // when
+        val result = pdfInfoToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null })
+
+        // then
+        result.standardOutput shouldBe "standardOutput"
+        resultCache.entryCount shouldBe 1
+
+        verify(exactly = 1) { anyConstructed<ProcessBuilder>().start() }
+
+        capturedOutput.all shouldContain "Cache missed; key: some-key"
+        capturedOutput.all shouldContain "Cache hit; key: some-key"
+    }
+
+    @Test
+    fun `should process async from cache`(@TempDir tempDir: Path) {
+        // given
+        val resultCache = XpdfResultCache.builder().directory(tempDir.toFile()).build()
+        resultCache.put("some-key") { XpdfResultCache.writeStandardOutput(it, "standardOutput") }
+
+        mockkConstructor(ProcessBuilder::class)
+
+        val pdfInfoToolSpy = spyk(PdfInfoTool.builder().resultCache(resultCache).build()) {
+            every { validate(any()) } just runs
+            every { getCacheKey(any()) } returns "some-key"
+        }
+
+        // when
+        val result = pdfInfoToolSpy.processAsync(mockk(relaxed = true) { every { getOptions() } returns null }).get(1, TimeUnit.SECONDS)
+
+        // then
+        result.standardOutput shouldBe "standardOutput"
+
+        verify(exactly = 0) { anyConstructed<ProcessBuilder>().start() }
+    }
+
     @ParameterizedTest
     @CsvSource(
             "1, Error opening the PDF file",
@@ -263,8 +432,8 @@ class PdfInfoToolTest {
                                                                        message: String,
                                                                        capturedOutput: CapturedOutput) {
         // given
-        val standardOutputStream = mockk<ByteArrayInputStream>()
-        val errorOutputStream = mockk<ByteArrayInputStream>()
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
 
         mockkConstructor(ProcessBuilder::class)
         every { anyConstructed<ProcessBuilder>().start() } returns mockk {
@@ -275,10 +444,6 @@ class PdfInfoToolTest {
             every { destroy() } just runs
         }
 
-        mockkStatic(IOUtils::class)
-        every { IOUtils.toString(standardOutputStream, any<Charset>()) } returns "standardOutput"
-        every { IOUtils.toString(errorOutputStream, any<Charset>()) } returns "errorOutput"
-
         val pdfInfoToolSpy = spyk(pdfInfoTool) {
             every { validate(any()) } just runs
             every { getCommandParts(any()) } returns listOf("part1", "part2", "part3")
@@ -286,7 +451,7 @@ class PdfInfoToolTest {
 
         // when then
         val exception = shouldThrowWithMessage<XpdfExecutionException>(message) {
-            pdfInfoToolSpy.process(mockk())
+            pdfInfoToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null })
         }
         exception.standardOutput shouldBe "standardOutput"
         exception.errorOutput shouldBe "errorOutput"
@@ -304,8 +469,8 @@ class PdfInfoToolTest {
     @Test
     fun `should throw exception when processing if timout`(capturedOutput: CapturedOutput) {
         // given
-        val standardOutputStream = mockk<ByteArrayInputStream>()
-        val errorOutputStream = mockk<ByteArrayInputStream>()
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
 
         mockkConstructor(ProcessBuilder::class)
         every { anyConstructed<ProcessBuilder>().start() } returns mockk {
@@ -315,18 +480,14 @@ class PdfInfoToolTest {
             every { destroy() } just runs
         }
 
-        mockkStatic(IOUtils::class)
-        every { IOUtils.toString(standardOutputStream, any<Charset>()) } returns "standardOutput"
-        every { IOUtils.toString(errorOutputStream, any<Charset>()) } returns "errorOutput"
-
-        val pdfInfoToolSpy = spyk(pdfInfoTool) {
+        val pdfInfoToolSpy = spyk(PdfInfoTool.builder().timeoutSeconds(0).build()) {
             every { validate(any()) } just runs
             every { getCommandParts(any()) } returns listOf("part1", "part2", "part3")
         }
 
         // when then
         shouldThrowWithMessage<XpdfTimeoutException>("Timeout reached before process could finish") {
-            pdfInfoToolSpy.process(mockk())
+            pdfInfoToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null })
         }
 
         capturedOutput.all shouldContain "Process starting"
@@ -347,7 +508,7 @@ class PdfInfoToolTest {
 
         // when then
         shouldThrow<XpdfProcessingException> {
-            pdfInfoToolSpy.process(mockk())
+            pdfInfoToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null })
         }
 
         capturedOutput.all shouldContain "Process starting"
@@ -356,6 +517,107 @@ class PdfInfoToolTest {
         capturedOutput.all shouldContain "Process finished"
     }
 
+    @Test
+    fun `should process async`(capturedOutput: CapturedOutput) {
+        // given
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns standardOutputStream
+            every { errorStream } returns errorOutputStream
+            every { isAlive } returns false
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val pdfInfoToolSpy = spyk(pdfInfoTool) {
+            every { validate(any()) } just runs
+            every { getCommandParts(any()) } returns listOf("part1", "part2", "part3")
+        }
+
+        // when
+        val result = pdfInfoToolSpy.processAsync(mockk(relaxed = true) { every { getOptions() } returns null }).get(5, TimeUnit.SECONDS)
+
+        // then
+        result.standardOutput shouldBe "standardOutput"
+
+        capturedOutput.all shouldContain "Async process starting"
+        capturedOutput.all shouldContain "Invoking executable; command: [part1, part2, part3]"
+        capturedOutput.all shouldContain "Invocation succeeded"
+    }
+
+    @Test
+    fun `should process  with pdf source`(@TempDir tempDir: Path) {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("standardOutput".toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val stagedRequest = slot<PdfInfoRequest>()
+        val pdfInfoToolSpy = spyk(PdfInfoTool.builder().pdfStager(XpdfPdfStager.builder().directory(tempDir).build()).build()) {
+            every { getCommandParts(capture(stagedRequest)) } answers {
+                firstArg<PdfInfoRequest>().pdfFile.readText() shouldBe "some pdf"
+                listOf("part1", "part2", "part3")
+            }
+        }
+        val request = PdfInfoRequest.builder()
+            .pdfSource(XpdfPdfSource.of(ByteBuffer.wrap("some pdf".toByteArray())))
+            .build()
+
+        // when
+        val result = pdfInfoToolSpy.process(request)
+
+        // then
+        result.standardOutput shouldBe "standardOutput"
+        stagedRequest.captured.pdfFile.parentFile shouldBe tempDir.toFile()
+        stagedRequest.captured.pdfSource shouldBe null
+        stagedRequest.captured.pdfFile.exists() shouldBe false
+    }
+
+    @Test
+    fun `should complete exceptionally when processing async if caught xpdf exception`(capturedOutput: CapturedOutput) {
+        // given
+        val exception = XpdfValidationException("some message")
+        val pdfInfoToolSpy = spyk(pdfInfoTool) {
+            every { validate(any()) } throws exception
+        }
+
+        // when
+        val result = pdfInfoToolSpy.processAsync(mockk(relaxed = true) { every { getOptions() } returns null })
+
+        // then
+        shouldThrow<ExecutionException> { result.get() }.cause shouldBe exception
+
+        capturedOutput.all shouldContain "Async process starting"
+        capturedOutput.all shouldContain "Validating request"
+        capturedOutput.all shouldContain "Async process failed; exception message: some message"
+    }
+
+    @Test
+    fun `should complete exceptionally when processing async if caught non-xpdf exception`(capturedOutput: CapturedOutput) {
+        // given
+        val pdfInfoToolSpy = spyk(pdfInfoTool) {
+            every { validate(any()) } throws Exception("some message")
+        }
+
+        // when
+        val result = pdfInfoToolSpy.processAsync(mockk(relaxed = true) { every { getOptions() } returns null })
+
+        // then
+        shouldThrow<ExecutionException> { result.get() }.cause.shouldBeInstanceOf<XpdfProcessingException>()
+
+        capturedOutput.all shouldContain "Async process starting"
+        capturedOutput.all shouldContain "Validating request"
+        capturedOutput.all shouldContain "Async process failed; exception message: some message"
+    }
+
     @Test
     fun `should validate`() {
         // given
@@ -445,6 +707,7 @@ class PdfInfoToolTest {
 
         val executableFile = mockk<File> {
             every { exists() } returns true
+            every { canExecute() } returns false
             every { setExecutable(any()) } returns true
             every { canonicalPath } returns "cmdPath"
         }
@@ -494,6 +757,36 @@ class PdfInfoToolTest {
         pdfInfoTool.getCommandOptions(options) shouldContainExactly listOf("-enc", arg)
     }
 
+    @ParameterizedTest
+    @CsvSource(
+            "LATIN_1, ISO-8859-1",
+            "ASCII_7, US-ASCII",
+            "UTF_8, UTF-8",
+            "UCS_2, ISO-8859-1",
+            "SYMBOL, ISO-8859-1",
+            "ZAPF_DINGBATS, ISO-8859-1",
+    )
+    fun `should get charset for encoding`(encoding: PdfInfoEncoding,
+                                          charset: String) {
+        // given
+        val request = PdfInfoRequest.builder()
+                .pdfFile(File("some.pdf"))
+                .options(PdfInfoOptions.builder().encoding(encoding).build())
+                .build()
+
+        // when then
+        pdfInfoTool.getCharset(request) shouldBe Charset.forName(charset)
+    }
+
+    @Test
+    fun `should get default charset if no encoding`() {
+        // given
+        val request = PdfInfoRequest.builder().pdfFile(File("some.pdf")).build()
+
+        // when then
+        pdfInfoTool.getCharset(request) shouldBe Charsets.ISO_8859_1
+    }
+
     @Test
     fun `should get command options for including bounding boxes`() {
         // given
@@ -553,10 +846,11 @@ class PdfInfoToolTest {
         // given
         val pdfInfoTool = PdfInfoTool.builder()
             .timeoutSeconds(100)
+            .processExecutor(XpdfProcessExecutor.builder().maxConcurrentProcesses(2).maxQueuedProcesses(10).maxOutputBytes(1024).build())
             .build()
 
         // when then
-        pdfInfoTool.toString() shouldMatch Regex("PdfInfoTool\\(executableFile=.+pdfinfo(\\.exe)?, timeoutSeconds=100\\)")
+        pdfInfoTool.toString() shouldMatch Regex("PdfInfoTool\\(executableFile=.+pdfinfo(\\.exe)?, timeoutSeconds=100, processExecutor=XpdfProcessExecutor\\(maxConcurrentProcesses=2, maxQueuedProcesses=10, maxOutputBytes=1024\\), resultCache=null, pdfStager=XpdfPdfStager\\(directory=.+\\)\\)")
     }
 
 }
\ No newline at end of file
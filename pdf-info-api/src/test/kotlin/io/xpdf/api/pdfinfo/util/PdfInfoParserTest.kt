@@ -0,0 +1,259 @@
+/*
+ * PdfInfo API - An API for accessing a native pdfinfo library (https://xpdf.io)
+ * Copyright © 2025 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdfinfo.util
+
+import io.kotest.matchers.maps.shouldContainExactly
+import io.kotest.matchers.maps.shouldBeEmpty
+import io.kotest.matchers.shouldBe
+import io.xpdf.api.pdfinfo.PdfInfoBoxType
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.CsvSource
+import java.io.ByteArrayOutputStream
+import java.time.Instant
+
+class PdfInfoParserTest {
+
+    @Test
+    fun `should parse fields`() {
+        // given
+        val standardOutput = "Title:          some: title\r\nPages:          3\nPage    1 size: 612 x 792 pts\nPage    1 MediaBox:     0.00     0.00   612.00   792.00\nPages:          4\nPDF version:    1.7"
+
+        // when
+        val result = PdfInfoParser.parseFields(standardOutput)
+
+        // then
+        result shouldContainExactly linkedMapOf(
+            "Title" to "some: title",
+            "Pages" to "3",
+            "PDF version" to "1.7",
+        )
+    }
+
+    @Test
+    fun `should parse no fields if no standard output`() {
+        // when then
+        PdfInfoParser.parseFields(null).shouldBeEmpty()
+    }
+
+    @Test
+    fun `should decode ucs-2 output`() {
+        // given
+        val bytes = ByteArrayOutputStream().apply {
+            write("Title:          ".toByteArray(Charsets.US_ASCII))
+            write("some \u0A0A title".toByteArray(Charsets.UTF_16BE))
+            write("\nAuthor:         ".toByteArray(Charsets.US_ASCII))
+            write("Zoë 漢".toByteArray(Charsets.UTF_16BE))
+            write("\nCreationDate:   Fri Feb 23 07:05:43 2024\nPages:          1\nMetadata:\n<dc:title>Zoë</dc:title>\n".toByteArray(Charsets.UTF_8))
+        }.toByteArray()
+
+        // when
+        val result = PdfInfoParser.decodeUcs2Output(String(bytes, Charsets.ISO_8859_1), false)
+
+        // then
+        result shouldBe "Title:          some \u0A0A title\nAuthor:         Zoë 漢\nCreationDate:   Fri Feb 23 07:05:43 2024\nPages:          1\nMetadata:\n<dc:title>Zoë</dc:title>\n"
+        PdfInfoParser.parseFields(result)["Pages"] shouldBe "1"
+    }
+
+    @Test
+    fun `should decode ucs-2 dates if dates encoded`() {
+        // given
+        val bytes = ByteArrayOutputStream().apply {
+            write("CreationDate:   ".toByteArray(Charsets.US_ASCII))
+            write("2024-02-23T07:05:43-08:00".toByteArray(Charsets.UTF_16BE))
+            write("\nModDate:        ".toByteArray(Charsets.US_ASCII))
+            write("2024-02-23T07:05:43-08:00".toByteArray(Charsets.UTF_16BE))
+        }.toByteArray()
+
+        // when
+        val result = PdfInfoParser.decodeUcs2Output(String(bytes, Charsets.ISO_8859_1), true)
+
+        // then
+        result shouldBe "CreationDate:   2024-02-23T07:05:43-08:00\nModDate:        2024-02-23T07:05:43-08:00"
+    }
+
+    @Test
+    fun `should decode no ucs-2 output if no standard output`() {
+        // when then
+        PdfInfoParser.decodeUcs2Output(null, false) shouldBe null
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+            "yes, true",
+            "no, false",
+            "'yes (print:yes copy:no change:no addNotes:no) AES 128-bit', true",
+            "maybe, ",
+    )
+    fun `should parse boolean`(value: String, expected: Boolean?) {
+        // when then
+        PdfInfoParser.parseBoolean(value) shouldBe expected
+    }
+
+    @Test
+    fun `should parse boxes of page range`() {
+        // given
+        val standardOutput = """
+            Pages:          300
+            Page    2 size: 612 x 792 pts (letter) (rotated 0 degrees)
+            Page    2 MediaBox:     0.00     0.00   612.00   792.00
+            Page    2 CropBox:     10.50    -5.25   600.00   780.00
+            Page    3 MediaBox:     0.00     0.00   792.00   612.00
+            Page  120 MediaBox:     1.00     2.00     3.00     4.00
+            File size:      36953 bytes
+        """.trimIndent()
+
+        // when
+        val result = PdfInfoParser.parseBoxes(standardOutput)
+
+        // then
+        result.firstPageNumber shouldBe 2
+        result.pageCount shouldBe 119
+        result.getRight(PdfInfoBoxType.MEDIA_BOX, 2) shouldBe 612f
+        result.getLeft(PdfInfoBoxType.CROP_BOX, 2) shouldBe 10.5f
+        result.getBottom(PdfInfoBoxType.CROP_BOX, 2) shouldBe -5.25f
+        result.getWidth(PdfInfoBoxType.MEDIA_BOX, 3) shouldBe 792f
+        result.getTop(PdfInfoBoxType.MEDIA_BOX, 120) shouldBe 4f
+        result.hasBox(PdfInfoBoxType.CROP_BOX, 3) shouldBe false
+        result.hasBox(PdfInfoBoxType.MEDIA_BOX, 50) shouldBe false
+    }
+
+    @Test
+    fun `should parse boxes of first page without page range`() {
+        // given
+        val standardOutput = "Pages:          3\r\nMediaBox:           0.00     0.00   612.00   792.00\r\nArtBox:             1.00     2.00   611.00   791.00\r\n"
+
+        // when
+        val result = PdfInfoParser.parseBoxes(standardOutput)
+
+        // then
+        result.firstPageNumber shouldBe 1
+        result.pageCount shouldBe 1
+        result.getHeight(PdfInfoBoxType.MEDIA_BOX, 1) shouldBe 792f
+        result.getLeft(PdfInfoBoxType.ART_BOX, 1) shouldBe 1f
+        result.getTop(PdfInfoBoxType.ART_BOX, 1) shouldBe 791f
+    }
+
+    @Test
+    fun `should parse boxes as standard output streams`() {
+        // given
+        val standardOutput = "Title:          " + "x".repeat(1000) + "\n" + (2..120).joinToString("") { "Page  %3d MediaBox:     0.00     0.00   612.00   %d.00\n".format(it, it) } + "File size:      36953 bytes"
+        val bytes = standardOutput.toByteArray(Charsets.US_ASCII)
+        val boxesStream = PdfInfoParser.BoxesOutputStream()
+
+        // when
+        bytes.asList().chunked(7).forEach { boxesStream.write(it.toByteArray()) }
+        val result = boxesStream.pageBoxes
+
+        // then
+        result.firstPageNumber shouldBe 2
+        result.pageCount shouldBe 119
+        result.getTop(PdfInfoBoxType.MEDIA_BOX, 2) shouldBe 2f
+        result.getTop(PdfInfoBoxType.MEDIA_BOX, 120) shouldBe 120f
+        result.getRight(PdfInfoBoxType.MEDIA_BOX, 77) shouldBe 612f
+        PdfInfoParser.parseBoxes(standardOutput).getTop(PdfInfoBoxType.MEDIA_BOX, 77) shouldBe 77f
+    }
+
+    @Test
+    fun `should parse box line without line break when closing boxes stream`() {
+        // given
+        val boxesStream = PdfInfoParser.BoxesOutputStream()
+        boxesStream.write("MediaBox:           0.00     0.00   612.00   792.00".toByteArray())
+
+        // when
+        boxesStream.close()
+        boxesStream.write("\nArtBox:             1.00     2.00   611.00   791.00".toByteArray())
+
+        // then
+        boxesStream.pageBoxes.getHeight(PdfInfoBoxType.MEDIA_BOX, 1) shouldBe 792f
+        boxesStream.pageBoxes.hasBox(PdfInfoBoxType.ART_BOX, 1) shouldBe false
+    }
+
+    @Test
+    fun `should parse no boxes if none are printed`() {
+        // when
+        val result = PdfInfoParser.parseBoxes("Pages:          3")
+
+        // then
+        result.pageCount shouldBe 0
+        result.hasBox(PdfInfoBoxType.MEDIA_BOX, 1) shouldBe false
+        PdfInfoParser.parseBoxes(null).pageCount shouldBe 0
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+            "3, 3",
+            "36953 bytes, 36953",
+            "bytes, ",
+            "99999999999999999999, ",
+    )
+    fun `should parse long`(value: String, expected: Long?) {
+        // when then
+        PdfInfoParser.parseLong(value) shouldBe expected
+    }
+
+    @Test
+    fun `should parse page size`() {
+        // given
+        val value = "612.5 x 792 pts (letter) (rotated 90 degrees)"
+
+        // when then
+        PdfInfoParser.parsePageDimension(value, 0) shouldBe 612.5f
+        PdfInfoParser.parsePageDimension(value, 1) shouldBe 792f
+        PdfInfoParser.parsePageRotation(value) shouldBe 90
+    }
+
+    @Test
+    fun `should parse null page size if malformed`() {
+        // when then
+        PdfInfoParser.parsePageDimension("612 by 792", 0) shouldBe null
+        PdfInfoParser.parsePageDimension("wide x 792 pts", 0) shouldBe null
+        PdfInfoParser.parsePageRotation("612 x 792 pts") shouldBe null
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+            "2024-02-22T10:18:14-08:00, 2024-02-22T18:18:14Z",
+            "2024-02-22T10:18:14Z, 2024-02-22T10:18:14Z",
+            "2024-02-22T10:18:14, 2024-02-22T10:18:14Z",
+            "D:20240222101814-08'00', 2024-02-22T18:18:14Z",
+            "D:20240222101814+05'30', 2024-02-22T04:48:14Z",
+            "D:20240222101814Z, 2024-02-22T10:18:14Z",
+            "D:2024, 2024-01-01T00:00:00Z",
+            "20240222101814, 2024-02-22T10:18:14Z",
+            "Thu Feb 22 10:18:14 2024, 2024-02-22T10:18:14Z",
+            "'Sat Feb  3 09:05:00 2024', 2024-02-03T09:05:00Z",
+    )
+    fun `should parse date`(value: String, expected: String) {
+        // when then
+        PdfInfoParser.parseDate(value) shouldBe Instant.parse(expected)
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+            "''",
+            "not a date",
+            "Thu Foo 22 10:18:14 2024",
+            "D:20x4",
+            "2024-13-40T10:18:14Z",
+    )
+    fun `should parse null date if malformed`(value: String) {
+        // when then
+        PdfInfoParser.parseDate(value) shouldBe null
+    }
+
+}
@@ -30,6 +30,33 @@ Feature: PdfInfoTool
     Then the standard output should match "Creator:.*Microsoft\(R\)"
 
 
+  Scenario: Extract info from pdf with ucs-2 encoding
+    Given a PdfInfoTool
+    Given a PdfInfoRequest with values
+      | pdfFile   |
+      | small.pdf |
+    Given a PdfInfoOptions with values
+      | pageStart | pageStop | encoding | boundingBoxesIncluded | metadataIncluded | datesUndecoded | ownerPassword | userPassword |
+      |           |          | UCS_2    |                       |                  | true           |               |              |
+    When the PdfInfoTool processes the PdfInfoRequest
+    Then the standard output should match "Creator:.*Microsoft® Word"
+    Then the standard output should match "CreationDate:.*2024-02-23T07:05:43-08:00"
+    Then the page count should be 1
+
+
+  Scenario: Extract info from password protected pdf with ucs-2 encoding without providing password and get exception
+    Given a PdfInfoTool
+    Given a PdfInfoRequest with values
+      | pdfFile                |
+      | password-protected.pdf |
+    Given a PdfInfoOptions with values
+      | pageStart | pageStop | encoding | boundingBoxesIncluded | metadataIncluded | datesUndecoded | ownerPassword | userPassword |
+      |           |          | UCS_2    |                       |                  |                |               |              |
+    When the PdfInfoTool processes the PdfInfoRequest expecting an XpdfException
+    Then the XpdfException should be an XpdfExecutionException
+    Then the XpdfException error output should contain "Incorrect password"
+
+
   Scenario: Extract info from first page of pdf with bounding boxes included
     Given a PdfInfoTool
     Given a PdfInfoRequest with values
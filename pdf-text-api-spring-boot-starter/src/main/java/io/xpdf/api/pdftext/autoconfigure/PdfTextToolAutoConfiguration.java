@@ -16,7 +16,9 @@
  */
 package io.xpdf.api.pdftext.autoconfigure;
 
+import io.xpdf.api.common.XpdfOutputDirectory;
 import io.xpdf.api.pdftext.PdfTextTool;
+import io.xpdf.api.pdftext.util.PdfTextUtils;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -39,6 +41,10 @@ public class PdfTextToolAutoConfiguration {
         return PdfTextTool.builder()
                 .executableFile(pdfTextToolProperties.getExecutablePath() != null ? pdfTextToolProperties.getExecutablePath().toFile() : null)
                 .timeoutSeconds(pdfTextToolProperties.getTimeoutSeconds())
+                .outputDirectory(XpdfOutputDirectory.builder()
+                        .directory(pdfTextToolProperties.getOutputPath() != null ? pdfTextToolProperties.getOutputPath() : PdfTextUtils.getPdfTextTempOutputPath())
+                        .ramDiskEnabled(pdfTextToolProperties.getRamDiskEnabled())
+                        .build())
                 .build();
     }
 
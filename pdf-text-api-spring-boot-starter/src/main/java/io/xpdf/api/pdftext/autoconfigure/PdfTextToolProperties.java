@@ -33,5 +33,7 @@ public class PdfTextToolProperties {
 
     private Path executablePath;
     private Integer timeoutSeconds;
+    private Path outputPath;
+    private Boolean ramDiskEnabled;
 
 }
@@ -21,6 +21,7 @@ import io.mockk.every
 import io.mockk.mockk
 import io.mockk.mockkStatic
 import io.mockk.unmockkAll
+import io.xpdf.api.common.XpdfExecutableManager
 import io.xpdf.api.common.util.XpdfUtils
 import io.xpdf.api.pdftext.PdfTextTool
 import io.xpdf.api.pdftext.util.PdfTextUtils
@@ -69,10 +70,13 @@ class PdfTextToolAutoConfigurationTest {
             createNewFile()
             deleteOnExit()
         }
+        val outputPath = XpdfUtils.getXpdfTempPath().resolve("output")
 
         TestPropertyValues.of(
                 "io.xpdf.api.pdf-text.executable-path=${executableFile.canonicalPath}",
-                "io.xpdf.api.pdf-text.timeout-seconds=99"
+                "io.xpdf.api.pdf-text.timeout-seconds=99",
+                "io.xpdf.api.pdf-text.output-path=${outputPath}",
+                "io.xpdf.api.pdf-text.ram-disk-enabled=false"
         ).applyTo(context)
 
         context.register(PdfTextToolAutoConfiguration::class.java)
@@ -84,21 +88,19 @@ class PdfTextToolAutoConfigurationTest {
         // then
         pdfTextTool.executableFile.canonicalPath shouldBe executableFile.canonicalPath
         pdfTextTool.timeoutSeconds shouldBe 99
+        pdfTextTool.outputDirectory.directory shouldBe outputPath
+        pdfTextTool.outputDirectory.ramDiskDirectory shouldBe null
     }
 
     @Test
     fun `should autoconfigure pdf text tool without properties`() {
         // given
-        val executableFile = mockk<File> {
-            every { exists() } returns true
-            every { setExecutable(any()) } returns true
-        }
-        val executablePath = mockk<Path> {
-            every { toFile() } returns executableFile
-        }
+        val executableFile = mockk<File>(relaxed = true)
+
+        mockkStatic(XpdfExecutableManager::class)
+        every { XpdfExecutableManager.getExecutableFile(any(), any(), any()) } returns executableFile
 
         mockkStatic(PdfTextUtils::class)
-        every { PdfTextUtils.getPdfTextExecutablePath() } returns executablePath
         every { PdfTextUtils.getPdfTextTimeoutSeconds() } returns 99
 
         context.register(PdfTextToolAutoConfiguration::class.java)
@@ -110,6 +112,7 @@ class PdfTextToolAutoConfigurationTest {
         // then
         pdfTextTool.executableFile shouldBe executableFile
         pdfTextTool.timeoutSeconds shouldBe 99
+        pdfTextTool.outputDirectory.directory shouldBe PdfTextUtils.getPdfTextTempOutputPath()
     }
 
     @Test
@@ -0,0 +1,338 @@
+/*
+ * PdfText API - An API for accessing a native pdftotext library (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdftext;
+
+import io.xpdf.api.common.exception.XpdfRuntimeException;
+import lombok.val;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A memory-mapped view of text extracted by the <em>pdftotext</em> executable.
+ *
+ * <br><br> The text file is mapped into memory rather than read onto the heap, so regular expressions and searches can run over very large text files without copying them.
+ * Text encoded in {@link StandardCharsets#ISO_8859_1 Latin-1} or {@link StandardCharsets#US_ASCII ASCII} is never decoded, since each byte already is its character.
+ * Bytes outside of 7-bit ASCII are viewed as Latin-1 characters in either case.
+ * Text in any other charset is decoded on demand, one chunk of about a mebibyte at a time, and only the last few chunks decoded are kept on the heap.
+ *
+ * @implNote The mapping is released when this view is garbage collected, not when the response that created it is closed.
+ * A view should therefore not outlive its response, and on some platforms a temporary text file cannot be deleted while it is still mapped.
+ * @since 1.3.0
+ */
+public class PdfTextMappedText implements CharSequence {
+
+    private static final int CHUNK_BYTES = 1024 * 1024;
+
+    private static final int MAX_CACHED_CHUNKS = 4;
+
+    private final ByteBuffer bytes;
+
+    private final DecodedText decodedText;
+
+    private final int start;
+
+    private final int end;
+
+    private PdfTextMappedText(ByteBuffer bytes) {
+        this.bytes = bytes;
+        this.decodedText = null;
+        this.start = 0;
+        this.end = bytes.remaining();
+    }
+
+    private PdfTextMappedText(DecodedText decodedText, int start, int end) {
+        this.bytes = null;
+        this.decodedText = decodedText;
+        this.start = start;
+        // a negative end stands for the end of the text, which is unknown until the text has been indexed
+        this.end = end;
+    }
+
+    /**
+     * Maps a text file into memory.
+     *
+     * @param textFile text file to map
+     * @param charset charset that the text file is encoded in
+     * @return {@link PdfTextMappedText}
+     * @throws XpdfRuntimeException if the text file is too large to be viewed as a {@code CharSequence}
+     * @throws IOException if unable to map the text file
+     * @since 1.3.0
+     */
+    public static PdfTextMappedText map(File textFile, Charset charset) throws IOException {
+        try (val channel = FileChannel.open(textFile.toPath(), StandardOpenOption.READ)) {
+            val size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new XpdfRuntimeException("TextFile is too large to map: " + size + " bytes");
+            }
+
+            val bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return isSingleByte(charset) ? new PdfTextMappedText(bytes) : new PdfTextMappedText(new DecodedText(bytes, charset), 0, -1);
+        }
+    }
+
+    /**
+     * Checks whether the text is viewed byte for byte, without decoding.
+     *
+     * @return true if the text is viewed without decoding
+     * @since 1.3.0
+     */
+    public boolean isDecodingSkipped() {
+        return decodedText == null;
+    }
+
+    /**
+     * Gets the length of the text.
+     *
+     * @return number of characters in the text
+     * @throws XpdfRuntimeException if decoded text has more characters than a {@code CharSequence} can hold
+     * @implNote For decoded text, the first access decodes the whole text file once, to find where each chunk starts.
+     * Only those offsets are kept, not the characters decoded.
+     * @since 1.3.0
+     */
+    @Override
+    public int length() {
+        return getEnd() - start;
+    }
+
+    /**
+     * Gets a character of the text.
+     *
+     * @param index index of the character
+     * @return character at the index
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @since 1.3.0
+     */
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException("Index out of range: " + index);
+        }
+        if (decodedText != null) {
+            return decodedText.charAt(start + index);
+        }
+        return (char) (bytes.get(bytes.position() + index) & 0xFF);
+    }
+
+    /**
+     * Gets a view of part of the text, without copying it.
+     *
+     * @param start index of the first character, inclusive
+     * @param end index of the last character, exclusive
+     * @return {@code CharSequence} view of the range
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     * @since 1.3.0
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length() || start > end) {
+            throw new IndexOutOfBoundsException("Range out of bounds: [" + start + ", " + end + ")");
+        }
+        if (decodedText != null) {
+            return new PdfTextMappedText(decodedText, this.start + start, this.start + end);
+        }
+
+        // position and limit are set through Buffer, whose methods also exist on Java 8 when built on a later JDK
+        val slice = bytes.duplicate();
+        ((Buffer) slice).position(bytes.position() + start);
+        ((Buffer) slice).limit(bytes.position() + end);
+        return new PdfTextMappedText(slice.slice());
+    }
+
+    /**
+     * Copies the text onto the heap.
+     *
+     * @return text as a {@code String}
+     * @since 1.3.0
+     */
+    @Override
+    public String toString() {
+        if (decodedText != null) {
+            val builder = new StringBuilder(length());
+            decodedText.appendTo(builder, start, getEnd());
+            return builder.toString();
+        }
+
+        val array = new byte[bytes.remaining()];
+        bytes.duplicate().get(array);
+        return new String(array, StandardCharsets.ISO_8859_1);
+    }
+
+    private int getEnd() {
+        return end >= 0 ? end : decodedText.length();
+    }
+
+    private static boolean isSingleByte(Charset charset) {
+        return StandardCharsets.ISO_8859_1.equals(charset) || StandardCharsets.US_ASCII.equals(charset);
+    }
+
+    /**
+     * Text of a mapped text file, decoded one chunk at a time.
+     */
+    private static class DecodedText {
+
+        private final ByteBuffer bytes;
+
+        private final Charset charset;
+
+        private final Map<Integer, char[]> cachedChunks = new LinkedHashMap<Integer, char[]>(MAX_CACHED_CHUNKS + 1, 1, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, char[]> eldest) {
+                return size() > MAX_CACHED_CHUNKS;
+            }
+        };
+
+        private int[] chunkByteOffsets;
+
+        private int[] chunkCharOffsets;
+
+        private int lastChunkIndex = -1;
+
+        private char[] lastChunk;
+
+        private DecodedText(ByteBuffer bytes, Charset charset) {
+            this.bytes = bytes;
+            this.charset = charset;
+        }
+
+        private synchronized int length() {
+            index();
+            return chunkCharOffsets[chunkCharOffsets.length - 1];
+        }
+
+        private synchronized char charAt(int index) {
+            index();
+            val chunkIndex = getChunkIndex(index);
+            return getChunk(chunkIndex)[index - chunkCharOffsets[chunkIndex]];
+        }
+
+        private synchronized void appendTo(StringBuilder builder, int start, int end) {
+            index();
+            int index = start;
+            while (index < end) {
+                val chunkIndex = getChunkIndex(index);
+                val count = Math.min(end, chunkCharOffsets[chunkIndex + 1]) - index;
+                builder.append(getChunk(chunkIndex), index - chunkCharOffsets[chunkIndex], count);
+                index += count;
+            }
+        }
+
+        private void index() {
+            if (chunkCharOffsets != null) {
+                return;
+            }
+
+            // decode every chunk once to find where it starts, without keeping its characters
+            val byteOffsets = new ArrayList<Integer>();
+            val charOffsets = new ArrayList<Integer>();
+            val input = bytes.duplicate();
+            val output = CharBuffer.allocate((int) Math.ceil(CHUNK_BYTES * (double) newDecoder().maxCharsPerByte()));
+            long length = 0;
+            while (input.hasRemaining()) {
+                byteOffsets.add(input.position() - bytes.position());
+                charOffsets.add((int) length);
+
+                val chunkStart = input.position();
+                val endOfInput = bytes.limit() - chunkStart <= CHUNK_BYTES;
+                ((Buffer) input).limit(endOfInput ? bytes.limit() : chunkStart + CHUNK_BYTES);
+                ((Buffer) output).clear();
+                // a character split by the end of a chunk is left over for the next chunk
+                decode(input, output, endOfInput);
+                ((Buffer) input).limit(bytes.limit());
+                if (input.position() == chunkStart) {
+                    throw new XpdfRuntimeException("Unable to decode TextFile: " + charset);
+                }
+
+                length += output.position();
+                if (length > Integer.MAX_VALUE) {
+                    throw new XpdfRuntimeException("TextFile is too large to decode: more than " + Integer.MAX_VALUE + " characters");
+                }
+            }
+            byteOffsets.add(bytes.remaining());
+            charOffsets.add((int) length);
+
+            chunkByteOffsets = toArray(byteOffsets);
+            chunkCharOffsets = toArray(charOffsets);
+        }
+
+        private int getChunkIndex(int index) {
+            if (lastChunk != null && index >= chunkCharOffsets[lastChunkIndex] && index < chunkCharOffsets[lastChunkIndex + 1]) {
+                return lastChunkIndex;
+            }
+
+            // chunks are never empty, so their offsets are strictly increasing
+            val chunkIndex = Arrays.binarySearch(chunkCharOffsets, index);
+            return chunkIndex >= 0 ? chunkIndex : -chunkIndex - 2;
+        }
+
+        private char[] getChunk(int chunkIndex) {
+            if (chunkIndex != lastChunkIndex) {
+                char[] chunk = cachedChunks.get(chunkIndex);
+                if (chunk == null) {
+                    chunk = decodeChunk(chunkIndex);
+                    cachedChunks.put(chunkIndex, chunk);
+                }
+                lastChunkIndex = chunkIndex;
+                lastChunk = chunk;
+            }
+            return lastChunk;
+        }
+
+        private char[] decodeChunk(int chunkIndex) {
+            val input = bytes.duplicate();
+            ((Buffer) input).position(bytes.position() + chunkByteOffsets[chunkIndex]);
+            ((Buffer) input).limit(bytes.position() + chunkByteOffsets[chunkIndex + 1]);
+
+            val output = CharBuffer.allocate(chunkCharOffsets[chunkIndex + 1] - chunkCharOffsets[chunkIndex]);
+            decode(input, output, chunkIndex == chunkByteOffsets.length - 2);
+            return output.array();
+        }
+
+        private void decode(ByteBuffer input, CharBuffer output, boolean endOfInput) {
+            val decoder = newDecoder();
+            if (decoder.decode(input, output, endOfInput).isOverflow() || endOfInput && decoder.flush(output).isOverflow()) {
+                throw new XpdfRuntimeException("Unable to decode TextFile: " + charset);
+            }
+        }
+
+        private CharsetDecoder newDecoder() {
+            return charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        private static int[] toArray(List<Integer> offsets) {
+            return offsets.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+    }
+
+}
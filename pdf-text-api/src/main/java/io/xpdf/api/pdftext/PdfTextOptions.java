@@ -20,6 +20,7 @@ import io.xpdf.api.pdftext.options.PdfTextEncoding;
 import io.xpdf.api.pdftext.options.PdfTextEndOfLine;
 import io.xpdf.api.pdftext.options.PdfTextFormat;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
@@ -45,9 +46,10 @@ import java.util.Map;
  * You can find source documentation alongside the executable file in the package resources.
  * @since 1.0.0
  */
-@Builder
+@Builder(toBuilder = true)
 @Getter
 @ToString
+@EqualsAndHashCode
 public class PdfTextOptions {
 
     /**
@@ -0,0 +1,49 @@
+/*
+ * PdfText API - An API for accessing a native pdftotext library (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdftext;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Represents the text of a single page, extracted by the <em>pdftotext</em> executable.
+ *
+ * @since 1.3.0
+ */
+@Builder
+@Getter
+@ToString
+@EqualsAndHashCode
+public class PdfTextPage {
+
+    /**
+     * Number of the page in the PDF file, starting from 1.
+     *
+     * @since 1.3.0
+     */
+    private final int pageNumber;
+
+    /**
+     * Text of the page, without its page break.
+     *
+     * @since 1.3.0
+     */
+    private final String text;
+
+}
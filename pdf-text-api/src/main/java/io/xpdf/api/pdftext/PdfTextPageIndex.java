@@ -0,0 +1,266 @@
+/*
+ * PdfText API - An API for accessing a native pdftotext library (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdftext;
+
+import io.xpdf.api.common.exception.XpdfRuntimeException;
+import io.xpdf.api.pdftext.options.PdfTextEncoding;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.val;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * An index of the byte offsets of the pages in a text file extracted by the <em>pdftotext</em> executable.
+ *
+ * <br><br> The index is built in a single pass over the text file, by locating the page break that <em>pdftotext</em> writes after each page.
+ * It is stored in a small sidecar file next to the text file, holding one {@code long} per page, so that a single page can later be read by seeking straight to it.
+ * The sidecar file also records the size and last modified time of the text file, so that it is ignored once the text file is rewritten.
+ *
+ * @since 1.3.0
+ */
+@Getter
+@ToString
+public class PdfTextPageIndex {
+
+    private static final String SIDECAR_FILE_SUFFIX = ".pages";
+
+    private static final int SIDECAR_MAGIC = 0x58505449;
+
+    private static final int SIDECAR_VERSION = 2;
+
+    private static final int BUFFER_BYTES = 65536;
+
+    private static final byte PAGE_BREAK = '\f';
+
+    /**
+     * Number of the first page in the text file.
+     *
+     * @since 1.3.0
+     */
+    private final int firstPageNumber;
+
+    /**
+     * Length in bytes of the page break that ends each page.
+     *
+     * @implNote This is 2 bytes for {@link PdfTextEncoding#UCS_2} text, and 1 byte otherwise.
+     * @since 1.3.0
+     */
+    private final int pageBreakLength;
+
+    /**
+     * Byte offsets of the start of each page, followed by the end of the last page.
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final long[] offsets;
+
+    private PdfTextPageIndex(int firstPageNumber, int pageBreakLength, long[] offsets) {
+        this.firstPageNumber = firstPageNumber;
+        this.pageBreakLength = pageBreakLength;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Builds the index of a text file.
+     *
+     * @param textFile text file
+     * @param encoding encoding of the text file, as configured by {@link PdfTextOptions#getEncoding()}, or null for the default encoding
+     * @param firstPageNumber number of the first page in the text file, as configured by {@link PdfTextOptions#getPageStart()}
+     * @return {@link PdfTextPageIndex}
+     * @throws IOException if unable to read the text file
+     * @since 1.3.0
+     */
+    public static PdfTextPageIndex build(File textFile, PdfTextEncoding encoding, int firstPageNumber) throws IOException {
+        val pageBreakLength = encoding == PdfTextEncoding.UCS_2 ? 2 : 1;
+        long[] offsets = new long[64];
+        int count = 1;
+
+        try (val channel = FileChannel.open(textFile.toPath(), StandardOpenOption.READ)) {
+            val buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+            long position = 0;
+            byte previous = -1;
+            while (channel.read(buffer) >= 0) {
+                // flipped and cleared as a Buffer, since ByteBuffer only overrides these methods from Java 9 on
+                ((Buffer) buffer).flip();
+                while (buffer.hasRemaining()) {
+                    val current = buffer.get();
+                    position++;
+                    // a ucs-2 page break is the big-endian code unit 0x000c, which must start on an even offset
+                    if (current == PAGE_BREAK && (pageBreakLength == 1 || (previous == 0 && position % 2 == 0))) {
+                        if (count == offsets.length) {
+                            offsets = Arrays.copyOf(offsets, count * 2);
+                        }
+                        offsets[count++] = position;
+                    }
+                    previous = current;
+                }
+                ((Buffer) buffer).clear();
+            }
+
+            // text that trails the last page break is a page of its own, unless there is none
+            if (offsets[count - 1] != position) {
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count + 1);
+                }
+                offsets[count++] = position;
+            }
+        }
+
+        return new PdfTextPageIndex(firstPageNumber, pageBreakLength, Arrays.copyOf(offsets, count));
+    }
+
+    /**
+     * Reads the index of a text file from its sidecar file.
+     *
+     * @param textFile text file
+     * @return {@link PdfTextPageIndex}, or null if the text file has no sidecar file, or if the text file has changed since its sidecar file was written
+     * @throws XpdfRuntimeException if the sidecar file is not a page index
+     * @throws IOException if unable to read the sidecar file
+     * @since 1.3.0
+     */
+    public static PdfTextPageIndex read(File textFile) throws IOException {
+        val sidecarFile = getSidecarFile(textFile);
+        if (!sidecarFile.isFile()) {
+            return null;
+        }
+
+        try (val stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(sidecarFile.toPath())))) {
+            if (stream.readInt() != SIDECAR_MAGIC) {
+                throw new XpdfRuntimeException("Unrecognized page index file: " + sidecarFile);
+            }
+
+            // a sidecar file of another version, or of an earlier text file at the same path, cannot be trusted
+            if (stream.readInt() != SIDECAR_VERSION || stream.readLong() != textFile.length() || stream.readLong() != textFile.lastModified()) {
+                return null;
+            }
+
+            val firstPageNumber = stream.readInt();
+            val pageBreakLength = stream.readInt();
+            val offsets = new long[stream.readInt()];
+            for (int index = 0; index < offsets.length; index++) {
+                offsets[index] = stream.readLong();
+            }
+            return new PdfTextPageIndex(firstPageNumber, pageBreakLength, offsets);
+        }
+    }
+
+    /**
+     * Gets the sidecar file that the index of a text file is stored in.
+     *
+     * @param textFile text file
+     * @return sidecar file, named after the text file with a {@code .pages} suffix
+     * @since 1.3.0
+     */
+    public static File getSidecarFile(File textFile) {
+        return new File(textFile.getPath() + SIDECAR_FILE_SUFFIX);
+    }
+
+    /**
+     * Writes this index to the sidecar file of a text file, along with the size and last modified time of the text file.
+     *
+     * @param textFile text file, which should not change after its index is written
+     * @throws IOException if unable to write the sidecar file
+     * @since 1.3.0
+     */
+    public void write(File textFile) throws IOException {
+        try (val stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(getSidecarFile(textFile).toPath())))) {
+            stream.writeInt(SIDECAR_MAGIC);
+            stream.writeInt(SIDECAR_VERSION);
+            stream.writeLong(textFile.length());
+            stream.writeLong(textFile.lastModified());
+            stream.writeInt(firstPageNumber);
+            stream.writeInt(pageBreakLength);
+            stream.writeInt(offsets.length);
+            for (val offset : offsets) {
+                stream.writeLong(offset);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of pages in the text file.
+     *
+     * @return page count
+     * @since 1.3.0
+     */
+    @ToString.Include(name = "pageCount")
+    public int getPageCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Reads a single page from the text file, by seeking straight to it.
+     *
+     * @param textFile text file that this index was built from
+     * @param charset charset that the text file is encoded in, as configured by {@link PdfTextOptions#getEncoding()}
+     * @param pageNumber number of the page in the PDF file
+     * @return {@link PdfTextPage}, or null if the text file has no such page
+     * @throws IOException if unable to read the text file
+     * @since 1.3.0
+     */
+    public PdfTextPage readPage(File textFile, Charset charset, int pageNumber) throws IOException {
+        val index = pageNumber - firstPageNumber;
+        if (index < 0 || index >= getPageCount()) {
+            return null;
+        }
+
+        val start = offsets[index];
+        val end = offsets[index + 1];
+        val buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+        try (val channel = FileChannel.open(textFile.toPath(), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    break;
+                }
+            }
+        }
+        ((Buffer) buffer).flip();
+
+        // drop the page break that ends the page, if there is one
+        if (isPageBreak(buffer)) {
+            ((Buffer) buffer).limit(buffer.limit() - pageBreakLength);
+        }
+
+        return PdfTextPage.builder()
+                .pageNumber(pageNumber)
+                .text(charset.decode(buffer).toString())
+                .build();
+    }
+
+    private boolean isPageBreak(ByteBuffer buffer) {
+        val limit = buffer.limit();
+        if (limit < pageBreakLength || buffer.get(limit - 1) != PAGE_BREAK) {
+            return false;
+        }
+        return pageBreakLength == 1 || buffer.get(limit - 2) == 0;
+    }
+
+}
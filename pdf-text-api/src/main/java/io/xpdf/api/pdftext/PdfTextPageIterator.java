@@ -0,0 +1,157 @@
+/*
+ * PdfText API - An API for accessing a native pdftotext library (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdftext;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A lazy iterator over the pages of text extracted by the <em>pdftotext</em> executable.
+ *
+ * <br><br> The text is decoded incrementally through a fixed-size buffer, and split into pages on the form feed that <em>pdftotext</em> writes after each page.
+ * Only the text of the current page is held in memory, regardless of the size of the text as a whole.
+ * The reader is closed as soon as the last page has been read, or when this iterator is closed.
+ *
+ * @implNote Text extracted with {@link PdfTextOptions#getPageBreakExcluded() page breaks excluded} is returned as a single page.
+ * @since 1.3.0
+ */
+@Slf4j
+public class PdfTextPageIterator implements Iterator<PdfTextPage>, AutoCloseable {
+
+    private static final int BUFFER_CHARS = 8192;
+
+    private static final char PAGE_BREAK = '\f';
+
+    private final Reader reader;
+
+    private final char[] buffer = new char[BUFFER_CHARS];
+
+    private int position;
+
+    private int limit;
+
+    private int nextPageNumber;
+
+    private PdfTextPage nextPage;
+
+    private boolean endOfText;
+
+    /**
+     * Creates an iterator over the pages of text read from a reader.
+     *
+     * @param reader reader of the text, which is owned and closed by this iterator
+     * @param firstPageNumber number of the first page in the text
+     * @since 1.3.0
+     */
+    public PdfTextPageIterator(Reader reader, int firstPageNumber) {
+        this.reader = reader;
+        this.nextPageNumber = firstPageNumber;
+    }
+
+    /**
+     * Checks whether another page is available, reading it ahead if needed.
+     *
+     * @return true if another page is available
+     * @throws UncheckedIOException if unable to read the text
+     * @since 1.3.0
+     */
+    @Override
+    public boolean hasNext() {
+        if (nextPage == null && !endOfText) {
+            nextPage = readPage();
+        }
+        return nextPage != null;
+    }
+
+    /**
+     * Gets the next page.
+     *
+     * @return next {@link PdfTextPage}
+     * @throws NoSuchElementException if no page is left
+     * @throws UncheckedIOException if unable to read the text
+     * @since 1.3.0
+     */
+    @Override
+    public PdfTextPage next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        val page = nextPage;
+        nextPage = null;
+        return page;
+    }
+
+    /**
+     * Closes the reader of the text.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    public void close() {
+        endOfText = true;
+        try {
+            reader.close();
+        } catch (IOException e) {
+            log.debug("Unable to close text reader; exception message: {}", e.getMessage());
+        }
+    }
+
+    private PdfTextPage readPage() {
+        val text = new StringBuilder();
+        try {
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer);
+                    position = 0;
+                    if (limit < 0) {
+                        // text that trails the last page break is a page of its own, unless there is none
+                        limit = 0;
+                        close();
+                        return text.length() > 0 ? newPage(text) : null;
+                    }
+                }
+
+                for (int index = position; index < limit; index++) {
+                    if (buffer[index] == PAGE_BREAK) {
+                        text.append(buffer, position, index - position);
+                        position = index + 1;
+                        return newPage(text);
+                    }
+                }
+                text.append(buffer, position, limit - position);
+                position = limit;
+            }
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private PdfTextPage newPage(StringBuilder text) {
+        return PdfTextPage.builder()
+                .pageNumber(nextPageNumber++)
+                .text(text.toString())
+                .build();
+    }
+
+}
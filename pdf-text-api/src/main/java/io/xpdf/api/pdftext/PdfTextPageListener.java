@@ -0,0 +1,40 @@
+/*
+ * PdfText API - An API for accessing a native pdftotext library (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdftext;
+
+import java.io.IOException;
+
+/**
+ * A listener of the pages of text extracted by a running <em>pdftotext</em> process.
+ *
+ * <br><br> Each page is delivered as soon as its page break has been written by the process, so that pages can be consumed before extraction finishes.
+ *
+ * @since 1.3.0
+ */
+@FunctionalInterface
+public interface PdfTextPageListener {
+
+    /**
+     * Receives a completed page.
+     *
+     * @param page {@link PdfTextPage}
+     * @throws IOException if unable to handle the page
+     * @since 1.3.0
+     */
+    void onPage(PdfTextPage page) throws IOException;
+
+}
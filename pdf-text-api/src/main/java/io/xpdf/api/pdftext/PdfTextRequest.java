@@ -16,10 +16,11 @@
  */
 package io.xpdf.api.pdftext;
 
+import io.xpdf.api.common.XpdfPdfSource;
 import io.xpdf.api.common.XpdfRequest;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.NonNull;
 import lombok.ToString;
 
 import java.io.File;
@@ -36,27 +37,42 @@ import java.io.File;
  *      .build();
  * </pre></blockquote>
  *
- * @implNote A {@code NullPointerException} will be thrown if the required arguments are not provided to the builder.
+ * <br><br> In-memory PDF content may be given in place of a PDF file:
+ * <blockquote><pre>
+ *  PdfTextRequest.builder()
+ *      .pdfSource(XpdfPdfSource.of(ByteBuffer.wrap(bytes)))
+ *      .build();
+ * </pre></blockquote>
+ *
+ * @implNote A {@code NullPointerException} will be thrown if neither a PDF file nor a PDF source is provided to the builder,
+ * and an {@code IllegalArgumentException} will be thrown if both are provided.
  * @since 1.0.0
  */
-@Builder
 @Getter
 @ToString
+@EqualsAndHashCode(callSuper = false)
 public class PdfTextRequest extends XpdfRequest {
 
     /**
      * Input PDF file.
      *
-     * @implNote Required.
+     * @implNote Required, unless a {@link #pdfSource} is provided.
      * @since 1.0.0
      */
-    @NonNull
     private final File pdfFile;
 
+    /**
+     * Input PDF content, which is staged into a file before the executable is invoked.
+     *
+     * @implNote Required, unless a {@link #pdfFile} is provided.
+     * @since 1.3.0
+     */
+    private final XpdfPdfSource pdfSource;
+
     /**
      * Output text file.
      *
-     * @implNote If unassigned, a text file will be created in the temporary directory, and then automatically deleted at JVM termination.
+     * @implNote If unassigned, a text file will be created in the temporary directory, which is deleted when the response is closed.
      * @since 1.0.0
      */
     private final File textFile;
@@ -68,4 +84,18 @@ public class PdfTextRequest extends XpdfRequest {
      */
     private final PdfTextOptions options;
 
+    @Builder(toBuilder = true)
+    protected PdfTextRequest(File pdfFile, XpdfPdfSource pdfSource, File textFile, PdfTextOptions options) {
+        if (pdfFile == null && pdfSource == null) {
+            throw new NullPointerException("pdfFile and pdfSource cannot both be null");
+        }
+        if (pdfFile != null && pdfSource != null) {
+            throw new IllegalArgumentException("pdfFile and pdfSource cannot both be provided");
+        }
+        this.pdfFile = pdfFile;
+        this.pdfSource = pdfSource;
+        this.textFile = textFile;
+        this.options = options;
+    }
+
 }
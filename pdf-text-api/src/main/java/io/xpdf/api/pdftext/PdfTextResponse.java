@@ -17,11 +17,23 @@
 package io.xpdf.api.pdftext;
 
 import io.xpdf.api.common.XpdfResponse;
+import io.xpdf.api.common.exception.XpdfRuntimeException;
+import io.xpdf.api.pdftext.options.PdfTextEncoding;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents the result of invoking the <em>pdftotext</em> executable.
@@ -36,11 +48,43 @@ public class PdfTextResponse extends XpdfResponse {
     /**
      * Text file containing text from input PDF.
      *
-     * @implNote If this file was created in a temporary directory, then it will be automatically deleted on JVM termination.
+     * @implNote If this file was created in a temporary directory, then it is deleted when this response is closed.
      * @since 1.0.0
      */
     private final File textFile;
 
+    /**
+     * Whether the text file is a temporary file owned by this response.
+     *
+     * @since 1.3.0
+     */
+    private final boolean temporary;
+
+    /**
+     * Index of the pages in the text file.
+     *
+     * @implNote This is only built if the tool is configured with {@link PdfTextTool#getPageIndexEnabled() page index enabled}.
+     * It is also stored in a {@link PdfTextPageIndex#getSidecarFile sidecar file} next to the text file, which is deleted along with a temporary text file.
+     * @since 1.3.0
+     */
+    private final PdfTextPageIndex pageIndex;
+
+    /**
+     * Charset that the text file is encoded in, as configured by {@link PdfTextOptions#getEncoding()}.
+     *
+     * @implNote If unassigned, the text file is read as {@link PdfTextEncoding#LATIN_1 Latin-1}, which is the default encoding of the executable.
+     * @since 1.3.0
+     */
+    private final Charset charset;
+
+    /**
+     * Number of the first page in the text file, as configured by {@link PdfTextOptions#getPageStart()}.
+     *
+     * @implNote If unassigned, the text file is numbered from page 1.
+     * @since 1.3.0
+     */
+    private final Integer firstPageNumber;
+
     /**
      * Standard output from the shell process that invoked the executable.
      *
@@ -48,4 +92,190 @@ public class PdfTextResponse extends XpdfResponse {
      */
     private final String standardOutput;
 
+    /**
+     * Gets a lazy iterator over the pages of the text file.
+     *
+     * <br><br> Pages are decoded from the text file one at a time, so memory use stays constant regardless of the size of the text file.
+     * The iterator should be closed if it is abandoned before its last page.
+     *
+     * <br><br> Example usage:
+     * <blockquote><pre>
+     *  try (PdfTextPageIterator pages = response.getPageIterator()) {
+     *      while (pages.hasNext()) {
+     *          PdfTextPage page = pages.next();
+     *      }
+     *  }
+     * </pre></blockquote>
+     *
+     * @return {@link PdfTextPageIterator} of the pages, numbered from the {@link #firstPageNumber} of this response
+     * @throws XpdfRuntimeException if this response has no text file
+     * @throws IOException if unable to open the text file
+     * @since 1.3.0
+     */
+    public PdfTextPageIterator getPageIterator() throws IOException {
+        return getPageIterator(getTextCharset());
+    }
+
+    /**
+     * Gets a lazy iterator over the pages of the text file, decoding it with a given charset.
+     *
+     * <br><br> Behaves like {@link #getPageIterator()}, except that the {@link #charset} of this response is overridden.
+     *
+     * @param charset charset that the text file is encoded in
+     * @return {@link PdfTextPageIterator} of the pages, numbered from the {@link #firstPageNumber} of this response
+     * @throws XpdfRuntimeException if this response has no text file
+     * @throws IOException if unable to open the text file
+     * @since 1.3.0
+     */
+    public PdfTextPageIterator getPageIterator(Charset charset) throws IOException {
+        if (textFile == null) {
+            throw new XpdfRuntimeException("TextFile cannot be null");
+        }
+
+        val reader = new InputStreamReader(Files.newInputStream(textFile.toPath()), charset);
+        return new PdfTextPageIterator(reader, firstPageNumber != null ? firstPageNumber : 1);
+    }
+
+    /**
+     * Gets a lazy stream of the pages of the text file.
+     *
+     * <br><br> Behaves like {@link #getPageIterator()}, and the stream should likewise be closed, for example with try-with-resources.
+     *
+     * @return {@code Stream} of {@link PdfTextPage}, numbered from the {@link #firstPageNumber} of this response
+     * @throws XpdfRuntimeException if this response has no text file
+     * @throws IOException if unable to open the text file
+     * @since 1.3.0
+     */
+    public Stream<PdfTextPage> getPages() throws IOException {
+        return getPages(getTextCharset());
+    }
+
+    /**
+     * Gets a lazy stream of the pages of the text file, decoding it with a given charset.
+     *
+     * <br><br> Behaves like {@link #getPages()}, except that the {@link #charset} of this response is overridden.
+     *
+     * @param charset charset that the text file is encoded in
+     * @return {@code Stream} of {@link PdfTextPage}, numbered from the {@link #firstPageNumber} of this response
+     * @throws XpdfRuntimeException if this response has no text file
+     * @throws IOException if unable to open the text file
+     * @since 1.3.0
+     */
+    public Stream<PdfTextPage> getPages(Charset charset) throws IOException {
+        val pageIterator = getPageIterator(charset);
+        val spliterator = Spliterators.spliteratorUnknownSize(pageIterator, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(pageIterator::close);
+    }
+
+    /**
+     * Gets a memory-mapped view of the text file.
+     *
+     * <br><br> The view can be searched like any other {@code CharSequence}, for example with a {@code java.util.regex.Matcher}, without reading the text file onto the heap.
+     * Text encoded in {@link java.nio.charset.StandardCharsets#ISO_8859_1 Latin-1} or {@link java.nio.charset.StandardCharsets#US_ASCII ASCII} is viewed without decoding.
+     *
+     * @return {@link PdfTextMappedText}
+     * @throws XpdfRuntimeException if this response has no text file, or if the text file is too large to map
+     * @throws IOException if unable to map the text file
+     * @since 1.3.0
+     */
+    public PdfTextMappedText getMappedText() throws IOException {
+        return getMappedText(getTextCharset());
+    }
+
+    /**
+     * Gets a memory-mapped view of the text file, decoding it with a given charset.
+     *
+     * <br><br> Behaves like {@link #getMappedText()}, except that the {@link #charset} of this response is overridden.
+     *
+     * @param charset charset that the text file is encoded in
+     * @return {@link PdfTextMappedText}
+     * @throws XpdfRuntimeException if this response has no text file, or if the text file is too large to map
+     * @throws IOException if unable to map the text file
+     * @since 1.3.0
+     */
+    public PdfTextMappedText getMappedText(Charset charset) throws IOException {
+        if (textFile == null) {
+            throw new XpdfRuntimeException("TextFile cannot be null");
+        }
+
+        return PdfTextMappedText.map(textFile, charset);
+    }
+
+    /**
+     * Reads a single page of the text file, by seeking straight to it.
+     *
+     * <br><br> Uses the {@link #pageIndex} of this response, or else the page index stored in the sidecar file next to the text file, such as one built by an earlier extraction into the same text file.
+     *
+     * @param pageNumber number of the page in the PDF file
+     * @return {@link PdfTextPage}, or null if the text file has no such page
+     * @throws XpdfRuntimeException if this response has no text file, or if the text file has no page index
+     * @throws IOException if unable to read the text file or its page index
+     * @since 1.3.0
+     */
+    public PdfTextPage readPage(int pageNumber) throws IOException {
+        return readPage(pageNumber, getTextCharset());
+    }
+
+    /**
+     * Reads a single page of the text file, by seeking straight to it, decoding it with a given charset.
+     *
+     * <br><br> Behaves like {@link #readPage(int)}, except that the {@link #charset} of this response is overridden.
+     *
+     * @param pageNumber number of the page in the PDF file
+     * @param charset charset that the text file is encoded in
+     * @return {@link PdfTextPage}, or null if the text file has no such page
+     * @throws XpdfRuntimeException if this response has no text file, or if the text file has no page index
+     * @throws IOException if unable to read the text file or its page index
+     * @since 1.3.0
+     */
+    public PdfTextPage readPage(int pageNumber, Charset charset) throws IOException {
+        if (textFile == null) {
+            throw new XpdfRuntimeException("TextFile cannot be null");
+        }
+
+        val index = pageIndex != null ? pageIndex : PdfTextPageIndex.read(textFile);
+        if (index == null) {
+            throw new XpdfRuntimeException("PageIndex cannot be null");
+        }
+
+        return index.readPage(textFile, charset, pageNumber);
+    }
+
+    private Charset getTextCharset() {
+        return charset != null ? charset : PdfTextEncoding.getCharset(null);
+    }
+
+    /**
+     * Deletes the text file and its page index sidecar file, if the text file is a temporary file owned by this response.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    protected void deleteTemporaryFiles() {
+        if (temporary) {
+            FileUtils.deleteQuietly(textFile);
+            if (textFile != null) {
+                FileUtils.deleteQuietly(PdfTextPageIndex.getSidecarFile(textFile));
+            }
+        }
+    }
+
+    /**
+     * Gets a copy of this response with the same results.
+     *
+     * @return {@link PdfTextResponse}
+     * @since 1.3.0
+     */
+    @Override
+    protected PdfTextResponse copy() {
+        return PdfTextResponse.builder()
+                .textFile(textFile)
+                .temporary(temporary)
+                .pageIndex(pageIndex)
+                .charset(charset)
+                .firstPageNumber(firstPageNumber)
+                .standardOutput(standardOutput)
+                .build();
+    }
+
 }
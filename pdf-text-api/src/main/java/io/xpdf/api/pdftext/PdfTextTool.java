@@ -16,25 +16,45 @@
  */
 package io.xpdf.api.pdftext;
 
+import io.xpdf.api.common.XpdfExecutableManager;
+import io.xpdf.api.common.XpdfOutputDirectory;
+import io.xpdf.api.common.XpdfPdfStager;
+import io.xpdf.api.common.XpdfProcessExecutor;
+import io.xpdf.api.common.XpdfProcessResult;
+import io.xpdf.api.common.XpdfResultCache;
+import io.xpdf.api.common.XpdfTempFileJanitor;
+import io.xpdf.api.common.XpdfStreamConsumer;
 import io.xpdf.api.common.XpdfTool;
 import io.xpdf.api.common.exception.*;
+import io.xpdf.api.common.util.XpdfUtils;
+import io.xpdf.api.pdfinfo.PdfInfoOptions;
+import io.xpdf.api.pdfinfo.PdfInfoRequest;
+import io.xpdf.api.pdfinfo.PdfInfoTool;
+import io.xpdf.api.pdftext.options.PdfTextEncoding;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CloseShieldInputStream;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import static io.xpdf.api.pdftext.util.PdfTextUtils.*;
@@ -46,6 +66,10 @@ import static java.util.Collections.emptyList;
  *
  * <br><br> Targets the <em>pdftotext</em> executable native to your OS and JVM architecture.
  * The {@link #process} method executes a shell command to invoke the executable, which converts a PDF file into a text file.
+ * Alternatively, the text can be streamed straight from the executable to a {@link XpdfStreamConsumer}, without writing a text file at all,
+ * or delivered page by page to a {@link PdfTextPageListener} with {@link #processPages} while the executable is still running.
+ * Large PDF files can also be split into page ranges that are converted in parallel with {@link #processSharded}.
+ * Requests may give in-memory PDF content in place of a PDF file, which is staged into a file by the configured {@link XpdfPdfStager} for the duration of the process.
  *
  * <br><br> Example usage:
  * <blockquote><pre>
@@ -65,6 +89,10 @@ import static java.util.Collections.emptyList;
 @Slf4j
 public class PdfTextTool implements XpdfTool<PdfTextRequest, PdfTextResponse> {
 
+    private static final String STANDARD_OUTPUT_PATH = "-";
+
+    private static final String TEXT_CACHE_FILE_NAME = "text.txt";
+
     /**
      * Executable file that should be invoked.
      *
@@ -81,39 +109,93 @@ public class PdfTextTool implements XpdfTool<PdfTextRequest, PdfTextResponse> {
      */
     private final Integer timeoutSeconds;
 
+    /**
+     * Executor that runs and bounds the shell processes invoking the executable.
+     *
+     * @implNote If unassigned, this will default to the {@link XpdfProcessExecutor#getDefaultInstance() executor} shared by all tools.
+     * @since 1.3.0
+     */
+    private final XpdfProcessExecutor processExecutor;
+
+    /**
+     * Cache of results, which is checked before invoking the executable.
+     *
+     * @implNote If unassigned, results are not cached.
+     * @since 1.3.0
+     */
+    private final XpdfResultCache resultCache;
+
+    /**
+     * Stager of the in-memory PDF content of requests into files that the executable can read.
+     *
+     * @implNote If unassigned, this will default to the {@link XpdfPdfStager#getDefaultInstance() stager} shared by all tools.
+     * @since 1.3.0
+     */
+    private final XpdfPdfStager pdfStager;
+
+    /**
+     * Root directory of the temporary text files that are created for requests without an output path.
+     *
+     * @implNote If unassigned, this will default to an on-disk directory in the temporary directory.
+     * @since 1.3.0
+     */
+    private final XpdfOutputDirectory outputDirectory;
+
+    /**
+     * Janitor that sweeps the temporary text files of responses that are never closed.
+     *
+     * @implNote If unassigned, this will default to the {@link XpdfTempFileJanitor#getDefaultInstance() janitor} shared by all tools.
+     * @since 1.3.0
+     */
+    private final XpdfTempFileJanitor tempFileJanitor;
+
+    /**
+     * Whether to build a {@link PdfTextPageIndex page index} of each text file, so that single pages can be read with {@link PdfTextResponse#readPage}.
+     *
+     * @implNote If unassigned, this will default to false.
+     * The index is stored in a sidecar file next to the text file, and costs one extra pass over the text file once the executable has finished.
+     * @since 1.3.0
+     */
+    private final Boolean pageIndexEnabled;
+
+    /**
+     * Tool used to count the pages of a PDF file before splitting it into shards.
+     *
+     * @implNote This is built on first use, with the same {@link #processExecutor}, {@link #timeoutSeconds} and {@link #resultCache} as this tool.
+     * @since 1.3.0
+     */
+    @Getter(value = AccessLevel.PROTECTED, lazy = true)
+    @ToString.Exclude
+    private final PdfInfoTool pdfInfoTool = PdfInfoTool.builder()
+            .timeoutSeconds(timeoutSeconds)
+            .processExecutor(processExecutor)
+            .resultCache(resultCache)
+            .build();
+
     public static class PdfTextToolBuilder {
 
         public PdfTextTool build() {
             val executableFileBuilder = configureExecutableFile();
             val timeoutSecondsBuilder = configureTimeoutSeconds();
-
-            return new PdfTextTool(executableFileBuilder, timeoutSecondsBuilder);
+            val processExecutorBuilder = configureProcessExecutor();
+            val resultCacheBuilder = configureResultCache();
+            val pdfStagerBuilder = configurePdfStager();
+            val outputDirectoryBuilder = configureOutputDirectory();
+            val tempFileJanitorBuilder = configureTempFileJanitor(outputDirectoryBuilder);
+            val pageIndexEnabledBuilder = configurePageIndexEnabled();
+
+            return new PdfTextTool(executableFileBuilder, timeoutSecondsBuilder, processExecutorBuilder, resultCacheBuilder, pdfStagerBuilder, outputDirectoryBuilder, tempFileJanitorBuilder, pageIndexEnabledBuilder);
         }
 
         protected File configureExecutableFile() {
             if (executableFile == null) {
-                // copy executable from project resources to OS-accessible directory on local system
-                val executablePath = getPdfTextExecutablePath();
-                if (!executablePath.toFile().exists()) {
-                    val executableResourceStream = getClass().getClassLoader().getResourceAsStream(getPdfTextExecutableResourceName());
-                    if (executableResourceStream == null) {
-                        throw new XpdfRuntimeException("Unable to locate executable in project resources");
-                    }
-                    try {
-                        FileUtils.copyInputStreamToFile(executableResourceStream, executablePath.toFile());
-                    } catch (IOException e) {
-                        throw new XpdfRuntimeException("Unable to copy executable from resources to local system");
-                    }
-                }
-                if (!executablePath.toFile().setExecutable(true)) {
-                    throw new XpdfRuntimeException("Unable to set execute permissions on executable");
-                }
-                return executablePath.toFile();
+                // extract executable from project resources to OS-accessible directory on local system
+                return XpdfExecutableManager.getExecutableFile(getClass().getClassLoader(), getPdfTextExecutableResourceName(), getPdfTextExecutablePath());
             } else {
                 if (!executableFile.exists()) {
                     throw new XpdfRuntimeException("The configured executable does not exist");
                 }
-                if (!executableFile.setExecutable(true)) {
+                if (!executableFile.canExecute() && !executableFile.setExecutable(true)) {
                     throw new XpdfRuntimeException("Unable to set execute permissions on executable");
                 }
                 return executableFile;
@@ -127,6 +209,44 @@ public class PdfTextTool implements XpdfTool<PdfTextRequest, PdfTextResponse> {
                 return timeoutSeconds;
             }
         }
+
+        protected XpdfProcessExecutor configureProcessExecutor() {
+            if (processExecutor == null) {
+                return XpdfProcessExecutor.getDefaultInstance();
+            } else {
+                return processExecutor;
+            }
+        }
+
+        protected XpdfResultCache configureResultCache() {
+            return resultCache;
+        }
+
+        protected XpdfPdfStager configurePdfStager() {
+            if (pdfStager == null) {
+                return XpdfPdfStager.getDefaultInstance();
+            } else {
+                return pdfStager;
+            }
+        }
+
+        protected XpdfOutputDirectory configureOutputDirectory() {
+            if (outputDirectory == null) {
+                return XpdfOutputDirectory.builder().directory(getPdfTextTempOutputPath()).build();
+            } else {
+                return outputDirectory;
+            }
+        }
+
+        protected XpdfTempFileJanitor configureTempFileJanitor(XpdfOutputDirectory outputDirectoryBuilder) {
+            val tempFileJanitorBuilder = tempFileJanitor == null ? XpdfTempFileJanitor.getDefaultInstance() : tempFileJanitor;
+            outputDirectoryBuilder.getDirectories().forEach(tempFileJanitorBuilder::register);
+            return tempFileJanitorBuilder;
+        }
+
+        protected boolean configurePageIndexEnabled() {
+            return pageIndexEnabled != null && pageIndexEnabled;
+        }
     }
 
     /**
@@ -136,11 +256,13 @@ public class PdfTextTool implements XpdfTool<PdfTextRequest, PdfTextResponse> {
      * This executable converts a PDF file into a text file.
      *
      * <br><br> This method utilizes Java's {@link ProcessBuilder} API to execute a shell command that launches the executable.
+     * The shell command is run by the configured {@link XpdfProcessExecutor}, which may hold the request in its queue until a process slot frees up.
      * Be aware that this method may become blocking for very large PDF files.
      *
      * @param request {@link PdfTextRequest}
      * @return {@link PdfTextResponse} with text file containing text from PDF
      * @throws XpdfValidationException if request is invalid
+     * @throws XpdfRejectedException if process queue is full
      * @throws XpdfExecutionException if process returns non-zero exit code
      * @throws XpdfTimeoutException if process duration exceeds timeout length
      * @throws XpdfProcessingException if any other exception occurs during processing
@@ -149,8 +271,12 @@ public class PdfTextTool implements XpdfTool<PdfTextRequest, PdfTextResponse> {
      */
     @Override
     public PdfTextResponse process(PdfTextRequest request) throws XpdfException {
+        if (request != null && request.getPdfFile() == null) {
+            // stage in-memory pdf content into a file, which is deleted once processed
+            return pdfStager.process(request.getPdfSource(), stagedFile -> process(toStagedRequest(request, stagedFile)));
+        }
+
         log.debug("Process starting");
-        Process process = null;
 
         try {
             // validate request
@@ -161,55 +287,31 @@ public class PdfTextTool implements XpdfTool<PdfTextRequest, PdfTextResponse> {
             log.debug("Configuring output text file");
             val textFile = initializeTextFile(request);
 
+            // restore cached result
+            val cacheKey = getCacheKey(request);
+            val cachedResponse = getCachedResponse(cacheKey, request, textFile);
+            if (cachedResponse != null) {
+                return cachedResponse;
+            }
+
             // get commands
             log.debug("Building command");
             val commandParts = getCommandParts(request, textFile);
 
             // process commands
-            log.debug("Invoking executable; command: {}", commandParts.toString());
-            val processBuilder = new ProcessBuilder(commandParts);
-            process = processBuilder.start();
-
-            // wait for process finish
-            if (process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
-                val standardOutput = StringUtils.trimToNull(IOUtils.toString(process.getInputStream(), Charset.defaultCharset()));
-                val errorOutput = StringUtils.trimToNull(IOUtils.toString(process.getErrorStream(), Charset.defaultCharset()));
-                log.debug("Invocation completed; exit code: {}, standard output: {}", process.exitValue(), standardOutput);
-
-                // handle process finished
-                if (process.exitValue() == 0) {
-                    log.debug("Invocation succeeded");
-                    return PdfTextResponse.builder()
-                            .textFile(textFile)
-                            .standardOutput(standardOutput)
-                            .build();
-                } else {
-                    log.debug("Invocation failed; error output: {}", errorOutput);
-                    final String message;
-                    switch (process.exitValue()) {
-                        case 1:
-                            message = "Error opening the PDF file";
-                            break;
-                        case 2:
-                            message = "Error opening the output file";
-                            break;
-                        case 3:
-                            message = "Error related to PDF permissions";
-                            break;
-                        case 99:
-                            message = "Other Xpdf error";
-                            break;
-                        default:
-                            message = "Unknown Xpdf error";
-                            break;
-                    }
-                    throw new XpdfExecutionException(message, standardOutput, errorOutput);
-                }
-            } else {
-                // handle process timeout
-                log.debug("Invocation timed out");
-                throw new XpdfTimeoutException("Timeout reached before process could finish");
-            }
+            val result = processExecutor.execute(commandParts, timeoutSeconds, getCharset(request));
+
+            val response = PdfTextResponse.builder()
+                    .textFile(textFile)
+                    .temporary(request.getTextFile() == null)
+                    .pageIndex(indexPages(request, textFile))
+                    .charset(getCharset(request))
+                    .firstPageNumber(getFirstPageNumber(request))
+                    .standardOutput(result.getStandardOutput())
+                    .build();
+            putCachedResponse(cacheKey, response);
+
+            return response;
         } catch (XpdfException | XpdfRuntimeException e) {
             log.debug("Process failed; exception message: {}", e.getMessage());
             throw e;
@@ -217,13 +319,342 @@ public class PdfTextTool implements XpdfTool<PdfTextRequest, PdfTextResponse> {
             log.debug("Process failed; exception message: {}", e.getMessage());
             throw new XpdfProcessingException(e);
         } finally {
-            if (process != null) {
-                process.destroy();
-            }
             log.debug("Process finished");
         }
     }
 
+    /**
+     * Converts a PDF file into text, and streams the text to a consumer as it is extracted.
+     *
+     * <br><br> Invokes the <em>pdftotext</em> executable against a PDF file, and directs it to write text to its standard output rather than to a text file.
+     * The consumer reads the text directly from the process on the calling thread, so that text can be consumed before extraction finishes, and no text file is ever written to or read back from disk.
+     * Any {@link PdfTextRequest#getTextFile() text file} given in the request is ignored.
+     *
+     * <br><br> Example usage:
+     * <blockquote><pre>
+     *  pdfTextTool.process(request, stream -&gt; Files.copy(stream, targetPath));
+     * </pre></blockquote>
+     *
+     * @param request {@link PdfTextRequest}
+     * @param textConsumer {@link XpdfStreamConsumer} of the text, encoded as configured by {@link PdfTextOptions#getEncoding()}
+     * @return {@link PdfTextResponse} without text file
+     * @throws XpdfValidationException if request is invalid
+     * @throws XpdfRejectedException if process queue is full
+     * @throws XpdfExecutionException if process returns non-zero exit code
+     * @throws XpdfTimeoutException if process duration exceeds timeout length
+     * @throws XpdfProcessingException if any other exception occurs during processing, including any exception thrown by the consumer
+     * @implNote This method executes a shell command and may become blocking.
+     * @since 1.3.0
+     */
+    public PdfTextResponse process(PdfTextRequest request, XpdfStreamConsumer textConsumer) throws XpdfException {
+        if (request != null && request.getPdfFile() == null) {
+            // stage in-memory pdf content into a file, which is deleted once processed
+            return pdfStager.process(request.getPdfSource(), stagedFile -> process(toStagedRequest(request, stagedFile), textConsumer));
+        }
+
+        log.debug("Stream process starting");
+
+        try {
+            // validate request
+            log.debug("Validating request");
+            validate(request);
+            if (textConsumer == null) {
+                throw new XpdfValidationException("TextConsumer cannot be null");
+            }
+
+            // get commands
+            log.debug("Building command");
+            val commandParts = getStreamCommandParts(request);
+
+            // process commands
+            val result = processExecutor.execute(commandParts, timeoutSeconds, textConsumer);
+
+            return PdfTextResponse.builder()
+                    .charset(getCharset(request))
+                    .firstPageNumber(getFirstPageNumber(request))
+                    .standardOutput(result.getStandardOutput())
+                    .build();
+        } catch (XpdfException | XpdfRuntimeException e) {
+            log.debug("Stream process failed; exception message: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.debug("Stream process failed; exception message: {}", e.getMessage());
+            throw new XpdfProcessingException(e);
+        } finally {
+            log.debug("Stream process finished");
+        }
+    }
+
+    /**
+     * Converts a PDF file into text, and delivers each page to a listener as soon as it is extracted.
+     *
+     * <br><br> Behaves like {@link #process(PdfTextRequest, XpdfStreamConsumer)}, except that the text streamed from the executable is split into pages on the fly.
+     * <em>pdftotext</em> extracts pages in order and writes a page break after each one, so every page is delivered as soon as its page break appears, while later pages are still being extracted.
+     * Pages are decoded with the charset of the {@link PdfTextOptions#getEncoding() requested encoding}, delivered on the calling thread, and only the page being read is held in memory.
+     *
+     * <br><br> Example usage:
+     * <blockquote><pre>
+     *  pdfTextTool.processPages(request, page -&gt; preview.show(page.getPageNumber(), page.getText()));
+     * </pre></blockquote>
+     *
+     * @param request {@link PdfTextRequest}
+     * @param pageListener {@link PdfTextPageListener} of the pages, numbered from the {@link PdfTextOptions#getPageStart() start page}
+     * @return {@link PdfTextResponse} without text file
+     * @throws XpdfValidationException if request is invalid
+     * @throws XpdfRejectedException if process queue is full
+     * @throws XpdfExecutionException if process returns non-zero exit code
+     * @throws XpdfTimeoutException if process duration exceeds timeout length
+     * @throws XpdfProcessingException if any other exception occurs during processing, including any exception thrown by the listener
+     * @implNote This method executes a shell command and may become blocking.
+     * If {@link PdfTextOptions#getPageBreakExcluded() page breaks are excluded}, the whole text is delivered as a single page once extraction finishes.
+     * @since 1.3.0
+     */
+    public PdfTextResponse processPages(PdfTextRequest request, PdfTextPageListener pageListener) throws XpdfException {
+        if (pageListener == null) {
+            throw new XpdfValidationException("PageListener cannot be null");
+        }
+
+        return process(request, stream -> {
+            // leave the stream open for the executor, which drains and closes it once the listener returns
+            val reader = new InputStreamReader(CloseShieldInputStream.wrap(stream), getCharset(request));
+            try (val pages = new PdfTextPageIterator(reader, getFirstPageNumber(request))) {
+                while (pages.hasNext()) {
+                    pageListener.onPage(pages.next());
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    /**
+     * Converts a PDF file into a text file, by splitting its pages into ranges that are converted in parallel.
+     *
+     * <br><br> Counts the pages of the PDF file, splits them into contiguous page ranges, and invokes one <em>pdftotext</em> process per range through {@link #processShardAsync}.
+     * Once every process has finished, the text of each range is concatenated in page order into a single text file.
+     * Each range is its own process, subject to the {@link #timeoutSeconds} of this tool and to the limits of the configured {@link XpdfProcessExecutor}.
+     * Only the concatenated text file is page indexed and cached, like the text file of {@link #process}.
+     *
+     * <br><br> Any {@link PdfTextOptions#getPageStart() start page} and {@link PdfTextOptions#getPageStop() end page} given in the request bound the pages to split.
+     * The page count is only looked up with <em>pdfinfo</em> when no end page is given.
+     *
+     * @param request {@link PdfTextRequest}
+     * @param shardCount maximum number of page ranges to convert in parallel
+     * @return {@link PdfTextResponse} with text file containing text from PDF, and the standard output of every process joined in page order
+     * @throws XpdfValidationException if request is invalid
+     * @throws XpdfRejectedException if process queue is full
+     * @throws XpdfExecutionException if any process returns non-zero exit code
+     * @throws XpdfTimeoutException if any process duration exceeds timeout length
+     * @throws XpdfProcessingException if any other exception occurs during processing
+     * @implNote This method executes shell commands and may become blocking.
+     * A PDF file with fewer pages than shards is split into one page range per page, and a PDF file with a single page is converted by {@link #process}.
+     * If any process fails, the text files of every page range are deleted, along with the partly written text file.
+     * @since 1.3.0
+     */
+    public PdfTextResponse processSharded(PdfTextRequest request, int shardCount) throws XpdfException {
+        if (request != null && request.getPdfFile() == null) {
+            // stage in-memory pdf content into a file, which is deleted once processed
+            return pdfStager.process(request.getPdfSource(), stagedFile -> processSharded(toStagedRequest(request, stagedFile), shardCount));
+        }
+
+        log.debug("Sharded process starting");
+        val shardTextFiles = new ArrayList<File>();
+        val shardFutures = new ArrayList<CompletableFuture<XpdfProcessResult>>();
+        File partialTextFile = null;
+
+        try {
+            // validate request
+            log.debug("Validating request");
+            validate(request);
+            if (shardCount <= 0) {
+                throw new XpdfValidationException("ShardCount must be greater than zero");
+            }
+
+            // determine page range
+            log.debug("Determining page range");
+            val options = request.getOptions() != null ? request.getOptions() : PdfTextOptions.builder().build();
+            val pageStart = options.getPageStart() != null ? options.getPageStart() : 1;
+            val pageStop = options.getPageStop() != null ? options.getPageStop() : getPageCount(request);
+            val pageCount = pageStop - pageStart + 1;
+            if (pageCount <= 1 || shardCount == 1) {
+                return process(request);
+            }
+
+            // configure output text file
+            log.debug("Configuring output text file");
+            val textFile = initializeTextFile(request);
+
+            // restore cached result
+            val cacheKey = getCacheKey(request);
+            val cachedResponse = getCachedResponse(cacheKey, request, textFile);
+            if (cachedResponse != null) {
+                return cachedResponse;
+            }
+
+            // launch one process per page range
+            val shards = Math.min(shardCount, pageCount);
+            log.debug("Launching shards; shard count: {}, page count: {}", shards, pageCount);
+            for (int shard = 0; shard < shards; shard++) {
+                val shardTextFile = outputDirectory.getCurrentDirectory().resolve(String.format("%s.txt", UUID.randomUUID())).toFile();
+                shardTextFiles.add(shardTextFile);
+                val shardRequest = request.toBuilder()
+                        .textFile(shardTextFile)
+                        .options(options.toBuilder()
+                                .pageStart(pageStart + (int) ((long) pageCount * shard / shards))
+                                .pageStop(pageStart + (int) ((long) pageCount * (shard + 1) / shards) - 1)
+                                .build())
+                        .build();
+                shardFutures.add(processShardAsync(shardRequest));
+            }
+
+            // wait for all shards to finish
+            try {
+                CompletableFuture.allOf(shardFutures.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+
+            // concatenate shard text files in page order
+            log.debug("Concatenating shards");
+            partialTextFile = textFile;
+            try (val textStream = new FileOutputStream(textFile)) {
+                for (val shardTextFile : shardTextFiles) {
+                    Files.copy(shardTextFile.toPath(), textStream);
+                }
+            }
+
+            val standardOutput = shardFutures.stream()
+                    .map(future -> future.join().getStandardOutput())
+                    .filter(StringUtils::isNotBlank)
+                    .collect(Collectors.joining(System.lineSeparator()));
+
+            val response = PdfTextResponse.builder()
+                    .textFile(textFile)
+                    .temporary(request.getTextFile() == null)
+                    .pageIndex(indexPages(request, textFile))
+                    .charset(getCharset(request))
+                    .firstPageNumber(getFirstPageNumber(request))
+                    .standardOutput(StringUtils.trimToNull(standardOutput))
+                    .build();
+            putCachedResponse(cacheKey, response);
+            partialTextFile = null;
+
+            return response;
+        } catch (XpdfException | XpdfRuntimeException e) {
+            log.debug("Sharded process failed; exception message: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.debug("Sharded process failed; exception message: {}", e.getMessage());
+            throw new XpdfProcessingException(e);
+        } finally {
+            // let any shard still running finish first, so that none writes its text file after it is deleted
+            CompletableFuture.allOf(shardFutures.toArray(new CompletableFuture[0])).exceptionally(throwable -> null).join();
+            if (partialTextFile != null) {
+                FileUtils.deleteQuietly(partialTextFile);
+                FileUtils.deleteQuietly(PdfTextPageIndex.getSidecarFile(partialTextFile));
+            }
+            shardTextFiles.forEach(FileUtils::deleteQuietly);
+            shardTextFiles.forEach(shardTextFile -> FileUtils.deleteQuietly(PdfTextPageIndex.getSidecarFile(shardTextFile)));
+            log.debug("Sharded process finished");
+        }
+    }
+
+    /**
+     * Converts a PDF file into a text file, without blocking the calling thread.
+     *
+     * <br><br> Behaves like {@link #process}, except that the shell command is run asynchronously by the configured {@link XpdfProcessExecutor}.
+     * No thread is parked while the process waits in the queue or runs, which makes this method suitable for handling many PDF files at once.
+     *
+     * @param request {@link PdfTextRequest}
+     * @return {@code CompletableFuture} of the {@link PdfTextResponse}, which completes exceptionally with the same {@link XpdfException} types thrown by {@link #process}
+     * @since 1.3.0
+     */
+    @Override
+    public CompletableFuture<PdfTextResponse> processAsync(PdfTextRequest request) {
+        if (request != null && request.getPdfFile() == null) {
+            // stage in-memory pdf content into a file, which is deleted once processed
+            return pdfStager.processAsync(request.getPdfSource(), stagedFile -> processAsync(toStagedRequest(request, stagedFile)));
+        }
+
+        log.debug("Async process starting");
+
+        try {
+            // validate request
+            log.debug("Validating request");
+            validate(request);
+
+            // configure output text file
+            log.debug("Configuring output text file");
+            val textFile = initializeTextFile(request);
+
+            // restore cached result
+            val cacheKey = getCacheKey(request);
+            val cachedResponse = getCachedResponse(cacheKey, request, textFile);
+            if (cachedResponse != null) {
+                log.debug("Async process finished");
+                return CompletableFuture.completedFuture(cachedResponse);
+            }
+
+            // get commands
+            log.debug("Building command");
+            val commandParts = getCommandParts(request, textFile);
+
+            // process commands
+            return processExecutor.executeAsync(commandParts, timeoutSeconds, getCharset(request))
+                    .thenApply(result -> {
+                        final PdfTextPageIndex pageIndex;
+                        try {
+                            pageIndex = indexPages(request, textFile);
+                        } catch (IOException e) {
+                            throw new CompletionException(new XpdfProcessingException(e));
+                        }
+
+                        val response = PdfTextResponse.builder()
+                                .textFile(textFile)
+                                .temporary(request.getTextFile() == null)
+                                .pageIndex(pageIndex)
+                                .charset(getCharset(request))
+                                .firstPageNumber(getFirstPageNumber(request))
+                                .standardOutput(result.getStandardOutput())
+                                .build();
+                        putCachedResponse(cacheKey, response);
+                        return response;
+                    })
+                    .whenComplete((response, throwable) -> log.debug("Async process finished"));
+        } catch (XpdfException | XpdfRuntimeException e) {
+            log.debug("Async process failed; exception message: {}", e.getMessage());
+            return XpdfUtils.failedFuture(e);
+        } catch (Exception e) {
+            log.debug("Async process failed; exception message: {}", e.getMessage());
+            return XpdfUtils.failedFuture(new XpdfProcessingException(e));
+        }
+    }
+
+    /**
+     * Converts the page range of a shard into its own text file, without page indexing or caching it.
+     *
+     * @param shardRequest {@link PdfTextRequest} of the page range, with the text file of the shard
+     * @return {@code CompletableFuture} of the {@link XpdfProcessResult}
+     * @throws IOException if canonical path of {@link #executableFile} is invalid
+     */
+    protected CompletableFuture<XpdfProcessResult> processShardAsync(PdfTextRequest shardRequest) throws IOException {
+        return processExecutor.executeAsync(getCommandParts(shardRequest, shardRequest.getTextFile()), timeoutSeconds, getCharset(shardRequest));
+    }
+
+    /**
+     * Gets a copy of a request that reads its PDF content from a staged PDF file, in place of its PDF source.
+     *
+     * @param request {@link PdfTextRequest} with PDF source
+     * @param stagedFile staged PDF file
+     * @return {@link PdfTextRequest} with PDF file
+     */
+    protected PdfTextRequest toStagedRequest(PdfTextRequest request, File stagedFile) {
+        return request.toBuilder()
+                .pdfFile(stagedFile)
+                .pdfSource(null)
+                .build();
+    }
+
     /**
      * Validates a {@link PdfTextRequest}.
      *
@@ -265,6 +696,31 @@ public class PdfTextTool implements XpdfTool<PdfTextRequest, PdfTextResponse> {
         }
     }
 
+    /**
+     * Gets the number of pages in a PDF file, by invoking the <em>pdfinfo</em> executable against it.
+     *
+     * @param request {@link PdfTextRequest}
+     * @return page count
+     * @throws XpdfException if unable to invoke <em>pdfinfo</em>, or if its output has no page count
+     */
+    protected int getPageCount(PdfTextRequest request) throws XpdfException {
+        val options = request.getOptions();
+        val pdfInfoRequest = PdfInfoRequest.builder()
+                .pdfFile(request.getPdfFile())
+                .options(options == null ? null : PdfInfoOptions.builder()
+                        .ownerPassword(options.getOwnerPassword())
+                        .userPassword(options.getUserPassword())
+                        .build())
+                .build();
+
+        val pageCount = getPdfInfoTool().process(pdfInfoRequest).getPageCount();
+        if (pageCount != null) {
+            return pageCount;
+        }
+
+        throw new XpdfProcessingException(new IllegalStateException("Unable to read page count from pdfinfo output"));
+    }
+
     /**
      * Gets the text file that the executable should write to.
      *
@@ -277,10 +733,8 @@ public class PdfTextTool implements XpdfTool<PdfTextRequest, PdfTextResponse> {
             // use text file provided in request
             textFile = request.getTextFile();
         } else {
-            // create text file
-            textFile = getPdfTextTempOutputPath().resolve(String.format("%s.txt", UUID.randomUUID())).toFile();
-            // auto-delete text file
-            textFile.deleteOnExit();
+            // create text file, which is deleted when the response is closed
+            textFile = outputDirectory.getCurrentDirectory().resolve(String.format("%s.txt", UUID.randomUUID())).toFile();
         }
 
         // create directories on path if not existing
@@ -289,6 +743,128 @@ public class PdfTextTool implements XpdfTool<PdfTextRequest, PdfTextResponse> {
         return textFile;
     }
 
+    /**
+     * Builds the page index of a text file, and stores it in a sidecar file next to the text file.
+     *
+     * @param request {@link PdfTextRequest}
+     * @param textFile text file written by the executable
+     * @return {@link PdfTextPageIndex}, or null if {@link #pageIndexEnabled} is not configured
+     * @throws IOException if unable to read the text file or write the sidecar file
+     */
+    protected PdfTextPageIndex indexPages(PdfTextRequest request, File textFile) throws IOException {
+        if (!pageIndexEnabled) {
+            if (request.getTextFile() != null) {
+                // a sidecar file left by an earlier text file at the path provided no longer matches it
+                Files.deleteIfExists(PdfTextPageIndex.getSidecarFile(textFile).toPath());
+            }
+            return null;
+        }
+
+        log.debug("Indexing pages");
+        val options = request.getOptions();
+        val encoding = options != null ? options.getEncoding() : null;
+        val pageIndex = PdfTextPageIndex.build(textFile, encoding, getFirstPageNumber(request));
+        pageIndex.write(textFile);
+        return pageIndex;
+    }
+
+    /**
+     * Gets the charset that the outputs of the executable are decoded with.
+     *
+     * @param request {@link PdfTextRequest}
+     * @return {@code Charset} of the requested encoding
+     */
+    protected Charset getCharset(PdfTextRequest request) {
+        val options = request.getOptions();
+        return PdfTextEncoding.getCharset(options != null ? options.getEncoding() : null);
+    }
+
+    /**
+     * Gets the number of the first page in the outputs of the executable.
+     *
+     * @param request {@link PdfTextRequest}
+     * @return the requested start page, or 1 if none is requested
+     */
+    protected int getFirstPageNumber(PdfTextRequest request) {
+        val options = request.getOptions();
+        return options != null && options.getPageStart() != null ? options.getPageStart() : 1;
+    }
+
+    /**
+     * Gets the key that the result of a request is cached under.
+     *
+     * @param request {@link PdfTextRequest}
+     * @return cache key, or null if no {@link #resultCache} is configured
+     * @throws IOException if unable to read the executable file or PDF file
+     */
+    protected String getCacheKey(PdfTextRequest request) throws IOException {
+        if (resultCache == null) {
+            return null;
+        }
+
+        log.debug("Computing cache key");
+        return resultCache.getKey(executableFile, getCommandOptions(request.getOptions()), request.getPdfFile());
+    }
+
+    /**
+     * Restores a cached result into the output text file.
+     *
+     * @param cacheKey cache key, or null if no {@link #resultCache} is configured
+     * @param request {@link PdfTextRequest}
+     * @param textFile text file
+     * @return {@link PdfTextResponse} restored from cache, or null if the result is not cached
+     */
+    protected PdfTextResponse getCachedResponse(String cacheKey, PdfTextRequest request, File textFile) {
+        if (cacheKey == null) {
+            return null;
+        }
+
+        val entryDirectory = resultCache.get(cacheKey);
+        if (entryDirectory == null) {
+            log.debug("Cache missed; key: {}", cacheKey);
+            return null;
+        }
+
+        try {
+            Files.copy(entryDirectory.resolve(TEXT_CACHE_FILE_NAME), textFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            log.debug("Cache hit; key: {}", cacheKey);
+            return PdfTextResponse.builder()
+                    .textFile(textFile)
+                    .temporary(request.getTextFile() == null)
+                    .pageIndex(indexPages(request, textFile))
+                    .charset(getCharset(request))
+                    .firstPageNumber(getFirstPageNumber(request))
+                    .standardOutput(XpdfResultCache.readStandardOutput(entryDirectory))
+                    .build();
+        } catch (IOException e) {
+            // entry may have been evicted in the meantime
+            log.debug("Unable to restore cached result; exception message: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores a result in the cache.
+     * Any failure to store the result is logged and otherwise ignored.
+     *
+     * @param cacheKey cache key, or null if no {@link #resultCache} is configured
+     * @param response {@link PdfTextResponse}
+     */
+    protected void putCachedResponse(String cacheKey, PdfTextResponse response) {
+        if (cacheKey == null) {
+            return;
+        }
+
+        try {
+            resultCache.put(cacheKey, entryDirectory -> {
+                Files.copy(response.getTextFile().toPath(), entryDirectory.resolve(TEXT_CACHE_FILE_NAME));
+                XpdfResultCache.writeStandardOutput(entryDirectory, response.getStandardOutput());
+            });
+        } catch (IOException e) {
+            log.debug("Unable to cache result; exception message: {}", e.getMessage());
+        }
+    }
+
     /**
      * Gets the complete list of command parts for a {@code Process}.
      *
@@ -298,12 +874,27 @@ public class PdfTextTool implements XpdfTool<PdfTextRequest, PdfTextResponse> {
      * @throws IOException if canonical path of {@link #executableFile} is invalid
      */
     protected List<String> getCommandParts(PdfTextRequest request, File textFile) throws IOException {
+        return getCommandParts(request, textFile.getCanonicalPath());
+    }
+
+    /**
+     * Gets the complete list of command parts for a {@code Process} that writes text to its standard output.
+     *
+     * @param request {@link PdfTextRequest}
+     * @return command parts as {@code List<String>}
+     * @throws IOException if canonical path of {@link #executableFile} is invalid
+     */
+    protected List<String> getStreamCommandParts(PdfTextRequest request) throws IOException {
+        return getCommandParts(request, STANDARD_OUTPUT_PATH);
+    }
+
+    private List<String> getCommandParts(PdfTextRequest request, String textFilePath) throws IOException {
         val commandParts = new ArrayList<String>();
 
         commandParts.add(executableFile.getCanonicalPath());
         commandParts.addAll(getCommandOptions(request.getOptions()));
         commandParts.add(request.getPdfFile().getCanonicalPath());
-        commandParts.add(textFile.getCanonicalPath());
+        commandParts.add(textFilePath);
 
         return commandParts;
     }
@@ -0,0 +1,180 @@
+/*
+ * PdfText API - An API for accessing a native pdftotext library (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdftext
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.matchers.shouldBe
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.nio.charset.StandardCharsets
+import java.nio.file.Path
+import java.util.regex.Pattern
+
+class PdfTextMappedTextTest {
+
+    @Test
+    fun `should view latin-1 text without decoding`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page één\u000C", Charsets.ISO_8859_1) }
+
+        // when
+        val result = PdfTextMappedText.map(textFile, StandardCharsets.ISO_8859_1)
+
+        // then
+        result.isDecodingSkipped shouldBe true
+        result.length shouldBe 9
+        result[6] shouldBe 'é'
+        result.toString() shouldBe "page één\u000C"
+    }
+
+    @Test
+    fun `should view ascii text without decoding`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page one", Charsets.US_ASCII) }
+
+        // when
+        val result = PdfTextMappedText.map(textFile, StandardCharsets.US_ASCII)
+
+        // then
+        result.isDecodingSkipped shouldBe true
+        result.toString() shouldBe "page one"
+    }
+
+    @Test
+    fun `should view utf-8 text with decoding`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page één\u000C", Charsets.UTF_8) }
+
+        // when
+        val result = PdfTextMappedText.map(textFile, StandardCharsets.UTF_8)
+
+        // then
+        result.isDecodingSkipped shouldBe false
+        result.length shouldBe 9
+        result[6] shouldBe 'é'
+        result.subSequence(5, 8).toString() shouldBe "één"
+        result.toString() shouldBe "page één\u000C"
+    }
+
+    @Test
+    fun `should view utf-16 text with decoding`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page één\u000C", Charsets.UTF_16BE) }
+
+        // when
+        val result = PdfTextMappedText.map(textFile, StandardCharsets.UTF_16BE)
+
+        // then
+        result.length shouldBe 9
+        result[6] shouldBe 'é'
+        result.toString() shouldBe "page één\u000C"
+    }
+
+    @Test
+    fun `should decode text in chunks`(@TempDir tempDir: Path) {
+        // given
+        val content = "a" + "é".repeat(600_000) + "\u000Cpage two" + "ü".repeat(600_000)
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText(content, Charsets.UTF_8) }
+        val text = PdfTextMappedText.map(textFile, StandardCharsets.UTF_8)
+
+        // when
+        val matcher = Pattern.compile("page (\\w+)").matcher(text)
+
+        // then
+        text.length shouldBe content.length
+        text[524_287] shouldBe 'é'
+        text[524_288] shouldBe 'é'
+        text[content.length - 1] shouldBe 'ü'
+        text[0] shouldBe 'a'
+        matcher.find() shouldBe true
+        matcher.group(1) shouldBe "two"
+        text.subSequence(524_280, 524_300).toString() shouldBe content.substring(524_280, 524_300)
+        text.toString() shouldBe content
+    }
+
+    @Test
+    fun `should get sub sequence with decoding`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page één\u000Cpage twee", Charsets.UTF_8) }
+        val text = PdfTextMappedText.map(textFile, StandardCharsets.UTF_8)
+
+        // when
+        val result = text.subSequence(9, 18)
+
+        // then
+        result.length shouldBe 9
+        result[5] shouldBe 't'
+        result.subSequence(5, 9).toString() shouldBe "twee"
+        shouldThrow<IndexOutOfBoundsException> { result[9] }
+        shouldThrow<IndexOutOfBoundsException> { result.subSequence(5, 10) }
+    }
+
+    @Test
+    fun `should get sub sequence without decoding`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page one\u000Cpage two", Charsets.ISO_8859_1) }
+        val text = PdfTextMappedText.map(textFile, StandardCharsets.ISO_8859_1)
+
+        // when
+        val result = text.subSequence(9, 17)
+
+        // then
+        result.length shouldBe 8
+        result[5] shouldBe 't'
+        result.subSequence(5, 8).toString() shouldBe "two"
+    }
+
+    @Test
+    fun `should match regex over text`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page one\u000Cpage two", Charsets.ISO_8859_1) }
+        val text = PdfTextMappedText.map(textFile, StandardCharsets.ISO_8859_1)
+
+        // when
+        val matcher = Pattern.compile("page (\\w+)").matcher(text)
+        val result = generateSequence { if (matcher.find()) matcher.group(1) else null }.toList()
+
+        // then
+        result shouldBe listOf("one", "two")
+    }
+
+    @Test
+    fun `should throw exception if index is out of range`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page", Charsets.ISO_8859_1) }
+        val text = PdfTextMappedText.map(textFile, StandardCharsets.ISO_8859_1)
+
+        // when then
+        shouldThrow<IndexOutOfBoundsException> { text[4] }
+        shouldThrow<IndexOutOfBoundsException> { text[-1] }
+        shouldThrow<IndexOutOfBoundsException> { text.subSequence(2, 5) }
+    }
+
+    @Test
+    fun `should view empty text`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("") }
+
+        // when
+        val result = PdfTextMappedText.map(textFile, StandardCharsets.UTF_8)
+
+        // then
+        result.length shouldBe 0
+        result.toString() shouldBe ""
+    }
+
+}
@@ -17,6 +17,7 @@
 package io.xpdf.api.pdftext
 
 import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
 import io.xpdf.api.pdftext.options.PdfTextEncoding
 import io.xpdf.api.pdftext.options.PdfTextEndOfLine
 import io.xpdf.api.pdftext.options.PdfTextFormat
@@ -42,4 +43,25 @@ class PdfTextOptionsTest {
         options.toString() shouldBe "PdfTextOptions(pageStart=1, pageStop=5, format=LAYOUT, encoding=UTF_8, endOfLine=UNIX, pageBreakExcluded=true, ownerPassword=ownerPassword, userPassword=userPassword, nativeOptions=null)"
     }
 
+    @Test
+    fun `should be equal if same values`() {
+        // given
+        val options = PdfTextOptions.builder().pageStart(1).userPassword("userPassword").nativeOptions(mapOf("-opw" to "secret")).build()
+        val other = PdfTextOptions.builder().pageStart(1).userPassword("userPassword").nativeOptions(mapOf("-opw" to "secret")).build()
+
+        // when then
+        options shouldBe other
+        options.hashCode() shouldBe other.hashCode()
+    }
+
+    @Test
+    fun `should not be equal if different values`() {
+        // given
+        val options = PdfTextOptions.builder().pageStart(1).build()
+        val other = PdfTextOptions.builder().pageStart(2).build()
+
+        // when then
+        options shouldNotBe other
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+/*
+ * PdfText API - An API for accessing a native pdftotext library (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdftext
+
+import io.kotest.assertions.throwables.shouldThrowWithMessage
+import io.kotest.matchers.shouldBe
+import io.xpdf.api.common.exception.XpdfRuntimeException
+import io.xpdf.api.pdftext.options.PdfTextEncoding
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.nio.charset.StandardCharsets
+import java.nio.file.Path
+
+class PdfTextPageIndexTest {
+
+    @Test
+    fun `should build index of pages split on page breaks`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page one\n\u000Cpage two\n\u000C\u000Cpage four\n\u000C") }
+
+        // when
+        val result = PdfTextPageIndex.build(textFile, PdfTextEncoding.UTF_8, 1)
+
+        // then
+        result.pageCount shouldBe 4
+        result.pageBreakLength shouldBe 1
+        result.readPage(textFile, StandardCharsets.UTF_8, 1) shouldBe PdfTextPage.builder().pageNumber(1).text("page one\n").build()
+        result.readPage(textFile, StandardCharsets.UTF_8, 3) shouldBe PdfTextPage.builder().pageNumber(3).text("").build()
+        result.readPage(textFile, StandardCharsets.UTF_8, 4) shouldBe PdfTextPage.builder().pageNumber(4).text("page four\n").build()
+    }
+
+    @Test
+    fun `should build index with trailing page without page break`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page five\u000Cpage six") }
+
+        // when
+        val result = PdfTextPageIndex.build(textFile, null, 5)
+
+        // then
+        result.pageCount shouldBe 2
+        result.readPage(textFile, StandardCharsets.UTF_8, 6) shouldBe PdfTextPage.builder().pageNumber(6).text("page six").build()
+    }
+
+    @Test
+    fun `should build index of no pages if text is empty`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("") }
+
+        // when
+        val result = PdfTextPageIndex.build(textFile, null, 1)
+
+        // then
+        result.pageCount shouldBe 0
+        result.readPage(textFile, StandardCharsets.UTF_8, 1) shouldBe null
+    }
+
+    @Test
+    fun `should build index of ucs-2 text on aligned page breaks only`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("అa\u000Cb\u000C", Charsets.UTF_16BE) }
+
+        // when
+        val result = PdfTextPageIndex.build(textFile, PdfTextEncoding.UCS_2, 1)
+
+        // then
+        result.pageCount shouldBe 2
+        result.pageBreakLength shouldBe 2
+        result.readPage(textFile, Charsets.UTF_16BE, 1) shouldBe PdfTextPage.builder().pageNumber(1).text("అa").build()
+        result.readPage(textFile, Charsets.UTF_16BE, 2) shouldBe PdfTextPage.builder().pageNumber(2).text("b").build()
+    }
+
+    @Test
+    fun `should return null when reading page out of range`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page three\u000C") }
+        val pageIndex = PdfTextPageIndex.build(textFile, null, 3)
+
+        // when then
+        pageIndex.readPage(textFile, StandardCharsets.UTF_8, 2) shouldBe null
+        pageIndex.readPage(textFile, StandardCharsets.UTF_8, 4) shouldBe null
+    }
+
+    @Test
+    fun `should write and read sidecar file`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page two\u000Cpage three\u000C") }
+        PdfTextPageIndex.build(textFile, null, 2).write(textFile)
+
+        // when
+        val result = PdfTextPageIndex.read(textFile)
+
+        // then
+        PdfTextPageIndex.getSidecarFile(textFile) shouldBe tempDir.resolve("some.txt.pages").toFile()
+        result!!.firstPageNumber shouldBe 2
+        result.pageCount shouldBe 2
+        result.readPage(textFile, StandardCharsets.UTF_8, 3) shouldBe PdfTextPage.builder().pageNumber(3).text("page three").build()
+    }
+
+    @Test
+    fun `should read null if no sidecar file`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page one\u000C") }
+
+        // when
+        val result = PdfTextPageIndex.read(textFile)
+
+        // then
+        result shouldBe null
+    }
+
+    @Test
+    fun `should read null if text file changed since sidecar file was written`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page one\u000Cpage two\u000C") }
+        PdfTextPageIndex.build(textFile, null, 1).write(textFile)
+        textFile.writeText("page one, rewritten\u000C")
+
+        // when
+        val result = PdfTextPageIndex.read(textFile)
+
+        // then
+        result shouldBe null
+    }
+
+    @Test
+    fun `should throw exception when reading unrecognized sidecar file`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile()
+        val sidecarFile = PdfTextPageIndex.getSidecarFile(textFile).apply { writeText("not a page index") }
+
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("Unrecognized page index file: $sidecarFile") {
+            PdfTextPageIndex.read(textFile)
+        }
+    }
+
+    @Test
+    fun `should convert to string`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page one\u000C") }
+        val pageIndex = PdfTextPageIndex.build(textFile, null, 1)
+
+        // when then
+        pageIndex.toString() shouldBe "PdfTextPageIndex(firstPageNumber=1, pageBreakLength=1, pageCount=1)"
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * PdfText API - An API for accessing a native pdftotext library (https://xpdf.io)
+ * Copyright © 2024 xpdf.io (info@xpdf.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.xpdf.api.pdftext
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.shouldBe
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.jupiter.api.Test
+import java.io.IOException
+import java.io.Reader
+import java.io.StringReader
+import java.io.UncheckedIOException
+
+class PdfTextPageIteratorTest {
+
+    @Test
+    fun `should iterate pages split on page breaks`() {
+        // given
+        val iterator = PdfTextPageIterator(StringReader("page one\n\u000Cpage two\n\u000C\u000Cpage four\n\u000C"), 1)
+
+        // when
+        val result = iterator.asSequence().toList()
+
+        // then
+        result shouldContainExactly listOf(
+            PdfTextPage.builder().pageNumber(1).text("page one\n").build(),
+            PdfTextPage.builder().pageNumber(2).text("page two\n").build(),
+            PdfTextPage.builder().pageNumber(3).text("").build(),
+            PdfTextPage.builder().pageNumber(4).text("page four\n").build(),
+        )
+    }
+
+    @Test
+    fun `should iterate pages from first page number`() {
+        // given
+        val iterator = PdfTextPageIterator(StringReader("page five\u000Cpage six\u000C"), 5)
+
+        // when
+        val result = iterator.asSequence().map { it.pageNumber }.toList()
+
+        // then
+        result shouldContainExactly listOf(5, 6)
+    }
+
+    @Test
+    fun `should iterate single page without page breaks`() {
+        // given
+        val iterator = PdfTextPageIterator(StringReader("all pages"), 1)
+
+        // when
+        val result = iterator.asSequence().toList()
+
+        // then
+        result shouldContainExactly listOf(PdfTextPage.builder().pageNumber(1).text("all pages").build())
+    }
+
+    @Test
+    fun `should iterate no pages if text is empty`() {
+        // given
+        val iterator = PdfTextPageIterator(StringReader(""), 1)
+
+        // when then
+        iterator.asSequence().toList().shouldBeEmpty()
+        shouldThrow<NoSuchElementException> { iterator.next() }
+    }
+
+    @Test
+    fun `should iterate pages larger than buffer`() {
+        // given
+        val pageOne = "a".repeat(20000)
+        val pageTwo = "b".repeat(8191)
+        val iterator = PdfTextPageIterator(StringReader("$pageOne\u000C$pageTwo\u000C"), 1)
+
+        // when
+        val result = iterator.asSequence().map { it.text }.toList()
+
+        // then
+        result shouldContainExactly listOf(pageOne, pageTwo)
+    }
+
+    @Test
+    fun `should close reader after last page`() {
+        // given
+        val reader = mockk<Reader>(relaxed = true) {
+            every { read(any<CharArray>()) } returns -1
+        }
+        val iterator = PdfTextPageIterator(reader, 1)
+
+        // when
+        iterator.hasNext() shouldBe false
+
+        // then
+        verify { reader.close() }
+    }
+
+    @Test
+    fun `should close reader and throw exception if unable to read text`() {
+        // given
+        val reader = mockk<Reader>(relaxed = true) {
+            every { read(any<CharArray>()) } throws IOException("some message")
+        }
+        val iterator = PdfTextPageIterator(reader, 1)
+
+        // when then
+        shouldThrow<UncheckedIOException> { iterator.hasNext() }
+        iterator.hasNext() shouldBe false
+        verify { reader.close() }
+    }
+
+}
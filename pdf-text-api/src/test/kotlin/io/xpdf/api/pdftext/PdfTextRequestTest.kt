@@ -18,19 +18,46 @@ package io.xpdf.api.pdftext
 
 import io.kotest.assertions.throwables.shouldThrow
 import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
+import io.xpdf.api.common.XpdfPdfSource
 import org.junit.jupiter.api.Test
 import java.io.File
+import java.nio.ByteBuffer
 
 class PdfTextRequestTest {
 
     @Test
-    fun `should throw exception when initializing if pdf file is null`() {
+    fun `should throw exception when initializing if pdf file and pdf source are null`() {
         // when then
         shouldThrow<NullPointerException> {
             PdfTextRequest.builder().build()
         }
     }
 
+    @Test
+    fun `should throw exception when initializing if pdf file and pdf source are both provided`() {
+        // when then
+        shouldThrow<IllegalArgumentException> {
+            PdfTextRequest.builder()
+                .pdfFile(File("some.pdf"))
+                .pdfSource(XpdfPdfSource.of(ByteBuffer.wrap("some pdf".toByteArray())))
+                .build()
+        }
+    }
+
+    @Test
+    fun `should initialize with pdf source`() {
+        // given
+        val pdfSource = XpdfPdfSource.of(ByteBuffer.wrap("some pdf".toByteArray()))
+
+        // when
+        val result = PdfTextRequest.builder().pdfSource(pdfSource).build()
+
+        // then
+        result.pdfFile shouldBe null
+        result.pdfSource shouldBe pdfSource
+    }
+
     @Test
     fun `should convert to string`() {
         // given
@@ -40,7 +67,28 @@ class PdfTextRequestTest {
             .build()
 
         // when then
-        request.toString() shouldBe "PdfTextRequest(pdfFile=some.pdf, textFile=some.txt, options=null)"
+        request.toString() shouldBe "PdfTextRequest(pdfFile=some.pdf, pdfSource=null, textFile=some.txt, options=null)"
+    }
+
+    @Test
+    fun `should be equal if same values`() {
+        // given
+        val request = PdfTextRequest.builder().pdfFile(File("some.pdf")).options(PdfTextOptions.builder().pageStart(1).build()).build()
+        val other = PdfTextRequest.builder().pdfFile(File("some.pdf")).options(PdfTextOptions.builder().pageStart(1).build()).build()
+
+        // when then
+        request shouldBe other
+        request.hashCode() shouldBe other.hashCode()
+    }
+
+    @Test
+    fun `should not be equal if different values`() {
+        // given
+        val request = PdfTextRequest.builder().pdfFile(File("some.pdf")).build()
+        val other = PdfTextRequest.builder().pdfFile(File("other.pdf")).build()
+
+        // when then
+        request shouldNotBe other
     }
 
 }
\ No newline at end of file
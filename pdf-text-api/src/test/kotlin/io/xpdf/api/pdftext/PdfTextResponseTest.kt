@@ -16,12 +16,266 @@
  */
 package io.xpdf.api.pdftext
 
+import io.kotest.assertions.throwables.shouldThrowWithMessage
+import io.kotest.matchers.collections.shouldContainExactly
 import io.kotest.matchers.shouldBe
+import io.xpdf.api.common.exception.XpdfRuntimeException
+import io.xpdf.api.pdftext.options.PdfTextEncoding
 import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
 import java.io.File
+import java.nio.charset.StandardCharsets
+import java.nio.file.Path
+import java.util.stream.Collectors
 
 class PdfTextResponseTest {
 
+    @Test
+    fun `should delete temporary text file when closed`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("some text") }
+        val response = PdfTextResponse.builder()
+            .textFile(textFile)
+            .temporary(true)
+            .build()
+
+        // when
+        response.use { }
+
+        // then
+        textFile.exists() shouldBe false
+    }
+
+    @Test
+    fun `should not delete provided text file when closed`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("some text") }
+        val response = PdfTextResponse.builder()
+            .textFile(textFile)
+            .build()
+
+        // when
+        response.close()
+
+        // then
+        textFile.exists() shouldBe true
+    }
+
+    @Test
+    fun `should delete temporary text file once shared response is closed`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("some text") }
+        val response = PdfTextResponse.builder()
+            .textFile(textFile)
+            .temporary(true)
+            .charset(StandardCharsets.UTF_8)
+            .firstPageNumber(3)
+            .standardOutput("some output")
+            .build()
+        val handle = response.share() as PdfTextResponse
+
+        // when
+        response.close()
+        response.close()
+
+        // then
+        handle.textFile shouldBe textFile
+        handle.charset shouldBe StandardCharsets.UTF_8
+        handle.firstPageNumber shouldBe 3
+        handle.standardOutput shouldBe "some output"
+        textFile.exists() shouldBe true
+        handle.close()
+        textFile.exists() shouldBe false
+        response.share() shouldBe null
+    }
+
+    @Test
+    fun `should get pages of text file`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page één\u000Cpage twee\u000C", Charsets.UTF_8) }
+        val response = PdfTextResponse.builder()
+            .textFile(textFile)
+            .firstPageNumber(3)
+            .build()
+
+        // when
+        val result = response.getPages(StandardCharsets.UTF_8).use { it.collect(Collectors.toList()) }
+
+        // then
+        result shouldContainExactly listOf(
+            PdfTextPage.builder().pageNumber(3).text("page één").build(),
+            PdfTextPage.builder().pageNumber(4).text("page twee").build(),
+        )
+    }
+
+    @Test
+    fun `should get pages of text file in charset of response`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page één\u000Cpage twee\u000C", Charsets.UTF_8) }
+        val response = PdfTextResponse.builder()
+            .textFile(textFile)
+            .charset(StandardCharsets.UTF_8)
+            .build()
+
+        // when
+        val result = response.getPages().use { it.collect(Collectors.toList()) }
+
+        // then
+        result shouldContainExactly listOf(
+            PdfTextPage.builder().pageNumber(1).text("page één").build(),
+            PdfTextPage.builder().pageNumber(2).text("page twee").build(),
+        )
+    }
+
+    @Test
+    fun `should get pages of text file in latin-1 if response has no charset`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page één\u000C", Charsets.ISO_8859_1) }
+        val response = PdfTextResponse.builder()
+            .textFile(textFile)
+            .build()
+
+        // when
+        val result = response.getPageIterator().use { it.next() }
+
+        // then
+        result shouldBe PdfTextPage.builder().pageNumber(1).text("page één").build()
+    }
+
+    @Test
+    fun `should throw exception when getting pages if no text file`() {
+        // given
+        val response = PdfTextResponse.builder().build()
+
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("TextFile cannot be null") {
+            response.getPageIterator(StandardCharsets.UTF_8)
+        }
+    }
+
+    @Test
+    fun `should get mapped text of text file`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page één\u000C", Charsets.UTF_8) }
+        val response = PdfTextResponse.builder()
+            .textFile(textFile)
+            .build()
+
+        // when
+        val result = response.getMappedText(StandardCharsets.UTF_8)
+
+        // then
+        result.toString() shouldBe "page één\u000C"
+    }
+
+    @Test
+    fun `should get mapped text of text file in charset of response`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page één\u000C", Charsets.UTF_8) }
+        val response = PdfTextResponse.builder()
+            .textFile(textFile)
+            .charset(StandardCharsets.UTF_8)
+            .build()
+
+        // when
+        val result = response.getMappedText()
+
+        // then
+        result.toString() shouldBe "page één\u000C"
+    }
+
+    @Test
+    fun `should throw exception when getting mapped text if no text file`() {
+        // given
+        val response = PdfTextResponse.builder().build()
+
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("TextFile cannot be null") {
+            response.getMappedText(StandardCharsets.UTF_8)
+        }
+    }
+
+    @Test
+    fun `should read page with page index`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page één\u000Cpage twee\u000C", Charsets.UTF_8) }
+        val response = PdfTextResponse.builder()
+            .textFile(textFile)
+            .pageIndex(PdfTextPageIndex.build(textFile, PdfTextEncoding.UTF_8, 1))
+            .build()
+
+        // when
+        val result = response.readPage(1, StandardCharsets.UTF_8)
+
+        // then
+        result shouldBe PdfTextPage.builder().pageNumber(1).text("page één").build()
+    }
+
+    @Test
+    fun `should read page in charset of response`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page één\u000Cpage twee\u000C", Charsets.UTF_8) }
+        val response = PdfTextResponse.builder()
+            .textFile(textFile)
+            .pageIndex(PdfTextPageIndex.build(textFile, PdfTextEncoding.UTF_8, 1))
+            .charset(StandardCharsets.UTF_8)
+            .build()
+
+        // when
+        val result = response.readPage(2)
+
+        // then
+        result shouldBe PdfTextPage.builder().pageNumber(2).text("page twee").build()
+    }
+
+    @Test
+    fun `should read page with page index from sidecar file`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page one\u000Cpage two\u000C") }
+        PdfTextPageIndex.build(textFile, null, 1).write(textFile)
+        val response = PdfTextResponse.builder()
+            .textFile(textFile)
+            .build()
+
+        // when
+        val result = response.readPage(2, StandardCharsets.UTF_8)
+
+        // then
+        result shouldBe PdfTextPage.builder().pageNumber(2).text("page two").build()
+    }
+
+    @Test
+    fun `should throw exception when reading page if no page index`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page one\u000C") }
+        val response = PdfTextResponse.builder()
+            .textFile(textFile)
+            .build()
+
+        // when then
+        shouldThrowWithMessage<XpdfRuntimeException>("PageIndex cannot be null") {
+            response.readPage(1, StandardCharsets.UTF_8)
+        }
+    }
+
+    @Test
+    fun `should delete page index sidecar file of temporary text file when closed`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page one\u000C") }
+        val pageIndex = PdfTextPageIndex.build(textFile, null, 1).apply { write(textFile) }
+        val response = PdfTextResponse.builder()
+            .textFile(textFile)
+            .temporary(true)
+            .pageIndex(pageIndex)
+            .build()
+
+        // when
+        response.close()
+
+        // then
+        PdfTextPageIndex.getSidecarFile(textFile).exists() shouldBe false
+    }
+
     @Test
     fun `should convert to string`() {
         // given
@@ -31,7 +285,7 @@ class PdfTextResponseTest {
             .build()
 
         // when then
-        request.toString() shouldBe "PdfTextResponse(textFile=some.txt, standardOutput=some standard output)"
+        request.toString() shouldBe "PdfTextResponse(textFile=some.txt, temporary=false, pageIndex=null, charset=null, firstPageNumber=null, standardOutput=some standard output)"
     }
 
 }
\ No newline at end of file
@@ -20,13 +20,28 @@ import io.kotest.assertions.throwables.shouldNotThrow
 import io.kotest.assertions.throwables.shouldThrow
 import io.kotest.assertions.throwables.shouldThrowWithMessage
 import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.collections.shouldContain
 import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.collections.shouldContainExactlyInAnyOrder
 import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
 import io.kotest.matchers.string.shouldContain
 import io.kotest.matchers.string.shouldMatch
+import io.kotest.matchers.types.shouldBeInstanceOf
 import io.mockk.*
+import io.xpdf.api.common.XpdfExecutableManager
+import io.xpdf.api.common.XpdfOutputDirectory
+import io.xpdf.api.common.XpdfPdfSource
+import io.xpdf.api.common.XpdfPdfStager
+import io.xpdf.api.common.XpdfProcessExecutor
+import io.xpdf.api.common.XpdfProcessResult
+import io.xpdf.api.common.XpdfResultCache
+import io.xpdf.api.common.XpdfTempFileJanitor
 import io.xpdf.api.common.exception.*
 import io.xpdf.api.common.util.XpdfUtils
+import io.xpdf.api.pdfinfo.PdfInfoRequest
+import io.xpdf.api.pdfinfo.PdfInfoResponse
+import io.xpdf.api.pdfinfo.PdfInfoTool
 import io.xpdf.api.pdftext.options.PdfTextEncoding
 import io.xpdf.api.pdftext.options.PdfTextEndOfLine
 import io.xpdf.api.pdftext.options.PdfTextFormat
@@ -37,6 +52,7 @@ import org.junit.jupiter.api.AfterAll
 import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.extension.ExtendWith
+import org.junit.jupiter.api.io.TempDir
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.CsvSource
 import org.springframework.boot.test.system.CapturedOutput
@@ -44,8 +60,13 @@ import org.springframework.boot.test.system.OutputCaptureExtension
 import java.io.ByteArrayInputStream
 import java.io.File
 import java.io.IOException
+import java.nio.ByteBuffer
 import java.nio.charset.Charset
+import java.nio.file.Path
 import java.util.*
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
 import java.util.UUID.randomUUID
 
 @ExtendWith(OutputCaptureExtension::class)
@@ -67,40 +88,29 @@ class PdfTextToolTest {
     }
 
     @Test
-    fun `should initialize and copy executable to local system`() {
+    fun `should initialize and extract executable to local system`() {
         // given
-        mockkStatic(PdfTextUtils::class)
-        every { PdfTextUtils.getPdfTextExecutablePath().toFile() } returns mockk {
-            every { exists() } returns false
-            every { setExecutable(any()) } returns true
-        }
+        val executableFile = mockk<File>()
 
-        mockkStatic(FileUtils::class)
-        every { FileUtils.copyInputStreamToFile(any(), any()) } just runs
+        mockkStatic(XpdfExecutableManager::class)
+        every { XpdfExecutableManager.getExecutableFile(any(), PdfTextUtils.getPdfTextExecutableResourceName(), PdfTextUtils.getPdfTextExecutablePath()) } returns executableFile
 
         // when
-        PdfTextTool.builder().build()
+        val result = PdfTextTool.builder().build()
 
         // then
-        verify { FileUtils.copyInputStreamToFile(any(), any()) }
+        result.executableFile shouldBe executableFile
     }
 
     @Test
-    fun `should initialize and not copy executable to local system`() {
-        // given
-        mockkStatic(PdfTextUtils::class)
-        every { PdfTextUtils.getPdfTextExecutablePath().toFile() } returns mockk {
-            every { exists() } returns true
-            every { setExecutable(any()) } returns true
-        }
-
-        mockkStatic(FileUtils::class)
-
+    fun `should initialize and reuse extracted executable`() {
         // when
-        PdfTextTool.builder().build()
+        val result = PdfTextTool.builder().build()
 
         // then
-        verify(exactly = 0) { FileUtils.copyInputStreamToFile(any(), any()) }
+        result.executableFile shouldBe PdfTextTool.builder().build().executableFile
+        result.executableFile.canExecute() shouldBe true
+        result.executableFile.parentFile.parentFile shouldBe PdfTextUtils.getPdfTextExecutablePath().parent.toFile().canonicalFile
     }
 
     @Test
@@ -108,6 +118,7 @@ class PdfTextToolTest {
         // given
         val executableFile = mockk<File> {
             every { exists() } returns true
+            every { canExecute() } returns false
             every { setExecutable(any()) } returns true
         }
 
@@ -119,50 +130,29 @@ class PdfTextToolTest {
     }
 
     @Test
-    fun `should throw exception when initializing if unable to get executable resource stream`() {
-        // given
-        mockkStatic(PdfTextUtils::class)
-        every { PdfTextUtils.getPdfTextExecutablePath().toFile() } returns mockk {
-            every { exists() } returns false
-            every { setExecutable(any()) } returns true
-        }
-        every { PdfTextUtils.getPdfTextExecutableResourceName() } returns "notexists"
-
-        // when then
-        shouldThrowWithMessage<XpdfRuntimeException>("Unable to locate executable in project resources") {
-            PdfTextTool.builder().build()
-        }
-    }
-
-    @Test
-    fun `should throw exception when initializing if unable to copy executable to local system`() {
+    fun `should initialize with executable and not set execute permission if already executable`() {
         // given
-        mockkStatic(PdfTextUtils::class)
-        every { PdfTextUtils.getPdfTextExecutablePath().toFile() } returns mockk {
-            every { exists() } returns false
-            every { setExecutable(any()) } returns true
+        val executableFile = mockk<File> {
+            every { exists() } returns true
+            every { canExecute() } returns true
         }
 
-        mockkStatic(FileUtils::class)
-        every { FileUtils.copyInputStreamToFile(any(), any()) } throws IOException()
+        // when
+        val result = PdfTextTool.builder().executableFile(executableFile).build()
 
-        // when then
-        shouldThrowWithMessage<XpdfRuntimeException>("Unable to copy executable from resources to local system") {
-            PdfTextTool.builder().build()
-        }
+        // then
+        result.executableFile shouldBe executableFile
+        verify(exactly = 0) { executableFile.setExecutable(any()) }
     }
 
     @Test
-    fun `should throw exception when initializing if unable to set execute permission`() {
+    fun `should throw exception when initializing if unable to get executable resource stream`() {
         // given
         mockkStatic(PdfTextUtils::class)
-        every { PdfTextUtils.getPdfTextExecutablePath().toFile() } returns mockk {
-            every { exists() } returns true
-            every { setExecutable(any()) } returns false
-        }
+        every { PdfTextUtils.getPdfTextExecutableResourceName() } returns "notexists"
 
         // when then
-        shouldThrowWithMessage<XpdfRuntimeException>("Unable to set execute permissions on executable") {
+        shouldThrowWithMessage<XpdfRuntimeException>("Unable to locate executable in project resources") {
             PdfTextTool.builder().build()
         }
     }
@@ -185,6 +175,7 @@ class PdfTextToolTest {
         // given
         val executableFile = mockk<File> {
             every { exists() } returns true
+            every { canExecute() } returns false
             every { setExecutable(any()) } returns false
         }
 
@@ -216,11 +207,94 @@ class PdfTextToolTest {
         result.timeoutSeconds shouldBe 99
     }
 
+    @Test
+    fun `should initialize with default process executor`() {
+        // when
+        val result = PdfTextTool.builder().build()
+
+        // then
+        result.processExecutor shouldBe XpdfProcessExecutor.getDefaultInstance()
+    }
+
+    @Test
+    fun `should initialize with process executor`() {
+        // given
+        val processExecutor = XpdfProcessExecutor.builder().build()
+
+        // when
+        val result = PdfTextTool.builder().processExecutor(processExecutor).build()
+
+        // then
+        result.processExecutor shouldBe processExecutor
+    }
+
+    @Test
+    fun `should initialize with result cache`(@TempDir tempDir: Path) {
+        // given
+        val resultCache = XpdfResultCache.builder().directory(tempDir.toFile()).build()
+
+        // when
+        val result = PdfTextTool.builder().resultCache(resultCache).build()
+
+        // then
+        result.resultCache shouldBe resultCache
+    }
+
+    @Test
+    fun `should initialize with default temp file janitor`() {
+        // when
+        val result = PdfTextTool.builder().build()
+
+        // then
+        result.tempFileJanitor shouldBe XpdfTempFileJanitor.getDefaultInstance()
+        result.tempFileJanitor.directories shouldContain PdfTextUtils.getPdfTextTempOutputPath()
+    }
+
+    @Test
+    fun `should initialize with default output directory`() {
+        // when
+        val result = PdfTextTool.builder().build()
+
+        // then
+        result.outputDirectory.directory shouldBe PdfTextUtils.getPdfTextTempOutputPath()
+        result.outputDirectory.ramDiskDirectory shouldBe null
+    }
+
+    @Test
+    fun `should initialize with output directory and register its directories with temp file janitor`(@TempDir tempDir: Path) {
+        // given
+        val outputDirectory = XpdfOutputDirectory.builder()
+            .directory(tempDir.resolve("disk"))
+            .ramDiskDirectory(tempDir.resolve("ram"))
+            .build()
+        val tempFileJanitor = XpdfTempFileJanitor.builder().build()
+
+        // when
+        val result = PdfTextTool.builder().outputDirectory(outputDirectory).tempFileJanitor(tempFileJanitor).build()
+
+        // then
+        result.outputDirectory shouldBe outputDirectory
+        result.tempFileJanitor.directories shouldContainExactlyInAnyOrder listOf(tempDir.resolve("disk"), tempDir.resolve("ram"))
+    }
+
+    @Test
+    fun `should initialize with temp file janitor`() {
+        // given
+        val tempFileJanitor = XpdfTempFileJanitor.builder().build()
+
+        // when
+        val result = PdfTextTool.builder().tempFileJanitor(tempFileJanitor).build()
+
+        // then
+        result.tempFileJanitor shouldBe tempFileJanitor
+        result.tempFileJanitor.directories shouldContainExactly listOf(PdfTextUtils.getPdfTextTempOutputPath())
+    }
+
     @Test
     fun `should process`(capturedOutput: CapturedOutput) {
         // given
-        val standardOutputStream = mockk<ByteArrayInputStream>()
-        val errorOutputStream = mockk<ByteArrayInputStream>()
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
 
         mockkConstructor(ProcessBuilder::class)
         every { anyConstructed<ProcessBuilder>().start() } returns mockk {
@@ -231,10 +305,6 @@ class PdfTextToolTest {
             every { destroy() } just runs
         }
 
-        mockkStatic(IOUtils::class)
-        every { IOUtils.toString(standardOutputStream, any<Charset>()) } returns "standardOutput"
-        every { IOUtils.toString(errorOutputStream, any<Charset>()) } returns "errorOutput"
-
         val textFile = mockk<File>()
         val pdfTextToolSpy = spyk(pdfTextTool) {
             every { validate(any()) } just runs
@@ -243,10 +313,12 @@ class PdfTextToolTest {
         }
 
         // when
-        val result = pdfTextToolSpy.process(mockk())
+        val result = pdfTextToolSpy.process(mockk(relaxed = true) { every { getTextFile() } returns null; every { getOptions() } returns null })
 
         // then
         result.textFile shouldBe textFile
+        result.isTemporary shouldBe true
+        result.pageIndex shouldBe null
         result.standardOutput shouldBe "standardOutput"
 
         capturedOutput.all shouldContain "Process starting"
@@ -259,6 +331,131 @@ class PdfTextToolTest {
         capturedOutput.all shouldContain "Process finished"
     }
 
+    @Test
+    fun `should process with page index`(@TempDir tempDir: Path, capturedOutput: CapturedOutput) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile()
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } answers {
+            textFile.writeText("page one\u000Cpage two\u000C")
+            mockk {
+                every { inputStream } returns ByteArrayInputStream(ByteArray(0))
+                every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+                every { waitFor(any(), any()) } returns true
+                every { exitValue() } returns 0
+                every { destroy() } just runs
+            }
+        }
+
+        val pdfTextToolSpy = spyk(PdfTextTool.builder().pageIndexEnabled(true).build()) {
+            every { validate(any()) } just runs
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
+        }
+        val request = PdfTextRequest.builder()
+            .pdfFile(File("some.pdf"))
+            .textFile(textFile)
+            .options(PdfTextOptions.builder().pageStart(3).encoding(PdfTextEncoding.UTF_8).build())
+            .build()
+
+        // when
+        val result = pdfTextToolSpy.process(request)
+
+        // then
+        result.pageIndex.firstPageNumber shouldBe 3
+        result.pageIndex.pageCount shouldBe 2
+        result.charset shouldBe Charsets.UTF_8
+        result.firstPageNumber shouldBe 3
+        result.pageIterator.use { it.next() } shouldBe PdfTextPage.builder().pageNumber(3).text("page one").build()
+        result.readPage(4) shouldBe PdfTextPage.builder().pageNumber(4).text("page two").build()
+        PdfTextPageIndex.getSidecarFile(textFile).exists() shouldBe true
+
+        capturedOutput.all shouldContain "Indexing pages"
+    }
+
+    @Test
+    fun `should delete stale sidecar file when indexing pages if page index is not enabled`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile().apply { writeText("page one\u000C") }
+        val sidecarFile = PdfTextPageIndex.getSidecarFile(textFile).apply { writeText("some index") }
+
+        // when
+        val result = pdfTextTool.indexPages(PdfTextRequest.builder().pdfFile(File("some.pdf")).textFile(textFile).build(), textFile)
+
+        // then
+        result shouldBe null
+        sidecarFile.exists() shouldBe false
+    }
+
+    @Test
+    fun `should process from cache`(@TempDir tempDir: Path, capturedOutput: CapturedOutput) {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } answers {
+            tempDir.resolve("first.txt").toFile().writeText("some text")
+            mockk {
+                every { inputStream } returns ByteArrayInputStream("standardOutput".toByteArray())
+                every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+                every { waitFor(any(), any()) } returns true
+                every { exitValue() } returns 0
+                every { destroy() } just runs
+            }
+        }
+
+        val resultCache = XpdfResultCache.builder().directory(tempDir.resolve("cache").toFile()).build()
+        val firstTextFile = tempDir.resolve("first.txt").toFile()
+        val secondTextFile = tempDir.resolve("second.txt").toFile()
+        val pdfTextToolSpy = spyk(PdfTextTool.builder().resultCache(resultCache).build()) {
+            every { validate(any()) } just runs
+            every { initializeTextFile(any()) } returnsMany listOf(firstTextFile, secondTextFile)
+            every { getCacheKey(any()) } returns "some-key"
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
+        }
+        pdfTextToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null })
+
+        // when
+        val result = pdfTextToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null })
+
+        // then
+        result.textFile shouldBe secondTextFile
+        result.textFile.readText() shouldBe "some text"
+        result.standardOutput shouldBe "standardOutput"
+        resultCache.entryCount shouldBe 1
+
+        verify(exactly = 1) { anyConstructed<ProcessBuilder>().start() }
+
+        capturedOutput.all shouldContain "Cache missed; key: some-key"
+        capturedOutput.all shouldContain "Cache hit; key: some-key"
+    }
+
+    @Test
+    fun `should process async from cache`(@TempDir tempDir: Path) {
+        // given
+        val resultCache = XpdfResultCache.builder().directory(tempDir.resolve("cache").toFile()).build()
+        resultCache.put("some-key") {
+            it.resolve("text.txt").toFile().writeText("some text")
+            XpdfResultCache.writeStandardOutput(it, "standardOutput")
+        }
+
+        mockkConstructor(ProcessBuilder::class)
+
+        val textFile = tempDir.resolve("some.txt").toFile()
+        val pdfTextToolSpy = spyk(PdfTextTool.builder().resultCache(resultCache).build()) {
+            every { validate(any()) } just runs
+            every { initializeTextFile(any()) } returns textFile
+            every { getCacheKey(any()) } returns "some-key"
+        }
+
+        // when
+        val result = pdfTextToolSpy.processAsync(mockk(relaxed = true) { every { getOptions() } returns null }).get(1, TimeUnit.SECONDS)
+
+        // then
+        result.textFile.readText() shouldBe "some text"
+        result.standardOutput shouldBe "standardOutput"
+
+        verify(exactly = 0) { anyConstructed<ProcessBuilder>().start() }
+    }
+
     @ParameterizedTest
     @CsvSource(
             "1, Error opening the PDF file",
@@ -271,8 +468,8 @@ class PdfTextToolTest {
                                                                        message: String,
                                                                        capturedOutput: CapturedOutput) {
         // given
-        val standardOutputStream = mockk<ByteArrayInputStream>()
-        val errorOutputStream = mockk<ByteArrayInputStream>()
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
 
         mockkConstructor(ProcessBuilder::class)
         every { anyConstructed<ProcessBuilder>().start() } returns mockk {
@@ -283,10 +480,6 @@ class PdfTextToolTest {
             every { destroy() } just runs
         }
 
-        mockkStatic(IOUtils::class)
-        every { IOUtils.toString(standardOutputStream, any<Charset>()) } returns "standardOutput"
-        every { IOUtils.toString(errorOutputStream, any<Charset>()) } returns "errorOutput"
-
         val textFile = mockk<File>()
         val pdfTextToolSpy = spyk(pdfTextTool) {
             every { validate(any()) } just runs
@@ -296,7 +489,7 @@ class PdfTextToolTest {
 
         // when then
         val exception = shouldThrowWithMessage<XpdfExecutionException>(message) {
-            pdfTextToolSpy.process(mockk())
+            pdfTextToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null })
         }
         exception.standardOutput shouldBe "standardOutput"
         exception.errorOutput shouldBe "errorOutput"
@@ -315,8 +508,8 @@ class PdfTextToolTest {
     @Test
     fun `should throw exception when processing if timout`(capturedOutput: CapturedOutput) {
         // given
-        val standardOutputStream = mockk<ByteArrayInputStream>()
-        val errorOutputStream = mockk<ByteArrayInputStream>()
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
 
         mockkConstructor(ProcessBuilder::class)
         every { anyConstructed<ProcessBuilder>().start() } returns mockk {
@@ -326,12 +519,8 @@ class PdfTextToolTest {
             every { destroy() } just runs
         }
 
-        mockkStatic(IOUtils::class)
-        every { IOUtils.toString(standardOutputStream, any<Charset>()) } returns "standardOutput"
-        every { IOUtils.toString(errorOutputStream, any<Charset>()) } returns "errorOutput"
-
         val textFile = mockk<File>()
-        val pdfTextToolSpy = spyk(pdfTextTool) {
+        val pdfTextToolSpy = spyk(PdfTextTool.builder().timeoutSeconds(0).build()) {
             every { validate(any()) } just runs
             every { initializeTextFile(any()) } returns textFile
             every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
@@ -339,7 +528,7 @@ class PdfTextToolTest {
 
         // when then
         shouldThrowWithMessage<XpdfTimeoutException>("Timeout reached before process could finish") {
-            pdfTextToolSpy.process(mockk())
+            pdfTextToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null })
         }
 
         capturedOutput.all shouldContain "Process starting"
@@ -361,7 +550,7 @@ class PdfTextToolTest {
 
         // when then
         shouldThrow<XpdfProcessingException> {
-            pdfTextToolSpy.process(mockk())
+            pdfTextToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null })
         }
 
         capturedOutput.all shouldContain "Process starting"
@@ -370,6 +559,510 @@ class PdfTextToolTest {
         capturedOutput.all shouldContain "Process finished"
     }
 
+    @Test
+    fun `should process stream`(capturedOutput: CapturedOutput) {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("some text".toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns false
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { validate(any()) } just runs
+            every { getStreamCommandParts(any()) } returns listOf("part1", "part2", "-")
+        }
+
+        var text: String? = null
+
+        // when
+        val result = pdfTextToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null }) { text = IOUtils.toString(it, Charsets.UTF_8) }
+
+        // then
+        text shouldBe "some text"
+        result.textFile shouldBe null
+        result.standardOutput shouldBe null
+        verify(exactly = 0) { pdfTextToolSpy.initializeTextFile(any()) }
+
+        capturedOutput.all shouldContain "Stream process starting"
+        capturedOutput.all shouldContain "Validating request"
+        capturedOutput.all shouldContain "Building command"
+        capturedOutput.all shouldContain "Invoking executable; command: [part1, part2, -]"
+        capturedOutput.all shouldContain "Streaming standard output"
+        capturedOutput.all shouldContain "Invocation succeeded"
+        capturedOutput.all shouldContain "Stream process finished"
+    }
+
+    @Test
+    fun `should process pages`(capturedOutput: CapturedOutput) {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("page three\u000Cpage four\u000C".toByteArray(Charsets.UTF_16BE))
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns false
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { validate(any()) } just runs
+            every { getStreamCommandParts(any()) } returns listOf("part1", "part2", "-")
+        }
+        val request = mockk<PdfTextRequest>(relaxed = true) {
+            every { options?.pageStart } returns 3
+            every { options?.encoding } returns PdfTextEncoding.UCS_2
+        }
+
+        val pages = mutableListOf<PdfTextPage>()
+
+        // when
+        val result = pdfTextToolSpy.processPages(request) { pages.add(it) }
+
+        // then
+        pages shouldContainExactly listOf(
+            PdfTextPage.builder().pageNumber(3).text("page three").build(),
+            PdfTextPage.builder().pageNumber(4).text("page four").build(),
+        )
+        result.textFile shouldBe null
+
+        capturedOutput.all shouldContain "Stream process starting"
+        capturedOutput.all shouldContain "Streaming standard output"
+        capturedOutput.all shouldContain "Stream process finished"
+    }
+
+    @Test
+    fun `should throw exception when processing pages if page listener is null`() {
+        // when then
+        shouldThrowWithMessage<XpdfValidationException>("PageListener cannot be null") {
+            pdfTextTool.processPages(mockk(relaxed = true), null)
+        }
+    }
+
+    @Test
+    fun `should throw exception when processing pages if page listener fails`() {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk(relaxed = true) {
+            every { inputStream } returns ByteArrayInputStream("page one\u000Cpage two\u000C".toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns false
+            every { waitFor(any(), any()) } returns true
+            every { exitValue() } returns 0
+        }
+
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { validate(any()) } just runs
+            every { getStreamCommandParts(any()) } returns listOf("part1", "part2", "-")
+        }
+
+        // when then
+        shouldThrow<XpdfProcessingException> {
+            pdfTextToolSpy.processPages(mockk(relaxed = true) { every { getOptions() } returns null }) { throw IOException("some message") }
+        }.cause?.message shouldBe "some message"
+    }
+
+    @Test
+    fun `should throw exception when processing stream if text consumer is null`(capturedOutput: CapturedOutput) {
+        // given
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { validate(any()) } just runs
+        }
+
+        // when then
+        shouldThrowWithMessage<XpdfValidationException>("TextConsumer cannot be null") {
+            pdfTextToolSpy.process(mockk(relaxed = true), null)
+        }
+
+        capturedOutput.all shouldContain "Stream process failed; exception message: TextConsumer cannot be null"
+        capturedOutput.all shouldContain "Stream process finished"
+    }
+
+    @Test
+    fun `should throw exception when processing stream if caught non-xpdf exception`(capturedOutput: CapturedOutput) {
+        // given
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { validate(any()) } just runs
+            every { getStreamCommandParts(any()) } throws IOException("some message")
+        }
+
+        // when then
+        shouldThrow<XpdfProcessingException> {
+            pdfTextToolSpy.process(mockk(relaxed = true) { every { getOptions() } returns null }) { }
+        }
+
+        capturedOutput.all shouldContain "Stream process failed; exception message: some message"
+        capturedOutput.all shouldContain "Stream process finished"
+    }
+
+    @Test
+    fun `should process sharded`(capturedOutput: CapturedOutput) {
+        // given
+        val request = PdfTextRequest.builder().pdfFile(File("some.pdf")).build()
+        val shardTextFiles = mutableListOf<File>()
+
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { validate(any()) } just runs
+            every { getPageCount(any()) } returns 5
+            every { processShardAsync(any()) } answers {
+                val shardRequest = firstArg<PdfTextRequest>()
+                shardTextFiles.add(shardRequest.textFile)
+                FileUtils.writeStringToFile(shardRequest.textFile, "${shardRequest.options.pageStart}-${shardRequest.options.pageStop}\u000c", Charsets.UTF_8)
+                CompletableFuture.completedFuture(XpdfProcessResult.builder()
+                        .standardOutput("standardOutput${shardRequest.options.pageStart}")
+                        .build())
+            }
+        }
+
+        // when
+        val result = pdfTextToolSpy.processSharded(request, 2)
+
+        // then
+        FileUtils.readFileToString(result.textFile, Charsets.UTF_8) shouldBe "1-2\u000c3-5\u000c"
+        result.standardOutput shouldBe "standardOutput1${System.lineSeparator()}standardOutput3"
+        shardTextFiles.size shouldBe 2
+        shardTextFiles.forEach { it.exists() shouldBe false }
+        verify(exactly = 0) { pdfTextToolSpy.processAsync(any()) }
+
+        capturedOutput.all shouldContain "Sharded process starting"
+        capturedOutput.all shouldContain "Determining page range"
+        capturedOutput.all shouldContain "Launching shards; shard count: 2, page count: 5"
+        capturedOutput.all shouldContain "Concatenating shards"
+        capturedOutput.all shouldContain "Sharded process finished"
+    }
+
+    @Test
+    fun `should process sharded within requested pages without getting page count`() {
+        // given
+        val request = PdfTextRequest.builder()
+                .pdfFile(File("some.pdf"))
+                .options(PdfTextOptions.builder().pageStart(3).pageStop(4).build())
+                .build()
+        val shardRequests = mutableListOf<PdfTextRequest>()
+
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { validate(any()) } just runs
+            every { processShardAsync(any()) } answers {
+                shardRequests.add(firstArg())
+                FileUtils.touch(shardRequests.last().textFile)
+                CompletableFuture.completedFuture(XpdfProcessResult.builder().build())
+            }
+        }
+
+        // when
+        pdfTextToolSpy.processSharded(request, 8)
+
+        // then
+        shardRequests.map { it.options.pageStart to it.options.pageStop } shouldContainExactly listOf(3 to 3, 4 to 4)
+        verify(exactly = 0) { pdfTextToolSpy.getPageCount(any()) }
+    }
+
+    @Test
+    fun `should process sharded as single process if single page`() {
+        // given
+        val request = PdfTextRequest.builder().pdfFile(File("some.pdf")).build()
+        val response = PdfTextResponse.builder().build()
+
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { validate(any()) } just runs
+            every { getPageCount(any()) } returns 1
+            every { process(request) } returns response
+        }
+
+        // when then
+        pdfTextToolSpy.processSharded(request, 4) shouldBe response
+    }
+
+    @Test
+    fun `should throw exception when processing sharded if shard count is not positive`() {
+        // given
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { validate(any()) } just runs
+        }
+
+        // when then
+        shouldThrowWithMessage<XpdfValidationException>("ShardCount must be greater than zero") {
+            pdfTextToolSpy.processSharded(mockk(relaxed = true), 0)
+        }
+    }
+
+    @Test
+    fun `should throw exception when processing sharded if shard fails`(capturedOutput: CapturedOutput) {
+        // given
+        val request = PdfTextRequest.builder().pdfFile(File("some.pdf")).build()
+        val exception = XpdfTimeoutException("Timeout reached before process could finish")
+        val shardTextFiles = mutableListOf<File>()
+
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { validate(any()) } just runs
+            every { getPageCount(any()) } returns 4
+            every { processShardAsync(any()) } answers {
+                val shardRequest = firstArg<PdfTextRequest>()
+                shardTextFiles.add(shardRequest.textFile)
+                FileUtils.touch(shardRequest.textFile)
+                XpdfUtils.failedFuture(exception)
+            }
+        }
+
+        // when then
+        shouldThrow<XpdfTimeoutException> {
+            pdfTextToolSpy.processSharded(request, 2)
+        } shouldBe exception
+        shardTextFiles.forEach { it.exists() shouldBe false }
+
+        capturedOutput.all shouldContain "Sharded process failed; exception message: Timeout reached before process could finish"
+        capturedOutput.all shouldContain "Sharded process finished"
+    }
+
+    @Test
+    fun `should delete all text files when processing sharded if shard fails while others are running`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile()
+        val request = PdfTextRequest.builder().pdfFile(File("some.pdf")).textFile(textFile).build()
+        val shardTextFiles = mutableListOf<File>()
+        val runningShard = CompletableFuture<XpdfProcessResult>()
+
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { validate(any()) } just runs
+            every { getPageCount(any()) } returns 4
+            every { processShardAsync(any()) } answers {
+                val shardRequest = firstArg<PdfTextRequest>()
+                shardTextFiles.add(shardRequest.textFile)
+                if (shardTextFiles.size == 1) {
+                    // first shard is still writing its text file when the second one fails to launch
+                    CompletableFuture.runAsync {
+                        Thread.sleep(100)
+                        FileUtils.touch(shardRequest.textFile)
+                        runningShard.complete(XpdfProcessResult.builder().build())
+                    }
+                    runningShard
+                } else {
+                    throw IOException("some message")
+                }
+            }
+        }
+
+        // when
+        shouldThrow<XpdfProcessingException> {
+            pdfTextToolSpy.processSharded(request, 2)
+        }
+
+        // then
+        runningShard.isDone shouldBe true
+        shardTextFiles.forEach { it.exists() shouldBe false }
+        textFile.exists() shouldBe false
+    }
+
+    @Test
+    fun `should delete partly written text file when processing sharded if concatenation fails`(@TempDir tempDir: Path) {
+        // given
+        val textFile = tempDir.resolve("some.txt").toFile()
+        val request = PdfTextRequest.builder().pdfFile(File("some.pdf")).textFile(textFile).build()
+
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { validate(any()) } just runs
+            every { getPageCount(any()) } returns 2
+            every { processShardAsync(any()) } answers {
+                val shardRequest = firstArg<PdfTextRequest>()
+                // second shard writes no text file, so concatenation fails after the first one is copied
+                if (shardRequest.options.pageStart == 1) {
+                    FileUtils.writeStringToFile(shardRequest.textFile, "1-1\u000c", Charsets.UTF_8)
+                }
+                CompletableFuture.completedFuture(XpdfProcessResult.builder().build())
+            }
+        }
+
+        // when
+        shouldThrow<XpdfProcessingException> {
+            pdfTextToolSpy.processSharded(request, 2)
+        }
+
+        // then
+        textFile.exists() shouldBe false
+    }
+
+    @Test
+    fun `should index and cache only merged text file when processing sharded`(@TempDir tempDir: Path) {
+        // given
+        val request = PdfTextRequest.builder().pdfFile(File("some.pdf")).build()
+        val resultCache = XpdfResultCache.builder().directory(tempDir.toFile()).build()
+        val pdfTextToolSpy = spyk(PdfTextTool.builder().pageIndexEnabled(true).resultCache(resultCache).build()) {
+            every { validate(any()) } just runs
+            every { getPageCount(any()) } returns 4
+            every { getCacheKey(request) } returns "some-key"
+            every { processShardAsync(any()) } answers {
+                val shardRequest = firstArg<PdfTextRequest>()
+                FileUtils.writeStringToFile(shardRequest.textFile, "${shardRequest.options.pageStart}\u000c${shardRequest.options.pageStop}\u000c", Charsets.UTF_8)
+                CompletableFuture.completedFuture(XpdfProcessResult.builder().build())
+            }
+        }
+
+        // when
+        pdfTextToolSpy.processSharded(request, 2).use { result ->
+
+            // then
+            result.pageIndex.pageCount shouldBe 4
+            PdfTextPageIndex.getSidecarFile(result.textFile).exists() shouldBe true
+            resultCache.entryCount shouldBe 1
+            resultCache.get("some-key") shouldNotBe null
+        }
+    }
+
+    @Test
+    fun `should get page count`() {
+        // given
+        val request = PdfTextRequest.builder()
+                .pdfFile(File("some.pdf"))
+                .options(PdfTextOptions.builder().ownerPassword("owner").build())
+                .build()
+        val pdfInfoRequest = slot<PdfInfoRequest>()
+        val pdfInfoTool = mockk<PdfInfoTool> {
+            every { process(capture(pdfInfoRequest)) } returns PdfInfoResponse.builder()
+                    .standardOutput("Producer:       some producer\nPages:          12\nEncrypted:      no")
+                    .build()
+        }
+
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { getPdfInfoTool() } returns pdfInfoTool
+        }
+
+        // when
+        val result = pdfTextToolSpy.getPageCount(request)
+
+        // then
+        result shouldBe 12
+        pdfInfoRequest.captured.pdfFile shouldBe request.pdfFile
+        pdfInfoRequest.captured.options.ownerPassword shouldBe "owner"
+    }
+
+    @Test
+    fun `should throw exception when getting page count if missing from output`() {
+        // given
+        val pdfInfoTool = mockk<PdfInfoTool> {
+            every { process(any()) } returns PdfInfoResponse.builder().standardOutput("Encrypted:      no").build()
+        }
+
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { getPdfInfoTool() } returns pdfInfoTool
+        }
+
+        // when then
+        shouldThrow<XpdfProcessingException> {
+            pdfTextToolSpy.getPageCount(PdfTextRequest.builder().pdfFile(File("some.pdf")).build())
+        }
+    }
+
+    @Test
+    fun `should process async`(capturedOutput: CapturedOutput) {
+        // given
+        val standardOutputStream = ByteArrayInputStream("standardOutput".toByteArray())
+        val errorOutputStream = ByteArrayInputStream("errorOutput".toByteArray())
+
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns standardOutputStream
+            every { errorStream } returns errorOutputStream
+            every { isAlive } returns false
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val textFile = mockk<File>()
+
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { validate(any()) } just runs
+            every { initializeTextFile(any()) } returns textFile
+            every { getCommandParts(any(), any()) } returns listOf("part1", "part2", "part3")
+        }
+
+        // when
+        val result = pdfTextToolSpy.processAsync(mockk(relaxed = true) { every { getTextFile() } returns null; every { getOptions() } returns null }).get(5, TimeUnit.SECONDS)
+
+        // then
+        result.textFile shouldBe textFile
+        result.standardOutput shouldBe "standardOutput"
+
+        capturedOutput.all shouldContain "Async process starting"
+        capturedOutput.all shouldContain "Invoking executable; command: [part1, part2, part3]"
+        capturedOutput.all shouldContain "Invocation succeeded"
+    }
+
+    @Test
+    fun `should process async  with pdf source`(@TempDir tempDir: Path) {
+        // given
+        mockkConstructor(ProcessBuilder::class)
+        every { anyConstructed<ProcessBuilder>().start() } returns mockk {
+            every { inputStream } returns ByteArrayInputStream("standardOutput".toByteArray())
+            every { errorStream } returns ByteArrayInputStream(ByteArray(0))
+            every { isAlive } returns false
+            every { exitValue() } returns 0
+            every { destroy() } just runs
+        }
+
+        val stagedRequest = slot<PdfTextRequest>()
+        val pdfTextToolSpy = spyk(PdfTextTool.builder().pdfStager(XpdfPdfStager.builder().directory(tempDir).build()).build()) {
+            every { initializeTextFile(any()) } returns tempDir.resolve("some.txt").toFile()
+            every { getCommandParts(capture(stagedRequest), any()) } answers {
+                firstArg<PdfTextRequest>().pdfFile.readText() shouldBe "some pdf"
+                listOf("part1", "part2", "part3")
+            }
+        }
+        val request = PdfTextRequest.builder()
+            .pdfSource(XpdfPdfSource.of(ByteBuffer.wrap("some pdf".toByteArray())))
+            .build()
+
+        // when
+        val result = pdfTextToolSpy.processAsync(request).get(5, TimeUnit.SECONDS)
+
+        // then
+        result.standardOutput shouldBe "standardOutput"
+        stagedRequest.captured.pdfFile.parentFile shouldBe tempDir.toFile()
+        stagedRequest.captured.pdfSource shouldBe null
+        stagedRequest.captured.pdfFile.exists() shouldBe false
+    }
+
+    @Test
+    fun `should complete exceptionally when processing async if caught xpdf exception`(capturedOutput: CapturedOutput) {
+        // given
+        val exception = XpdfValidationException("some message")
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { validate(any()) } throws exception
+        }
+
+        // when
+        val result = pdfTextToolSpy.processAsync(mockk(relaxed = true) { every { getOptions() } returns null })
+
+        // then
+        shouldThrow<ExecutionException> { result.get() }.cause shouldBe exception
+
+        capturedOutput.all shouldContain "Async process starting"
+        capturedOutput.all shouldContain "Validating request"
+        capturedOutput.all shouldContain "Async process failed; exception message: some message"
+    }
+
+    @Test
+    fun `should complete exceptionally when processing async if caught non-xpdf exception`(capturedOutput: CapturedOutput) {
+        // given
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { validate(any()) } throws Exception("some message")
+        }
+
+        // when
+        val result = pdfTextToolSpy.processAsync(mockk(relaxed = true) { every { getOptions() } returns null })
+
+        // then
+        shouldThrow<ExecutionException> { result.get() }.cause.shouldBeInstanceOf<XpdfProcessingException>()
+
+        capturedOutput.all shouldContain "Async process starting"
+        capturedOutput.all shouldContain "Validating request"
+        capturedOutput.all shouldContain "Async process failed; exception message: some message"
+    }
+
     @Test
     fun `should validate`() {
         // given
@@ -486,17 +1179,19 @@ class PdfTextToolTest {
         val textFile = mockk<File>(relaxed = true)
         val textFileName = "$randomUuid.txt"
 
-        mockkStatic(PdfTextUtils::class)
-        every { PdfTextUtils.getPdfTextTempOutputPath().resolve(textFileName).toFile() } returns textFile
+        val outputDirectory = mockk<XpdfOutputDirectory> {
+            every { directories } returns emptyList()
+            every { currentDirectory.resolve(textFileName).toFile() } returns textFile
+        }
 
         val request = mockk<PdfTextRequest> {
             every { getTextFile() } returns null
         }
 
         // when then
-        pdfTextTool.initializeTextFile(request) shouldBe textFile
+        PdfTextTool.builder().outputDirectory(outputDirectory).build().initializeTextFile(request) shouldBe textFile
 
-        verify { textFile.deleteOnExit() }
+        verify(exactly = 0) { textFile.deleteOnExit() }
     }
 
     @Test
@@ -512,6 +1207,7 @@ class PdfTextToolTest {
 
         val executableFile = mockk<File> {
             every { exists() } returns true
+            every { canExecute() } returns false
             every { setExecutable(any()) } returns true
             every { canonicalPath } returns "cmdPath"
         }
@@ -525,6 +1221,29 @@ class PdfTextToolTest {
         pdfTextToolSpy.getCommandParts(request, textFile) shouldContainExactly listOf("cmdPath", "opt1", "opt2", "pdfPath", "textPath")
     }
 
+    @Test
+    fun `should get stream command parts`() {
+        // given
+        val request = mockk<PdfTextRequest>(relaxed = true) {
+            every { pdfFile.canonicalPath } returns "pdfPath"
+        }
+
+        val executableFile = mockk<File> {
+            every { exists() } returns true
+            every { canExecute() } returns false
+            every { setExecutable(any()) } returns true
+            every { canonicalPath } returns "cmdPath"
+        }
+
+        val pdfTextTool = PdfTextTool.builder().executableFile(executableFile).build()
+        val pdfTextToolSpy = spyk(pdfTextTool) {
+            every { getCommandOptions(any()) } returns listOf("opt1", "opt2")
+        }
+
+        // when then
+        pdfTextToolSpy.getStreamCommandParts(request) shouldContainExactly listOf("cmdPath", "opt1", "opt2", "pdfPath", "-")
+    }
+
     @Test
     fun `should get empty list when getting command options if options null`() {
         // when then
@@ -579,6 +1298,36 @@ class PdfTextToolTest {
         pdfTextTool.getCommandOptions(options) shouldContainExactly listOf("-enc", arg)
     }
 
+    @ParameterizedTest
+    @CsvSource(
+            "LATIN_1, ISO-8859-1",
+            "ASCII_7, US-ASCII",
+            "UTF_8, UTF-8",
+            "UCS_2, UTF-16BE",
+            "SYMBOL, ISO-8859-1",
+            "ZAPF_DINGBATS, ISO-8859-1",
+    )
+    fun `should get charset for encoding`(encoding: PdfTextEncoding,
+                                          charset: String) {
+        // given
+        val request = PdfTextRequest.builder()
+                .pdfFile(File("some.pdf"))
+                .options(PdfTextOptions.builder().encoding(encoding).build())
+                .build()
+
+        // when then
+        pdfTextTool.getCharset(request) shouldBe Charset.forName(charset)
+    }
+
+    @Test
+    fun `should get default charset if no encoding`() {
+        // given
+        val request = PdfTextRequest.builder().pdfFile(File("some.pdf")).build()
+
+        // when then
+        pdfTextTool.getCharset(request) shouldBe Charsets.ISO_8859_1
+    }
+
     @ParameterizedTest
     @CsvSource(
             "DOS, dos",
@@ -635,10 +1384,11 @@ class PdfTextToolTest {
         // given
         val pdfTextTool = PdfTextTool.builder()
             .timeoutSeconds(100)
+            .processExecutor(XpdfProcessExecutor.builder().maxConcurrentProcesses(2).maxQueuedProcesses(10).maxOutputBytes(1024).build())
             .build()
 
         // when then
-        pdfTextTool.toString() shouldMatch Regex("PdfTextTool\\(executableFile=.+pdftotext(\\.exe)?, timeoutSeconds=100\\)")
+        pdfTextTool.toString() shouldMatch Regex("PdfTextTool\\(executableFile=.+pdftotext(\\.exe)?, timeoutSeconds=100, processExecutor=XpdfProcessExecutor\\(maxConcurrentProcesses=2, maxQueuedProcesses=10, maxOutputBytes=1024\\), resultCache=null, pdfStager=XpdfPdfStager\\(directory=.+\\), outputDirectory=XpdfOutputDirectory\\(directory=.+, ramDiskDirectory=null, minFreeBytes=268435456\\), tempFileJanitor=XpdfTempFileJanitor\\(ttlSeconds=86400, sweepIntervalSeconds=600\\), pageIndexEnabled=false\\)")
     }
 
 }
\ No newline at end of file